@@ -0,0 +1,231 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.domain;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The primitive representation of a fleet. The {@link Ship}s of a single {@link Ship.Color} are kept in an
+ * {@code int} array indexed by {@link Ship.ShipClass} ordinal, each element holding the {@link ShipCodec} value of the
+ * {@link Ship} or {@link ShipCodec#NONE} if the {@link Ship} is no longer in play.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public final class Fleet {
+
+    /**
+     * The number of {@link Ship.ShipClass}es in a fleet, excluding {@link Ship.ShipClass#UNKNOWN}.
+     */
+    public static final int SIZE = Ship.ShipClass.UNKNOWN.ordinal();
+
+    private static final Ship.ShipClass[] SHIP_CLASSES = Ship.ShipClass.values();
+
+    private final Ship.Color color;
+
+    private final int[] ships = new int[SIZE];
+
+    /**
+     * Default constructor which creates an empty {@link Fleet}.
+     *
+     * @param color the {@link Ship.Color}
+     */
+    public Fleet(Ship.Color color) {
+        if (color == null) {
+            throw new IllegalArgumentException("Color cannot be null");
+        }
+
+        this.color = color;
+        Arrays.fill(ships, ShipCodec.NONE);
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param fleet the {@link Fleet} to copy
+     */
+    public Fleet(Fleet fleet) {
+        this.color = fleet.color;
+        System.arraycopy(fleet.ships, 0, ships, 0, SIZE);
+    }
+
+    /**
+     * Creates a {@link Fleet} from the given {@link Set} of {@link Ship}s.
+     *
+     * @param color the {@link Ship.Color}
+     * @param ships the {@link Set} of {@link Ship}s
+     * @return the {@link Fleet}
+     */
+    public static Fleet of(Ship.Color color, Set<Ship> ships) {
+        Fleet fleet = new Fleet(color);
+        if (ships != null) {
+            for (Ship ship : ships) {
+                fleet.put(ship);
+            }
+        }
+
+        return fleet;
+    }
+
+    /**
+     * Returns the {@link Ship.Color}.
+     *
+     * @return the {@link Ship.Color}
+     */
+    public Ship.Color getColor() {
+        return color;
+    }
+
+    /**
+     * Adds or replaces the given {@link Ship}.
+     *
+     * @param ship the {@link Ship}
+     */
+    public void put(Ship ship) {
+        if (ship == null || ship.getColor() != color) {
+            throw new IllegalArgumentException(String.format("Ship must be %s", color));
+        }
+
+        if (ship.getShipClass() == null || ship.getShipClass() == Ship.ShipClass.UNKNOWN) {
+            throw new IllegalArgumentException("Ship class cannot be unknown");
+        }
+
+        ships[ship.getShipClass().ordinal()] = ShipCodec.encode(ship);
+    }
+
+    /**
+     * Adds or replaces the {@link Ship} of the given {@link Ship.ShipClass} at the given coordinates.
+     *
+     * @param shipClass the {@link Ship.ShipClass}
+     * @param x         the X coordinate
+     * @param y         the Y coordinate
+     */
+    public void put(Ship.ShipClass shipClass, int x, int y) {
+        ships[shipClass.ordinal()] = ShipCodec.encode(color, shipClass, x, y);
+    }
+
+    /**
+     * Removes the {@link Ship} of the given {@link Ship.ShipClass}.
+     *
+     * @param shipClass the {@link Ship.ShipClass}
+     */
+    public void remove(Ship.ShipClass shipClass) {
+        ships[shipClass.ordinal()] = ShipCodec.NONE;
+    }
+
+    /**
+     * Checks if the {@link Ship} of the given {@link Ship.ShipClass} is still in play.
+     *
+     * @param shipClass the {@link Ship.ShipClass}
+     * @return {@code true} if the {@link Ship} is in play; {@code false} otherwise
+     */
+    public boolean contains(Ship.ShipClass shipClass) {
+        return shipClass != Ship.ShipClass.UNKNOWN && ships[shipClass.ordinal()] != ShipCodec.NONE;
+    }
+
+    /**
+     * Returns the {@link ShipCodec} value of the {@link Ship} of the given {@link Ship.ShipClass}.
+     *
+     * @param shipClass the {@link Ship.ShipClass}
+     * @return the {@link ShipCodec} value or {@link ShipCodec#NONE} if the {@link Ship} is no longer in play
+     */
+    public int get(Ship.ShipClass shipClass) {
+        return ships[shipClass.ordinal()];
+    }
+
+    /**
+     * Returns the number of {@link Ship}s in play.
+     *
+     * @return the number of {@link Ship}s
+     */
+    public int size() {
+        int size = 0;
+        for (int ship : ships) {
+            if (ship != ShipCodec.NONE) {
+                size++;
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Returns a copy of the {@link ShipCodec} values indexed by {@link Ship.ShipClass} ordinal.
+     *
+     * @return the {@link ShipCodec} values
+     */
+    public int[] toArray() {
+        return ships.clone();
+    }
+
+    /**
+     * Returns the {@link Ship}s in play as a new {@link Set}.
+     *
+     * @return the {@link Set} of {@link Ship}s
+     */
+    public Set<Ship> toShips() {
+        Set<Ship> set = new HashSet<>();
+        for (int i = 0; i < SIZE; i++) {
+            if (ships[i] != ShipCodec.NONE) {
+                set.add(ShipCodec.decode(ships[i]));
+            }
+        }
+
+        return set;
+    }
+
+    /**
+     * Returns the {@link Ship.ShipClass} at the given index.
+     *
+     * @param index the index
+     * @return the {@link Ship.ShipClass}
+     */
+    public static Ship.ShipClass getShipClass(int index) {
+        return SHIP_CLASSES[index];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Fleet fleet = (Fleet) o;
+        return color == fleet.color
+                && Arrays.equals(ships, fleet.ships);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * color.ordinal() + Arrays.hashCode(ships);
+    }
+
+    @Override
+    public String toString() {
+        return toShips().toString();
+    }
+}
@@ -28,12 +28,18 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.annotations.Expose;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
 /**
  * The domain model object for match.
@@ -91,11 +97,71 @@ public class Match {
     private boolean blackPlayerReady;
 
     @Expose
-    private List<Map<String, Set<Ship>>> moves = new LinkedList<>();
+    private List<Move> moves = new ArrayList<>();
+
+    @Expose
+    private int moveCount;
+
+    @Expose
+    private int lastChallengeTurn;
+
+    @Expose
+    private Map<Long, Integer> positionCounts = new HashMap<>();
+
+    @Expose
+    private SortedMap<Integer, Map<String, Set<Ship>>> checkpoints = new TreeMap<>();
 
     @Expose
     private Map<String, Set<Ship>> fleets = new HashMap<>();
 
+    @Expose
+    private long version;
+
+    private final transient Set<String> changedFields = new HashSet<>();
+
+    private transient Supplier<SortedMap<Integer, Map<String, Set<Ship>>>> checkpointsLoader;
+
+    private transient Supplier<Map<String, Set<Ship>>> fleetsLoader;
+
+    /**
+     * Default constructor.
+     */
+    public Match() {
+        // do nothing
+    }
+
+    /**
+     * Copy constructor. The fleets and checkpoints are deep copied so that changing the copy does not change the
+     * original. The changed fields are not copied.
+     *
+     * @param match the {@link Match} to copy
+     */
+    public Match(Match match) {
+        this.uuid = match.uuid;
+        this.whitePlayer = match.whitePlayer;
+        this.blackPlayer = match.blackPlayer;
+        this.winner = match.winner;
+        this.loser = match.loser;
+        this.draw = match.draw;
+        this.whitePlayerAgreedToDraw = match.whitePlayerAgreedToDraw;
+        this.blackPlayerAgreedToDraw = match.blackPlayerAgreedToDraw;
+        this.host = match.host;
+        this.creationDate = match.creationDate;
+        this.turn = match.turn;
+        this.started = match.started;
+        this.startDate = match.startDate;
+        this.endDate = match.endDate;
+        this.whitePlayerReady = match.whitePlayerReady;
+        this.blackPlayerReady = match.blackPlayerReady;
+        this.moves = new ArrayList<>(match.moves);
+        this.moveCount = match.moveCount;
+        this.lastChallengeTurn = match.lastChallengeTurn;
+        this.positionCounts = new HashMap<>(match.positionCounts);
+        match.getCheckpoints().forEach((checkpoint, fleets) -> this.checkpoints.put(checkpoint, copyFleets(fleets)));
+        this.fleets = copyFleets(match.getFleets());
+        this.version = match.version;
+    }
+
     /**
      * Returns the universally unique identifier.
      *
@@ -130,6 +196,7 @@ public class Match {
      */
     public void setWhitePlayer(String whitePlayer) {
         this.whitePlayer = whitePlayer;
+        changedFields.add("whitePlayer");
     }
 
     /**
@@ -148,6 +215,7 @@ public class Match {
      */
     public void setBlackPlayer(String blackPlayer) {
         this.blackPlayer = blackPlayer;
+        changedFields.add("blackPlayer");
     }
 
     /**
@@ -166,6 +234,7 @@ public class Match {
      */
     public void setWinner(String winner) {
         this.winner = winner;
+        changedFields.add("winner");
     }
 
     /**
@@ -184,6 +253,7 @@ public class Match {
      */
     public void setLoser(String loser) {
         this.loser = loser;
+        changedFields.add("loser");
     }
 
     /**
@@ -202,6 +272,7 @@ public class Match {
      */
     public void setDraw(boolean draw) {
         this.draw = draw;
+        changedFields.add("draw");
     }
 
     /**
@@ -220,6 +291,7 @@ public class Match {
      */
     public void setWhitePlayerAgreedToDraw(boolean whitePlayerAgreedToDraw) {
         this.whitePlayerAgreedToDraw = whitePlayerAgreedToDraw;
+        changedFields.add("whitePlayerAgreedToDraw");
     }
 
     /**
@@ -238,6 +310,7 @@ public class Match {
      */
     public void setBlackPlayerAgreedToDraw(boolean blackPlayerAgreedToDraw) {
         this.blackPlayerAgreedToDraw = blackPlayerAgreedToDraw;
+        changedFields.add("blackPlayerAgreedToDraw");
     }
 
     /**
@@ -256,6 +329,7 @@ public class Match {
      */
     public void setHost(String host) {
         this.host = host;
+        changedFields.add("host");
     }
 
     /**
@@ -274,6 +348,7 @@ public class Match {
      */
     public void setCreationDate(LocalDateTime creationDate) {
         this.creationDate = creationDate;
+        changedFields.add("creationDate");
     }
 
     /**
@@ -292,6 +367,7 @@ public class Match {
      */
     public void setTurn(Ship.Color turn) {
         this.turn = turn;
+        changedFields.add("turn");
     }
 
     /**
@@ -310,6 +386,7 @@ public class Match {
      */
     public void setStarted(boolean started) {
         this.started = started;
+        changedFields.add("started");
     }
 
     /**
@@ -328,6 +405,7 @@ public class Match {
      */
     public void setStartDate(LocalDateTime startDate) {
         this.startDate = startDate;
+        changedFields.add("startDate");
     }
 
     /**
@@ -346,6 +424,7 @@ public class Match {
      */
     public void setEndDate(LocalDateTime endDate) {
         this.endDate = endDate;
+        changedFields.add("endDate");
     }
 
     /**
@@ -364,6 +443,7 @@ public class Match {
      */
     public void setWhitePlayerReady(boolean whitePlayerReady) {
         this.whitePlayerReady = whitePlayerReady;
+        changedFields.add("whitePlayerReady");
     }
 
     /**
@@ -382,24 +462,164 @@ public class Match {
      */
     public void setBlackPlayerReady(boolean blackPlayerReady) {
         this.blackPlayerReady = blackPlayerReady;
+        changedFields.add("blackPlayerReady");
     }
 
     /**
-     * Returns the {@link List} of the {@link Player}s' {@link Ship}s per turn.
+     * Returns the {@link List} of {@link Move}s ordered by turn. The history is kept in a separate log so this only
+     * contains the {@link Move}s that have been loaded or added since the {@link Match} was retrieved.
      *
-     * @return the {@link List} of the {@link Player}s' {@link Ship}s per turn
+     * @return the {@link List} of {@link Move}s
      */
-    public List<Map<String, Set<Ship>>> getMoves() {
+    public List<Move> getMoves() {
         return moves;
     }
 
     /**
-     * Sets the {@link List} of the {@link Player}s' {@link Ship}s per turn.
+     * Sets the {@link List} of {@link Move}s ordered by turn.
      *
-     * @param moves the {@link List} of the {@link Player}s' {@link Ship}s per turn
+     * @param moves the {@link List} of {@link Move}s
      */
-    public void setMoves(List<Map<String, Set<Ship>>> moves) {
+    public void setMoves(List<Move> moves) {
         this.moves = moves;
+        changedFields.add("moves");
+    }
+
+    /**
+     * Appends a {@link Move} and increments the number of {@link Move}s.
+     *
+     * @param move the {@link Move}
+     */
+    public void addMove(Move move) {
+        moves.add(move);
+        moveCount++;
+        changedFields.add("moves");
+        changedFields.add("moveCount");
+    }
+
+    /**
+     * Returns the number of {@link Move}s made which is also the last turn.
+     *
+     * @return the number of {@link Move}s
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Sets the number of {@link Move}s made.
+     *
+     * @param moveCount the number of {@link Move}s
+     */
+    public void setMoveCount(int moveCount) {
+        this.moveCount = moveCount;
+        changedFields.add("moveCount");
+    }
+
+    /**
+     * Returns the number of occurrences of each position since the last challenge keyed by its
+     * {@link Move#getPositionKey()}.
+     *
+     * @return the {@link Map} of position keys and their number of occurrences
+     */
+    public Map<Long, Integer> getPositionCounts() {
+        return positionCounts;
+    }
+
+    /**
+     * Sets the number of occurrences of each position since the last challenge.
+     *
+     * @param positionCounts the {@link Map} of position keys and their number of occurrences
+     */
+    public void setPositionCounts(Map<Long, Integer> positionCounts) {
+        this.positionCounts = positionCounts;
+        changedFields.add("positionCounts");
+    }
+
+    /**
+     * Counts an occurrence of a position.
+     *
+     * @param positionKey the {@link Move#getPositionKey()} of the position
+     * @return the number of occurrences of the position including this one
+     */
+    public int countPosition(long positionKey) {
+        changedFields.add("positionCounts");
+
+        return positionCounts.merge(positionKey, 1, Integer::sum);
+    }
+
+    /**
+     * Clears the occurrences of all positions after a challenge since they can never be repeated.
+     */
+    public void clearPositionCounts() {
+        positionCounts.clear();
+        changedFields.add("positionCounts");
+    }
+
+    /**
+     * Returns the turn of the last challenge. Positions before it can never be repeated.
+     *
+     * @return the turn of the last challenge or 0 if there has been no challenge
+     */
+    public int getLastChallengeTurn() {
+        return lastChallengeTurn;
+    }
+
+    /**
+     * Sets the turn of the last challenge.
+     *
+     * @param lastChallengeTurn the turn of the last challenge
+     */
+    public void setLastChallengeTurn(int lastChallengeTurn) {
+        this.lastChallengeTurn = lastChallengeTurn;
+        changedFields.add("lastChallengeTurn");
+    }
+
+    /**
+     * Returns the {@link SortedMap} of both {@link Player}s' {@link Ship}s keyed by the turn after which they were
+     * recorded. Turn 0 holds the fleets when the match started.
+     *
+     * @return the {@link SortedMap} of checkpoints
+     */
+    public SortedMap<Integer, Map<String, Set<Ship>>> getCheckpoints() {
+        if (checkpointsLoader != null) {
+            checkpoints = checkpointsLoader.get();
+            checkpointsLoader = null;
+        }
+
+        return checkpoints;
+    }
+
+    /**
+     * Sets the {@link SortedMap} of both {@link Player}s' {@link Ship}s keyed by the turn after which they were
+     * recorded.
+     *
+     * @param checkpoints the {@link SortedMap} of checkpoints
+     */
+    public void setCheckpoints(SortedMap<Integer, Map<String, Set<Ship>>> checkpoints) {
+        this.checkpoints = checkpoints;
+        this.checkpointsLoader = null;
+        changedFields.add("checkpoints");
+    }
+
+    /**
+     * Defers loading the checkpoints until they are first accessed. The loaded checkpoints are not tracked as changed.
+     *
+     * @param checkpointsLoader the {@link Supplier} of the checkpoints
+     */
+    public void setCheckpointsLoader(Supplier<SortedMap<Integer, Map<String, Set<Ship>>>> checkpointsLoader) {
+        this.checkpointsLoader = checkpointsLoader;
+    }
+
+    /**
+     * Records both {@link Player}s' {@link Ship}s after the given turn.
+     *
+     * @param turn   the turn
+     * @param fleets the {@link Map} of both {@link Player}s' {@link Ship}s
+     */
+    public void putCheckpoint(int turn, Map<String, Set<Ship>> fleets) {
+        getCheckpoints().put(turn, fleets);
+        changedFields.add("checkpoints");
     }
 
     /**
@@ -408,6 +628,11 @@ public class Match {
      * @return the {@link Map} of both {@link Player}s' {@link Ship}s during a turn
      */
     public Map<String, Set<Ship>> getFleets() {
+        if (fleetsLoader != null) {
+            fleets = fleetsLoader.get();
+            fleetsLoader = null;
+        }
+
         return fleets;
     }
 
@@ -418,6 +643,98 @@ public class Match {
      */
     public void setFleets(Map<String, Set<Ship>> fleets) {
         this.fleets = fleets;
+        this.fleetsLoader = null;
+        changedFields.add("fleets");
+    }
+
+    /**
+     * Defers loading the fleets until they are first accessed. The loaded fleets are not tracked as changed.
+     *
+     * @param fleetsLoader the {@link Supplier} of the fleets
+     */
+    public void setFleetsLoader(Supplier<Map<String, Set<Ship>>> fleetsLoader) {
+        this.fleetsLoader = fleetsLoader;
+    }
+
+    /**
+     * Returns the version which is incremented on every update.
+     *
+     * @return the version or 0 if the {@link Match} has never been updated
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version which is incremented on every update.
+     *
+     * @param version the version
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Returns the names of the fields that have been set since the {@link Match} was retrieved or last saved. The
+     * {@link Move}s and checkpoints are only tracked through {@link #addMove(Move)} and
+     * {@link #putCheckpoint(int, Map)} while the UUID and version are never tracked.
+     *
+     * @return the {@link Set} of field names
+     */
+    public Set<String> getChangedFields() {
+        return Collections.unmodifiableSet(changedFields);
+    }
+
+    /**
+     * Forgets the changed fields once the {@link Match} has been retrieved or saved.
+     */
+    public void clearChangedFields() {
+        changedFields.clear();
+    }
+
+    /**
+     * Checks if the fleets and checkpoints have been loaded.
+     *
+     * @return {@code true} if nothing is waiting to be loaded on first access; {@code false} otherwise
+     */
+    public boolean isLoaded() {
+        return fleetsLoader == null && checkpointsLoader == null;
+    }
+
+    /**
+     * Returns the {@link Status} of the {@link Match} which is derived from the winner, draw and started flags.
+     *
+     * @return the {@link Status}
+     */
+    public Status getStatus() {
+        if ((winner != null && !winner.isBlank()) || draw) {
+            return Status.FINISHED;
+        }
+
+        return started ? Status.ACTIVE : Status.UNSTARTED;
+    }
+
+    private static Map<String, Set<Ship>> copyFleets(Map<String, Set<Ship>> fleets) {
+        // the order of the players is kept since the encoded fleets are compared byte for byte
+        Map<String, Set<Ship>> copy = new LinkedHashMap<>();
+        if (fleets != null) {
+            fleets.forEach((playerUuid, ships) -> {
+                Set<Ship> shipsCopy = new HashSet<>();
+                for (Ship ship : ships) {
+                    Ship shipCopy = new Ship();
+                    shipCopy.setColor(ship.getColor());
+                    shipCopy.setShipClass(ship.getShipClass());
+                    if (ship.getCoordinates() != null) {
+                        shipCopy.setCoordinates(new Ship.Coordinates(ship.getCoordinates().getX(),
+                                ship.getCoordinates().getY()));
+                    }
+                    shipsCopy.add(shipCopy);
+                }
+                copy.put(playerUuid, shipsCopy);
+            });
+        }
+
+        return copy;
     }
 
     @Override
@@ -444,4 +761,23 @@ public class Match {
         Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
         return gson.toJson(this);
     }
+
+    /**
+     * The enumeration of match statuses.
+     */
+    public enum Status {
+
+        /**
+         * Waiting for players or deployment.
+         */
+        UNSTARTED,
+        /**
+         * Ongoing.
+         */
+        ACTIVE,
+        /**
+         * Won, lost or drawn.
+         */
+        FINISHED
+    }
 }
@@ -0,0 +1,359 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.domain;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The versioned binary codec for storing fleets, checkpoints and {@link Move}s. Each value starts with a version byte
+ * and a flags byte followed by the payload, which may be deflated. Every {@link Ship} is written as its
+ * {@link ShipCodec} value in 2 bytes so a fleet of 21 {@link Ship}s takes 42 bytes instead of the few kilobytes of its
+ * JSON representation.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public final class MatchCodec {
+
+    /**
+     * The current version of the binary format.
+     */
+    public static final byte VERSION = 1;
+
+    private static final int HEADER_SIZE = 2;
+
+    private static final byte COMPRESSED = 1;
+
+    private static final Move.Outcome[] OUTCOMES = Move.Outcome.values();
+
+    /**
+     * Private constructor.
+     */
+    private MatchCodec() {
+        // do nothing
+    }
+
+    /**
+     * Encodes the given fleets.
+     *
+     * @param fleets   the {@link Map} containing the UUID's of the {@link Player}s and their {@link Ship}s
+     * @param compress {@code true} to deflate the payload if it gets smaller; {@code false} otherwise
+     * @return the encoded fleets
+     */
+    public static byte[] encodeFleets(Map<String, Set<Ship>> fleets, boolean compress) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            writeFleets(output, fleets);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode fleets", e);
+        }
+
+        return pack(bytes.toByteArray(), compress);
+    }
+
+    /**
+     * Decodes the given fleets.
+     *
+     * @param data the encoded fleets
+     * @return the {@link Map} containing the UUID's of the {@link Player}s and their {@link Ship}s
+     */
+    public static Map<String, Set<Ship>> decodeFleets(byte[] data) {
+        try (DataInputStream input = unpack(data)) {
+            return readFleets(input);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Fleets are invalid", e);
+        }
+    }
+
+    /**
+     * Encodes the fleets of a checkpoint. Checkpoints are history that is rarely read so the payload is deflated if
+     * it gets smaller.
+     *
+     * @param turn   the turn of the checkpoint
+     * @param fleets the {@link Map} containing the UUID's of the {@link Player}s and their {@link Ship}s
+     * @return the encoded checkpoint
+     */
+    public static byte[] encodeCheckpoint(int turn, Map<String, Set<Ship>> fleets) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(turn);
+            writeFleets(output, fleets);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode checkpoint", e);
+        }
+
+        return pack(bytes.toByteArray(), true);
+    }
+
+    /**
+     * Decodes the given checkpoint.
+     *
+     * @param data the encoded checkpoint
+     * @return the {@link Map.Entry} of the turn and the fleets of the checkpoint
+     */
+    public static Map.Entry<Integer, Map<String, Set<Ship>>> decodeCheckpoint(byte[] data) {
+        try (DataInputStream input = unpack(data)) {
+            int turn = input.readInt();
+
+            return Map.entry(turn, readFleets(input));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Checkpoint is invalid", e);
+        }
+    }
+
+    /**
+     * Encodes the given {@link Move}.
+     *
+     * @param move the {@link Move}
+     * @return the encoded {@link Move}
+     */
+    public static byte[] encodeMove(Move move) {
+        if (move == null || move.getColor() == null || move.getShipClass() == null) {
+            throw new IllegalArgumentException("Move cannot be null or have null values");
+        }
+
+        Ship.Coordinates from = move.getFrom() == null ? new Ship.Coordinates() : move.getFrom();
+        Ship.Coordinates to = move.getTo() == null ? new Ship.Coordinates() : move.getTo();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(move.getTurn());
+            output.writeShort(ShipCodec.encode(move.getColor(), move.getShipClass(), from.getX(), from.getY()));
+            output.writeShort(ShipCodec.encode(move.getColor(), move.getShipClass(), to.getX(), to.getY()));
+            output.writeByte(move.getOutcome() == null ? -1 : move.getOutcome().ordinal());
+            output.writeLong(move.getPositionKey());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode move", e);
+        }
+
+        return pack(bytes.toByteArray(), false);
+    }
+
+    /**
+     * Decodes the given {@link Move}.
+     *
+     * @param data the encoded {@link Move}
+     * @return the {@link Move}
+     */
+    public static Move decodeMove(byte[] data) {
+        try (DataInputStream input = unpack(data)) {
+            return createMove(input.readInt(), input.readUnsignedShort(), input.readUnsignedShort(), input.readByte(),
+                    input.readLong());
+        } catch (IOException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Move is invalid", e);
+        }
+    }
+
+    /**
+     * Decodes a {@link Move} from the position of the given buffer, which is advanced past it. The {@link Move} is
+     * read in place so the buffer can be a view of a memory-mapped file.
+     *
+     * @param buffer the buffer holding the encoded {@link Move}
+     * @return the {@link Move}
+     */
+    public static Move decodeMove(ByteBuffer buffer) {
+        try {
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException(String.format("Version %d is not supported", version));
+            }
+
+            // moves are never deflated
+            if ((buffer.get() & COMPRESSED) != 0) {
+                throw new IllegalArgumentException("Move is invalid");
+            }
+
+            return createMove(buffer.getInt(), Short.toUnsignedInt(buffer.getShort()),
+                    Short.toUnsignedInt(buffer.getShort()), buffer.get(), buffer.getLong());
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Move is invalid", e);
+        }
+    }
+
+    /**
+     * Encodes the number of occurrences of each position.
+     *
+     * @param positionCounts the {@link Map} of position keys and their number of occurrences
+     * @return the encoded position counts
+     */
+    public static byte[] encodePositionCounts(Map<Long, Integer> positionCounts) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(positionCounts.size());
+            for (Map.Entry<Long, Integer> entry : positionCounts.entrySet()) {
+                output.writeLong(entry.getKey());
+                output.writeInt(entry.getValue());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode position counts", e);
+        }
+
+        return pack(bytes.toByteArray(), false);
+    }
+
+    /**
+     * Decodes the given number of occurrences of each position.
+     *
+     * @param data the encoded position counts
+     * @return the {@link Map} of position keys and their number of occurrences
+     */
+    public static Map<Long, Integer> decodePositionCounts(byte[] data) {
+        try (DataInputStream input = unpack(data)) {
+            Map<Long, Integer> positionCounts = new HashMap<>();
+            int size = input.readInt();
+            for (int i = 0; i < size; i++) {
+                positionCounts.put(input.readLong(), input.readInt());
+            }
+
+            return positionCounts;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Position counts are invalid", e);
+        }
+    }
+
+    private static Move createMove(int turn, int from, int to, byte outcome, long positionKey) {
+        return Move.builder()
+                .withTurn(turn)
+                .withColor(ShipCodec.getColor(from))
+                .withShipClass(ShipCodec.getShipClass(from))
+                .withFrom(new Ship.Coordinates(ShipCodec.getX(from), ShipCodec.getY(from)))
+                .withTo(new Ship.Coordinates(ShipCodec.getX(to), ShipCodec.getY(to)))
+                .withOutcome(outcome < 0 ? null : OUTCOMES[outcome])
+                .withPositionKey(positionKey)
+                .build();
+    }
+
+    private static void writeFleets(DataOutputStream output, Map<String, Set<Ship>> fleets) throws IOException {
+        output.writeByte(fleets.size());
+        for (Map.Entry<String, Set<Ship>> entry : fleets.entrySet()) {
+            if (entry.getKey() == null) {
+                throw new IllegalArgumentException("Fleet must belong to a player");
+            }
+
+            output.writeUTF(entry.getKey());
+
+            // the ships are sorted so that equal fleets are always encoded to the same bytes
+            int[] ships = entry.getValue().stream().mapToInt(ShipCodec::encode).sorted().toArray();
+            output.writeByte(ships.length);
+            for (int ship : ships) {
+                output.writeShort(ship);
+            }
+        }
+    }
+
+    private static Map<String, Set<Ship>> readFleets(DataInputStream input) throws IOException {
+        Map<String, Set<Ship>> fleets = new LinkedHashMap<>();
+        int size = input.readUnsignedByte();
+        for (int i = 0; i < size; i++) {
+            String playerUuid = input.readUTF();
+            Set<Ship> ships = new HashSet<>();
+            int count = input.readUnsignedByte();
+            for (int j = 0; j < count; j++) {
+                ships.add(ShipCodec.decode(input.readUnsignedShort()));
+            }
+
+            fleets.put(playerUuid, ships);
+        }
+
+        return fleets;
+    }
+
+    private static byte[] pack(byte[] payload, boolean compress) {
+        byte flags = 0;
+        if (compress) {
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            deflater.setInput(payload);
+            deflater.finish();
+
+            byte[] buffer = new byte[payload.length];
+            int length = deflater.deflate(buffer);
+            boolean smaller = deflater.finished();
+            deflater.end();
+
+            // the payload is kept as is if deflating does not make it smaller
+            if (smaller) {
+                payload = Arrays.copyOf(buffer, length);
+                flags |= COMPRESSED;
+            }
+        }
+
+        byte[] data = new byte[HEADER_SIZE + payload.length];
+        data[0] = VERSION;
+        data[1] = flags;
+        System.arraycopy(payload, 0, data, HEADER_SIZE, payload.length);
+
+        return data;
+    }
+
+    private static DataInputStream unpack(byte[] data) {
+        if (data == null || data.length < HEADER_SIZE) {
+            throw new IllegalArgumentException("Data is too short");
+        }
+
+        if (data[0] != VERSION) {
+            throw new IllegalArgumentException(String.format("Version %d is not supported", data[0]));
+        }
+
+        byte[] payload = Arrays.copyOfRange(data, HEADER_SIZE, data.length);
+        if ((data[1] & COMPRESSED) != 0) {
+            Inflater inflater = new Inflater();
+            inflater.setInput(payload);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[256];
+            try {
+                while (!inflater.finished()) {
+                    int length = inflater.inflate(buffer);
+                    if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IllegalArgumentException("Data is truncated");
+                    }
+
+                    bytes.write(buffer, 0, length);
+                }
+            } catch (DataFormatException e) {
+                throw new IllegalArgumentException("Data is corrupted", e);
+            } finally {
+                inflater.end();
+            }
+
+            payload = bytes.toByteArray();
+        }
+
+        return new DataInputStream(new ByteArrayInputStream(payload));
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.domain;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.annotations.Expose;
+
+import java.util.Objects;
+
+/**
+ * The domain model object for a single move of a {@link Match}. Only the moving {@link Ship}, its source and target
+ * {@link Ship.Coordinates} and the {@link Outcome} of the challenge, if any, are recorded so that the fleets of any
+ * turn can be rebuilt from the nearest checkpoint.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class Move {
+
+    private static final Gson GSON = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+
+    @Expose
+    private final int turn;
+
+    @Expose
+    private final Ship.Color color;
+
+    @Expose
+    private final Ship.ShipClass shipClass;
+
+    @Expose
+    private final Ship.Coordinates from;
+
+    @Expose
+    private final Ship.Coordinates to;
+
+    @Expose
+    private final Outcome outcome;
+
+    @Expose
+    private final long positionKey;
+
+    /**
+     * Private constructor.
+     *
+     * @param builder the {@link Builder}
+     */
+    private Move(Builder builder) {
+        this.turn = builder.turn;
+        this.color = builder.color;
+        this.shipClass = builder.shipClass;
+        this.from = builder.from;
+        this.to = builder.to;
+        this.outcome = builder.outcome;
+        this.positionKey = builder.positionKey;
+    }
+
+    /**
+     * Returns the turn number starting from 1.
+     *
+     * @return the turn number
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Returns the {@link Ship.Color} of the moving {@link Ship}.
+     *
+     * @return the {@link Ship.Color}
+     */
+    public Ship.Color getColor() {
+        return color;
+    }
+
+    /**
+     * Returns the {@link Ship.ShipClass} of the moving {@link Ship}.
+     *
+     * @return the {@link Ship.ShipClass}
+     */
+    public Ship.ShipClass getShipClass() {
+        return shipClass;
+    }
+
+    /**
+     * Returns the source {@link Ship.Coordinates}.
+     *
+     * @return the source {@link Ship.Coordinates}
+     */
+    public Ship.Coordinates getFrom() {
+        return from;
+    }
+
+    /**
+     * Returns the target {@link Ship.Coordinates}.
+     *
+     * @return the target {@link Ship.Coordinates}
+     */
+    public Ship.Coordinates getTo() {
+        return to;
+    }
+
+    /**
+     * Returns the {@link Outcome}.
+     *
+     * @return the {@link Outcome}
+     */
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Returns the Zobrist key of the position after this move, including the {@link Ship.Color} to move next.
+     *
+     * @return the Zobrist key of the position
+     */
+    public long getPositionKey() {
+        return positionKey;
+    }
+
+    /**
+     * Returns the {@link Builder}.
+     *
+     * @return the {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Move move = (Move) o;
+        return turn == move.turn
+                && color == move.color
+                && shipClass == move.shipClass
+                && Objects.equals(from, move.from)
+                && Objects.equals(to, move.to)
+                && outcome == move.outcome
+                && positionKey == move.positionKey;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(turn, color, shipClass, from, to, outcome, positionKey);
+    }
+
+    @Override
+    public String toString() {
+        return GSON.toJson(this);
+    }
+
+    /**
+     * The enumeration of the possible outcomes of a move.
+     */
+    public enum Outcome {
+        /**
+         * The ship moved into an empty square.
+         */
+        MOVED,
+        /**
+         * The attacking ship eliminates the defending ship.
+         */
+        ATTACKER_WINS,
+        /**
+         * The defending ship eliminates the attacking ship.
+         */
+        DEFENDER_WINS,
+        /**
+         * Both ships are eliminated.
+         */
+        BOTH_ELIMINATED
+    }
+
+    /**
+     * The builder.
+     */
+    public static class Builder {
+
+        private int turn;
+
+        private Ship.Color color;
+
+        private Ship.ShipClass shipClass;
+
+        private Ship.Coordinates from;
+
+        private Ship.Coordinates to;
+
+        private Outcome outcome;
+
+        private long positionKey;
+
+        /**
+         * Private constructor.
+         */
+        private Builder() {
+            // prevent instantiation
+        }
+
+        /**
+         * Sets the turn number.
+         *
+         * @param turn the turn number
+         * @return the {@link Builder}
+         */
+        public Builder withTurn(int turn) {
+            this.turn = turn;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Ship.Color} of the moving {@link Ship}.
+         *
+         * @param color the {@link Ship.Color}
+         * @return the {@link Builder}
+         */
+        public Builder withColor(Ship.Color color) {
+            this.color = color;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Ship.ShipClass} of the moving {@link Ship}.
+         *
+         * @param shipClass the {@link Ship.ShipClass}
+         * @return the {@link Builder}
+         */
+        public Builder withShipClass(Ship.ShipClass shipClass) {
+            this.shipClass = shipClass;
+            return this;
+        }
+
+        /**
+         * Sets the source {@link Ship.Coordinates}.
+         *
+         * @param from the source {@link Ship.Coordinates}
+         * @return the {@link Builder}
+         */
+        public Builder withFrom(Ship.Coordinates from) {
+            this.from = from;
+            return this;
+        }
+
+        /**
+         * Sets the target {@link Ship.Coordinates}.
+         *
+         * @param to the target {@link Ship.Coordinates}
+         * @return the {@link Builder}
+         */
+        public Builder withTo(Ship.Coordinates to) {
+            this.to = to;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Outcome}.
+         *
+         * @param outcome the {@link Outcome}
+         * @return the {@link Builder}
+         */
+        public Builder withOutcome(Outcome outcome) {
+            this.outcome = outcome;
+            return this;
+        }
+
+        /**
+         * Sets the Zobrist key of the position after this move.
+         *
+         * @param positionKey the Zobrist key of the position
+         * @return the {@link Builder}
+         */
+        public Builder withPositionKey(long positionKey) {
+            this.positionKey = positionKey;
+            return this;
+        }
+
+        /**
+         * Builds a {@link Move}.
+         *
+         * @return the {@link Move}
+         */
+        public Move build() {
+            return new Move(this);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.domain;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.annotations.Expose;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The domain model object for a page of results. The cursor is an opaque token that is passed back to retrieve the
+ * next page and is {@code null} on the last page.
+ *
+ * @param <T> the type of the items
+ * @author Rey Vincent Babilonia
+ */
+public class Page<T> {
+
+    @Expose
+    private final List<T> items;
+
+    @Expose
+    private final String cursor;
+
+    /**
+     * Default constructor.
+     *
+     * @param items  the {@link List} of items
+     * @param cursor the cursor of the next page or {@code null} if this is the last page
+     */
+    public Page(List<T> items, String cursor) {
+        this.items = items == null ? new ArrayList<>() : items;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Returns the {@link List} of items.
+     *
+     * @return the {@link List} of items
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Returns the cursor of the next page.
+     *
+     * @return the cursor of the next page or {@code null} if this is the last page
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Returns whether there is a next page.
+     *
+     * @return {@code true} if there is a next page; {@code false} otherwise
+     */
+    public boolean hasNext() {
+        return cursor != null;
+    }
+
+    @Override
+    public String toString() {
+        Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+        return gson.toJson(this);
+    }
+}
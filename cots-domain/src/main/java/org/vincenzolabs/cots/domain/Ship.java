@@ -27,8 +27,6 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.annotations.Expose;
 
-import java.util.Objects;
-
 /**
  * The domain model object for ship.
  *
@@ -36,6 +34,8 @@ import java.util.Objects;
  */
 public class Ship {
 
+    private static final Gson GSON = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+
     @Expose
     private Color color;
 
@@ -114,13 +114,13 @@ public class Ship {
 
     @Override
     public int hashCode() {
-        return Objects.hash(color, shipClass);
+        int result = color == null ? 0 : color.ordinal() + 1;
+        return 31 * result + (shipClass == null ? 0 : shipClass.ordinal() + 1);
     }
 
     @Override
     public String toString() {
-        Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
-        return gson.toJson(this);
+        return GSON.toJson(this);
     }
 
     /**
@@ -326,13 +326,12 @@ public class Ship {
 
         @Override
         public int hashCode() {
-            return Objects.hash(x, y);
+            return 31 * x + y;
         }
 
         @Override
         public String toString() {
-            Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
-            return gson.toJson(this);
+            return GSON.toJson(this);
         }
     }
 }
@@ -0,0 +1,192 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.domain;
+
+/**
+ * The codec for packing a {@link Ship} into a single {@code int}. From the least significant bit, 4 bits hold the Y
+ * coordinate, 4 bits hold the X coordinate, 5 bits hold the {@link Ship.ShipClass} ordinal and 1 bit holds the
+ * {@link Ship.Color} ordinal. A coordinate of {@code -1}, i.e. not yet positioned, is stored as {@code 0xF}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public final class ShipCodec {
+
+    /**
+     * The value that does not decode to any {@link Ship}.
+     */
+    public static final int NONE = -1;
+
+    private static final int COORDINATE_BITS = 4;
+
+    private static final int COORDINATE_MASK = (1 << COORDINATE_BITS) - 1;
+
+    private static final int SHIP_CLASS_BITS = 5;
+
+    private static final int SHIP_CLASS_MASK = (1 << SHIP_CLASS_BITS) - 1;
+
+    private static final int X_SHIFT = COORDINATE_BITS;
+
+    private static final int SHIP_CLASS_SHIFT = 2 * COORDINATE_BITS;
+
+    private static final int COLOR_SHIFT = SHIP_CLASS_SHIFT + SHIP_CLASS_BITS;
+
+    private static final Ship.Color[] COLORS = Ship.Color.values();
+
+    private static final Ship.ShipClass[] SHIP_CLASSES = Ship.ShipClass.values();
+
+    /**
+     * Private constructor.
+     */
+    private ShipCodec() {
+        // do nothing
+    }
+
+    /**
+     * Packs the given {@link Ship} into an {@code int}.
+     *
+     * @param ship the {@link Ship}
+     * @return the packed {@link Ship}
+     */
+    public static int encode(Ship ship) {
+        if (ship == null || ship.getColor() == null || ship.getShipClass() == null) {
+            throw new IllegalArgumentException("Ship cannot be null or have null values");
+        }
+
+        Ship.Coordinates coordinates = ship.getCoordinates() == null ? new Ship.Coordinates() : ship.getCoordinates();
+
+        return encode(ship.getColor(), ship.getShipClass(), coordinates.getX(), coordinates.getY());
+    }
+
+    /**
+     * Packs the given {@link Ship.Color}, {@link Ship.ShipClass} and coordinates into an {@code int}.
+     *
+     * @param color     the {@link Ship.Color}
+     * @param shipClass the {@link Ship.ShipClass}
+     * @param x         the X coordinate from {@code -1} to {@code 14}
+     * @param y         the Y coordinate from {@code -1} to {@code 14}
+     * @return the packed {@link Ship}
+     */
+    public static int encode(Ship.Color color, Ship.ShipClass shipClass, int x, int y) {
+        return color.ordinal() << COLOR_SHIFT
+                | shipClass.ordinal() << SHIP_CLASS_SHIFT
+                | encodeCoordinate(x) << X_SHIFT
+                | encodeCoordinate(y);
+    }
+
+    /**
+     * Unpacks the given {@code int} into a new {@link Ship}.
+     *
+     * @param code the packed {@link Ship}
+     * @return the {@link Ship}
+     */
+    public static Ship decode(int code) {
+        if (code < 0) {
+            throw new IllegalArgumentException("Ship code is invalid");
+        }
+
+        Ship ship = new Ship();
+        ship.setColor(getColor(code));
+        ship.setShipClass(getShipClass(code));
+        ship.setCoordinates(new Ship.Coordinates(getX(code), getY(code)));
+
+        return ship;
+    }
+
+    /**
+     * Returns the {@link Ship.Color} of the packed {@link Ship}.
+     *
+     * @param code the packed {@link Ship}
+     * @return the {@link Ship.Color}
+     */
+    public static Ship.Color getColor(int code) {
+        return COLORS[code >>> COLOR_SHIFT & 1];
+    }
+
+    /**
+     * Returns the {@link Ship.ShipClass} of the packed {@link Ship}.
+     *
+     * @param code the packed {@link Ship}
+     * @return the {@link Ship.ShipClass}
+     */
+    public static Ship.ShipClass getShipClass(int code) {
+        return SHIP_CLASSES[code >>> SHIP_CLASS_SHIFT & SHIP_CLASS_MASK];
+    }
+
+    /**
+     * Returns the X coordinate of the packed {@link Ship}.
+     *
+     * @param code the packed {@link Ship}
+     * @return the X coordinate or {@code -1} if not positioned
+     */
+    public static int getX(int code) {
+        return decodeCoordinate(code >>> X_SHIFT & COORDINATE_MASK);
+    }
+
+    /**
+     * Returns the Y coordinate of the packed {@link Ship}.
+     *
+     * @param code the packed {@link Ship}
+     * @return the Y coordinate or {@code -1} if not positioned
+     */
+    public static int getY(int code) {
+        return decodeCoordinate(code & COORDINATE_MASK);
+    }
+
+    /**
+     * Returns the packed {@link Ship} moved to the given coordinates.
+     *
+     * @param code the packed {@link Ship}
+     * @param x    the new X coordinate
+     * @param y    the new Y coordinate
+     * @return the packed {@link Ship} with the new coordinates
+     */
+    public static int withCoordinates(int code, int x, int y) {
+        return code & ~(COORDINATE_MASK << X_SHIFT | COORDINATE_MASK)
+                | encodeCoordinate(x) << X_SHIFT
+                | encodeCoordinate(y);
+    }
+
+    /**
+     * Checks if the packed {@link Ship} has been positioned.
+     *
+     * @param code the packed {@link Ship}
+     * @return {@code true} if both coordinates have been set; {@code false} otherwise
+     */
+    public static boolean isPositioned(int code) {
+        return (code & COORDINATE_MASK) != COORDINATE_MASK
+                && (code >>> X_SHIFT & COORDINATE_MASK) != COORDINATE_MASK;
+    }
+
+    private static int encodeCoordinate(int coordinate) {
+        if (coordinate < -1 || coordinate >= COORDINATE_MASK) {
+            throw new IllegalArgumentException(String.format("Coordinate %d cannot be encoded", coordinate));
+        }
+
+        return coordinate & COORDINATE_MASK;
+    }
+
+    private static int decodeCoordinate(int coordinate) {
+        return coordinate == COORDINATE_MASK ? -1 : coordinate;
+    }
+}
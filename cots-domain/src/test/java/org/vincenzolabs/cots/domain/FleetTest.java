@@ -0,0 +1,124 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The test case for {@link Fleet}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+class FleetTest {
+
+    @Test
+    void ofAndToShips() {
+        for (Ship.Color color : Ship.Color.values()) {
+            Set<Ship> ships = new HashSet<>();
+            for (int i = 0; i < Fleet.SIZE; i++) {
+                ships.add(getShip(color, Fleet.getShipClass(i), new Ship.Coordinates(i % 9, i / 9)));
+            }
+
+            Fleet fleet = Fleet.of(color, ships);
+            assertThat(fleet.getColor()).isEqualTo(color);
+            assertThat(fleet.size()).isEqualTo(Fleet.SIZE);
+            assertThat(fleet.toShips()).isEqualTo(ships);
+            assertThat(getCoordinates(fleet.toShips())).isEqualTo(getCoordinates(ships));
+            assertThat(Fleet.of(color, fleet.toShips())).isEqualTo(fleet);
+        }
+    }
+
+    @Test
+    void ofUnpositionedShips() {
+        for (Ship.Color color : Ship.Color.values()) {
+            Ship ship = getShip(color, Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER, null);
+
+            Fleet fleet = Fleet.of(color, Set.of(ship));
+            assertThat(fleet.size()).isEqualTo(1);
+            assertThat(fleet.contains(Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER)).isTrue();
+            assertThat(ShipCodec.isPositioned(fleet.get(Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER)))
+                    .isFalse();
+            assertThat(fleet.toShips().iterator().next().getCoordinates()).isEqualTo(new Ship.Coordinates(-1, -1));
+        }
+    }
+
+    @Test
+    void putAndRemove() {
+        Fleet fleet = new Fleet(Ship.Color.BLACK);
+        assertThat(fleet.size()).isZero();
+        assertThat(fleet.contains(Ship.ShipClass.UNKNOWN)).isFalse();
+
+        fleet.put(Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0, 4, 5);
+        Fleet copy = new Fleet(fleet);
+        fleet.remove(Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0);
+
+        assertThat(fleet.contains(Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0)).isFalse();
+        assertThat(fleet.get(Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0)).isEqualTo(ShipCodec.NONE);
+        assertThat(fleet.toShips()).isEmpty();
+
+        // the copy does not share the ships
+        assertThat(copy.size()).isEqualTo(1);
+        assertThat(ShipCodec.getX(copy.get(Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0))).isEqualTo(4);
+        assertThat(ShipCodec.getY(copy.get(Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0))).isEqualTo(5);
+        assertThat(copy).isNotEqualTo(fleet);
+    }
+
+    @Test
+    void putInvalidShip() {
+        Fleet fleet = new Fleet(Ship.Color.WHITE);
+
+        assertThatThrownBy(() -> fleet.put(getShip(Ship.Color.BLACK, Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER,
+                new Ship.Coordinates(0, 0))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Ship must be WHITE");
+        assertThatThrownBy(() -> fleet.put(getShip(Ship.Color.WHITE, Ship.ShipClass.UNKNOWN,
+                new Ship.Coordinates(0, 0))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Ship class cannot be unknown");
+    }
+
+    private Ship getShip(Ship.Color color, Ship.ShipClass shipClass, Ship.Coordinates coordinates) {
+        Ship ship = new Ship();
+        ship.setColor(color);
+        ship.setShipClass(shipClass);
+        ship.setCoordinates(coordinates);
+
+        return ship;
+    }
+
+    private Map<Ship.ShipClass, Ship.Coordinates> getCoordinates(Set<Ship> ships) {
+        Map<Ship.ShipClass, Ship.Coordinates> coordinates = new EnumMap<>(Ship.ShipClass.class);
+        ships.forEach(ship -> coordinates.put(ship.getShipClass(), ship.getCoordinates()));
+
+        return coordinates;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The test case for {@link MatchCodec}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+class MatchCodecTest {
+
+    @Test
+    void encodeAndDecodeFleets() {
+        Map<String, Set<Ship>> fleets = new LinkedHashMap<>();
+        fleets.put("whitePlayer", getFleet(Ship.Color.WHITE, 0));
+        fleets.put("blackPlayer", getFleet(Ship.Color.BLACK, 5));
+
+        for (boolean compress : new boolean[] {false, true}) {
+            Map<String, Set<Ship>> actual = MatchCodec.decodeFleets(MatchCodec.encodeFleets(fleets, compress));
+            assertThat(actual).containsOnlyKeys("whitePlayer", "blackPlayer");
+            fleets.forEach((playerUuid, ships) -> {
+                assertThat(actual.get(playerUuid)).isEqualTo(ships);
+                assertThat(getCoordinates(actual.get(playerUuid))).isEqualTo(getCoordinates(ships));
+            });
+        }
+    }
+
+    @Test
+    void encodeFleetOfHostOnly() {
+        Map<String, Set<Ship>> fleets = Map.of("host", getFleet(Ship.Color.BLACK, 5));
+
+        Map<String, Set<Ship>> actual = MatchCodec.decodeFleets(MatchCodec.encodeFleets(fleets, false));
+        assertThat(actual).containsOnlyKeys("host");
+        assertThat(getCoordinates(actual.get("host"))).isEqualTo(getCoordinates(fleets.get("host")));
+    }
+
+    @Test
+    void encodeFleetWithoutPlayer() {
+        Map<String, Set<Ship>> fleets = new HashMap<>();
+        fleets.put("host", getFleet(Ship.Color.WHITE, 0));
+        fleets.put(null, getFleet(Ship.Color.BLACK, 5));
+
+        assertThatThrownBy(() -> MatchCodec.encodeFleets(fleets, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Fleet must belong to a player");
+    }
+
+    private Set<Ship> getFleet(Ship.Color color, int firstRow) {
+        Set<Ship> ships = new HashSet<>();
+        for (int i = 0; i < Fleet.SIZE; i++) {
+            Ship ship = new Ship();
+            ship.setColor(color);
+            ship.setShipClass(Fleet.getShipClass(i));
+            ship.setCoordinates(new Ship.Coordinates(i % 9, firstRow + i / 9));
+            ships.add(ship);
+        }
+
+        return ships;
+    }
+
+    private Map<Ship.ShipClass, Ship.Coordinates> getCoordinates(Set<Ship> ships) {
+        Map<Ship.ShipClass, Ship.Coordinates> coordinates = new EnumMap<>(Ship.ShipClass.class);
+        ships.forEach(ship -> coordinates.put(ship.getShipClass(), ship.getCoordinates()));
+
+        return coordinates;
+    }
+}
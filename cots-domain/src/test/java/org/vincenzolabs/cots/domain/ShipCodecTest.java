@@ -0,0 +1,114 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The test case for {@link ShipCodec}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+class ShipCodecTest {
+
+    @Test
+    void encodeAndDecode() {
+        for (Ship.Color color : Ship.Color.values()) {
+            for (Ship.ShipClass shipClass : Ship.ShipClass.values()) {
+                Ship ship = getShip(color, shipClass, new Ship.Coordinates(shipClass.ordinal() % 9, 14));
+
+                int code = ShipCodec.encode(ship);
+                assertThat(code).isNotNegative();
+                assertThat(ShipCodec.getColor(code)).isEqualTo(color);
+                assertThat(ShipCodec.getShipClass(code)).isEqualTo(shipClass);
+                assertThat(ShipCodec.getX(code)).isEqualTo(shipClass.ordinal() % 9);
+                assertThat(ShipCodec.getY(code)).isEqualTo(14);
+                assertThat(ShipCodec.isPositioned(code)).isTrue();
+
+                Ship actual = ShipCodec.decode(code);
+                assertThat(actual).isEqualTo(ship);
+                assertThat(actual.getCoordinates()).isEqualTo(ship.getCoordinates());
+            }
+        }
+    }
+
+    @Test
+    void encodeUnpositionedShip() {
+        for (Ship.Color color : Ship.Color.values()) {
+            Ship ship = new Ship();
+            ship.setColor(color);
+            ship.setShipClass(Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER);
+
+            // both coordinates are stored as 0xF
+            int code = ShipCodec.encode(ship);
+            assertThat(code & 0xFF).isEqualTo(0xFF);
+            assertThat(ShipCodec.getColor(code)).isEqualTo(color);
+            assertThat(ShipCodec.isPositioned(code)).isFalse();
+            assertThat(ShipCodec.decode(code).getCoordinates()).isEqualTo(new Ship.Coordinates(-1, -1));
+
+            assertThat(ShipCodec.isPositioned(ShipCodec.withCoordinates(code, 3, -1))).isFalse();
+            assertThat(ShipCodec.isPositioned(ShipCodec.withCoordinates(code, -1, 3))).isFalse();
+        }
+    }
+
+    @Test
+    void withCoordinates() {
+        int code = ShipCodec.encode(Ship.Color.BLACK, Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0, -1, -1);
+
+        int moved = ShipCodec.withCoordinates(code, 8, 7);
+        assertThat(ShipCodec.getColor(moved)).isEqualTo(Ship.Color.BLACK);
+        assertThat(ShipCodec.getShipClass(moved)).isEqualTo(Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0);
+        assertThat(ShipCodec.getX(moved)).isEqualTo(8);
+        assertThat(ShipCodec.getY(moved)).isEqualTo(7);
+        assertThat(ShipCodec.withCoordinates(moved, -1, -1)).isEqualTo(code);
+    }
+
+    @Test
+    void encodeInvalidShip() {
+        assertThatThrownBy(() -> ShipCodec.encode(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Ship cannot be null or have null values");
+        assertThatThrownBy(() -> ShipCodec.encode(Ship.Color.WHITE, Ship.ShipClass.UNKNOWN, 15, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Coordinate 15 cannot be encoded");
+        assertThatThrownBy(() -> ShipCodec.encode(Ship.Color.WHITE, Ship.ShipClass.UNKNOWN, 0, -2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Coordinate -2 cannot be encoded");
+        assertThatThrownBy(() -> ShipCodec.decode(ShipCodec.NONE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Ship code is invalid");
+    }
+
+    private Ship getShip(Ship.Color color, Ship.ShipClass shipClass, Ship.Coordinates coordinates) {
+        Ship ship = new Ship();
+        ship.setColor(color);
+        ship.setShipClass(shipClass);
+        ship.setCoordinates(coordinates);
+
+        return ship;
+    }
+}
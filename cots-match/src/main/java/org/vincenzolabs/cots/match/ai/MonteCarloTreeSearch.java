@@ -0,0 +1,388 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.ai;
+
+import org.vincenzolabs.cots.domain.Fleet;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.engine.Board;
+import org.vincenzolabs.cots.match.service.ArbitrationService;
+import org.vincenzolabs.cots.match.simulation.RandomStrategy;
+import org.vincenzolabs.cots.match.simulation.Strategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * The Monte Carlo tree search of a player that cannot see the classes of the opponent's ships. Each worker of the
+ * {@link ForkJoinPool} repeatedly samples a determinization, i.e. an assignment of ship classes to the opponent's
+ * squares that always includes the {@link Ship.ShipClass#BLUE_RIDGE_CLASS_COMMAND_SHIP}, and runs UCT on it until
+ * the time budget is spent. The visits of the moves at the root are summed over all determinizations and the most
+ * visited move is selected.
+ * <p>
+ * The trees are stored in preallocated arrays that are reused per thread and the simulations copy the
+ * {@link Board} in place so that a search allocates almost nothing.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class MonteCarloTreeSearch {
+
+    private static final int MAX_NODES = 1 << 16;
+
+    private static final int MAX_BRANCHING = 4 * Fleet.SIZE;
+
+    private static final int MAX_DEPTH = 128;
+
+    private static final int ROLLOUT_DEPTH = 40;
+
+    private static final int ITERATIONS_PER_DETERMINIZATION = 256;
+
+    private static final double EXPLORATION = 0.7;
+
+    private static final int MOVES = Fleet.SIZE * Board.SQUARES;
+
+    private static final Strategy ROLLOUT_STRATEGY = new RandomStrategy();
+
+    private final ArbitrationService arbitrationService;
+
+    private final ForkJoinPool forkJoinPool;
+
+    private final Duration timeBudget;
+
+    private final ThreadLocal<Tree> trees = ThreadLocal.withInitial(Tree::new);
+
+    /**
+     * Default constructor.
+     *
+     * @param arbitrationService the {@link ArbitrationService}
+     * @param forkJoinPool       the {@link ForkJoinPool} whose parallelism is the number of workers
+     * @param timeBudget         the time budget per move
+     */
+    public MonteCarloTreeSearch(ArbitrationService arbitrationService, ForkJoinPool forkJoinPool,
+            Duration timeBudget) {
+        this.arbitrationService = arbitrationService;
+        this.forkJoinPool = forkJoinPool;
+        this.timeBudget = timeBudget;
+    }
+
+    /**
+     * Searches for the move of the given {@link Fleet}.
+     *
+     * @param fleet           the {@link Fleet} to move
+     * @param opponentSquares the squares of the opponent's ships whose classes are unknown
+     * @param seed            the seed
+     * @return the move encoded by {@link Strategy#move(Ship.ShipClass, int)} or {@link Strategy#NONE} if there is no
+     * legal move
+     */
+    public int search(Fleet fleet, int[] opponentSquares, long seed) {
+        if (fleet == null) {
+            throw new IllegalArgumentException("Fleet cannot be null");
+        }
+
+        if (opponentSquares == null || opponentSquares.length == 0 || opponentSquares.length > Fleet.SIZE) {
+            throw new IllegalArgumentException("Opponent squares are invalid");
+        }
+
+        Board board = Board.of(fleet, new Fleet(Board.opponent(fleet.getColor())));
+
+        // the legal moves at the root do not depend on the classes of the opponent's ships
+        int legalMoves = 0;
+        int legalMove = Strategy.NONE;
+        for (int i = 0; i < Fleet.SIZE; i++) {
+            for (int index = 0; index < 2; index++) {
+                long mask = board.getLegalMoves(fleet.getColor(), Fleet.getShipClass(i), index);
+                if (mask != 0) {
+                    legalMoves += Long.bitCount(mask);
+                    legalMove = Strategy.move(Fleet.getShipClass(i), index << 6 | Long.numberOfTrailingZeros(mask));
+                }
+            }
+        }
+
+        if (legalMoves <= 1) {
+            return legalMove;
+        }
+
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        List<Callable<long[]>> workers = new ArrayList<>();
+        for (int i = 0; i < forkJoinPool.getParallelism(); i++) {
+            workers.add(new Worker(board, fleet.getColor(), opponentSquares, deadline, seed + i));
+        }
+
+        long[] visits = new long[MOVES];
+        try {
+            for (Future<long[]> future : forkJoinPool.invokeAll(workers)) {
+                long[] workerVisits = future.get();
+                for (int move = 0; move < MOVES; move++) {
+                    visits[move] += workerVisits[move];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed", e.getCause());
+        }
+
+        int selectedMove = legalMove;
+        for (int move = 0; move < MOVES; move++) {
+            if (visits[move] > visits[selectedMove]) {
+                selectedMove = move;
+            }
+        }
+
+        return selectedMove;
+    }
+
+    private Ship.Color apply(Board board, Ship.Color turn, int move) {
+        Ship.ShipClass shipClass = Strategy.shipClass(move);
+        int target = Strategy.target(move);
+
+        Move.Outcome outcome = Move.Outcome.MOVED;
+        int defendingPiece = board.pieceAt(target);
+        if (defendingPiece != Board.NONE) {
+            outcome = arbitrationService.getOutcome(shipClass, Board.shipClass(defendingPiece));
+        }
+
+        board.apply(turn, shipClass, target, outcome);
+
+        return board.getWinner(turn);
+    }
+
+    private static double evaluate(Board board, Ship.Color color) {
+        Ship.Color opponent = Board.opponent(color);
+        int material = 0;
+        int opponentMaterial = 0;
+        for (int i = 0; i < Fleet.SIZE; i++) {
+            Ship.ShipClass shipClass = Fleet.getShipClass(i);
+            if (board.squareOf(color, shipClass) != Board.NONE) {
+                material += shipClass.getRank() + 1;
+            }
+            if (board.squareOf(opponent, shipClass) != Board.NONE) {
+                opponentMaterial += shipClass.getRank() + 1;
+            }
+        }
+
+        return 0.5 + 0.5 * (material - opponentMaterial) / (material + opponentMaterial);
+    }
+
+    private final class Worker implements Callable<long[]> {
+
+        private final Board root;
+
+        private final Ship.Color color;
+
+        private final int[] opponentSquares;
+
+        private final long deadline;
+
+        private final long seed;
+
+        Worker(Board root, Ship.Color color, int[] opponentSquares, long deadline, long seed) {
+            this.root = root;
+            this.color = color;
+            this.opponentSquares = opponentSquares;
+            this.deadline = deadline;
+            this.seed = seed;
+        }
+
+        @Override
+        public long[] call() {
+            Tree tree = trees.get();
+            SplittableRandom random = new SplittableRandom(seed);
+            Board determinization = new Board();
+            Board board = new Board();
+            long[] visits = new long[MOVES];
+
+            while (System.nanoTime() < deadline) {
+                determinize(determinization, random, tree.shipClasses);
+                tree.reset();
+                for (int i = 0; i < ITERATIONS_PER_DETERMINIZATION && System.nanoTime() < deadline; i++) {
+                    board.copyFrom(determinization);
+                    iterate(tree, board, random);
+                }
+
+                int firstChild = tree.firstChild[0];
+                for (int child = firstChild; child < firstChild + tree.childCount[0]; child++) {
+                    visits[tree.moves[child]] += tree.visits[child];
+                }
+            }
+
+            return visits;
+        }
+
+        private void determinize(Board determinization, SplittableRandom random, int[] shipClasses) {
+            determinization.copyFrom(root);
+
+            Ship.Color opponent = Board.opponent(color);
+            int commandShip = random.nextInt(opponentSquares.length);
+            int remaining = Fleet.SIZE - 1;
+            for (int i = 0; i < opponentSquares.length; i++) {
+                Ship.ShipClass shipClass;
+                if (i == commandShip) {
+                    shipClass = Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP;
+                } else {
+                    // draw without replacement from the other ship classes
+                    int j = random.nextInt(remaining);
+                    shipClass = Fleet.getShipClass(shipClasses[j]);
+                    shipClasses[j] = shipClasses[--remaining];
+                    shipClasses[remaining] = shipClass.ordinal();
+                }
+                determinization.place(opponent, shipClass, opponentSquares[i]);
+            }
+        }
+
+        private void iterate(Tree tree, Board board, SplittableRandom random) {
+            Ship.Color turn = color;
+            Ship.Color winner = null;
+            int node = 0;
+            int depth = 0;
+            tree.path[0] = node;
+
+            // selection
+            while (tree.childCount[node] > 0 && winner == null && depth < MAX_DEPTH - 1) {
+                node = tree.select(node);
+                winner = apply(board, turn, tree.moves[node]);
+                turn = Board.opponent(turn);
+                tree.path[++depth] = node;
+            }
+
+            // expansion
+            if (winner == null && depth < MAX_DEPTH - 1 && tree.expand(node, board, turn)) {
+                node = tree.firstChild[node] + random.nextInt(tree.childCount[node]);
+                winner = apply(board, turn, tree.moves[node]);
+                turn = Board.opponent(turn);
+                tree.path[++depth] = node;
+            }
+
+            // simulation
+            for (int ply = 0; ply < ROLLOUT_DEPTH && winner == null; ply++) {
+                int move = ROLLOUT_STRATEGY.selectMove(board, turn, random);
+                if (move == Strategy.NONE) {
+                    break;
+                }
+                winner = apply(board, turn, move);
+                turn = Board.opponent(turn);
+            }
+
+            double value;
+            if (winner == null) {
+                value = evaluate(board, color);
+            } else {
+                value = winner == color ? 1 : 0;
+            }
+
+            // backpropagation where the moves at odd depths are made by the searching player
+            for (int i = depth; i >= 0; i--) {
+                int pathNode = tree.path[i];
+                tree.visits[pathNode]++;
+                tree.wins[pathNode] += (i & 1) == 1 ? value : 1 - value;
+            }
+        }
+    }
+
+    private static final class Tree {
+
+        private final int[] moves = new int[MAX_NODES];
+
+        private final int[] firstChild = new int[MAX_NODES];
+
+        private final int[] childCount = new int[MAX_NODES];
+
+        private final int[] visits = new int[MAX_NODES];
+
+        private final double[] wins = new double[MAX_NODES];
+
+        private final int[] path = new int[MAX_DEPTH];
+
+        private final int[] shipClasses = new int[Fleet.SIZE - 1];
+
+        private int size;
+
+        Tree() {
+            int j = 0;
+            for (int i = 0; i < Fleet.SIZE; i++) {
+                if (Fleet.getShipClass(i) != Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP) {
+                    shipClasses[j++] = i;
+                }
+            }
+        }
+
+        void reset() {
+            size = 1;
+            childCount[0] = 0;
+            visits[0] = 0;
+            wins[0] = 0;
+        }
+
+        int select(int node) {
+            int first = firstChild[node];
+            double logVisits = Math.log(visits[node]);
+            int selectedNode = first;
+            double selectedScore = Double.NEGATIVE_INFINITY;
+            for (int child = first; child < first + childCount[node]; child++) {
+                if (visits[child] == 0) {
+                    return child;
+                }
+
+                double score = wins[child] / visits[child] + EXPLORATION * Math.sqrt(logVisits / visits[child]);
+                if (score > selectedScore) {
+                    selectedScore = score;
+                    selectedNode = child;
+                }
+            }
+
+            return selectedNode;
+        }
+
+        boolean expand(int node, Board board, Ship.Color turn) {
+            if (size + MAX_BRANCHING > MAX_NODES) {
+                return false;
+            }
+
+            int first = size;
+            for (int i = 0; i < Fleet.SIZE; i++) {
+                Ship.ShipClass shipClass = Fleet.getShipClass(i);
+                for (int index = 0; index < 2; index++) {
+                    for (long mask = board.getLegalMoves(turn, shipClass, index); mask != 0; mask &= mask - 1) {
+                        moves[size] = Strategy.move(shipClass, index << 6 | Long.numberOfTrailingZeros(mask));
+                        childCount[size] = 0;
+                        visits[size] = 0;
+                        wins[size] = 0;
+                        size++;
+                    }
+                }
+            }
+            firstChild[node] = first;
+            childCount[node] = size - first;
+
+            return size > first;
+        }
+    }
+}
@@ -25,21 +25,38 @@ package org.vincenzolabs.cots.match.configuration;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import org.vincenzolabs.cots.match.ai.MonteCarloTreeSearch;
+import org.vincenzolabs.cots.match.dao.MatchAsyncDAO;
 import org.vincenzolabs.cots.match.dao.MatchDAO;
+import org.vincenzolabs.cots.match.dao.impl.MatchAsyncDAOBlockingImpl;
+import org.vincenzolabs.cots.match.dao.impl.MatchAsyncDAODynamoDBImpl;
+import org.vincenzolabs.cots.match.dao.impl.MatchDAOCachingImpl;
 import org.vincenzolabs.cots.match.dao.impl.MatchDAODynamoDBImpl;
+import org.vincenzolabs.cots.match.dao.impl.MatchDAOFileImpl;
+import org.vincenzolabs.cots.match.dao.impl.MatchDAOInMemoryImpl;
 import org.vincenzolabs.cots.match.service.ArbitrationService;
+import org.vincenzolabs.cots.match.service.BotService;
 import org.vincenzolabs.cots.match.service.MatchService;
 import org.vincenzolabs.cots.match.service.PlayerService;
+import org.vincenzolabs.cots.match.service.TokenService;
 import org.vincenzolabs.cots.match.service.impl.ArbitrationServiceImpl;
+import org.vincenzolabs.cots.match.service.impl.BotServiceImpl;
 import org.vincenzolabs.cots.match.service.impl.MatchServiceImpl;
 import org.vincenzolabs.cots.match.service.impl.PlayerServiceImpl;
+import org.vincenzolabs.cots.match.service.impl.TokenServiceImpl;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.lambda.LambdaClient;
 
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * The match configuration.
  *
@@ -48,6 +65,57 @@ import software.amazon.awssdk.services.lambda.LambdaClient;
 @Configuration
 public class MatchConfiguration {
 
+    private static final Duration BOT_TIME_BUDGET = Duration.ofMillis(150);
+
+    private static final int MATCH_CACHE_SIZE = 256;
+
+    private static final Duration MATCH_CACHE_MAX_AGE = Duration.ofSeconds(1);
+
+    /**
+     * The environment variable that selects where the {@link org.vincenzolabs.cots.domain.Match}es are stored. Set it
+     * to {@value #IN_MEMORY_DATA_STORE} to run without DynamoDB or to {@value #FILE_DATA_STORE} to store them in
+     * {@value #DATA_DIRECTORY_VARIABLE}; any other value uses DynamoDB.
+     */
+    public static final String DATA_STORE_VARIABLE = "COTS_DATA_STORE";
+
+    /**
+     * The value of {@value #DATA_STORE_VARIABLE} that selects the in-memory data store.
+     */
+    public static final String IN_MEMORY_DATA_STORE = "memory";
+
+    /**
+     * The value of {@value #DATA_STORE_VARIABLE} that selects the file data store.
+     */
+    public static final String FILE_DATA_STORE = "file";
+
+    /**
+     * The environment variable of the directory of the file data store, which defaults to
+     * {@value #DEFAULT_DATA_DIRECTORY}.
+     */
+    public static final String DATA_DIRECTORY_VARIABLE = "COTS_DATA_DIRECTORY";
+
+    /**
+     * The default directory of the file data store.
+     */
+    public static final String DEFAULT_DATA_DIRECTORY = "data";
+
+    /**
+     * The environment variable of the issuer of the tokens, which is the URL of the Cognito user pool, e.g.
+     * {@code https://cognito-idp.ap-southeast-2.amazonaws.com/<user pool ID>}.
+     */
+    public static final String TOKEN_ISSUER_VARIABLE = "COTS_TOKEN_ISSUER";
+
+    /**
+     * The environment variable of the ID of the Cognito user pool client that the tokens must be issued to.
+     */
+    public static final String CLIENT_ID_VARIABLE = "COTS_CLIENT_ID";
+
+    /**
+     * The environment variable of the URL of the JSON Web Key Set that signs the tokens. It defaults to the key set
+     * of {@value #TOKEN_ISSUER_VARIABLE} and can be a {@code file:} URL to verify tokens offline.
+     */
+    public static final String KEY_SET_URL_VARIABLE = "COTS_KEY_SET_URL";
+
     /**
      * Returns the {@link DynamoDbClient}.
      *
@@ -61,6 +129,19 @@ public class MatchConfiguration {
                 .build();
     }
 
+    /**
+     * Returns the {@link DynamoDbAsyncClient}.
+     *
+     * @return the {@link DynamoDbAsyncClient}
+     */
+    @Bean
+    public DynamoDbAsyncClient dynamoDbAsyncClient() {
+        return DynamoDbAsyncClient.builder()
+                .region(Region.AP_SOUTHEAST_2)
+                .credentialsProvider(DefaultCredentialsProvider.builder().build())
+                .build();
+    }
+
     /**
      * Returns the {@link LambdaClient}.
      *
@@ -75,13 +156,40 @@ public class MatchConfiguration {
     }
 
     /**
-     * Returns the {@link MatchDAO}.
+     * Returns the {@link MatchDAO} which caches the {@link org.vincenzolabs.cots.domain.Match}es for as long as the
+     * container is warm, or the in-memory or file {@link MatchDAO} if it is selected by {@value #DATA_STORE_VARIABLE}.
      *
      * @return the {@link MatchDAO}
      */
     @Bean
     public MatchDAO matchDAO() {
-        return new MatchDAODynamoDBImpl(dynamoDbClient(), gson());
+        if (isInMemory()) {
+            return new MatchDAOInMemoryImpl();
+        }
+
+        if (isFile()) {
+            String directory = System.getenv(DATA_DIRECTORY_VARIABLE);
+
+            return new MatchDAOFileImpl(Paths.get(directory == null ? DEFAULT_DATA_DIRECTORY : directory),
+                    MatchDAOFileImpl.DEFAULT_SEGMENT_SIZE);
+        }
+
+        return new MatchDAOCachingImpl(new MatchDAODynamoDBImpl(dynamoDbClient(), gson()), MATCH_CACHE_SIZE,
+                MATCH_CACHE_MAX_AGE, Clock.systemUTC());
+    }
+
+    /**
+     * Returns the {@link MatchAsyncDAO}.
+     *
+     * @return the {@link MatchAsyncDAO}
+     */
+    @Bean
+    public MatchAsyncDAO matchAsyncDAO() {
+        if (isInMemory() || isFile()) {
+            return new MatchAsyncDAOBlockingImpl(matchDAO());
+        }
+
+        return new MatchAsyncDAODynamoDBImpl(dynamoDbAsyncClient(), gson());
     }
 
     /**
@@ -91,7 +199,7 @@ public class MatchConfiguration {
      */
     @Bean
     public MatchService matchService() {
-        return new MatchServiceImpl(arbitrationService(), matchDAO());
+        return new MatchServiceImpl(arbitrationService(), matchDAO(), matchAsyncDAO());
     }
 
     /**
@@ -104,6 +212,37 @@ public class MatchConfiguration {
         return new ArbitrationServiceImpl();
     }
 
+    /**
+     * Returns the {@link BotService}.
+     *
+     * @return the {@link BotService}
+     */
+    @Bean
+    public BotService botService() {
+        return new BotServiceImpl(matchService(), monteCarloTreeSearch());
+    }
+
+    /**
+     * Returns the {@link MonteCarloTreeSearch} of the bot. The time budget leaves room within the 200ms per move for
+     * reading the {@link org.vincenzolabs.cots.domain.Match}.
+     *
+     * @return the {@link MonteCarloTreeSearch}
+     */
+    @Bean
+    public MonteCarloTreeSearch monteCarloTreeSearch() {
+        return new MonteCarloTreeSearch(arbitrationService(), botForkJoinPool(), BOT_TIME_BUDGET);
+    }
+
+    /**
+     * Returns the {@link ForkJoinPool} of the bot which uses all the available processors.
+     *
+     * @return the {@link ForkJoinPool}
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool botForkJoinPool() {
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
     /**
      * Returns the {@link PlayerService}.
      *
@@ -114,6 +253,32 @@ public class MatchConfiguration {
         return new PlayerServiceImpl(lambdaClient(), gson());
     }
 
+    /**
+     * Returns the {@link TokenService} which verifies the tokens without calling Cognito. The context fails to start
+     * if {@value #TOKEN_ISSUER_VARIABLE} or {@value #CLIENT_ID_VARIABLE} is not set since no token could be verified.
+     *
+     * @return the {@link TokenService}
+     */
+    @Bean
+    public TokenService tokenService() {
+        String issuer = System.getenv(TOKEN_ISSUER_VARIABLE);
+        if (issuer == null || issuer.isBlank()) {
+            throw new IllegalStateException(String.format("%s is not set", TOKEN_ISSUER_VARIABLE));
+        }
+
+        String clientId = System.getenv(CLIENT_ID_VARIABLE);
+        if (clientId == null || clientId.isBlank()) {
+            throw new IllegalStateException(String.format("%s is not set", CLIENT_ID_VARIABLE));
+        }
+
+        String keySetUrl = System.getenv(KEY_SET_URL_VARIABLE);
+        if (keySetUrl == null) {
+            keySetUrl = issuer + "/.well-known/jwks.json";
+        }
+
+        return new TokenServiceImpl(issuer, clientId, keySetUrl, gson(), Clock.systemUTC());
+    }
+
     /**
      * Returns the {@link Gson}.
      *
@@ -123,4 +288,12 @@ public class MatchConfiguration {
     public Gson gson() {
         return new GsonBuilder().create();
     }
+
+    private static boolean isInMemory() {
+        return IN_MEMORY_DATA_STORE.equalsIgnoreCase(System.getenv(DATA_STORE_VARIABLE));
+    }
+
+    private static boolean isFile() {
+        return FILE_DATA_STORE.equalsIgnoreCase(System.getenv(DATA_STORE_VARIABLE));
+    }
 }
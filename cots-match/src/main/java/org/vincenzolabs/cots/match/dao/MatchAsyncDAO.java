@@ -0,0 +1,57 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.dao;
+
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Move;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The non-blocking data access object for reading matches. Independent reads can be started together so that the
+ * caller only waits for the slowest one.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public interface MatchAsyncDAO {
+
+    /**
+     * Retrieves the {@link Match} matching the given UUID.
+     *
+     * @param matchUuid the UUID of the {@link Match}
+     * @return the {@link CompletableFuture} of the {@link Match} or {@code null} if it does not exist
+     */
+    CompletableFuture<Match> retrieveMatch(String matchUuid);
+
+    /**
+     * Retrieves a range of {@link Move}s of a {@link Match} sorted by turn.
+     *
+     * @param matchUuid the UUID of the {@link Match}
+     * @param fromTurn  the first turn, inclusive
+     * @param toTurn    the last turn, inclusive
+     * @return the {@link CompletableFuture} of the {@link List} of {@link Move}s
+     */
+    CompletableFuture<List<Move>> retrieveMoves(String matchUuid, int fromTurn, int toTurn);
+}
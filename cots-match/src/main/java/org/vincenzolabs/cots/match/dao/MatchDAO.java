@@ -24,7 +24,13 @@
 package org.vincenzolabs.cots.match.dao;
 
 import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Page;
+import org.vincenzolabs.cots.domain.Player;
+import org.vincenzolabs.cots.domain.Ship;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -51,34 +57,82 @@ public interface MatchDAO {
     Match retrieveMatch(String matchUuid);
 
     /**
-     * Returns the {@link Set} of finished {@link Match}es.
+     * Retrieves the scalar fields of a {@link Match} with a projection. The fleets and checkpoints are only read when
+     * they are first accessed so that operations which do not need them read less than 1 KB.
      *
-     * @return the {@link Set} of finished {@link Match}es
+     * @param matchUuid the UUID of the {@link Match}
+     * @return the {@link Match} or {@code null} if it does not exist
+     */
+    Match retrieveMatchSummary(String matchUuid);
+
+    /**
+     * Returns a {@link Page} of finished {@link Match}es, newest first.
+     *
+     * @param limit  the maximum number of {@link Match}es
+     * @param cursor the cursor of the {@link Page} or {@code null} for the first {@link Page}
+     * @return the {@link Page} of finished {@link Match}es
      */
-    Set<Match> retrieveFinishedMatches();
+    Page<Match> retrieveFinishedMatches(int limit, String cursor);
 
     /**
-     * Returns the {@link Set} of ongoing {@link Match}es.
+     * Returns a {@link Page} of ongoing {@link Match}es, newest first.
      *
-     * @return the {@link Set} of ongoing {@link Match}es
+     * @param limit  the maximum number of {@link Match}es
+     * @param cursor the cursor of the {@link Page} or {@code null} for the first {@link Page}
+     * @return the {@link Page} of ongoing {@link Match}es
      */
-    Set<Match> retrieveActiveMatches();
+    Page<Match> retrieveActiveMatches(int limit, String cursor);
 
     /**
-     * Returns the {@link Set} of new {@link Match}es.
+     * Returns a {@link Page} of new {@link Match}es, newest first.
      *
-     * @return the {@link Set} of new {@link Match}es
+     * @param limit  the maximum number of {@link Match}es
+     * @param cursor the cursor of the {@link Page} or {@code null} for the first {@link Page}
+     * @return the {@link Page} of new {@link Match}es
      */
-    Set<Match> retrieveUnstartedMatches();
+    Page<Match> retrieveUnstartedMatches(int limit, String cursor);
 
     /**
-     * Updates a {@link Match}.
+     * Updates a {@link Match} if its version has not changed since it was retrieved. The version of the given
+     * {@link Match} is incremented after a successful update.
      *
      * @param match the {@link Match}
      * @return {@code true} if the {@link Match} has been deleted; {@code false} otherwise
+     * @throws MatchConflictException if the {@link Match} has been updated by another request
      */
     boolean updateMatch(Match match);
 
+    /**
+     * Updates the fleets of a {@link Match} that has not yet started with a single conditional write. The write only
+     * succeeds if the fleets have not changed since they were retrieved so that 2 {@link Player}s positioning their
+     * fleets at the same time do not overwrite each other.
+     *
+     * @param match          the {@link Match} with the new fleets whose version is set to the new version
+     * @param previousFleets the fleets when the {@link Match} was retrieved
+     * @return {@code true} if the fleets have been updated; {@code false} if the {@link Match} has started or its
+     * fleets have changed
+     */
+    boolean updateFleets(Match match, Map<String, Set<Ship>> previousFleets);
+
+    /**
+     * Appends a {@link Move} to the move log of a {@link Match}. The write fails if the turn has already been logged.
+     *
+     * @param matchUuid the UUID of the {@link Match}
+     * @param move      the {@link Move}
+     * @return {@code true} if the {@link Move} has been appended; {@code false} if the turn already exists
+     */
+    boolean appendMove(String matchUuid, Move move);
+
+    /**
+     * Retrieves a range of {@link Move}s of a {@link Match} sorted by turn.
+     *
+     * @param matchUuid the UUID of the {@link Match}
+     * @param fromTurn  the first turn, inclusive
+     * @param toTurn    the last turn, inclusive
+     * @return the {@link List} of {@link Move}s
+     */
+    List<Move> retrieveMoves(String matchUuid, int fromTurn, int toTurn);
+
     /**
      * Deletes a {@link Match}.
      *
@@ -0,0 +1,70 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.dao.impl;
+
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.match.dao.MatchAsyncDAO;
+import org.vincenzolabs.cots.match.dao.MatchDAO;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The implementation of {@link MatchAsyncDAO} which reads from a {@link MatchDAO} in the calling thread. It is meant
+ * for the {@link MatchDAOInMemoryImpl} and the {@link MatchDAOFileImpl} whose reads do not wait on the network.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class MatchAsyncDAOBlockingImpl implements MatchAsyncDAO {
+
+    private final MatchDAO matchDAO;
+
+    /**
+     * Default constructor.
+     *
+     * @param matchDAO the {@link MatchDAO}
+     */
+    public MatchAsyncDAOBlockingImpl(MatchDAO matchDAO) {
+        this.matchDAO = matchDAO;
+    }
+
+    @Override
+    public CompletableFuture<Match> retrieveMatch(final String matchUuid) {
+        try {
+            return CompletableFuture.completedFuture(matchDAO.retrieveMatch(matchUuid));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<Move>> retrieveMoves(final String matchUuid, final int fromTurn, final int toTurn) {
+        try {
+            return CompletableFuture.completedFuture(matchDAO.retrieveMoves(matchUuid, fromTurn, toTurn));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.dao.impl;
+
+import com.google.gson.Gson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.match.dao.MatchAsyncDAO;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.vincenzolabs.cots.match.dao.impl.MatchItemMapper.COLUMNS;
+
+/**
+ * The DynamoDB implementation of {@link MatchAsyncDAO} on the {@link DynamoDbAsyncClient}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class MatchAsyncDAODynamoDBImpl implements MatchAsyncDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MatchAsyncDAODynamoDBImpl.class);
+
+    private static final String MATCH_TABLE_NAME = "match";
+
+    private static final String MOVE_TABLE_NAME = "move";
+
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+
+    private final MatchItemMapper mapper;
+
+    /**
+     * Default constructor.
+     *
+     * @param dynamoDbAsyncClient the {@link DynamoDbAsyncClient}
+     * @param gson                the {@link Gson}
+     */
+    public MatchAsyncDAODynamoDBImpl(DynamoDbAsyncClient dynamoDbAsyncClient, Gson gson) {
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.mapper = new MatchItemMapper(gson);
+    }
+
+    @Override
+    public CompletableFuture<Match> retrieveMatch(final String matchUuid) {
+        Map<String, AttributeValue> key = new HashMap<>();
+        key.put("uuid", AttributeValue.builder().s(matchUuid).build());
+
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        List<String> projection = new ArrayList<>();
+        for (String column : COLUMNS) {
+            expressionAttributeNames.put("#" + column, column);
+            projection.add("#" + column);
+        }
+
+        GetItemRequest request = GetItemRequest.builder()
+                .tableName(MATCH_TABLE_NAME)
+                .key(key)
+                .projectionExpression(String.join(", ", projection))
+                .expressionAttributeNames(expressionAttributeNames)
+                .build();
+
+        return dynamoDbAsyncClient.getItem(request)
+                .thenApply(response -> {
+                    Map<String, AttributeValue> item = response.item();
+                    if (item == null || item.isEmpty()) {
+                        LOGGER.error("Failed to retrieve match: Match with UUID [{}] does not exist", matchUuid);
+
+                        return null;
+                    }
+
+                    return mapper.toMatch(item);
+                })
+                .whenComplete((match, e) -> {
+                    if (e != null) {
+                        LOGGER.error("Failed to retrieve match: [{}]", e.getMessage(), e);
+                    }
+                });
+    }
+
+    @Override
+    public CompletableFuture<List<Move>> retrieveMoves(final String matchUuid, final int fromTurn, final int toTurn) {
+        List<Move> moves = new ArrayList<>();
+        if (fromTurn > toTurn) {
+            return CompletableFuture.completedFuture(moves);
+        }
+
+        return retrieveMoves(matchUuid, fromTurn, toTurn, null, moves)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        LOGGER.error("Failed to retrieve moves: [{}]", e.getMessage(), e);
+                    }
+                });
+    }
+
+    private CompletableFuture<List<Move>> retrieveMoves(String matchUuid, int fromTurn, int toTurn,
+                                                        Map<String, AttributeValue> exclusiveStartKey,
+                                                        List<Move> moves) {
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        expressionAttributeNames.put("#turn", "turn");
+
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":matchUuid", AttributeValue.builder().s(matchUuid).build());
+        expressionAttributeValues.put(":fromTurn", AttributeValue.builder().n(Integer.toString(fromTurn)).build());
+        expressionAttributeValues.put(":toTurn", AttributeValue.builder().n(Integer.toString(toTurn)).build());
+
+        QueryRequest request = QueryRequest.builder()
+                .tableName(MOVE_TABLE_NAME)
+                .keyConditionExpression("matchUuid = :matchUuid and #turn between :fromTurn and :toTurn")
+                .expressionAttributeNames(expressionAttributeNames)
+                .expressionAttributeValues(expressionAttributeValues)
+                .exclusiveStartKey(exclusiveStartKey)
+                .build();
+
+        // the next page is only requested once the current one has arrived
+        return dynamoDbAsyncClient.query(request)
+                .thenCompose(response -> {
+                    response.items().forEach(item -> moves.add(mapper.getMove(item.get("move"))));
+
+                    Map<String, AttributeValue> lastEvaluatedKey = response.lastEvaluatedKey();
+                    if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+                        return CompletableFuture.completedFuture(moves);
+                    }
+
+                    return retrieveMoves(matchUuid, fromTurn, toTurn, lastEvaluatedKey, moves);
+                });
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.dao.impl;
+
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Page;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.dao.MatchConflictException;
+import org.vincenzolabs.cots.match.dao.MatchDAO;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The read-through cache of {@link Match}es in front of another {@link MatchDAO}. The cache lives as long as the
+ * container and keeps the most recently used {@link Match}es up to a maximum size.
+ * <p>
+ * A cached {@link Match} that is still in play is only served up to a maximum age, which is enough to coalesce the
+ * reads of a single request, since the other {@link org.vincenzolabs.cots.domain.Player} may be served by another
+ * container. Writes are still conditional on the version so a stale {@link Match} fails with a
+ * {@link MatchConflictException}, which evicts it before the operation is retried. Finished {@link Match}es never
+ * change and are served until they are evicted.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class MatchDAOCachingImpl implements MatchDAO {
+
+    private final MatchDAO matchDAO;
+
+    private final Duration maxAge;
+
+    private final Clock clock;
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * Default constructor.
+     *
+     * @param matchDAO    the {@link MatchDAO} to read from and write to
+     * @param maximumSize the maximum number of cached {@link Match}es
+     * @param maxAge      the maximum age of a cached {@link Match} that is still in play
+     * @param clock       the {@link Clock}
+     */
+    public MatchDAOCachingImpl(MatchDAO matchDAO, int maximumSize, Duration maxAge, Clock clock) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+
+        this.matchDAO = matchDAO;
+        this.maxAge = maxAge;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MatchDAOCachingImpl.Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    @Override
+    public Match createMatch(String playerUuid) {
+        Match match = matchDAO.createMatch(playerUuid);
+        cache(match);
+
+        return match;
+    }
+
+    @Override
+    public Match retrieveMatch(String matchUuid) {
+        Match match = getCached(matchUuid);
+        if (match == null) {
+            match = matchDAO.retrieveMatch(matchUuid);
+            cache(match);
+        }
+
+        return match;
+    }
+
+    @Override
+    public Match retrieveMatchSummary(String matchUuid) {
+        // a whole match is also a summary
+        Match match = getCached(matchUuid);
+
+        return match == null ? matchDAO.retrieveMatchSummary(matchUuid) : match;
+    }
+
+    @Override
+    public Page<Match> retrieveFinishedMatches(int limit, String cursor) {
+        return matchDAO.retrieveFinishedMatches(limit, cursor);
+    }
+
+    @Override
+    public Page<Match> retrieveActiveMatches(int limit, String cursor) {
+        return matchDAO.retrieveActiveMatches(limit, cursor);
+    }
+
+    @Override
+    public Page<Match> retrieveUnstartedMatches(int limit, String cursor) {
+        return matchDAO.retrieveUnstartedMatches(limit, cursor);
+    }
+
+    @Override
+    public boolean updateMatch(Match match) {
+        try {
+            boolean updated = matchDAO.updateMatch(match);
+            if (updated && match.isLoaded()) {
+                cache(match);
+            } else {
+                evict(match.getUuid());
+            }
+
+            return updated;
+        } catch (MatchConflictException e) {
+            evict(match.getUuid());
+
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean updateFleets(Match match, Map<String, Set<Ship>> previousFleets) {
+        try {
+            return matchDAO.updateFleets(match, previousFleets);
+        } finally {
+            // the other fields of the match may have changed in the meantime
+            evict(match.getUuid());
+        }
+    }
+
+    @Override
+    public boolean appendMove(String matchUuid, Move move) {
+        return matchDAO.appendMove(matchUuid, move);
+    }
+
+    @Override
+    public List<Move> retrieveMoves(String matchUuid, int fromTurn, int toTurn) {
+        return matchDAO.retrieveMoves(matchUuid, fromTurn, toTurn);
+    }
+
+    @Override
+    public boolean deleteMatch(Match match) {
+        evict(match.getUuid());
+
+        return matchDAO.deleteMatch(match);
+    }
+
+    /**
+     * Evicts the {@link Match} with the given UUID.
+     *
+     * @param matchUuid the UUID of the {@link Match}
+     */
+    public void evict(String matchUuid) {
+        synchronized (entries) {
+            entries.remove(matchUuid);
+        }
+    }
+
+    /**
+     * Returns the number of cached {@link Match}es.
+     *
+     * @return the number of cached {@link Match}es
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Match getCached(String matchUuid) {
+        synchronized (entries) {
+            Entry entry = entries.get(matchUuid);
+            if (entry == null) {
+                return null;
+            }
+
+            if (entry.match.getStatus() != Match.Status.FINISHED
+                    && entry.cachedAt.plus(maxAge).isBefore(clock.instant())) {
+                entries.remove(matchUuid);
+
+                return null;
+            }
+
+            // callers change the match they get so each one gets its own copy
+            return new Match(entry.match);
+        }
+    }
+
+    private void cache(Match match) {
+        if (match == null) {
+            return;
+        }
+
+        // the moves are kept in a separate log and are not part of a retrieved match
+        Match copy = new Match(match);
+        copy.getMoves().clear();
+
+        synchronized (entries) {
+            Entry entry = entries.get(match.getUuid());
+            if (entry == null || entry.match.getVersion() <= copy.getVersion()) {
+                entries.put(match.getUuid(), new Entry(copy, clock.instant()));
+            }
+        }
+    }
+
+    /**
+     * The cached {@link Match} and the time it was cached.
+     */
+    private static final class Entry {
+
+        private final Match match;
+
+        private final Instant cachedAt;
+
+        private Entry(Match match, Instant cachedAt) {
+            this.match = match;
+            this.cachedAt = cachedAt;
+        }
+    }
+}
@@ -26,36 +26,55 @@ package org.vincenzolabs.cots.match.dao.impl;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.MatchCodec;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Page;
 import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.dao.MatchConflictException;
 import org.vincenzolabs.cots.match.dao.MatchDAO;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
-import software.amazon.awssdk.services.dynamodb.model.AttributeAction;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-import software.amazon.awssdk.services.dynamodb.model.AttributeValueUpdate;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
 import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.Put;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
-import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
 import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
 
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
-import java.util.stream.Collectors;
+
+import static org.vincenzolabs.cots.match.dao.impl.MatchItemMapper.COLUMNS;
+import static org.vincenzolabs.cots.match.dao.impl.MatchItemMapper.FLEETS_TYPE;
+import static org.vincenzolabs.cots.match.dao.impl.MatchItemMapper.PACKED_CHECKPOINTS;
+import static org.vincenzolabs.cots.match.dao.impl.MatchItemMapper.SUMMARY_COLUMNS;
+import static org.vincenzolabs.cots.match.dao.impl.MatchItemMapper.getValue;
 
 /**
  * The DynamoDB implementation of {@link MatchDAO}.
@@ -69,17 +88,17 @@ public class MatchDAODynamoDBImpl implements MatchDAO {
 
     private static final String MATCH_TABLE_NAME = "match";
 
-    private static final String[] COLUMNS = {"uuid", "whitePlayer", "blackPlayer", "winner", "loser", "draw",
-            "whitePlayerAgreedToDraw", "blackPlayerAgreedToDraw", "host", "creationDate", "turn", "started",
-            "startDate", "endDate", "whitePlayerReady", "blackPlayerReady", "moves", "fleets"};
+    private static final String MOVE_TABLE_NAME = "move";
 
-    private static final Type MOVE_TYPE = new TypeToken<Map<String, Set<Ship>>>() {
+    private static final Type CURSOR_TYPE = new TypeToken<Map<String, String>>() {
     }.getType();
 
     private final DynamoDbClient dynamoDbClient;
 
     private final Gson gson;
 
+    private final MatchItemMapper mapper;
+
     /**
      * Default constructor.
      *
@@ -90,6 +109,7 @@ public class MatchDAODynamoDBImpl implements MatchDAO {
     public MatchDAODynamoDBImpl(DynamoDbClient dynamoDbClient, Gson gson) {
         this.dynamoDbClient = dynamoDbClient;
         this.gson = gson;
+        this.mapper = new MatchItemMapper(gson);
     }
 
     @Override
@@ -104,6 +124,8 @@ public class MatchDAODynamoDBImpl implements MatchDAO {
         item.put("host", AttributeValue.builder().s(playerUuid).build());
         item.put("creationDate", AttributeValue.builder().s(match.getCreationDate().toString()).build());
         item.put("started", AttributeValue.builder().bool(match.hasStarted()).build());
+        item.put("status", AttributeValue.builder().s(match.getStatus().name()).build());
+        item.put(getStatusKey(match.getStatus()), AttributeValue.builder().s(match.getStatus().name()).build());
 
         Ship.Color shipColor = Math.random() < 0.5 ? Ship.Color.WHITE : Ship.Color.BLACK;
         if (shipColor == Ship.Color.BLACK) {
@@ -122,6 +144,8 @@ public class MatchDAODynamoDBImpl implements MatchDAO {
         try {
             dynamoDbClient.putItem(request);
 
+            match.clearChangedFields();
+
             return match;
         } catch (ResourceNotFoundException e) {
             LOGGER.error("Failed to create match: Table [{}] does not exist", MATCH_TABLE_NAME);
@@ -136,91 +160,47 @@ public class MatchDAODynamoDBImpl implements MatchDAO {
 
     @Override
     public Match retrieveMatch(final String matchUuid) {
-        Map<String, AttributeValue> key = new HashMap<>();
-        key.put("uuid", AttributeValue.builder().s(matchUuid).build());
+        Map<String, AttributeValue> item = retrieveAttributes(matchUuid, COLUMNS);
+        if (item == null) {
+            LOGGER.error("Failed to retrieve match: Match with UUID [{}] does not exist", matchUuid);
 
-        GetItemRequest request = GetItemRequest.builder()
-                .tableName(MATCH_TABLE_NAME)
-                .key(key)
-                .attributesToGet(COLUMNS)
-                .build();
-
-        try {
-            Map<String, AttributeValue> item = dynamoDbClient.getItem(request).item();
-
-            if (item != null && !item.isEmpty()) {
-                Match match = new Match();
-                match.setUuid(getValue(item.get("uuid"), String.class));
-                match.setWhitePlayer(getValue(item.get("whitePlayer"), String.class));
-                match.setBlackPlayer(getValue(item.get("blackPlayer"), String.class));
-                match.setWinner(getValue(item.get("winner"), String.class));
-                match.setLoser(getValue(item.get("loser"), String.class));
-                match.setDraw(Boolean.TRUE.equals(getValue(item.get("draw"), Boolean.class)));
-                match.setWhitePlayerAgreedToDraw(Boolean.TRUE.equals(getValue(item.get("whitePlayerAgreedToDraw"),
-                        Boolean.class)));
-                match.setBlackPlayerAgreedToDraw(Boolean.TRUE.equals(getValue(item.get("blackPlayerAgreedToDraw"),
-                        Boolean.class)));
-                match.setHost(getValue(item.get("host"), String.class));
-                if (item.get("turn") != null) {
-                    match.setTurn(Ship.Color.valueOf(getValue(item.get("turn"), String.class)));
-                }
-                match.setStarted(Boolean.TRUE.equals(getValue(item.get("started"), Boolean.class)));
-                if (item.get("startDate") != null) {
-                    match.setStartDate(LocalDateTime.parse(getValue(item.get("startDate"), String.class)));
-                }
-                if (item.get("endDate") != null) {
-                    match.setEndDate(LocalDateTime.parse(getValue(item.get("endDate"), String.class)));
-                }
-                if (item.get("creationDate") != null) {
-                    match.setCreationDate(LocalDateTime.parse(getValue(item.get("creationDate"), String.class)));
-                }
-                match.setWhitePlayerReady(Boolean.TRUE.equals(getValue(item.get("whitePlayerReady"), Boolean.class)));
-                match.setBlackPlayerReady(Boolean.TRUE.equals(getValue(item.get("blackPlayerReady"), Boolean.class)));
-
-                if (item.get("moves") != null) {
-                    List<String> moves = item.get("moves").ss();
+            return null;
+        }
 
-                    List<Map<String, Set<Ship>>> deserializedList = moves
-                            .stream()
-                            .<Map<String, Set<Ship>>>map(move -> gson.fromJson(move, MOVE_TYPE))
-                            .collect(Collectors.toCollection(LinkedList::new));
+        return mapper.toMatch(item);
+    }
 
-                    match.setMoves(deserializedList);
-                }
+    @Override
+    public Match retrieveMatchSummary(final String matchUuid) {
+        Map<String, AttributeValue> item = retrieveAttributes(matchUuid, SUMMARY_COLUMNS);
+        if (item == null) {
+            LOGGER.error("Failed to retrieve match: Match with UUID [{}] does not exist", matchUuid);
 
-                if (item.get("fleets") != null) {
-                    Map<String, Set<Ship>> deserializedMap = gson.fromJson(item.get("fleets").s(), MOVE_TYPE);
+            return null;
+        }
 
-                    match.setFleets(deserializedMap);
-                }
+        Match match = mapper.getMatch(item);
+        match.setCheckpointsLoader(() -> {
+            Map<String, AttributeValue> checkpoints = retrieveAttributes(matchUuid, "checkpoints",
+                    PACKED_CHECKPOINTS);
 
-                return match;
-            } else {
-                LOGGER.error("Failed to retrieve match: Match with UUID [{}] does not exist", matchUuid);
+            return checkpoints == null ? new TreeMap<>() : mapper.getCheckpoints(checkpoints);
+        });
+        match.setFleetsLoader(() -> {
+            Map<String, AttributeValue> fleets = retrieveAttributes(matchUuid, "fleets");
 
-                return null;
-            }
-        } catch (DynamoDbException e) {
-            LOGGER.error("Failed to retrieve match: [{}]", e.getMessage(), e);
+            return fleets == null || fleets.get("fleets") == null ? new HashMap<>() : mapper.getFleets(fleets.get("fleets"));
+        });
+        match.clearChangedFields();
 
-            throw e;
-        }
+        return match;
     }
 
     @Override
-    public Set<Match> retrieveFinishedMatches() {
-        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
-        expressionAttributeValues.put(":draw", AttributeValue.builder().bool(true).build());
-
-        ScanRequest request = ScanRequest.builder()
-                .tableName(MATCH_TABLE_NAME)
-                .filterExpression("attribute_exists(winner) or draw = :draw")
-                .expressionAttributeValues(expressionAttributeValues)
-                .build();
-
-        Set<Match> matches = new HashSet<>();
+    public Page<Match> retrieveFinishedMatches(int limit, String cursor) {
+        List<Match> matches = new ArrayList<>();
         try {
-            ScanResponse response = dynamoDbClient.scan(request);
+            QueryResponse response = queryMatches(Match.Status.FINISHED, limit, cursor);
             response.items().forEach(item -> {
                 Match match = new Match();
                 match.setUuid(getValue(item.get("uuid"), String.class));
@@ -234,29 +214,19 @@ public class MatchDAODynamoDBImpl implements MatchDAO {
                 matches.add(match);
             });
 
-            return matches;
+            return new Page<>(matches, encodeCursor(response.lastEvaluatedKey()));
         } catch (DynamoDbException e) {
-            LOGGER.error("Failed to retrieve unstarted matches: [{}]", e.getMessage(), e);
+            LOGGER.error("Failed to retrieve finished matches: [{}]", e.getMessage(), e);
 
             throw e;
         }
     }
 
     @Override
-    public Set<Match> retrieveActiveMatches() {
-        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
-        expressionAttributeValues.put(":started", AttributeValue.builder().bool(true).build());
-        expressionAttributeValues.put(":draw", AttributeValue.builder().bool(false).build());
-
-        ScanRequest request = ScanRequest.builder()
-                .tableName(MATCH_TABLE_NAME)
-                .filterExpression("started = :started and (attribute_not_exists(winner) or draw = :draw)")
-                .expressionAttributeValues(expressionAttributeValues)
-                .build();
-
-        Set<Match> matches = new HashSet<>();
+    public Page<Match> retrieveActiveMatches(int limit, String cursor) {
+        List<Match> matches = new ArrayList<>();
         try {
-            ScanResponse response = dynamoDbClient.scan(request);
+            QueryResponse response = queryMatches(Match.Status.ACTIVE, limit, cursor);
             response.items().forEach(item -> {
                 Match match = new Match();
                 match.setUuid(getValue(item.get("uuid"), String.class));
@@ -270,28 +240,19 @@ public class MatchDAODynamoDBImpl implements MatchDAO {
                 matches.add(match);
             });
 
-            return matches;
+            return new Page<>(matches, encodeCursor(response.lastEvaluatedKey()));
         } catch (DynamoDbException e) {
-            LOGGER.error("Failed to retrieve unstarted matches: [{}]", e.getMessage(), e);
+            LOGGER.error("Failed to retrieve active matches: [{}]", e.getMessage(), e);
 
             throw e;
         }
     }
 
     @Override
-    public Set<Match> retrieveUnstartedMatches() {
-        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
-        expressionAttributeValues.put(":started", AttributeValue.builder().bool(false).build());
-
-        ScanRequest request = ScanRequest.builder()
-                .tableName(MATCH_TABLE_NAME)
-                .filterExpression("started = :started")
-                .expressionAttributeValues(expressionAttributeValues)
-                .build();
-
-        Set<Match> matches = new HashSet<>();
+    public Page<Match> retrieveUnstartedMatches(int limit, String cursor) {
+        List<Match> matches = new ArrayList<>();
         try {
-            ScanResponse response = dynamoDbClient.scan(request);
+            QueryResponse response = queryMatches(Match.Status.UNSTARTED, limit, cursor);
             response.items().forEach(item -> {
                 Match match = new Match();
                 match.setUuid(getValue(item.get("uuid"), String.class));
@@ -303,7 +264,7 @@ public class MatchDAODynamoDBImpl implements MatchDAO {
                 matches.add(match);
             });
 
-            return matches;
+            return new Page<>(matches, encodeCursor(response.lastEvaluatedKey()));
         } catch (DynamoDbException e) {
             LOGGER.error("Failed to retrieve unstarted matches: [{}]", e.getMessage(), e);
 
@@ -316,102 +277,280 @@ public class MatchDAODynamoDBImpl implements MatchDAO {
         Map<String, AttributeValue> key = new HashMap<>();
         key.put("uuid", AttributeValue.builder().s(match.getUuid()).build());
 
-        Map<String, AttributeValueUpdate> updatedValues = new HashMap<>();
-        if (StringUtils.isNotBlank(match.getWhitePlayer())) {
-            updatedValues.put("whitePlayer", AttributeValueUpdate.builder()
-                    .value(AttributeValue.builder().s(match.getWhitePlayer()).build())
-                    .action(AttributeAction.PUT)
-                    .build());
-        }
-        if (StringUtils.isNotBlank(match.getBlackPlayer())) {
-            updatedValues.put("blackPlayer", AttributeValueUpdate.builder()
-                    .value(AttributeValue.builder().s(match.getBlackPlayer()).build())
-                    .action(AttributeAction.PUT)
-                    .build());
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        List<String> setActions = new ArrayList<>();
+        List<String> removeActions = new ArrayList<>();
+        List<String> addActions = new ArrayList<>();
+
+        // only the fields that have been set since the match was retrieved are written
+        Move move = null;
+        for (String field : match.getChangedFields()) {
+            if ("moves".equals(field)) {
+                // only the latest move is appended to the move log
+                if (!match.getMoves().isEmpty()) {
+                    move = match.getMoves().get(match.getMoves().size() - 1);
+                }
+
+                continue;
+            }
+
+            if ("checkpoints".equals(field)) {
+                if (match.getCheckpoints().isEmpty()) {
+                    continue;
+                }
+
+                int turn = match.getCheckpoints().lastKey();
+                expressionAttributeValues.put(":checkpoints", AttributeValue.builder()
+                        .bs(SdkBytes.fromByteArray(MatchCodec.encodeCheckpoint(turn,
+                                match.getCheckpoints().get(turn))))
+                        .build());
+                addActions.add("#checkpoints :checkpoints");
+
+                // packed checkpoints are kept apart from the legacy JSON ones since a set only holds one type
+                expressionAttributeNames.put("#checkpoints", PACKED_CHECKPOINTS);
+
+                continue;
+            }
+
+            AttributeValue value = getAttributeValue(match, field);
+            if (value == null) {
+                removeActions.add("#" + field);
+            } else {
+                expressionAttributeValues.put(":" + field, value);
+                setActions.add("#" + field + " = :" + field);
+            }
+
+            expressionAttributeNames.put("#" + field, field);
         }
-        if (StringUtils.isNotBlank(match.getWinner())) {
-            updatedValues.put("winner", AttributeValueUpdate.builder()
-                    .value(AttributeValue.builder().s(match.getWinner()).build())
-                    .action(AttributeAction.PUT)
-                    .build());
+
+        if (setActions.isEmpty() && removeActions.isEmpty() && addActions.isEmpty() && move == null) {
+            return true;
         }
-        if (StringUtils.isNotBlank(match.getLoser())) {
-            updatedValues.put("loser", AttributeValueUpdate.builder()
-                    .value(AttributeValue.builder().s(match.getLoser()).build())
-                    .action(AttributeAction.PUT)
-                    .build());
+
+        // only the key of the current status is kept so that each status index stays sparse
+        if (match.getChangedFields().contains("started") || match.getChangedFields().contains("winner")
+                || match.getChangedFields().contains("draw")) {
+            expressionAttributeNames.put("#status", "status");
+            expressionAttributeValues.put(":status", AttributeValue.builder().s(match.getStatus().name()).build());
+            setActions.add("#status = :status");
+            for (Match.Status status : Match.Status.values()) {
+                expressionAttributeNames.put("#" + getStatusKey(status), getStatusKey(status));
+                if (status == match.getStatus()) {
+                    setActions.add("#" + getStatusKey(status) + " = :status");
+                } else {
+                    removeActions.add("#" + getStatusKey(status));
+                }
+            }
         }
-        updatedValues.put("draw", AttributeValueUpdate.builder()
-                .value(AttributeValue.builder().bool(match.isDraw()).build())
-                .action(AttributeAction.PUT)
-                .build());
-        updatedValues.put("whitePlayerAgreedToDraw", AttributeValueUpdate.builder()
-                .value(AttributeValue.builder().bool(match.hasWhitePlayerAgreedToDraw()).build())
-                .action(AttributeAction.PUT)
-                .build());
-        updatedValues.put("blackPlayerAgreedToDraw", AttributeValueUpdate.builder()
-                .value(AttributeValue.builder().bool(match.hasBlackPlayerAgreedToDraw()).build())
-                .action(AttributeAction.PUT)
+
+        // the match must not have been updated since it was retrieved
+        expressionAttributeNames.put("#version", "version");
+        expressionAttributeValues.put(":newVersion", AttributeValue.builder()
+                .n(Long.toString(match.getVersion() + 1))
                 .build());
-        if (match.getTurn() != null) {
-            updatedValues.put("turn", AttributeValueUpdate.builder()
-                    .value(AttributeValue.builder().s(match.getTurn().name()).build())
-                    .action(AttributeAction.PUT)
+        setActions.add("#version = :newVersion");
+
+        // the match must also still exist so that an update racing a deletion does not write back a partial item
+        expressionAttributeNames.put("#uuid", "uuid");
+
+        // only a match that was read without a version, i.e. before versioning, may lack one
+        String conditionExpression = "attribute_exists(#uuid) AND attribute_not_exists(#version)";
+        if (match.getVersion() > 0) {
+            expressionAttributeValues.put(":version", AttributeValue.builder()
+                    .n(Long.toString(match.getVersion()))
                     .build());
+            conditionExpression = "attribute_exists(#uuid) AND #version = :version";
         }
-        updatedValues.put("started", AttributeValueUpdate.builder()
-                .value(AttributeValue.builder().bool(match.hasStarted()).build())
-                .action(AttributeAction.PUT)
-                .build());
-        if (match.getStartDate() != null) {
-            updatedValues.put("startDate", AttributeValueUpdate.builder()
-                    .value(AttributeValue.builder().s(match.getStartDate().toString()).build())
-                    .action(AttributeAction.PUT)
-                    .build());
+
+        StringBuilder updateExpression = new StringBuilder("set ").append(String.join(", ", setActions));
+        if (!removeActions.isEmpty()) {
+            updateExpression.append(" remove ").append(String.join(", ", removeActions));
         }
-        if (match.getEndDate() != null) {
-            updatedValues.put("endDate", AttributeValueUpdate.builder()
-                    .value(AttributeValue.builder().s(match.getEndDate().toString()).build())
-                    .action(AttributeAction.PUT)
-                    .build());
+        if (!addActions.isEmpty()) {
+            updateExpression.append(" add ").append(String.join(", ", addActions));
         }
-        updatedValues.put("whitePlayerReady", AttributeValueUpdate.builder()
-                .value(AttributeValue.builder().bool(match.isWhitePlayerReady()).build())
-                .action(AttributeAction.PUT)
-                .build());
-        updatedValues.put("blackPlayerReady", AttributeValueUpdate.builder()
-                .value(AttributeValue.builder().bool(match.isBlackPlayerReady()).build())
-                .action(AttributeAction.PUT)
-                .build());
-        if (!match.getFleets().isEmpty()) {
-            String fleets = gson.toJson(match.getFleets());
-            updatedValues.put("moves", AttributeValueUpdate.builder()
-                    .value(AttributeValue.builder().ss(fleets).build())
-                    .action(AttributeAction.ADD)
-                    .build());
 
-            updatedValues.put("fleets", AttributeValueUpdate.builder()
-                    .value(AttributeValue.builder().s(fleets).build())
-                    .action(AttributeAction.PUT)
+        try {
+            if (move == null) {
+                UpdateItemRequest request = UpdateItemRequest.builder()
+                        .tableName(MATCH_TABLE_NAME)
+                        .key(key)
+                        .updateExpression(updateExpression.toString())
+                        .conditionExpression(conditionExpression)
+                        .expressionAttributeNames(expressionAttributeNames)
+                        .expressionAttributeValues(expressionAttributeValues)
+                        .build();
+
+                dynamoDbClient.updateItem(request);
+            } else {
+                // the move is only logged if the match is updated; a transaction costs twice the writes, but a
+                // move written ahead of a losing update would stay behind and block the retry of the same turn
+                TransactWriteItemsRequest request = TransactWriteItemsRequest.builder()
+                        .transactItems(TransactWriteItem.builder()
+                                        .update(Update.builder()
+                                                .tableName(MATCH_TABLE_NAME)
+                                                .key(key)
+                                                .updateExpression(updateExpression.toString())
+                                                .conditionExpression(conditionExpression)
+                                                .expressionAttributeNames(expressionAttributeNames)
+                                                .expressionAttributeValues(expressionAttributeValues)
+                                                .build())
+                                        .build(),
+                                TransactWriteItem.builder()
+                                        .put(Put.builder()
+                                                .tableName(MOVE_TABLE_NAME)
+                                                .item(getMoveItem(match.getUuid(), move))
+                                                .build())
+                                        .build())
+                        .build();
+
+                dynamoDbClient.transactWriteItems(request);
+            }
+
+            match.setVersion(match.getVersion() + 1);
+            match.clearChangedFields();
+
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            LOGGER.error("Failed to update match: Match with UUID [{}] is deleted or no longer at version [{}]",
+                    match.getUuid(), match.getVersion());
+
+            throw new MatchConflictException(match.getUuid(), match.getVersion(), e);
+        } catch (TransactionCanceledException e) {
+            LOGGER.error("Failed to update match: Match with UUID [{}] is no longer at version [{}] or is being "
+                    + "updated", match.getUuid(), match.getVersion());
+
+            throw new MatchConflictException(match.getUuid(), match.getVersion(), e);
+        } catch (ResourceNotFoundException e) {
+            LOGGER.error("Failed to update match: Match with UUID [{}] does not exist", match.getUuid());
+
+            throw e;
+        } catch (DynamoDbException e) {
+            LOGGER.error("Failed to update match: [{}]", e.getMessage(), e);
+
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean updateFleets(Match match, Map<String, Set<Ship>> previousFleets) {
+        Map<String, AttributeValue> key = new HashMap<>();
+        key.put("uuid", AttributeValue.builder().s(match.getUuid()).build());
+
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":fleets", getFleetsAttributeValue(match.getFleets()));
+        expressionAttributeValues.put(":started", AttributeValue.builder().bool(false).build());
+        expressionAttributeValues.put(":one", AttributeValue.builder().n("1").build());
+
+        String conditionExpression = "started = :started and attribute_not_exists(fleets)";
+        if (previousFleets != null && !previousFleets.isEmpty()) {
+            expressionAttributeValues.put(":previousFleets", getFleetsAttributeValue(previousFleets));
+            expressionAttributeValues.put(":previousJsonFleets", AttributeValue.builder()
+                    .s(gson.toJson(previousFleets, FLEETS_TYPE))
                     .build());
+            // legacy items still hold the fleets as JSON
+            conditionExpression = "started = :started and (fleets = :previousFleets or fleets = :previousJsonFleets)";
         }
 
         UpdateItemRequest request = UpdateItemRequest.builder()
                 .tableName(MATCH_TABLE_NAME)
                 .key(key)
-                .attributeUpdates(updatedValues)
+                .updateExpression("set fleets = :fleets add version :one")
+                .conditionExpression(conditionExpression)
+                .expressionAttributeValues(expressionAttributeValues)
+                .returnValues(ReturnValue.UPDATED_NEW)
                 .build();
 
         try {
-            dynamoDbClient.updateItem(request);
+            UpdateItemResponse response = dynamoDbClient.updateItem(request);
+
+            // the version is bumped so that a concurrent update of the whole match fails
+            match.setVersion(Long.parseLong(response.attributes().get("version").n()));
 
             return true;
+        } catch (ConditionalCheckFailedException e) {
+            LOGGER.error("Failed to update fleets: Match with UUID [{}] has started or its fleets have changed",
+                    match.getUuid());
+
+            return false;
         } catch (ResourceNotFoundException e) {
-            LOGGER.error("Failed to update match: Match with UUID [{}] does not exist", match.getUuid());
+            LOGGER.error("Failed to update fleets: Match with UUID [{}] does not exist", match.getUuid());
 
             throw e;
         } catch (DynamoDbException e) {
-            LOGGER.error("Failed to update match: [{}]", e.getMessage(), e);
+            LOGGER.error("Failed to update fleets: [{}]", e.getMessage(), e);
+
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean appendMove(String matchUuid, Move move) {
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        expressionAttributeNames.put("#turn", "turn");
+
+        PutItemRequest request = PutItemRequest.builder()
+                .tableName(MOVE_TABLE_NAME)
+                .item(getMoveItem(matchUuid, move))
+                .conditionExpression("attribute_not_exists(#turn)")
+                .expressionAttributeNames(expressionAttributeNames)
+                .build();
+
+        try {
+            dynamoDbClient.putItem(request);
+
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            LOGGER.error("Failed to append move: Turn [{}] of match with UUID [{}] already exists", move.getTurn(),
+                    matchUuid);
+
+            return false;
+        } catch (ResourceNotFoundException e) {
+            LOGGER.error("Failed to append move: Table [{}] does not exist", MOVE_TABLE_NAME);
+
+            throw e;
+        } catch (DynamoDbException e) {
+            LOGGER.error("Failed to append move: [{}]", e.getMessage(), e);
+
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Move> retrieveMoves(String matchUuid, int fromTurn, int toTurn) {
+        List<Move> moves = new ArrayList<>();
+        if (fromTurn > toTurn) {
+            return moves;
+        }
+
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        expressionAttributeNames.put("#turn", "turn");
+
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":matchUuid", AttributeValue.builder().s(matchUuid).build());
+        expressionAttributeValues.put(":fromTurn", AttributeValue.builder().n(Integer.toString(fromTurn)).build());
+        expressionAttributeValues.put(":toTurn", AttributeValue.builder().n(Integer.toString(toTurn)).build());
+
+        try {
+            Map<String, AttributeValue> exclusiveStartKey = null;
+            do {
+                QueryRequest request = QueryRequest.builder()
+                        .tableName(MOVE_TABLE_NAME)
+                        .keyConditionExpression("matchUuid = :matchUuid and #turn between :fromTurn and :toTurn")
+                        .expressionAttributeNames(expressionAttributeNames)
+                        .expressionAttributeValues(expressionAttributeValues)
+                        .exclusiveStartKey(exclusiveStartKey)
+                        .build();
+
+                QueryResponse response = dynamoDbClient.query(request);
+                response.items().forEach(item -> moves.add(mapper.getMove(item.get("move"))));
+                exclusiveStartKey = response.lastEvaluatedKey();
+            } while (exclusiveStartKey != null && !exclusiveStartKey.isEmpty());
+
+            return moves;
+        } catch (DynamoDbException e) {
+            LOGGER.error("Failed to retrieve moves: [{}]", e.getMessage(), e);
 
             throw e;
         }
@@ -448,17 +587,197 @@ public class MatchDAODynamoDBImpl implements MatchDAO {
         }
     }
 
-    private <T> T getValue(AttributeValue value, Class<T> type) {
-        if (value == null) {
+    /**
+     * Returns the {@link AttributeValue} of a field of the {@link Match}.
+     *
+     * @param match the {@link Match}
+     * @param field the name of the field
+     * @return the {@link AttributeValue} or {@code null} if the attribute should be removed
+     */
+    private AttributeValue getAttributeValue(Match match, String field) {
+        switch (field) {
+            case "whitePlayer":
+                return getAttributeValue(match.getWhitePlayer());
+            case "blackPlayer":
+                return getAttributeValue(match.getBlackPlayer());
+            case "winner":
+                return getAttributeValue(match.getWinner());
+            case "loser":
+                return getAttributeValue(match.getLoser());
+            case "host":
+                return getAttributeValue(match.getHost());
+            case "draw":
+                return AttributeValue.builder().bool(match.isDraw()).build();
+            case "whitePlayerAgreedToDraw":
+                return AttributeValue.builder().bool(match.hasWhitePlayerAgreedToDraw()).build();
+            case "blackPlayerAgreedToDraw":
+                return AttributeValue.builder().bool(match.hasBlackPlayerAgreedToDraw()).build();
+            case "started":
+                return AttributeValue.builder().bool(match.hasStarted()).build();
+            case "whitePlayerReady":
+                return AttributeValue.builder().bool(match.isWhitePlayerReady()).build();
+            case "blackPlayerReady":
+                return AttributeValue.builder().bool(match.isBlackPlayerReady()).build();
+            case "turn":
+                return match.getTurn() == null ? null : getAttributeValue(match.getTurn().name());
+            case "creationDate":
+                return match.getCreationDate() == null ? null : getAttributeValue(match.getCreationDate().toString());
+            case "startDate":
+                return match.getStartDate() == null ? null : getAttributeValue(match.getStartDate().toString());
+            case "endDate":
+                return match.getEndDate() == null ? null : getAttributeValue(match.getEndDate().toString());
+            case "moveCount":
+                return AttributeValue.builder().n(Integer.toString(match.getMoveCount())).build();
+            case "lastChallengeTurn":
+                return AttributeValue.builder().n(Integer.toString(match.getLastChallengeTurn())).build();
+            case "positionCounts":
+                return match.getPositionCounts().isEmpty()
+                        ? null
+                        : AttributeValue.builder()
+                                .b(SdkBytes.fromByteArray(MatchCodec.encodePositionCounts(match.getPositionCounts())))
+                                .build();
+            case "fleets":
+                return match.getFleets() == null || match.getFleets().isEmpty()
+                        ? null
+                        : getFleetsAttributeValue(match.getFleets());
+            default:
+                throw new IllegalArgumentException(String.format("%s cannot be updated", field));
+        }
+    }
+
+    private Map<String, AttributeValue> getMoveItem(String matchUuid, Move move) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("matchUuid", AttributeValue.builder().s(matchUuid).build());
+        item.put("turn", AttributeValue.builder().n(Integer.toString(move.getTurn())).build());
+        item.put("move", AttributeValue.builder().b(SdkBytes.fromByteArray(MatchCodec.encodeMove(move))).build());
+
+        return item;
+    }
+
+    /**
+     * Reads only the given attributes of a {@link Match} with a projection expression.
+     *
+     * @param matchUuid  the UUID of the {@link Match}
+     * @param attributes the names of the attributes
+     * @return the item or {@code null} if the {@link Match} does not exist
+     */
+    private Map<String, AttributeValue> retrieveAttributes(String matchUuid, String... attributes) {
+        Map<String, AttributeValue> key = new HashMap<>();
+        key.put("uuid", AttributeValue.builder().s(matchUuid).build());
+
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        List<String> projection = new ArrayList<>();
+        for (String attribute : attributes) {
+            expressionAttributeNames.put("#" + attribute, attribute);
+            projection.add("#" + attribute);
+        }
+
+        GetItemRequest request = GetItemRequest.builder()
+                .tableName(MATCH_TABLE_NAME)
+                .key(key)
+                .projectionExpression(String.join(", ", projection))
+                .expressionAttributeNames(expressionAttributeNames)
+                .build();
+
+        try {
+            Map<String, AttributeValue> item = dynamoDbClient.getItem(request).item();
+
+            return item == null || item.isEmpty() ? null : item;
+        } catch (DynamoDbException e) {
+            LOGGER.error("Failed to retrieve match: [{}]", e.getMessage(), e);
+
+            throw e;
+        }
+    }
+
+    private AttributeValue getFleetsAttributeValue(Map<String, Set<Ship>> fleets) {
+        return AttributeValue.builder().b(SdkBytes.fromByteArray(MatchCodec.encodeFleets(fleets, false))).build();
+    }
+
+    private AttributeValue getAttributeValue(String value) {
+        return StringUtils.isBlank(value) ? null : AttributeValue.builder().s(value).build();
+    }
+
+    /**
+     * Queries a page of the {@link Match}es with the given {@link Match.Status} from its sparse index, newest first.
+     * The index only contains the {@link Match}es with that {@link Match.Status} so the read capacity used depends on
+     * the number of {@link Match}es returned rather than the size of the table.
+     *
+     * @param status the {@link Match.Status}
+     * @param limit  the maximum number of {@link Match}es
+     * @param cursor the cursor of the page or {@code null} for the first page
+     * @return the {@link QueryResponse}
+     */
+    private QueryResponse queryMatches(Match.Status status, int limit, String cursor) {
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":status", AttributeValue.builder().s(status.name()).build());
+
+        QueryRequest request = QueryRequest.builder()
+                .tableName(MATCH_TABLE_NAME)
+                .indexName(getStatusIndexName(status))
+                .keyConditionExpression(getStatusKey(status) + " = :status")
+                .expressionAttributeValues(expressionAttributeValues)
+                .exclusiveStartKey(decodeCursor(cursor))
+                .limit(limit)
+                .scanIndexForward(false)
+                .consistentRead(false)
+                .build();
+
+        return dynamoDbClient.query(request);
+    }
+
+    /**
+     * Encodes the last evaluated key of a page into an opaque cursor.
+     *
+     * @param lastEvaluatedKey the last evaluated key
+     * @return the cursor or {@code null} if there are no more pages
+     */
+    private String encodeCursor(Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+            return null;
+        }
+
+        Map<String, String> key = new HashMap<>();
+        lastEvaluatedKey.forEach((name, value) -> key.put(name, value.s()));
+
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(gson.toJson(key, CURSOR_TYPE).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into the exclusive start key of the next page.
+     *
+     * @param cursor the cursor
+     * @return the exclusive start key or {@code null} for the first page
+     */
+    private Map<String, AttributeValue> decodeCursor(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
             return null;
         }
 
-        if (Boolean.class == type) {
-            return type.cast(value.bool());
-        } else if (Number.class == type) {
-            return type.cast(value.n());
+        Map<String, String> key;
+        try {
+            key = gson.fromJson(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8),
+                    CURSOR_TYPE);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor is invalid", e);
+        }
+
+        if (key == null || key.get("uuid") == null) {
+            throw new IllegalArgumentException("Cursor is invalid");
         }
 
-        return type.cast(value.s());
+        Map<String, AttributeValue> exclusiveStartKey = new HashMap<>();
+        key.forEach((name, value) -> exclusiveStartKey.put(name, AttributeValue.builder().s(value).build()));
+
+        return exclusiveStartKey;
+    }
+
+    private static String getStatusKey(Match.Status status) {
+        return status.name().toLowerCase(Locale.ROOT) + "Status";
+    }
+
+    private static String getStatusIndexName(Match.Status status) {
+        return status.name().toLowerCase(Locale.ROOT) + "Matches";
     }
 }
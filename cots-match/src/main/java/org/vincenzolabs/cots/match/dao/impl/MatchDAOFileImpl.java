@@ -0,0 +1,903 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.dao.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.MatchCodec;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Page;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.dao.MatchConflictException;
+import org.vincenzolabs.cots.match.dao.MatchDAO;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The file implementation of {@link MatchDAO} for self-hosted deployments. Every write is appended to a log of
+ * memory-mapped segment files and an in-memory index keeps the location of the latest version of each {@link Match},
+ * of each {@link Move} and of the {@link Match}es per {@link Match.Status}. The index is rebuilt by reading the log
+ * when the DAO is opened.
+ * <p>
+ * A record is made visible by writing its length last so a record torn by a crash is ignored. The mapped pages are
+ * written back by the operating system and are only forced to disk when a segment is full and when the DAO is
+ * closed. When a segment is full, the older segments whose records have mostly been superseded are compacted in the
+ * background by copying their live records to the end of the log and deleting them. {@link Move}s are read in place
+ * from the mapped segments.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class MatchDAOFileImpl implements MatchDAO, Closeable {
+
+    /**
+     * The default size of a segment.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MatchDAOFileImpl.class);
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("match-(\\d{10})\\.log");
+
+    private static final byte MATCH_RECORD = 1;
+
+    private static final byte MOVE_RECORD = 2;
+
+    private static final byte DELETE_RECORD = 3;
+
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + 1;
+
+    private static final byte FORMAT_VERSION = 2;
+
+    private static final double COMPACTION_THRESHOLD = 0.5;
+
+    private static final Ship.Color[] COLORS = Ship.Color.values();
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final Object writeLock = new Object();
+
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+
+    private final ConcurrentMap<String, MatchEntry> matches = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, ConcurrentNavigableMap<Integer, Location>> moves = new ConcurrentHashMap<>();
+
+    private final MatchStatusIndex statusIndex = new MatchStatusIndex();
+
+    // guarded by the write lock
+    private final Map<String, Map<Integer, byte[]>> encodedCheckpoints = new HashMap<>();
+
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "match-log-compactor");
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    private Segment activeSegment;
+
+    private boolean compacting;
+
+    /**
+     * Default constructor which opens the log in the given directory or creates it.
+     *
+     * @param directory   the directory of the segments
+     * @param segmentSize the size of a segment in bytes
+     */
+    public MatchDAOFileImpl(Path directory, int segmentSize) {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 1 KB");
+        }
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+
+        try {
+            Files.createDirectories(directory);
+
+            synchronized (writeLock) {
+                try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory)) {
+                    for (Path path : paths) {
+                        Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+                        if (matcher.matches()) {
+                            long id = Long.parseLong(matcher.group(1));
+                            segments.put(id, Segment.open(id, path, Files.size(path)));
+                        }
+                    }
+                }
+
+                for (Segment segment : segments.values()) {
+                    recover(segment);
+                }
+
+                activeSegment = segments.isEmpty() ? createSegment(1) : segments.lastEntry().getValue();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("Failed to open match log in [%s]", directory), e);
+        }
+    }
+
+    @Override
+    public Match createMatch(final String playerUuid) {
+        Match match = new Match();
+        match.setUuid(UUID.randomUUID().toString());
+        match.setHost(playerUuid);
+        match.setCreationDate(LocalDateTime.now());
+
+        Ship.Color shipColor = Math.random() < 0.5 ? Ship.Color.WHITE : Ship.Color.BLACK;
+        if (shipColor == Ship.Color.BLACK) {
+            match.setBlackPlayer(playerUuid);
+        } else {
+            match.setWhitePlayer(playerUuid);
+        }
+
+        synchronized (writeLock) {
+            putMatch(match, 0);
+        }
+
+        match.clearChangedFields();
+
+        return match;
+    }
+
+    @Override
+    public Match retrieveMatch(final String matchUuid) {
+        MatchEntry entry = matches.get(matchUuid);
+        if (entry == null) {
+            LOGGER.error("Failed to retrieve match: Match with UUID [{}] does not exist", matchUuid);
+
+            return null;
+        }
+
+        return readMatch(matchUuid, entry.location);
+    }
+
+    @Override
+    public Match retrieveMatchSummary(final String matchUuid) {
+        // a match is a single record so there is nothing to load lazily
+        return retrieveMatch(matchUuid);
+    }
+
+    @Override
+    public Page<Match> retrieveFinishedMatches(int limit, String cursor) {
+        return retrieveMatches(Match.Status.FINISHED, limit, cursor);
+    }
+
+    @Override
+    public Page<Match> retrieveActiveMatches(int limit, String cursor) {
+        return retrieveMatches(Match.Status.ACTIVE, limit, cursor);
+    }
+
+    @Override
+    public Page<Match> retrieveUnstartedMatches(int limit, String cursor) {
+        return retrieveMatches(Match.Status.UNSTARTED, limit, cursor);
+    }
+
+    @Override
+    public boolean updateMatch(Match match) {
+        if (match.getChangedFields().isEmpty()) {
+            return true;
+        }
+
+        // only the latest move is appended to the move log
+        Move move = match.getChangedFields().contains("moves") && !match.getMoves().isEmpty()
+                ? match.getMoves().get(match.getMoves().size() - 1)
+                : null;
+
+        synchronized (writeLock) {
+            // the match must still exist and must not have been updated since it was retrieved
+            MatchEntry entry = matches.get(match.getUuid());
+            if (entry == null || entry.version != match.getVersion()) {
+                LOGGER.error("Failed to update match: Match with UUID [{}] is deleted or no longer at version [{}]",
+                        match.getUuid(), match.getVersion());
+
+                throw new MatchConflictException(match.getUuid(), match.getVersion(), null);
+            }
+
+            if (move != null) {
+                putMove(match.getUuid(), move);
+            }
+
+            putMatch(match, match.getVersion() + 1);
+        }
+
+        match.setVersion(match.getVersion() + 1);
+        match.clearChangedFields();
+
+        return true;
+    }
+
+    @Override
+    public boolean updateFleets(Match match, Map<String, Set<Ship>> previousFleets) {
+        synchronized (writeLock) {
+            MatchEntry entry = matches.get(match.getUuid());
+            if (entry == null) {
+                LOGGER.error("Failed to update fleets: Match with UUID [{}] does not exist", match.getUuid());
+
+                return false;
+            }
+
+            Match storedMatch = readMatch(match.getUuid(), entry.location);
+            Map<String, Set<Ship>> storedFleets = storedMatch.getFleets();
+            boolean unchanged = previousFleets == null || previousFleets.isEmpty()
+                    ? storedFleets.isEmpty()
+                    : getPositions(previousFleets).equals(getPositions(storedFleets));
+            if (storedMatch.hasStarted() || !unchanged) {
+                LOGGER.error("Failed to update fleets: Match with UUID [{}] has started or its fleets have changed",
+                        match.getUuid());
+
+                return false;
+            }
+
+            storedMatch.setFleets(match.getFleets());
+            putMatch(storedMatch, entry.version + 1);
+
+            // the version is bumped so that a concurrent update of the whole match fails
+            match.setVersion(entry.version + 1);
+
+            return true;
+        }
+    }
+
+    @Override
+    public boolean appendMove(String matchUuid, Move move) {
+        synchronized (writeLock) {
+            Map<Integer, Location> matchMoves = moves.get(matchUuid);
+            if (matchMoves != null && matchMoves.containsKey(move.getTurn())) {
+                LOGGER.error("Failed to append move: Turn [{}] of match with UUID [{}] already exists",
+                        move.getTurn(), matchUuid);
+
+                return false;
+            }
+
+            putMove(matchUuid, move);
+
+            return true;
+        }
+    }
+
+    @Override
+    public List<Move> retrieveMoves(String matchUuid, int fromTurn, int toTurn) {
+        List<Move> result = new ArrayList<>();
+        NavigableMap<Integer, Location> matchMoves = moves.get(matchUuid);
+        if (matchMoves == null || fromTurn > toTurn) {
+            return result;
+        }
+
+        for (Location location : matchMoves.subMap(fromTurn, true, toTurn, true).values()) {
+            // the move is decoded straight from the mapped segment
+            result.add(MatchCodec.decodeMove(location.getPayload()));
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean deleteMatch(Match match) {
+        synchronized (writeLock) {
+            MatchEntry entry = matches.get(match.getUuid());
+            if (entry == null || !entry.host.equals(match.getHost())) {
+                LOGGER.error("Failed to delete match: Match with UUID [{}] does not exist or was not created by "
+                        + "host [{}]", match.getUuid(), match.getHost());
+
+                throw new IllegalArgumentException("Match does not exist or was not created by the given host");
+            }
+
+            append(DELETE_RECORD, match.getUuid(), new byte[0]);
+            removeMatch(match.getUuid());
+
+            return true;
+        }
+    }
+
+    /**
+     * Compacts the full segments whose records have mostly been superseded. The live records are copied to the end of
+     * the log before the segment is deleted. The write lock is only held while a record is copied so that writers are
+     * not stalled by a compaction.
+     */
+    public void compact() {
+        List<Segment> candidates = new ArrayList<>();
+        synchronized (writeLock) {
+            if (compacting) {
+                return;
+            }
+
+            compacting = true;
+            for (Segment segment : segments.values()) {
+                if (segment != activeSegment && segment.liveBytes < segment.position * COMPACTION_THRESHOLD) {
+                    candidates.add(segment);
+                }
+            }
+        }
+
+        try {
+            for (Segment segment : candidates) {
+                compact(segment);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to compact match log", e);
+        } finally {
+            synchronized (writeLock) {
+                compacting = false;
+            }
+        }
+    }
+
+    /**
+     * Waits for a running compaction, forces the segments to disk and closes them.
+     */
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            compactor.shutdown();
+        }
+
+        try {
+            if (!compactor.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOGGER.error("Timed out waiting for the compaction of [{}]", directory);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (writeLock) {
+            for (Segment segment : segments.values()) {
+                segment.buffer.force();
+                try {
+                    segment.channel.close();
+                } catch (IOException e) {
+                    LOGGER.error("Failed to close segment [{}]: [{}]", segment.path, e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private Page<Match> retrieveMatches(Match.Status status, int limit, String cursor) {
+        return statusIndex.retrieveMatches(status, limit, cursor, matchUuid -> {
+            MatchEntry entry = matches.get(matchUuid);
+
+            return entry == null ? null : readMatch(matchUuid, entry.location);
+        });
+    }
+
+    /**
+     * Appends a version of a {@link Match} and makes it the latest.
+     *
+     * @param match   the {@link Match}
+     * @param version the version to store
+     */
+    private void putMatch(Match match, long version) {
+        Location location = append(MATCH_RECORD, match.getUuid(), encodeMatch(match, version));
+
+        MatchEntry previous = matches.put(match.getUuid(), new MatchEntry(location, version, match.getStatus(),
+                match.getCreationDate(), match.getHost()));
+        if (previous != null) {
+            previous.location.segment.liveBytes -= previous.location.length;
+            statusIndex.remove(previous.status, previous.creationDate, match.getUuid());
+        }
+        statusIndex.add(match.getStatus(), match.getCreationDate(), match.getUuid());
+
+        // a finished match is no longer updated
+        if (match.getStatus() == Match.Status.FINISHED) {
+            encodedCheckpoints.remove(match.getUuid());
+        }
+    }
+
+    private void putMove(String matchUuid, Move move) {
+        Location location = append(MOVE_RECORD, matchUuid, MatchCodec.encodeMove(move));
+
+        Location previous = moves.computeIfAbsent(matchUuid, key -> new ConcurrentSkipListMap<>())
+                .put(move.getTurn(), location);
+        if (previous != null) {
+            previous.segment.liveBytes -= previous.length;
+        }
+    }
+
+    private void removeMatch(String matchUuid) {
+        encodedCheckpoints.remove(matchUuid);
+
+        MatchEntry entry = matches.remove(matchUuid);
+        if (entry != null) {
+            entry.location.segment.liveBytes -= entry.location.length;
+            statusIndex.remove(entry.status, entry.creationDate, matchUuid);
+        }
+
+        Map<Integer, Location> matchMoves = moves.remove(matchUuid);
+        if (matchMoves != null) {
+            matchMoves.values().forEach(location -> location.segment.liveBytes -= location.length);
+        }
+    }
+
+    /**
+     * Appends a record to the active segment, rolling over to a new segment if it is full.
+     *
+     * @param type      the type of the record
+     * @param matchUuid the UUID of the {@link Match}
+     * @param payload   the payload
+     * @return the {@link Location} of the record
+     */
+    private Location append(byte type, String matchUuid, byte[] payload) {
+        byte[] uuid = matchUuid.getBytes(StandardCharsets.UTF_8);
+        int bodyLength = 1 + Short.BYTES + uuid.length + payload.length;
+        int length = Integer.BYTES + bodyLength;
+        if (length + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException(String.format("Record of %d bytes does not fit in a segment",
+                    length));
+        }
+
+        // a zero length after the last record marks the end of the segment
+        if (activeSegment.position + length + Integer.BYTES > activeSegment.capacity()) {
+            roll();
+        }
+
+        Segment segment = activeSegment;
+        int offset = segment.position;
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(offset + Integer.BYTES);
+        buffer.put(type);
+        buffer.putShort((short) uuid.length);
+        buffer.put(uuid);
+        buffer.put(payload);
+        // the record only becomes visible once its length is written
+        segment.buffer.putInt(offset, bodyLength);
+
+        segment.position += length;
+        if (type != DELETE_RECORD) {
+            segment.liveBytes += length;
+        }
+
+        return new Location(segment, offset, length);
+    }
+
+    private void roll() {
+        activeSegment.buffer.force();
+        try {
+            activeSegment = createSegment(activeSegment.id + 1);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create segment", e);
+        }
+
+        // the compactor is shut down under the write lock when the log is closed
+        if (!compactor.isShutdown()) {
+            compactor.execute(this::compact);
+        }
+    }
+
+    private Segment createSegment(long id) throws IOException {
+        Path path = directory.resolve(String.format("match-%010d.log", id));
+        Segment segment = Segment.open(id, path, segmentSize);
+        segments.put(id, segment);
+
+        return segment;
+    }
+
+    /**
+     * Reads the records of a segment into the index.
+     *
+     * @param segment the {@link Segment}
+     */
+    private void recover(Segment segment) {
+        int offset = 0;
+        while (offset + RECORD_HEADER_SIZE <= segment.capacity()) {
+            int bodyLength = segment.buffer.getInt(offset);
+            if (bodyLength <= 0 || offset + Integer.BYTES + bodyLength > segment.capacity()) {
+                break;
+            }
+
+            segment.position = offset + Integer.BYTES + bodyLength;
+            Location location = new Location(segment, offset, Integer.BYTES + bodyLength);
+            byte type = location.getType();
+            String matchUuid = location.getMatchUuid();
+            if (type == MATCH_RECORD) {
+                segment.liveBytes += location.length;
+                Match match = readMatch(matchUuid, location);
+
+                MatchEntry previous = matches.put(matchUuid, new MatchEntry(location, match.getVersion(),
+                        match.getStatus(), match.getCreationDate(), match.getHost()));
+                if (previous != null) {
+                    previous.location.segment.liveBytes -= previous.location.length;
+                    statusIndex.remove(previous.status, previous.creationDate, matchUuid);
+                }
+                statusIndex.add(match.getStatus(), match.getCreationDate(), matchUuid);
+            } else if (type == MOVE_RECORD) {
+                segment.liveBytes += location.length;
+                int turn = location.getPayload().getInt(2);
+
+                Location previous = moves.computeIfAbsent(matchUuid, key -> new ConcurrentSkipListMap<>())
+                        .put(turn, location);
+                if (previous != null) {
+                    previous.segment.liveBytes -= previous.length;
+                }
+            } else if (type == DELETE_RECORD) {
+                removeMatch(matchUuid);
+            }
+
+            offset = segment.position;
+        }
+
+        LOGGER.info("Recovered segment [{}] up to offset [{}]", segment.path, segment.position);
+    }
+
+    /**
+     * Copies the live records of a segment to the end of the log and deletes the segment.
+     *
+     * @param segment the {@link Segment}
+     * @throws IOException if the segment cannot be deleted
+     */
+    private void compact(Segment segment) throws IOException {
+        boolean oldest;
+        synchronized (writeLock) {
+            oldest = segments.firstKey() == segment.id;
+        }
+
+        // a full segment is no longer written so its records are read without the write lock
+        int offset = 0;
+        while (offset < segment.position) {
+            int bodyLength = segment.buffer.getInt(offset);
+            Location location = new Location(segment, offset, Integer.BYTES + bodyLength);
+            String matchUuid = location.getMatchUuid();
+            byte[] payload = location.getPayloadBytes();
+
+            synchronized (writeLock) {
+                if (location.getType() == MATCH_RECORD) {
+                    MatchEntry entry = matches.get(matchUuid);
+                    if (entry != null && location.equals(entry.location)) {
+                        entry.location.segment.liveBytes -= entry.location.length;
+                        matches.put(matchUuid, new MatchEntry(append(MATCH_RECORD, matchUuid, payload),
+                                entry.version, entry.status, entry.creationDate, entry.host));
+                    }
+                } else if (location.getType() == MOVE_RECORD) {
+                    ConcurrentNavigableMap<Integer, Location> matchMoves = moves.get(matchUuid);
+                    int turn = location.getPayload().getInt(2);
+                    if (matchMoves != null && location.equals(matchMoves.get(turn))) {
+                        location.segment.liveBytes -= location.length;
+                        matchMoves.put(turn, append(MOVE_RECORD, matchUuid, payload));
+                    }
+                } else if (location.getType() == DELETE_RECORD && !oldest) {
+                    // the deletion must outlive the older records of the match
+                    append(DELETE_RECORD, matchUuid, payload);
+                }
+            }
+
+            offset += location.length;
+        }
+
+        synchronized (writeLock) {
+            segments.remove(segment.id);
+            segment.channel.close();
+        }
+        Files.delete(segment.path);
+
+        LOGGER.info("Compacted segment [{}]", segment.path);
+    }
+
+    private Match readMatch(String matchUuid, Location location) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(location.getPayloadBytes()))) {
+            // version 1 has no position counts
+            byte format = input.readByte();
+            if (format < 1 || format > FORMAT_VERSION) {
+                throw new IllegalStateException(String.format("Match with UUID [%s] has an unknown format",
+                        matchUuid));
+            }
+
+            Match match = new Match();
+            match.setUuid(matchUuid);
+            match.setWhitePlayer(readString(input));
+            match.setBlackPlayer(readString(input));
+            match.setWinner(readString(input));
+            match.setLoser(readString(input));
+            match.setHost(readString(input));
+            match.setDraw(input.readBoolean());
+            match.setWhitePlayerAgreedToDraw(input.readBoolean());
+            match.setBlackPlayerAgreedToDraw(input.readBoolean());
+            match.setStarted(input.readBoolean());
+            match.setWhitePlayerReady(input.readBoolean());
+            match.setBlackPlayerReady(input.readBoolean());
+            match.setCreationDate(readDate(input));
+            match.setStartDate(readDate(input));
+            match.setEndDate(readDate(input));
+            byte turn = input.readByte();
+            match.setTurn(turn < 0 ? null : COLORS[turn]);
+            match.setMoveCount(input.readInt());
+            match.setLastChallengeTurn(input.readInt());
+            match.setVersion(input.readLong());
+            match.setFleets(MatchCodec.decodeFleets(readBytes(input)));
+
+            SortedMap<Integer, Map<String, Set<Ship>>> checkpoints = new TreeMap<>();
+            int checkpointCount = input.readInt();
+            for (int i = 0; i < checkpointCount; i++) {
+                Map.Entry<Integer, Map<String, Set<Ship>>> checkpoint =
+                        MatchCodec.decodeCheckpoint(readBytes(input));
+                checkpoints.put(checkpoint.getKey(), checkpoint.getValue());
+            }
+            match.setCheckpoints(checkpoints);
+            if (format > 1) {
+                match.setPositionCounts(MatchCodec.decodePositionCounts(readBytes(input)));
+            }
+            match.clearChangedFields();
+
+            return match;
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("Failed to read match with UUID [%s]", matchUuid), e);
+        }
+    }
+
+    private byte[] encodeMatch(Match match, long version) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(FORMAT_VERSION);
+            writeString(output, match.getWhitePlayer());
+            writeString(output, match.getBlackPlayer());
+            writeString(output, match.getWinner());
+            writeString(output, match.getLoser());
+            writeString(output, match.getHost());
+            output.writeBoolean(match.isDraw());
+            output.writeBoolean(match.hasWhitePlayerAgreedToDraw());
+            output.writeBoolean(match.hasBlackPlayerAgreedToDraw());
+            output.writeBoolean(match.hasStarted());
+            output.writeBoolean(match.isWhitePlayerReady());
+            output.writeBoolean(match.isBlackPlayerReady());
+            writeDate(output, match.getCreationDate());
+            writeDate(output, match.getStartDate());
+            writeDate(output, match.getEndDate());
+            output.writeByte(match.getTurn() == null ? -1 : match.getTurn().ordinal());
+            output.writeInt(match.getMoveCount());
+            output.writeInt(match.getLastChallengeTurn());
+            output.writeLong(version);
+            writeBytes(output, MatchCodec.encodeFleets(match.getFleets(), false));
+
+            // a checkpoint never changes once it is taken so it is only deflated once
+            Map<Integer, byte[]> matchCheckpoints = encodedCheckpoints.computeIfAbsent(match.getUuid(),
+                    key -> new HashMap<>());
+            output.writeInt(match.getCheckpoints().size());
+            for (Map.Entry<Integer, Map<String, Set<Ship>>> checkpoint : match.getCheckpoints().entrySet()) {
+                writeBytes(output, matchCheckpoints.computeIfAbsent(checkpoint.getKey(),
+                        turn -> MatchCodec.encodeCheckpoint(turn, checkpoint.getValue())));
+            }
+            writeBytes(output, MatchCodec.encodePositionCounts(match.getPositionCounts()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode match", e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static void writeDate(DataOutputStream output, LocalDateTime value) throws IOException {
+        writeString(output, value == null ? null : value.toString());
+    }
+
+    private static LocalDateTime readDate(DataInputStream input) throws IOException {
+        String value = readString(input);
+
+        return value == null ? null : LocalDateTime.parse(value);
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] value) throws IOException {
+        output.writeInt(value.length);
+        output.write(value);
+    }
+
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+        byte[] value = new byte[input.readInt()];
+        input.readFully(value);
+
+        return value;
+    }
+
+    private static Map<String, Map<Ship.ShipClass, Ship.Coordinates>> getPositions(Map<String, Set<Ship>> fleets) {
+        Map<String, Map<Ship.ShipClass, Ship.Coordinates>> positions = new TreeMap<>();
+        fleets.forEach((playerUuid, ships) -> {
+            Map<Ship.ShipClass, Ship.Coordinates> coordinates = new EnumMap<>(Ship.ShipClass.class);
+            ships.forEach(ship -> coordinates.put(ship.getShipClass(), ship.getCoordinates()));
+            positions.put(playerUuid, coordinates);
+        });
+
+        return positions;
+    }
+
+    /**
+     * A memory-mapped segment of the log.
+     */
+    private static final class Segment {
+
+        private final long id;
+
+        private final Path path;
+
+        private final FileChannel channel;
+
+        private final MappedByteBuffer buffer;
+
+        private int position;
+
+        private int liveBytes;
+
+        private Segment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private static Segment open(long id, Path path, long size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+
+            return new Segment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        private int capacity() {
+            return buffer.capacity();
+        }
+    }
+
+    /**
+     * The location of a record in a {@link Segment}.
+     */
+    private static final class Location {
+
+        private final Segment segment;
+
+        private final int offset;
+
+        private final int length;
+
+        private Location(Segment segment, int offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        private byte getType() {
+            return segment.buffer.get(offset + Integer.BYTES);
+        }
+
+        private int getPayloadOffset() {
+            int uuidOffset = offset + RECORD_HEADER_SIZE;
+
+            return uuidOffset + Short.BYTES + Short.toUnsignedInt(segment.buffer.getShort(uuidOffset));
+        }
+
+        private String getMatchUuid() {
+            int uuidOffset = offset + RECORD_HEADER_SIZE;
+            byte[] uuid = new byte[Short.toUnsignedInt(segment.buffer.getShort(uuidOffset))];
+            ByteBuffer buffer = segment.buffer.duplicate();
+            buffer.position(uuidOffset + Short.BYTES);
+            buffer.get(uuid);
+
+            return new String(uuid, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Returns a view of the payload in the mapped segment without copying it.
+         *
+         * @return the payload
+         */
+        private ByteBuffer getPayload() {
+            ByteBuffer buffer = segment.buffer.duplicate();
+            buffer.position(getPayloadOffset());
+            buffer.limit(offset + length);
+
+            return buffer.slice();
+        }
+
+        private byte[] getPayloadBytes() {
+            ByteBuffer payload = getPayload();
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+
+            return bytes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Location location = (Location) o;
+            return segment == location.segment
+                    && offset == location.offset;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(segment.id) + offset;
+        }
+    }
+
+    /**
+     * The index entry of the latest version of a {@link Match}.
+     */
+    private static final class MatchEntry {
+
+        private final Location location;
+
+        private final long version;
+
+        private final Match.Status status;
+
+        private final LocalDateTime creationDate;
+
+        private final String host;
+
+        private MatchEntry(Location location, long version, Match.Status status, LocalDateTime creationDate,
+                           String host) {
+            this.location = location;
+            this.version = version;
+            this.status = status;
+            this.creationDate = creationDate;
+            this.host = host;
+        }
+    }
+}
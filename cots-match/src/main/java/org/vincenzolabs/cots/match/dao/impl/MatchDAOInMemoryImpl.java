@@ -0,0 +1,295 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.dao.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Page;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.dao.MatchConflictException;
+import org.vincenzolabs.cots.match.dao.MatchDAO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The in-memory implementation of {@link MatchDAO} for local runs and benchmarks. The {@link Match}es are kept in a
+ * {@link ConcurrentHashMap} with a sorted index per {@link Match.Status} in place of the sparse secondary indexes of
+ * the table. Updates are conditional on the version and fail the same way as they do on DynamoDB.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class MatchDAOInMemoryImpl implements MatchDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MatchDAOInMemoryImpl.class);
+
+    private final ConcurrentMap<String, Match> matches = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, ConcurrentNavigableMap<Integer, Move>> moves = new ConcurrentHashMap<>();
+
+    private final MatchStatusIndex statusIndex = new MatchStatusIndex();
+
+    @Override
+    public Match createMatch(final String playerUuid) {
+        Match match = new Match();
+        match.setUuid(UUID.randomUUID().toString());
+        match.setHost(playerUuid);
+        match.setCreationDate(LocalDateTime.now());
+
+        Ship.Color shipColor = Math.random() < 0.5 ? Ship.Color.WHITE : Ship.Color.BLACK;
+        if (shipColor == Ship.Color.BLACK) {
+            match.setBlackPlayer(playerUuid);
+        } else {
+            match.setWhitePlayer(playerUuid);
+        }
+
+        matches.compute(match.getUuid(), (uuid, storedMatch) -> {
+            index(match);
+
+            return copy(match);
+        });
+
+        match.clearChangedFields();
+
+        return match;
+    }
+
+    @Override
+    public Match retrieveMatch(final String matchUuid) {
+        Match match = matches.get(matchUuid);
+        if (match == null) {
+            LOGGER.error("Failed to retrieve match: Match with UUID [{}] does not exist", matchUuid);
+
+            return null;
+        }
+
+        return copy(match);
+    }
+
+    @Override
+    public Match retrieveMatchSummary(final String matchUuid) {
+        // the fleets and checkpoints are already in memory so there is nothing to load lazily
+        return retrieveMatch(matchUuid);
+    }
+
+    @Override
+    public Page<Match> retrieveFinishedMatches(int limit, String cursor) {
+        return retrieveMatches(Match.Status.FINISHED, limit, cursor);
+    }
+
+    @Override
+    public Page<Match> retrieveActiveMatches(int limit, String cursor) {
+        return retrieveMatches(Match.Status.ACTIVE, limit, cursor);
+    }
+
+    @Override
+    public Page<Match> retrieveUnstartedMatches(int limit, String cursor) {
+        return retrieveMatches(Match.Status.UNSTARTED, limit, cursor);
+    }
+
+    @Override
+    public boolean updateMatch(Match match) {
+        if (match.getChangedFields().isEmpty()) {
+            return true;
+        }
+
+        // only the latest move is appended to the move log
+        Move move = match.getChangedFields().contains("moves") && !match.getMoves().isEmpty()
+                ? match.getMoves().get(match.getMoves().size() - 1)
+                : null;
+
+        matches.compute(match.getUuid(), (uuid, storedMatch) -> {
+            // the match must still exist and must not have been updated since it was retrieved
+            if (storedMatch == null || storedMatch.getVersion() != match.getVersion()) {
+                LOGGER.error("Failed to update match: Match with UUID [{}] is deleted or no longer at version [{}]",
+                        match.getUuid(), match.getVersion());
+
+                throw new MatchConflictException(match.getUuid(), match.getVersion(), null);
+            }
+
+            if (storedMatch != null) {
+                unindex(storedMatch);
+            }
+
+            if (move != null) {
+                moves.computeIfAbsent(uuid, key -> new ConcurrentSkipListMap<>()).put(move.getTurn(), move);
+            }
+
+            Match updatedMatch = copy(match);
+            updatedMatch.setVersion(match.getVersion() + 1);
+            index(updatedMatch);
+
+            return updatedMatch;
+        });
+
+        match.setVersion(match.getVersion() + 1);
+        match.clearChangedFields();
+
+        return true;
+    }
+
+    @Override
+    public boolean updateFleets(Match match, Map<String, Set<Ship>> previousFleets) {
+        boolean[] updated = new boolean[1];
+        Match result = matches.computeIfPresent(match.getUuid(), (uuid, storedMatch) -> {
+            Map<String, Set<Ship>> storedFleets = storedMatch.getFleets();
+            boolean unchanged = previousFleets == null || previousFleets.isEmpty()
+                    ? storedFleets.isEmpty()
+                    : getPositions(previousFleets).equals(getPositions(storedFleets));
+            if (storedMatch.hasStarted() || !unchanged) {
+                return storedMatch;
+            }
+
+            Match updatedMatch = copy(storedMatch);
+            updatedMatch.setFleets(match.getFleets());
+            updatedMatch.setVersion(storedMatch.getVersion() + 1);
+            updated[0] = true;
+
+            return copy(updatedMatch);
+        });
+
+        if (!updated[0]) {
+            LOGGER.error("Failed to update fleets: Match with UUID [{}] has started or its fleets have changed",
+                    match.getUuid());
+
+            return false;
+        }
+
+        // the version is bumped so that a concurrent update of the whole match fails
+        match.setVersion(result.getVersion());
+
+        return true;
+    }
+
+    @Override
+    public boolean appendMove(String matchUuid, Move move) {
+        if (moves.computeIfAbsent(matchUuid, key -> new ConcurrentSkipListMap<>())
+                .putIfAbsent(move.getTurn(), move) != null) {
+            LOGGER.error("Failed to append move: Turn [{}] of match with UUID [{}] already exists", move.getTurn(),
+                    matchUuid);
+
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public List<Move> retrieveMoves(String matchUuid, int fromTurn, int toTurn) {
+        NavigableMap<Integer, Move> matchMoves = moves.get(matchUuid);
+        if (matchMoves == null || fromTurn > toTurn) {
+            return new ArrayList<>();
+        }
+
+        return new ArrayList<>(matchMoves.subMap(fromTurn, true, toTurn, true).values());
+    }
+
+    @Override
+    public boolean deleteMatch(Match match) {
+        boolean[] deleted = new boolean[1];
+        matches.computeIfPresent(match.getUuid(), (uuid, storedMatch) -> {
+            if (!storedMatch.getHost().equals(match.getHost())) {
+                return storedMatch;
+            }
+
+            unindex(storedMatch);
+            moves.remove(uuid);
+            deleted[0] = true;
+
+            return null;
+        });
+
+        if (!deleted[0]) {
+            LOGGER.error("Failed to delete match: Match with UUID [{}] does not exist or was not created by host [{}]",
+                    match.getUuid(), match.getHost());
+
+            throw new IllegalArgumentException("Match does not exist or was not created by the given host");
+        }
+
+        return true;
+    }
+
+    private Page<Match> retrieveMatches(Match.Status status, int limit, String cursor) {
+        return statusIndex.retrieveMatches(status, limit, cursor, matchUuid -> {
+            Match match = matches.get(matchUuid);
+
+            return match == null ? null : copy(match);
+        });
+    }
+
+    private void index(Match match) {
+        statusIndex.add(match.getStatus(), match.getCreationDate(), match.getUuid());
+    }
+
+    private void unindex(Match match) {
+        statusIndex.remove(match.getStatus(), match.getCreationDate(), match.getUuid());
+    }
+
+    /**
+     * Returns the {@link Ship.Coordinates} of each {@link Ship} of the fleets since {@link Ship}s are equal regardless
+     * of where they are.
+     *
+     * @param fleets the {@link Map} containing the UUID's of the players and their {@link Ship}s
+     * @return the {@link Map} containing the UUID's of the players and the {@link Ship.Coordinates} of their
+     * {@link Ship}s
+     */
+    private static Map<String, Map<Ship.ShipClass, Ship.Coordinates>> getPositions(Map<String, Set<Ship>> fleets) {
+        Map<String, Map<Ship.ShipClass, Ship.Coordinates>> positions = new HashMap<>();
+        fleets.forEach((playerUuid, ships) -> {
+            Map<Ship.ShipClass, Ship.Coordinates> coordinates = new EnumMap<>(Ship.ShipClass.class);
+            ships.forEach(ship -> coordinates.put(ship.getShipClass(), ship.getCoordinates()));
+            positions.put(playerUuid, coordinates);
+        });
+
+        return positions;
+    }
+
+    /**
+     * Copies a {@link Match} so that the stored {@link Match}es are never shared with the callers. The {@link Move}s
+     * are kept apart like in the move table.
+     *
+     * @param match the {@link Match}
+     * @return the copy
+     */
+    private static Match copy(Match match) {
+        Match copy = new Match(match);
+        copy.setMoves(new ArrayList<>());
+        copy.clearChangedFields();
+
+        return copy;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.dao.impl;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.MatchCodec;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Player;
+import org.vincenzolabs.cots.domain.Ship;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * The mapper of DynamoDB match items shared by the blocking and the asynchronous DAOs.
+ *
+ * @author Rey Vincent Babilonia
+ */
+final class MatchItemMapper {
+
+    /**
+     * The name of the attribute holding the packed checkpoints.
+     */
+    static final String PACKED_CHECKPOINTS = "packedCheckpoints";
+
+    /**
+     * The attributes of a whole {@link Match}.
+     */
+    static final String[] COLUMNS = {"uuid", "whitePlayer", "blackPlayer", "winner", "loser", "draw",
+            "whitePlayerAgreedToDraw", "blackPlayerAgreedToDraw", "host", "creationDate", "turn", "started",
+            "startDate", "endDate", "whitePlayerReady", "blackPlayerReady", "moveCount", "lastChallengeTurn",
+            "positionCounts", "checkpoints", PACKED_CHECKPOINTS, "fleets", "version"};
+
+    /**
+     * The scalar attributes of a {@link Match}.
+     */
+    static final String[] SUMMARY_COLUMNS = {"uuid", "whitePlayer", "blackPlayer", "winner", "loser", "draw",
+            "whitePlayerAgreedToDraw", "blackPlayerAgreedToDraw", "host", "creationDate", "turn", "started",
+            "startDate", "endDate", "whitePlayerReady", "blackPlayerReady", "moveCount", "lastChallengeTurn",
+            "version"};
+
+    /**
+     * The type of the legacy JSON fleets.
+     */
+    static final Type FLEETS_TYPE = new TypeToken<Map<String, Set<Ship>>>() {
+    }.getType();
+
+    private final Gson gson;
+
+    /**
+     * Default constructor.
+     *
+     * @param gson the {@link Gson}
+     */
+    MatchItemMapper(Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Maps a whole item to a {@link Match} with no changed fields.
+     *
+     * @param item the item
+     * @return the {@link Match}
+     */
+    Match toMatch(Map<String, AttributeValue> item) {
+        Match match = getMatch(item);
+        match.setCheckpoints(getCheckpoints(item));
+        if (item.get("fleets") != null) {
+            match.setFleets(getFleets(item.get("fleets")));
+        }
+        if (item.get("positionCounts") != null) {
+            match.setPositionCounts(MatchCodec.decodePositionCounts(item.get("positionCounts").b().asByteArray()));
+        }
+        match.clearChangedFields();
+
+        return match;
+    }
+
+    /**
+     * Maps the scalar fields of an item to a {@link Match}.
+     *
+     * @param item the item
+     * @return the {@link Match} whose changed fields have not been cleared
+     */
+    Match getMatch(Map<String, AttributeValue> item) {
+        Match match = new Match();
+        match.setUuid(getValue(item.get("uuid"), String.class));
+        match.setWhitePlayer(getValue(item.get("whitePlayer"), String.class));
+        match.setBlackPlayer(getValue(item.get("blackPlayer"), String.class));
+        match.setWinner(getValue(item.get("winner"), String.class));
+        match.setLoser(getValue(item.get("loser"), String.class));
+        match.setDraw(Boolean.TRUE.equals(getValue(item.get("draw"), Boolean.class)));
+        match.setWhitePlayerAgreedToDraw(Boolean.TRUE.equals(getValue(item.get("whitePlayerAgreedToDraw"),
+                Boolean.class)));
+        match.setBlackPlayerAgreedToDraw(Boolean.TRUE.equals(getValue(item.get("blackPlayerAgreedToDraw"),
+                Boolean.class)));
+        match.setHost(getValue(item.get("host"), String.class));
+        if (item.get("turn") != null) {
+            match.setTurn(Ship.Color.valueOf(getValue(item.get("turn"), String.class)));
+        }
+        match.setStarted(Boolean.TRUE.equals(getValue(item.get("started"), Boolean.class)));
+        if (item.get("startDate") != null) {
+            match.setStartDate(LocalDateTime.parse(getValue(item.get("startDate"), String.class)));
+        }
+        if (item.get("endDate") != null) {
+            match.setEndDate(LocalDateTime.parse(getValue(item.get("endDate"), String.class)));
+        }
+        if (item.get("creationDate") != null) {
+            match.setCreationDate(LocalDateTime.parse(getValue(item.get("creationDate"), String.class)));
+        }
+        match.setWhitePlayerReady(Boolean.TRUE.equals(getValue(item.get("whitePlayerReady"), Boolean.class)));
+        match.setBlackPlayerReady(Boolean.TRUE.equals(getValue(item.get("blackPlayerReady"), Boolean.class)));
+
+        if (item.get("moveCount") != null) {
+            match.setMoveCount(Integer.parseInt(item.get("moveCount").n()));
+        }
+        if (item.get("lastChallengeTurn") != null) {
+            match.setLastChallengeTurn(Integer.parseInt(item.get("lastChallengeTurn").n()));
+        }
+
+        if (item.get("version") != null) {
+            match.setVersion(Long.parseLong(item.get("version").n()));
+        }
+
+        return match;
+    }
+
+    /**
+     * Maps the legacy JSON and the packed checkpoints of an item.
+     *
+     * @param item the item
+     * @return the {@link SortedMap} of checkpoints
+     */
+    SortedMap<Integer, Map<String, Set<Ship>>> getCheckpoints(Map<String, AttributeValue> item) {
+        SortedMap<Integer, Map<String, Set<Ship>>> checkpoints = new TreeMap<>();
+        if (item.get("checkpoints") != null) {
+            // legacy JSON checkpoints are read until the match is over
+            for (String checkpoint : item.get("checkpoints").ss()) {
+                JsonObject jsonObject = gson.fromJson(checkpoint, JsonObject.class);
+                checkpoints.put(jsonObject.get("turn").getAsInt(),
+                        gson.fromJson(jsonObject.get("fleets"), FLEETS_TYPE));
+            }
+        }
+        if (item.get(PACKED_CHECKPOINTS) != null) {
+            for (SdkBytes checkpoint : item.get(PACKED_CHECKPOINTS).bs()) {
+                Map.Entry<Integer, Map<String, Set<Ship>>> entry =
+                        MatchCodec.decodeCheckpoint(checkpoint.asByteArray());
+                checkpoints.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        return checkpoints;
+    }
+
+    /**
+     * Maps a packed {@link Move}.
+     *
+     * @param value the {@link AttributeValue}
+     * @return the {@link Move}
+     */
+    Move getMove(AttributeValue value) {
+        return MatchCodec.decodeMove(value.b().asByteArray());
+    }
+
+    /**
+     * Maps packed or legacy JSON fleets.
+     *
+     * @param value the {@link AttributeValue}
+     * @return the {@link Map} containing the UUID's of the {@link Player}s and their {@link Ship}s
+     */
+    Map<String, Set<Ship>> getFleets(AttributeValue value) {
+        // legacy fleets are stored as JSON
+        return value.b() == null
+                ? gson.fromJson(value.s(), FLEETS_TYPE)
+                : MatchCodec.decodeFleets(value.b().asByteArray());
+    }
+
+    /**
+     * Returns the value of an {@link AttributeValue} as the given type.
+     *
+     * @param value the {@link AttributeValue}
+     * @param type  the {@link Class} of the value
+     * @param <T>   the type of the value
+     * @return the value or {@code null} if the attribute does not exist
+     */
+    static <T> T getValue(AttributeValue value, Class<T> type) {
+        if (value == null) {
+            return null;
+        }
+
+        if (Boolean.class == type) {
+            return type.cast(value.bool());
+        } else if (Number.class == type) {
+            return type.cast(value.n());
+        }
+
+        return type.cast(value.s());
+    }
+}
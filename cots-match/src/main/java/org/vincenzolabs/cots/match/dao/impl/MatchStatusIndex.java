@@ -0,0 +1,144 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.dao.impl;
+
+import org.apache.commons.lang3.StringUtils;
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Page;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * The index of the {@link Match}es per {@link Match.Status} sorted by creation date which stands in for the sparse
+ * status indexes of the table in the DAOs that do not run on DynamoDB.
+ *
+ * @author Rey Vincent Babilonia
+ */
+final class MatchStatusIndex {
+
+    private static final char KEY_SEPARATOR = '#';
+
+    private final Map<Match.Status, ConcurrentNavigableMap<String, String>> indexes = new EnumMap<>(Match.Status.class);
+
+    /**
+     * Default constructor.
+     */
+    MatchStatusIndex() {
+        for (Match.Status status : Match.Status.values()) {
+            indexes.put(status, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    /**
+     * Adds a {@link Match} to the index of its {@link Match.Status}.
+     *
+     * @param status       the {@link Match.Status}
+     * @param creationDate the creation date of the {@link Match}
+     * @param matchUuid    the UUID of the {@link Match}
+     */
+    void add(Match.Status status, LocalDateTime creationDate, String matchUuid) {
+        indexes.get(status).put(getKey(creationDate, matchUuid), matchUuid);
+    }
+
+    /**
+     * Removes a {@link Match} from the index of its {@link Match.Status}.
+     *
+     * @param status       the {@link Match.Status}
+     * @param creationDate the creation date of the {@link Match}
+     * @param matchUuid    the UUID of the {@link Match}
+     */
+    void remove(Match.Status status, LocalDateTime creationDate, String matchUuid) {
+        indexes.get(status).remove(getKey(creationDate, matchUuid));
+    }
+
+    /**
+     * Returns a {@link Page} of the {@link Match}es with the given {@link Match.Status}, newest first.
+     *
+     * @param status the {@link Match.Status}
+     * @param limit  the maximum number of {@link Match}es
+     * @param cursor the cursor of the {@link Page} or {@code null} for the first {@link Page}
+     * @param reader the function that reads a {@link Match} by its UUID
+     * @return the {@link Page} of {@link Match}es
+     */
+    Page<Match> retrieveMatches(Match.Status status, int limit, String cursor, Function<String, Match> reader) {
+        NavigableMap<String, String> index = indexes.get(status).descendingMap();
+        String lastKey = decodeCursor(cursor);
+        if (lastKey != null) {
+            index = index.tailMap(lastKey, false);
+        }
+
+        List<Match> page = new ArrayList<>();
+        Iterator<Map.Entry<String, String>> iterator = index.entrySet().iterator();
+        String key = null;
+        while (page.size() < limit && iterator.hasNext()) {
+            Map.Entry<String, String> entry = iterator.next();
+            Match match = reader.apply(entry.getValue());
+            // the match may have been updated or deleted since the index was read
+            if (match != null && match.getStatus() == status) {
+                page.add(match);
+                key = entry.getKey();
+            }
+        }
+
+        return new Page<>(page, iterator.hasNext() && key != null ? encodeCursor(key) : null);
+    }
+
+    private String getKey(LocalDateTime creationDate, String matchUuid) {
+        return creationDate.toString() + KEY_SEPARATOR + matchUuid;
+    }
+
+    private String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodeCursor(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+
+        String key;
+        try {
+            key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor is invalid", e);
+        }
+
+        if (key.indexOf(KEY_SEPARATOR) < 0) {
+            throw new IllegalArgumentException("Cursor is invalid");
+        }
+
+        return key;
+    }
+}
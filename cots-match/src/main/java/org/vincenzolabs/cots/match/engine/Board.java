@@ -0,0 +1,614 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.engine;
+
+import org.vincenzolabs.cots.domain.Fleet;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.domain.ShipCodec;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * The bitboard representation of the 9x8 game board. Each {@link Ship.Color} has an occupancy mask spread over 2
+ * {@code long}s, the first holding squares 0 to 63 and the second holding squares 64 to 71. A square is numbered
+ * {@code y * 9 + x}. A piece is numbered {@code color * 21 + shipClass} so that occupancy, collision and command ship
+ * lookups never have to iterate over the fleets.
+ * <p>
+ * The orthogonal neighbours of every square are precomputed as masks so that legal moves are generated by masking
+ * out the squares occupied by the own fleet.
+ * <p>
+ * The board also keeps an incrementally updated Zobrist key of the pieces and their squares. The keys are generated
+ * from a fixed seed since they are persisted with each {@link Move}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public final class Board {
+
+    /**
+     * The number of columns.
+     */
+    public static final int WIDTH = 9;
+
+    /**
+     * The number of rows.
+     */
+    public static final int HEIGHT = 8;
+
+    /**
+     * The number of squares.
+     */
+    public static final int SQUARES = WIDTH * HEIGHT;
+
+    /**
+     * The number of {@link Ship.ShipClass}es per fleet, excluding {@link Ship.ShipClass#UNKNOWN}.
+     */
+    public static final int SHIP_CLASSES = Fleet.SIZE;
+
+    /**
+     * The number of pieces of both fleets.
+     */
+    public static final int PIECES = 2 * SHIP_CLASSES;
+
+    /**
+     * The value of an empty square or of a piece that is not on the board.
+     */
+    public static final int NONE = -1;
+
+    private static final Ship.Color[] COLORS = Ship.Color.values();
+
+    private static final Ship.ShipClass[] SHIP_CLASS_VALUES = Ship.ShipClass.values();
+
+    private static final long[] NEIGHBOURS = createNeighbours();
+
+    private static final long ZOBRIST_SEED = 0x436F6D6D616E64L;
+
+    private static final long[] ZOBRIST_KEYS = new long[PIECES * SQUARES];
+
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        SplittableRandom random = new SplittableRandom(ZOBRIST_SEED);
+        for (int i = 0; i < ZOBRIST_KEYS.length; i++) {
+            ZOBRIST_KEYS[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private final long[] occupancy = new long[4];
+
+    private final int[] pieces = new int[SQUARES];
+
+    private final int[] squares = new int[PIECES];
+
+    private long key;
+
+    /**
+     * Default constructor which creates an empty board.
+     */
+    public Board() {
+        Arrays.fill(pieces, NONE);
+        Arrays.fill(squares, NONE);
+    }
+
+    /**
+     * Creates a {@link Board} from the white and black {@link Set}s of {@link Ship}s. {@link Ship}s that have not
+     * been positioned or whose {@link Ship.ShipClass} is {@link Ship.ShipClass#UNKNOWN} are skipped.
+     *
+     * @param whiteFleet the white {@link Set} of {@link Ship}s
+     * @param blackFleet the black {@link Set} of {@link Ship}s
+     * @return the {@link Board}
+     */
+    public static Board of(Set<Ship> whiteFleet, Set<Ship> blackFleet) {
+        Board board = new Board();
+        board.placeAll(whiteFleet);
+        board.placeAll(blackFleet);
+
+        return board;
+    }
+
+    /**
+     * Creates a {@link Board} from the white and black {@link Fleet}s. {@link Ship}s that have not been positioned are
+     * skipped.
+     *
+     * @param whiteFleet the white {@link Fleet}
+     * @param blackFleet the black {@link Fleet}
+     * @return the {@link Board}
+     */
+    public static Board of(Fleet whiteFleet, Fleet blackFleet) {
+        Board board = new Board();
+        board.placeAll(whiteFleet);
+        board.placeAll(blackFleet);
+
+        return board;
+    }
+
+    /**
+     * Copies the pieces and the Zobrist key of the given {@link Board} into this {@link Board} without allocating.
+     *
+     * @param board the {@link Board} to copy
+     */
+    public void copyFrom(Board board) {
+        System.arraycopy(board.occupancy, 0, occupancy, 0, occupancy.length);
+        System.arraycopy(board.pieces, 0, pieces, 0, pieces.length);
+        System.arraycopy(board.squares, 0, squares, 0, squares.length);
+        key = board.key;
+    }
+
+    /**
+     * Checks if the given X and Y coordinates are within the board.
+     *
+     * @param x the X coordinate
+     * @param y the Y coordinate
+     * @return {@code true} if the coordinates are within the board; {@code false} otherwise
+     */
+    public static boolean isOnBoard(int x, int y) {
+        return x >= 0 && x < WIDTH && y >= 0 && y < HEIGHT;
+    }
+
+    /**
+     * Returns the square of the given X and Y coordinates.
+     *
+     * @param x the X coordinate
+     * @param y the Y coordinate
+     * @return the square
+     */
+    public static int square(int x, int y) {
+        return y * WIDTH + x;
+    }
+
+    /**
+     * Returns the square of the given {@link Ship.Coordinates}.
+     *
+     * @param coordinates the {@link Ship.Coordinates}
+     * @return the square or {@link #NONE} if the {@link Ship.Coordinates} are not within the board
+     */
+    public static int square(Ship.Coordinates coordinates) {
+        if (coordinates == null || !isOnBoard(coordinates.getX(), coordinates.getY())) {
+            return NONE;
+        }
+
+        return square(coordinates.getX(), coordinates.getY());
+    }
+
+    /**
+     * Returns the X coordinate of the given square.
+     *
+     * @param square the square
+     * @return the X coordinate
+     */
+    public static int x(int square) {
+        return square % WIDTH;
+    }
+
+    /**
+     * Returns the Y coordinate of the given square.
+     *
+     * @param square the square
+     * @return the Y coordinate
+     */
+    public static int y(int square) {
+        return square / WIDTH;
+    }
+
+    /**
+     * Returns the piece of the given {@link Ship.Color} and {@link Ship.ShipClass}.
+     *
+     * @param color     the {@link Ship.Color}
+     * @param shipClass the {@link Ship.ShipClass}
+     * @return the piece
+     */
+    public static int piece(Ship.Color color, Ship.ShipClass shipClass) {
+        return color.ordinal() * SHIP_CLASSES + shipClass.ordinal();
+    }
+
+    /**
+     * Returns the {@link Ship.Color} of the given piece.
+     *
+     * @param piece the piece
+     * @return the {@link Ship.Color}
+     */
+    public static Ship.Color color(int piece) {
+        return COLORS[piece / SHIP_CLASSES];
+    }
+
+    /**
+     * Returns the {@link Ship.ShipClass} of the given piece.
+     *
+     * @param piece the piece
+     * @return the {@link Ship.ShipClass}
+     */
+    public static Ship.ShipClass shipClass(int piece) {
+        return SHIP_CLASS_VALUES[piece % SHIP_CLASSES];
+    }
+
+    /**
+     * Returns the opposing {@link Ship.Color}.
+     *
+     * @param color the {@link Ship.Color}
+     * @return the opposing {@link Ship.Color}
+     */
+    public static Ship.Color opponent(Ship.Color color) {
+        return color == Ship.Color.WHITE ? Ship.Color.BLACK : Ship.Color.WHITE;
+    }
+
+    /**
+     * Checks if the target square is an orthogonal neighbour of the source square.
+     *
+     * @param source the source square
+     * @param target the target square
+     * @return {@code true} if the target square is an orthogonal neighbour; {@code false} otherwise
+     */
+    public static boolean isNeighbour(int source, int target) {
+        return (NEIGHBOURS[source << 1 | target >>> 6] & 1L << target) != 0;
+    }
+
+    /**
+     * Places a piece on the given square.
+     *
+     * @param color     the {@link Ship.Color}
+     * @param shipClass the {@link Ship.ShipClass}
+     * @param square    the square
+     */
+    public void place(Ship.Color color, Ship.ShipClass shipClass, int square) {
+        int piece = piece(color, shipClass);
+        if (squares[piece] != NONE) {
+            clear(squares[piece]);
+        }
+
+        int previousPiece = pieces[square];
+        if (previousPiece != NONE && previousPiece != piece) {
+            clear(square);
+            squares[previousPiece] = NONE;
+        }
+
+        squares[piece] = square;
+        pieces[square] = piece;
+        occupancy[color.ordinal() << 1 | square >>> 6] |= 1L << square;
+        key ^= ZOBRIST_KEYS[piece * SQUARES + square];
+    }
+
+    /**
+     * Removes a piece from the board.
+     *
+     * @param color     the {@link Ship.Color}
+     * @param shipClass the {@link Ship.ShipClass}
+     */
+    public void remove(Ship.Color color, Ship.ShipClass shipClass) {
+        int piece = piece(color, shipClass);
+        int square = squares[piece];
+        if (square != NONE) {
+            clear(square);
+            squares[piece] = NONE;
+        }
+    }
+
+    /**
+     * Applies the given {@link Move} whose {@link Move.Outcome} has already been arbitrated.
+     *
+     * @param move the {@link Move}
+     */
+    public void apply(Move move) {
+        apply(move.getColor(), move.getShipClass(), square(move.getTo()), move.getOutcome());
+    }
+
+    /**
+     * Applies the move of a piece to the target square whose {@link Move.Outcome} has already been arbitrated.
+     *
+     * @param color     the {@link Ship.Color} of the moving piece
+     * @param shipClass the {@link Ship.ShipClass} of the moving piece
+     * @param target    the target square
+     * @param outcome   the {@link Move.Outcome}
+     */
+    public void apply(Ship.Color color, Ship.ShipClass shipClass, int target, Move.Outcome outcome) {
+        Ship.Color opponent = opponent(color);
+        int defendingPiece = pieces[target];
+
+        remove(color, shipClass);
+        if (defendingPiece != NONE && color(defendingPiece) == opponent && outcome != Move.Outcome.DEFENDER_WINS) {
+            remove(opponent, shipClass(defendingPiece));
+        }
+
+        if (outcome == Move.Outcome.MOVED || outcome == Move.Outcome.ATTACKER_WINS) {
+            place(color, shipClass, target);
+        }
+    }
+
+    /**
+     * Returns the Zobrist key of the pieces and their squares.
+     *
+     * @return the Zobrist key
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the Zobrist key of the position, i.e. the pieces and their squares and the {@link Ship.Color} to move.
+     *
+     * @param turn the {@link Ship.Color} to move
+     * @return the Zobrist key of the position
+     */
+    public long getKey(Ship.Color turn) {
+        return turn == Ship.Color.BLACK ? key ^ BLACK_TO_MOVE_KEY : key;
+    }
+
+    /**
+     * Returns the square of the piece.
+     *
+     * @param color     the {@link Ship.Color}
+     * @param shipClass the {@link Ship.ShipClass}
+     * @return the square or {@link #NONE} if the piece is not on the board
+     */
+    public int squareOf(Ship.Color color, Ship.ShipClass shipClass) {
+        return squares[piece(color, shipClass)];
+    }
+
+    /**
+     * Returns the piece on the given square.
+     *
+     * @param square the square
+     * @return the piece or {@link #NONE} if the square is empty
+     */
+    public int pieceAt(int square) {
+        return pieces[square];
+    }
+
+    /**
+     * Checks if the given square is occupied by any piece.
+     *
+     * @param square the square
+     * @return {@code true} if the square is occupied; {@code false} otherwise
+     */
+    public boolean isOccupied(int square) {
+        int index = square >>> 6;
+        return ((occupancy[index] | occupancy[2 | index]) & 1L << square) != 0;
+    }
+
+    /**
+     * Checks if the given square is occupied by a piece of the given {@link Ship.Color}.
+     *
+     * @param color  the {@link Ship.Color}
+     * @param square the square
+     * @return {@code true} if the square is occupied by the {@link Ship.Color}; {@code false} otherwise
+     */
+    public boolean isOccupiedBy(Ship.Color color, int square) {
+        return (occupancy[color.ordinal() << 1 | square >>> 6] & 1L << square) != 0;
+    }
+
+    /**
+     * Returns the number of pieces of the given {@link Ship.Color} on the board.
+     *
+     * @param color the {@link Ship.Color}
+     * @return the number of pieces
+     */
+    public int count(Ship.Color color) {
+        int index = color.ordinal() << 1;
+        return Long.bitCount(occupancy[index]) + Long.bitCount(occupancy[index | 1]);
+    }
+
+    /**
+     * Checks if the {@link Ship.ShipClass#BLUE_RIDGE_CLASS_COMMAND_SHIP} of the given {@link Ship.Color} is still on
+     * the board.
+     *
+     * @param color the {@link Ship.Color}
+     * @return {@code true} if the command ship is still on the board; {@code false} otherwise
+     */
+    public boolean hasCommandShip(Ship.Color color) {
+        return squareOf(color, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP) != NONE;
+    }
+
+    /**
+     * Checks if the {@link Ship.ShipClass#BLUE_RIDGE_CLASS_COMMAND_SHIP} of the given {@link Ship.Color} is on the
+     * opposite end of the board.
+     *
+     * @param color the {@link Ship.Color}
+     * @return {@code true} if the command ship has reached the opposite end; {@code false} otherwise
+     */
+    public boolean hasCommandShipReachedOppositeEnd(Ship.Color color) {
+        int square = squareOf(color, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP);
+
+        return square != NONE && y(square) == oppositeEnd(color);
+    }
+
+    /**
+     * Checks if the given square has an opposing piece beside it on the same row.
+     *
+     * @param color  the {@link Ship.Color} of the piece on the square
+     * @param square the square
+     * @return {@code true} if there is an opposing piece beside the square; {@code false} otherwise
+     */
+    public boolean isFlanked(Ship.Color color, int square) {
+        Ship.Color opponent = opponent(color);
+        int x = x(square);
+
+        return (x > 0 && isOccupiedBy(opponent, square - 1))
+                || (x < WIDTH - 1 && isOccupiedBy(opponent, square + 1));
+    }
+
+    /**
+     * Returns the mask of the squares where the piece can move to, i.e. the orthogonal neighbours of its square that
+     * are empty or occupied by an opposing piece. The first {@code long} holds squares 0 to 63 and the second holds
+     * squares 64 to 71.
+     *
+     * @param color     the {@link Ship.Color}
+     * @param shipClass the {@link Ship.ShipClass}
+     * @return the mask of the legal target squares which is empty if the piece is not on the board
+     */
+    public long[] getLegalMoves(Ship.Color color, Ship.ShipClass shipClass) {
+        return new long[] {getLegalMoves(color, shipClass, 0), getLegalMoves(color, shipClass, 1)};
+    }
+
+    /**
+     * Returns one {@code long} of the mask of the squares where the piece can move to. This does not allocate so it
+     * is meant for move generation in searches and simulations.
+     *
+     * @param color     the {@link Ship.Color}
+     * @param shipClass the {@link Ship.ShipClass}
+     * @param index     0 for squares 0 to 63 or 1 for squares 64 to 71
+     * @return the mask of the legal target squares which is 0 if the piece is not on the board
+     */
+    public long getLegalMoves(Ship.Color color, Ship.ShipClass shipClass, int index) {
+        int square = squareOf(color, shipClass);
+        if (square == NONE) {
+            return 0;
+        }
+
+        return NEIGHBOURS[square << 1 | index] & ~occupancy[color.ordinal() << 1 | index];
+    }
+
+    /**
+     * Returns the winner after the given {@link Ship.Color} has moved. A {@link Ship.Color} wins when the opposing
+     * {@link Ship.ShipClass#BLUE_RIDGE_CLASS_COMMAND_SHIP} has been sunk, when its command ship has reached the
+     * opposite end without opposing pieces beside it, or when its command ship has survived a turn at the opposite
+     * end.
+     *
+     * @param color the {@link Ship.Color} that has moved
+     * @return the winning {@link Ship.Color} or {@code null} if the match is not yet over
+     */
+    public Ship.Color getWinner(Ship.Color color) {
+        Ship.Color opponent = opponent(color);
+        if (!hasCommandShip(opponent)) {
+            // the enemy command ship has been sunk
+            return color;
+        } else if (!hasCommandShip(color)) {
+            // the command ship attacked a stronger ship
+            return opponent;
+        } else if (hasCommandShipReachedOppositeEnd(color)
+                && !isFlanked(color, squareOf(color, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP))) {
+            // the command ship has reached the opposite end without enemy ships beside it
+            return color;
+        } else if (hasCommandShipReachedOppositeEnd(opponent)) {
+            // the enemy command ship has survived a turn at your base
+            return opponent;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the {@link Set} of {@link Ship}s of the given {@link Ship.Color} that are on the board.
+     *
+     * @param color the {@link Ship.Color}
+     * @return the {@link Set} of {@link Ship}s
+     */
+    public Set<Ship> getFleet(Ship.Color color) {
+        Set<Ship> ships = new HashSet<>();
+        int offset = color.ordinal() * SHIP_CLASSES;
+        for (int piece = offset; piece < offset + SHIP_CLASSES; piece++) {
+            int square = squares[piece];
+            if (square != NONE) {
+                Ship ship = new Ship();
+                ship.setColor(color);
+                ship.setShipClass(shipClass(piece));
+                ship.setCoordinates(new Ship.Coordinates(x(square), y(square)));
+                ships.add(ship);
+            }
+        }
+
+        return ships;
+    }
+
+    /**
+     * Returns the {@link Fleet} of the given {@link Ship.Color} that is on the board.
+     *
+     * @param color the {@link Ship.Color}
+     * @return the {@link Fleet}
+     */
+    public Fleet toFleet(Ship.Color color) {
+        Fleet fleet = new Fleet(color);
+        int offset = color.ordinal() * SHIP_CLASSES;
+        for (int piece = offset; piece < offset + SHIP_CLASSES; piece++) {
+            int square = squares[piece];
+            if (square != NONE) {
+                fleet.put(shipClass(piece), x(square), y(square));
+            }
+        }
+
+        return fleet;
+    }
+
+    /**
+     * Returns the row at the opposite end of the board for the given {@link Ship.Color}.
+     *
+     * @param color the {@link Ship.Color}
+     * @return the row at the opposite end
+     */
+    public static int oppositeEnd(Ship.Color color) {
+        return color == Ship.Color.WHITE ? HEIGHT - 1 : 0;
+    }
+
+    private static long[] createNeighbours() {
+        long[] neighbours = new long[SQUARES << 1];
+        int[][] directions = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}};
+        for (int square = 0; square < SQUARES; square++) {
+            for (int[] direction : directions) {
+                int x = x(square) + direction[0];
+                int y = y(square) + direction[1];
+                if (isOnBoard(x, y)) {
+                    int neighbour = square(x, y);
+                    neighbours[square << 1 | neighbour >>> 6] |= 1L << neighbour;
+                }
+            }
+        }
+
+        return neighbours;
+    }
+
+    private void placeAll(Set<Ship> ships) {
+        if (ships == null) {
+            return;
+        }
+
+        for (Ship ship : ships) {
+            int square = square(ship.getCoordinates());
+            if (square != NONE && ship.getColor() != null && ship.getShipClass() != null
+                    && ship.getShipClass() != Ship.ShipClass.UNKNOWN) {
+                place(ship.getColor(), ship.getShipClass(), square);
+            }
+        }
+    }
+
+    private void placeAll(Fleet fleet) {
+        for (int i = 0; i < Fleet.SIZE; i++) {
+            int ship = fleet.get(Fleet.getShipClass(i));
+            if (ship != ShipCodec.NONE && ShipCodec.isPositioned(ship)
+                    && isOnBoard(ShipCodec.getX(ship), ShipCodec.getY(ship))) {
+                place(fleet.getColor(), Fleet.getShipClass(i), square(ShipCodec.getX(ship), ShipCodec.getY(ship)));
+            }
+        }
+    }
+
+    private void clear(int square) {
+        int piece = pieces[square];
+        if (piece != NONE) {
+            occupancy[piece / SHIP_CLASSES << 1 | square >>> 6] &= ~(1L << square);
+            pieces[square] = NONE;
+            key ^= ZOBRIST_KEYS[piece * SQUARES + square];
+        }
+    }
+}
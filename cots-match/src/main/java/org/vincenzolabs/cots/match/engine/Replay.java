@@ -0,0 +1,179 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.engine;
+
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Ship;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The replay of a {@link Match}. Any turn is rebuilt by restoring the nearest checkpoint at or before it and applying
+ * the {@link Move}s forward on a {@link Board}, so the cost of a turn is bounded by the checkpoint interval rather
+ * than by the length of the {@link Match}. Turn 0 is the deployment and turn N is the state after the Nth
+ * {@link Move}. The {@link Move}s may start after a checkpoint so that the earlier history is never read.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public final class Replay {
+
+    private final String whitePlayer;
+
+    private final String blackPlayer;
+
+    private final SortedMap<Integer, Map<String, Set<Ship>>> checkpoints;
+
+    private final List<Move> moves;
+
+    private final int firstTurn;
+
+    /**
+     * Default constructor for a {@link Match} whose {@link Move}s start from the first turn.
+     *
+     * @param match the {@link Match}
+     */
+    public Replay(Match match) {
+        this(match, 1);
+    }
+
+    /**
+     * Constructor for a {@link Match} whose {@link Move}s start from the given turn. Only the turns from the
+     * checkpoint before the given turn can be replayed.
+     *
+     * @param match     the {@link Match}
+     * @param firstTurn the turn of the first {@link Move} of the {@link Match}
+     */
+    public Replay(Match match, int firstTurn) {
+        if (firstTurn < 1) {
+            throw new IllegalArgumentException("First turn must be positive");
+        }
+
+        if (match.getCheckpoints() == null || match.getCheckpoints().isEmpty()) {
+            throw new IllegalArgumentException("Match has no checkpoint");
+        }
+
+        this.whitePlayer = match.getWhitePlayer();
+        this.blackPlayer = match.getBlackPlayer();
+        this.checkpoints = match.getCheckpoints();
+        this.moves = match.getMoves();
+        this.firstTurn = firstTurn;
+    }
+
+    /**
+     * Returns the number of the last turn.
+     *
+     * @return the number of the last turn
+     */
+    public int getLastTurn() {
+        return firstTurn - 1 + moves.size();
+    }
+
+    /**
+     * Returns the fleets of both {@link org.vincenzolabs.cots.domain.Player}s after the given turn.
+     *
+     * @param turn the turn
+     * @return the {@link Map} containing the UUID's of the players and their {@link Ship}s
+     */
+    public Map<String, Set<Ship>> getTurn(int turn) {
+        validateTurn(turn);
+
+        return getFleets(restore(turn));
+    }
+
+    /**
+     * Returns the fleets of both {@link org.vincenzolabs.cots.domain.Player}s for each turn in the given range. Only
+     * the first turn is restored from a checkpoint; the succeeding turns are built incrementally so the
+     * {@link Stream} must be consumed sequentially.
+     *
+     * @param fromTurn the first turn, inclusive
+     * @param toTurn   the last turn, inclusive, which is capped at {@link #getLastTurn()}
+     * @return the {@link Stream} of fleets per turn
+     */
+    public Stream<Map<String, Set<Ship>>> stream(int fromTurn, int toTurn) {
+        validateTurn(fromTurn);
+
+        if (fromTurn > toTurn) {
+            throw new IllegalArgumentException("Turn range is invalid");
+        }
+
+        int lastTurn = Math.min(toTurn, getLastTurn());
+
+        Board board = restore(fromTurn);
+
+        return IntStream.rangeClosed(fromTurn, lastTurn)
+                .sequential()
+                .mapToObj(turn -> {
+                    if (turn > fromTurn) {
+                        board.apply(getMove(turn));
+                    }
+
+                    return getFleets(board);
+                });
+    }
+
+    private Board restore(int turn) {
+        SortedMap<Integer, Map<String, Set<Ship>>> previousCheckpoints = checkpoints.headMap(turn + 1);
+        if (previousCheckpoints.isEmpty()) {
+            throw new IllegalArgumentException("Turn has no checkpoint");
+        }
+
+        int checkpoint = previousCheckpoints.lastKey();
+        if (checkpoint < firstTurn - 1) {
+            throw new IllegalArgumentException("Turn is before the loaded moves");
+        }
+
+        Map<String, Set<Ship>> fleets = previousCheckpoints.get(checkpoint);
+        Board board = Board.of(fleets.get(whitePlayer), fleets.get(blackPlayer));
+        for (int i = checkpoint + 1; i <= turn; i++) {
+            board.apply(getMove(i));
+        }
+
+        return board;
+    }
+
+    private Move getMove(int turn) {
+        return moves.get(turn - firstTurn);
+    }
+
+    private Map<String, Set<Ship>> getFleets(Board board) {
+        Map<String, Set<Ship>> fleets = new LinkedHashMap<>();
+        fleets.put(whitePlayer, board.getFleet(Ship.Color.WHITE));
+        fleets.put(blackPlayer, board.getFleet(Ship.Color.BLACK));
+
+        return fleets;
+    }
+
+    private void validateTurn(int turn) {
+        if (turn < 0 || turn > getLastTurn()) {
+            throw new IllegalArgumentException("Turn is invalid");
+        }
+    }
+}
@@ -32,16 +32,12 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.stereotype.Component;
 import org.vincenzolabs.cots.domain.Match;
-import org.vincenzolabs.cots.domain.Player;
 import org.vincenzolabs.cots.match.configuration.MatchConfiguration;
 import org.vincenzolabs.cots.match.service.MatchService;
-import org.vincenzolabs.cots.match.service.PlayerService;
+import org.vincenzolabs.cots.match.service.TokenService;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 
-import java.net.HttpCookie;
-import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * The {@link RequestHandler} to disconnect from {@link Match}es.
@@ -59,7 +55,7 @@ public class CancelMatchRequestHandler implements RequestHandler<Request, Respon
     @Override
     public Response handleRequest(Request request, Context context) {
         MatchService matchService = APPLICATION_CONTEXT.getBean(MatchService.class);
-        PlayerService playerService = APPLICATION_CONTEXT.getBean(PlayerService.class);
+        TokenService tokenService = APPLICATION_CONTEXT.getBean(TokenService.class);
 
         Response response = new Response();
         // enable CORS
@@ -69,19 +65,16 @@ public class CancelMatchRequestHandler implements RequestHandler<Request, Respon
         response.setHeaders(Map.of("Access-Control-Allow-Methods", "OPTIONS,POST,GET"));
 
         try {
-            String refreshToken = getRefreshToken(request);
-            if (StringUtils.isBlank(refreshToken)) {
-                throw new IllegalArgumentException("refreshToken cookie not found");
-            }
-
-            Player player = playerService.retrievePlayer(refreshToken);
-            if (player == null) {
+            String accessToken = request.getAccessToken();
+            if (StringUtils.isBlank(accessToken)) {
                 throw new IllegalArgumentException("Not logged in");
             }
 
+            String playerUuid = tokenService.verify(accessToken);
+
             String matchUuid = request.getPathParameters().get("matchUuid");
 
-            matchService.cancelMatch(player.getUuid(), matchUuid);
+            matchService.cancelMatch(playerUuid, matchUuid);
 
             response.setStatusCode(200);
         } catch (AwsServiceException e) {
@@ -103,13 +96,4 @@ public class CancelMatchRequestHandler implements RequestHandler<Request, Respon
 
         return response;
     }
-
-    private String getRefreshToken(Request request) {
-        List<HttpCookie> cookies = HttpCookie.parse(request.getHeaders().get("Cookie"));
-        Optional<HttpCookie> cookie = cookies.stream()
-                .filter(c -> "refreshToken".equals(c.getName()))
-                .findFirst();
-
-        return cookie.map(HttpCookie::getValue).orElse(null);
-    }
 }
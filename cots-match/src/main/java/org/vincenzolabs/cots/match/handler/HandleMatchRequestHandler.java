@@ -33,16 +33,13 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.stereotype.Component;
 import org.vincenzolabs.cots.domain.Match;
-import org.vincenzolabs.cots.domain.Player;
 import org.vincenzolabs.cots.match.configuration.MatchConfiguration;
+import org.vincenzolabs.cots.match.service.BotService;
 import org.vincenzolabs.cots.match.service.MatchService;
-import org.vincenzolabs.cots.match.service.PlayerService;
+import org.vincenzolabs.cots.match.service.TokenService;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 
-import java.net.HttpCookie;
-import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * The {@link RequestHandler} to handle player operations during a {@link Match}.
@@ -60,7 +57,8 @@ public class HandleMatchRequestHandler implements RequestHandler<Request, Respon
     @Override
     public Response handleRequest(Request request, Context context) {
         MatchService matchService = APPLICATION_CONTEXT.getBean(MatchService.class);
-        PlayerService playerService = APPLICATION_CONTEXT.getBean(PlayerService.class);
+        BotService botService = APPLICATION_CONTEXT.getBean(BotService.class);
+        TokenService tokenService = APPLICATION_CONTEXT.getBean(TokenService.class);
         Gson gson = APPLICATION_CONTEXT.getBean(Gson.class);
 
         Response response = new Response();
@@ -71,20 +69,16 @@ public class HandleMatchRequestHandler implements RequestHandler<Request, Respon
         response.setHeaders(Map.of("Access-Control-Allow-Methods", "OPTIONS,POST,GET"));
 
         try {
-            String refreshToken = getRefreshToken(request);
-            if (StringUtils.isBlank(refreshToken)) {
-                throw new IllegalArgumentException("refreshToken cookie not found");
-            }
-
-            Player player = playerService.retrievePlayer(refreshToken);
-            if (player == null) {
+            String accessToken = request.getAccessToken();
+            if (StringUtils.isBlank(accessToken)) {
                 throw new IllegalArgumentException("Not logged in");
             }
-            String playerUuid = player.getUuid();
+
+            String playerUuid = tokenService.verify(accessToken);
 
             String matchUuid = request.getPathParameters().get("matchUuid");
 
-            Match match = matchService.retrieveMatch(matchUuid);
+            Match match = matchService.retrieveMatchSummary(matchUuid);
             if (match == null) {
                 throw new IllegalArgumentException("Match does not exist");
             }
@@ -101,13 +95,15 @@ public class HandleMatchRequestHandler implements RequestHandler<Request, Respon
                     match = matchService.ready(playerUuid, matchUuid);
                     break;
                 case START:
-                    match = matchService.startMatch(playerUuid, matchUuid);
+                    match = BotService.isBotMatch(match)
+                            ? botService.startMatch(playerUuid, matchUuid)
+                            : matchService.startMatch(playerUuid, matchUuid);
                     break;
                 case RESIGN:
                     match = matchService.resign(playerUuid, matchUuid);
                     break;
                 case DRAW:
-                    match = matchService.draw(player.getUuid(), matchUuid);
+                    match = matchService.draw(playerUuid, matchUuid);
                     break;
             }
 
@@ -132,13 +128,4 @@ public class HandleMatchRequestHandler implements RequestHandler<Request, Respon
 
         return response;
     }
-
-    private String getRefreshToken(Request request) {
-        List<HttpCookie> cookies = HttpCookie.parse(request.getHeaders().get("Cookie"));
-        Optional<HttpCookie> cookie = cookies.stream()
-                .filter(c -> "refreshToken".equals(c.getName()))
-                .findFirst();
-
-        return cookie.map(HttpCookie::getValue).orElse(null);
-    }
 }
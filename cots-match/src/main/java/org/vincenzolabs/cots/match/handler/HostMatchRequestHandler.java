@@ -32,19 +32,17 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.stereotype.Component;
 import org.vincenzolabs.cots.domain.Match;
-import org.vincenzolabs.cots.domain.Player;
 import org.vincenzolabs.cots.match.configuration.MatchConfiguration;
+import org.vincenzolabs.cots.match.service.BotService;
 import org.vincenzolabs.cots.match.service.MatchService;
-import org.vincenzolabs.cots.match.service.PlayerService;
+import org.vincenzolabs.cots.match.service.TokenService;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 
-import java.net.HttpCookie;
-import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 /**
- * The {@link RequestHandler} to host {@link Match}es.
+ * The {@link RequestHandler} to host {@link Match}es. The {@code opponent=bot} query parameter hosts a {@link Match}
+ * against the bot.
  *
  * @author Rey Vincent Babilonia
  */
@@ -59,7 +57,8 @@ public class HostMatchRequestHandler implements RequestHandler<Request, Response
     @Override
     public Response handleRequest(Request request, Context context) {
         MatchService matchService = APPLICATION_CONTEXT.getBean(MatchService.class);
-        PlayerService playerService = APPLICATION_CONTEXT.getBean(PlayerService.class);
+        BotService botService = APPLICATION_CONTEXT.getBean(BotService.class);
+        TokenService tokenService = APPLICATION_CONTEXT.getBean(TokenService.class);
 
         Response response = new Response();
         // enable CORS
@@ -69,17 +68,20 @@ public class HostMatchRequestHandler implements RequestHandler<Request, Response
         response.setHeaders(Map.of("Access-Control-Allow-Methods", "OPTIONS,POST,GET"));
 
         try {
-            String refreshToken = getRefreshToken(request);
-            if (StringUtils.isBlank(refreshToken)) {
-                throw new IllegalArgumentException("refreshToken cookie not found");
-            }
-
-            Player player = playerService.retrievePlayer(refreshToken);
-            if (player == null) {
+            String accessToken = request.getAccessToken();
+            if (StringUtils.isBlank(accessToken)) {
                 throw new IllegalArgumentException("Not logged in");
             }
 
-            Match match = matchService.hostMatch(player.getUuid());
+            String playerUuid = tokenService.verify(accessToken);
+
+            Map<String, String> queryParameters = request.getQueryStringParameters() == null
+                    ? Map.of()
+                    : request.getQueryStringParameters();
+
+            Match match = "bot".equals(queryParameters.get("opponent"))
+                    ? botService.hostMatch(playerUuid)
+                    : matchService.hostMatch(playerUuid);
 
             response.setStatusCode(201);
             response.setBody(match.toString());
@@ -102,13 +104,4 @@ public class HostMatchRequestHandler implements RequestHandler<Request, Response
 
         return response;
     }
-
-    private String getRefreshToken(Request request) {
-        List<HttpCookie> cookies = HttpCookie.parse(request.getHeaders().get("Cookie"));
-        Optional<HttpCookie> cookie = cookies.stream()
-                .filter(c -> "refreshToken".equals(c.getName()))
-                .findFirst();
-
-        return cookie.map(HttpCookie::getValue).orElse(null);
-    }
 }
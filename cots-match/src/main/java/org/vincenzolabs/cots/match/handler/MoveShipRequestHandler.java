@@ -33,20 +33,17 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.stereotype.Component;
 import org.vincenzolabs.cots.domain.Match;
-import org.vincenzolabs.cots.domain.Player;
 import org.vincenzolabs.cots.domain.Ship;
 import org.vincenzolabs.cots.match.configuration.MatchConfiguration;
+import org.vincenzolabs.cots.match.service.BotService;
 import org.vincenzolabs.cots.match.service.MatchService;
-import org.vincenzolabs.cots.match.service.PlayerService;
+import org.vincenzolabs.cots.match.service.TokenService;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 
-import java.net.HttpCookie;
-import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 /**
- * The {@link RequestHandler} to move ships.
+ * The {@link RequestHandler} to move ships. The bot replies to the move in a {@link Match} against the bot.
  *
  * @author Rey Vincent Babilonia
  */
@@ -61,7 +58,8 @@ public class MoveShipRequestHandler implements RequestHandler<Request, Response>
     @Override
     public Response handleRequest(Request request, Context context) {
         MatchService matchService = APPLICATION_CONTEXT.getBean(MatchService.class);
-        PlayerService playerService = APPLICATION_CONTEXT.getBean(PlayerService.class);
+        BotService botService = APPLICATION_CONTEXT.getBean(BotService.class);
+        TokenService tokenService = APPLICATION_CONTEXT.getBean(TokenService.class);
         Gson gson = APPLICATION_CONTEXT.getBean(Gson.class);
 
         Response response = new Response();
@@ -72,26 +70,25 @@ public class MoveShipRequestHandler implements RequestHandler<Request, Response>
         response.setHeaders(Map.of("Access-Control-Allow-Methods", "OPTIONS,POST,GET"));
 
         try {
-            String refreshToken = getRefreshToken(request);
-            if (StringUtils.isBlank(refreshToken)) {
-                throw new IllegalArgumentException("refreshToken cookie not found");
-            }
-
-            Player player = playerService.retrievePlayer(refreshToken);
-            if (player == null) {
+            String accessToken = request.getAccessToken();
+            if (StringUtils.isBlank(accessToken)) {
                 throw new IllegalArgumentException("Not logged in");
             }
 
+            String playerUuid = tokenService.verify(accessToken);
+
             String matchUuid = request.getPathParameters().get("matchUuid");
 
             Ship ship = gson.fromJson(request.getBody(), Ship.class);
 
             Match match = matchService.retrieveMatch(matchUuid);
 
-            if (match.hasStarted()) {
-                matchService.moveShip(player.getUuid(), matchUuid, ship);
+            if (match.hasStarted() && BotService.isBotMatch(match)) {
+                botService.moveShip(playerUuid, matchUuid, ship);
+            } else if (match.hasStarted()) {
+                matchService.moveShip(playerUuid, matchUuid, ship);
             } else {
-                matchService.positionShip(player.getUuid(), matchUuid, ship);
+                matchService.positionShip(playerUuid, matchUuid, ship);
             }
 
             response.setStatusCode(200);
@@ -115,13 +112,4 @@ public class MoveShipRequestHandler implements RequestHandler<Request, Response>
 
         return response;
     }
-
-    private String getRefreshToken(Request request) {
-        List<HttpCookie> cookies = HttpCookie.parse(request.getHeaders().get("Cookie"));
-        Optional<HttpCookie> cookie = cookies.stream()
-                .filter(c -> "refreshToken".equals(c.getName()))
-                .findFirst();
-
-        return cookie.map(HttpCookie::getValue).orElse(null);
-    }
 }
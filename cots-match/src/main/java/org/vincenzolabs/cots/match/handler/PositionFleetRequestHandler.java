@@ -0,0 +1,110 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.stereotype.Component;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.configuration.MatchConfiguration;
+import org.vincenzolabs.cots.match.service.MatchService;
+import org.vincenzolabs.cots.match.service.TokenService;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@link RequestHandler} to position all the ships of a fleet at once.
+ *
+ * @author Rey Vincent Babilonia
+ */
+@Component
+public class PositionFleetRequestHandler implements RequestHandler<Request, Response> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PositionFleetRequestHandler.class);
+
+    private static final ApplicationContext APPLICATION_CONTEXT =
+            new AnnotationConfigApplicationContext(MatchConfiguration.class);
+
+    private static final Type SHIPS_TYPE = new TypeToken<Set<Ship>>() {
+    }.getType();
+
+    @Override
+    public Response handleRequest(Request request, Context context) {
+        MatchService matchService = APPLICATION_CONTEXT.getBean(MatchService.class);
+        TokenService tokenService = APPLICATION_CONTEXT.getBean(TokenService.class);
+        Gson gson = APPLICATION_CONTEXT.getBean(Gson.class);
+
+        Response response = new Response();
+        // enable CORS
+        response.setHeaders(Map.of("Access-Control-Allow-Origin", "*"));
+        response.setHeaders(Map.of("Access-Control-Allow-Credentials", "true"));
+        response.setHeaders(Map.of("Access-Control-Allow-Headers", "Set-Cookie"));
+        response.setHeaders(Map.of("Access-Control-Allow-Methods", "OPTIONS,POST,GET"));
+
+        try {
+            String accessToken = request.getAccessToken();
+            if (StringUtils.isBlank(accessToken)) {
+                throw new IllegalArgumentException("Not logged in");
+            }
+
+            String playerUuid = tokenService.verify(accessToken);
+
+            String matchUuid = request.getPathParameters().get("matchUuid");
+
+            Set<Ship> ships = gson.fromJson(request.getBody(), SHIPS_TYPE);
+
+            Map<String, Set<Ship>> fleets = matchService.positionFleet(playerUuid, matchUuid, ships);
+
+            response.setStatusCode(200);
+            response.setBody(gson.toJson(fleets));
+        } catch (AwsServiceException e) {
+            LOGGER.error(e.getMessage(), e);
+
+            response.setStatusCode(e.statusCode());
+            response.setBody(String.format(Response.ERROR_MESSAGE, e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            LOGGER.error(e.getMessage(), e);
+
+            response.setStatusCode(400);
+            response.setBody(String.format(Response.ERROR_MESSAGE, e.getMessage()));
+        } catch (Exception e) {
+            LOGGER.error(e.getMessage(), e);
+
+            response.setStatusCode(500);
+            response.setBody(String.format(Response.ERROR_MESSAGE, e.getMessage()));
+        }
+
+        return response;
+    }
+}
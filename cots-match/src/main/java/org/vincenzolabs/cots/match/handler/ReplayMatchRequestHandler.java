@@ -0,0 +1,119 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.google.gson.Gson;
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.match.configuration.MatchConfiguration;
+import org.vincenzolabs.cots.match.service.MatchService;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+
+import java.util.Map;
+
+/**
+ * The {@link RequestHandler} to replay the turns of a finished {@link Match}. A single turn is returned with the
+ * {@code turn} query parameter while a range of turns is returned with the {@code from} and {@code to} query
+ * parameters. All turns are returned if no query parameter is given.
+ *
+ * @author Rey Vincent Babilonia
+ */
+@Component
+public class ReplayMatchRequestHandler implements RequestHandler<Request, Response> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplayMatchRequestHandler.class);
+
+    private static final ApplicationContext APPLICATION_CONTEXT =
+            new AnnotationConfigApplicationContext(MatchConfiguration.class);
+
+    @Override
+    public Response handleRequest(Request request, Context context) {
+        MatchService matchService = APPLICATION_CONTEXT.getBean(MatchService.class);
+        Gson gson = APPLICATION_CONTEXT.getBean(Gson.class);
+
+        Response response = new Response();
+        // enable CORS
+        response.setHeaders(Map.of("Access-Control-Allow-Origin", "*"));
+        response.setHeaders(Map.of("Access-Control-Allow-Credentials", "true"));
+        response.setHeaders(Map.of("Access-Control-Allow-Headers", "Set-Cookie"));
+        response.setHeaders(Map.of("Access-Control-Allow-Methods", "OPTIONS,POST,GET"));
+
+        try {
+            String matchUuid = request.getPathParameters().get("matchUuid");
+
+            Map<String, String> queryParameters = request.getQueryStringParameters() == null
+                    ? Map.of()
+                    : request.getQueryStringParameters();
+
+            String body;
+            if (StringUtils.isNotBlank(queryParameters.get("turn"))) {
+                body = gson.toJson(matchService.replay(matchUuid, parseTurn(queryParameters.get("turn"))));
+            } else if (StringUtils.isNotBlank(queryParameters.get("from"))
+                    || StringUtils.isNotBlank(queryParameters.get("to"))) {
+                int fromTurn = parseTurn(queryParameters.getOrDefault("from", "0"));
+                int toTurn = StringUtils.isBlank(queryParameters.get("to"))
+                        ? Integer.MAX_VALUE
+                        : parseTurn(queryParameters.get("to"));
+                body = gson.toJson(matchService.replay(matchUuid, fromTurn, toTurn));
+            } else {
+                body = gson.toJson(matchService.replay(matchUuid));
+            }
+
+            response.setStatusCode(200);
+            response.setBody(body);
+        } catch (AwsServiceException e) {
+            LOGGER.error(e.getMessage(), e);
+
+            response.setStatusCode(e.statusCode());
+            response.setBody(String.format(Response.ERROR_MESSAGE, e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            LOGGER.error(e.getMessage(), e);
+
+            response.setStatusCode(400);
+            response.setBody(String.format(Response.ERROR_MESSAGE, e.getMessage()));
+        } catch (Exception e) {
+            LOGGER.error(e.getMessage(), e);
+
+            response.setStatusCode(500);
+            response.setBody(String.format(Response.ERROR_MESSAGE, e.getMessage()));
+        }
+
+        return response;
+    }
+
+    private int parseTurn(String turn) {
+        try {
+            return Integer.parseInt(turn);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Turn is invalid", e);
+        }
+    }
+}
@@ -25,6 +25,7 @@ package org.vincenzolabs.cots.match.handler;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -37,6 +38,10 @@ import java.util.Objects;
  */
 public class Request {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final String ACCESS_TOKEN_COOKIE = "accessToken";
+
     private Map<String, String> pathParameters = new HashMap<>();
 
     private Map<String, String> queryStringParameters = new HashMap<>();
@@ -117,6 +122,38 @@ public class Request {
         this.body = body;
     }
 
+    /**
+     * Returns the access token from the {@code Authorization} header or, if the header is absent, from the
+     * {@value #ACCESS_TOKEN_COOKIE} cookie.
+     *
+     * @return the access token or {@code null} if the request has none
+     */
+    public String getAccessToken() {
+        if (headers == null) {
+            return null;
+        }
+
+        String authorization = headers.get("Authorization");
+        if (StringUtils.startsWith(authorization, BEARER_PREFIX)) {
+            return authorization.substring(BEARER_PREFIX.length());
+        }
+
+        String header = headers.get("Cookie");
+        if (header == null) {
+            return null;
+        }
+
+        // the Cookie header lists name=value pairs, which HttpCookie#parse would read as the attributes of one cookie
+        for (String cookie : header.split(";")) {
+            String[] nameAndValue = cookie.trim().split("=", 2);
+            if (nameAndValue.length == 2 && ACCESS_TOKEN_COOKIE.equals(nameAndValue[0])) {
+                return nameAndValue[1];
+            }
+        }
+
+        return null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
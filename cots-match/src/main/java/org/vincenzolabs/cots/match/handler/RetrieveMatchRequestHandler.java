@@ -26,7 +26,6 @@ package org.vincenzolabs.cots.match.handler;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import org.vincenzolabs.cots.domain.Match;
-import org.vincenzolabs.cots.domain.Player;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,13 +34,12 @@ import org.springframework.context.annotation.AnnotationConfigApplicationContext
 import org.springframework.stereotype.Component;
 import org.vincenzolabs.cots.match.configuration.MatchConfiguration;
 import org.vincenzolabs.cots.match.service.MatchService;
-import org.vincenzolabs.cots.match.service.PlayerService;
+import org.vincenzolabs.cots.match.service.TokenService;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 
-import java.net.HttpCookie;
-import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * The {@link RequestHandler} to retrieve a {@link Match}.
@@ -59,7 +57,7 @@ public class RetrieveMatchRequestHandler implements RequestHandler<Request, Resp
     @Override
     public Response handleRequest(Request request, Context context) {
         MatchService matchService = APPLICATION_CONTEXT.getBean(MatchService.class);
-        PlayerService playerService = APPLICATION_CONTEXT.getBean(PlayerService.class);
+        TokenService tokenService = APPLICATION_CONTEXT.getBean(TokenService.class);
 
         Response response = new Response();
         // enable CORS
@@ -69,19 +67,23 @@ public class RetrieveMatchRequestHandler implements RequestHandler<Request, Resp
         response.setHeaders(Map.of("Access-Control-Allow-Methods", "OPTIONS,POST,GET"));
 
         try {
-            String refreshToken = getRefreshToken(request);
-            if (StringUtils.isBlank(refreshToken)) {
-                throw new IllegalArgumentException("refreshToken cookie not found");
-            }
-
-            Player player = playerService.retrievePlayer(refreshToken);
-            if (player == null) {
+            String accessToken = request.getAccessToken();
+            if (StringUtils.isBlank(accessToken)) {
                 throw new IllegalArgumentException("Not logged in");
             }
 
+            // the match is read while the token is verified, which loads the signing keys on a cold start
             String matchUuid = request.getPathParameters().get("matchUuid");
+            CompletableFuture<Match> futureMatch = matchService.retrieveMatchAsync(matchUuid);
+
+            try {
+                tokenService.verify(accessToken);
+            } catch (RuntimeException e) {
+                futureMatch.cancel(false);
+                throw e;
+            }
 
-            Match match = matchService.retrieveMatch(matchUuid);
+            Match match = getMatch(futureMatch);
             if (match == null) {
                 throw new IllegalArgumentException("Match does not exist");
             }
@@ -108,12 +110,15 @@ public class RetrieveMatchRequestHandler implements RequestHandler<Request, Resp
         return response;
     }
 
-    private String getRefreshToken(Request request) {
-        List<HttpCookie> cookies = HttpCookie.parse(request.getHeaders().get("Cookie"));
-        Optional<HttpCookie> cookie = cookies.stream()
-                .filter(c -> "refreshToken".equals(c.getName()))
-                .findFirst();
+    private Match getMatch(CompletableFuture<Match> futureMatch) {
+        try {
+            return futureMatch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
 
-        return cookie.map(HttpCookie::getValue).orElse(null);
+            throw e;
+        }
     }
 }
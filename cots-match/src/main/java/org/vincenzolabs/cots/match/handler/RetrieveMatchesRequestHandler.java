@@ -27,6 +27,7 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.google.gson.Gson;
 import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Page;
 import org.vincenzolabs.cots.match.configuration.MatchConfiguration;
 import org.vincenzolabs.cots.match.service.MatchService;
 import org.apache.commons.lang3.StringUtils;
@@ -38,7 +39,6 @@ import org.springframework.stereotype.Component;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 
 import java.util.Map;
-import java.util.Set;
 
 /**
  * The {@link RequestHandler} to retrieve {@link Match}es.
@@ -53,6 +53,8 @@ public class RetrieveMatchesRequestHandler implements RequestHandler<Request, Re
     private static final ApplicationContext APPLICATION_CONTEXT =
             new AnnotationConfigApplicationContext(MatchConfiguration.class);
 
+    private static final int DEFAULT_LIMIT = 20;
+
     @Override
     public Response handleRequest(Request request, Context context) {
         MatchService matchService = APPLICATION_CONTEXT.getBean(MatchService.class);
@@ -72,13 +74,16 @@ public class RetrieveMatchesRequestHandler implements RequestHandler<Request, Re
                 throw new IllegalArgumentException("Filter not found");
             }
 
-            Set<Match> matches;
+            int limit = getLimit(queryParameters.get("limit"));
+            String cursor = queryParameters.get("cursor");
+
+            Page<Match> matches;
             if (MatchService.Filter.ACTIVE.name().equalsIgnoreCase(filter)) {
-                matches = matchService.retrieveActiveMatches();
+                matches = matchService.retrieveActiveMatches(limit, cursor);
             } else if (MatchService.Filter.FINISHED.name().equalsIgnoreCase(filter)) {
-                matches = matchService.retrieveFinishedMatches();
+                matches = matchService.retrieveFinishedMatches(limit, cursor);
             } else if (MatchService.Filter.UNSTARTED.name().equalsIgnoreCase(filter)) {
-                matches = matchService.retrieveUnstartedMatches();
+                matches = matchService.retrieveUnstartedMatches(limit, cursor);
             } else {
                 throw new IllegalArgumentException("Unknown filter");
             }
@@ -104,4 +109,16 @@ public class RetrieveMatchesRequestHandler implements RequestHandler<Request, Re
 
         return response;
     }
+
+    private int getLimit(String limit) {
+        if (StringUtils.isBlank(limit)) {
+            return DEFAULT_LIMIT;
+        }
+
+        try {
+            return Integer.parseInt(limit);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Limit is invalid", e);
+        }
+    }
 }
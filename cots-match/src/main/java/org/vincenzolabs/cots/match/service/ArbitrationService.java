@@ -24,6 +24,7 @@
 package org.vincenzolabs.cots.match.service;
 
 import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Move;
 import org.vincenzolabs.cots.domain.Ship;
 
 import java.util.Set;
@@ -45,6 +46,17 @@ public interface ArbitrationService {
      */
     Ship arbitrate(Ship attackingShip, Ship defendingShip);
 
+    /**
+     * Returns the {@link Move.Outcome} of a challenge between 2 {@link Ship.ShipClass}es. The {@link Move.Outcome}
+     * is looked up from a table that is computed once from the {@link Ship.ShipClass} ranks so this does not allocate.
+     * {@link Move.Outcome#MOVED} is never returned.
+     *
+     * @param attackingShipClass the attacking {@link Ship.ShipClass}
+     * @param defendingShipClass the defending {@link Ship.ShipClass}
+     * @return the {@link Move.Outcome}
+     */
+    Move.Outcome getOutcome(Ship.ShipClass attackingShipClass, Ship.ShipClass defendingShipClass);
+
     /**
      * Validates the position of the {@link Set} of {@link Ship}s.
      *
@@ -0,0 +1,96 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.service;
+
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Player;
+import org.vincenzolabs.cots.domain.Ship;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The service for the bot that plays a {@link Match} against a {@link Player}. The bot joins the {@link Match} as the
+ * opponent under a reserved UUID and replies to every move of the {@link Player}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public interface BotService {
+
+    /**
+     * The reserved UUID of the bot. It is never issued to a {@link Player}.
+     */
+    String BOT_PLAYER_UUID = "00000000-0000-0000-0000-000000000000";
+
+    /**
+     * Returns whether the bot is a player of the given {@link Match}.
+     *
+     * @param match the {@link Match}
+     * @return {@code true} if the bot is a player of the {@link Match}
+     */
+    static boolean isBotMatch(Match match) {
+        return BOT_PLAYER_UUID.equals(match.getWhitePlayer()) || BOT_PLAYER_UUID.equals(match.getBlackPlayer());
+    }
+
+    /**
+     * Selects the move of the {@link Player} who has the turn. Only the information that the {@link Player} can see is
+     * used, i.e. the classes of the opponent's {@link Ship}s are treated as {@link Ship.ShipClass#UNKNOWN}.
+     *
+     * @param playerUuid the UUID of the {@link Player}
+     * @param matchUuid  the UUID of the {@link Match}
+     * @return the {@link Ship} with its new {@link Ship.Coordinates}
+     */
+    Ship selectMove(String playerUuid, String matchUuid);
+
+    /**
+     * Hosts a {@link Match} against the bot. The bot connects, deploys its fleet and becomes ready.
+     *
+     * @param playerUuid the UUID of the {@link Player}
+     * @return the {@link Match}
+     * @see MatchService#hostMatch(String)
+     */
+    Match hostMatch(String playerUuid);
+
+    /**
+     * Starts a {@link Match} against the bot. The bot makes its move if it has the first turn.
+     *
+     * @param playerUuid the UUID of the {@link Player}
+     * @param matchUuid  the UUID of the {@link Match}
+     * @return the {@link Match}
+     * @see MatchService#startMatch(String, String)
+     */
+    Match startMatch(String playerUuid, String matchUuid);
+
+    /**
+     * Moves the {@link Ship} of the {@link Player} and then makes the reply of the bot unless the {@link Match} is
+     * over.
+     *
+     * @param playerUuid the UUID of the {@link Player}
+     * @param matchUuid  the UUID of the {@link Match}
+     * @param ship       the {@link Ship} with its new {@link Ship.Coordinates}
+     * @return the {@link Map} containing the UUID's of the {@link Player} and the bot and their {@link Ship}s
+     * @see MatchService#moveShip(String, String, Ship)
+     */
+    Map<String, Set<Ship>> moveShip(String playerUuid, String matchUuid, Ship ship);
+}
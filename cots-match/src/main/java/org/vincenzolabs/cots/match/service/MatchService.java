@@ -24,12 +24,15 @@
 package org.vincenzolabs.cots.match.service;
 
 import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Page;
 import org.vincenzolabs.cots.domain.Player;
 import org.vincenzolabs.cots.domain.Ship;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The service for a {@link Match}.
@@ -84,6 +87,18 @@ public interface MatchService {
      */
     Map<String, Set<Ship>> positionShip(String playerUuid, String matchUuid, Ship ship);
 
+    /**
+     * Positions all of a {@link Player}'s {@link Ship}s before the start of the {@link Match}. The whole formation is
+     * validated at once and saved with a single write. The {@link Ship}s must be within the first 3 rows closest to
+     * the {@link Player}.
+     *
+     * @param playerUuid the UUID of the {@link Player}
+     * @param matchUuid  the UUID of the {@link Match}
+     * @param ships      the {@link Set} of all the {@link Ship}s of the {@link Player}
+     * @return the {@link Map} containing the UUID's of the {@link Player}s and their {@link Ship}s
+     */
+    Map<String, Set<Ship>> positionFleet(String playerUuid, String matchUuid, Set<Ship> ships);
+
     /**
      * Signals that the {@link Player} is ready to start the {@link Match}.
      *
@@ -118,7 +133,19 @@ public interface MatchService {
     Map<String, Set<Ship>> moveShip(String playerUuid, String matchUuid, Ship ship);
 
     /**
-     * Shows the turns that both {@link Player}s made and is only available after the match is over.
+     * Returns the legal destinations of each of the {@link Player}'s {@link Ship}s that are still in play so that the
+     * moves can be validated before calling {@link #moveShip(String, String, Ship)}. A destination occupied by an
+     * opponent's {@link Ship} is a challenge.
+     *
+     * @param playerUuid the UUID of the {@link Player}
+     * @param matchUuid  the UUID of the {@link Match}
+     * @return the {@link Map} containing the {@link Ship.ShipClass}es and their legal {@link Ship.Coordinates}
+     */
+    Map<Ship.ShipClass, Set<Ship.Coordinates>> legalMoves(String playerUuid, String matchUuid);
+
+    /**
+     * Shows the turns that both {@link Player}s made and is only available after the match is over. The fleets of
+     * each turn are rebuilt from the first checkpoint by applying the recorded {@link Move}s.
      *
      * @param matchUuid the UUID of the {@link Match}
      * @return the {@link List} of all the {@link Ship}s per turn
@@ -126,25 +153,51 @@ public interface MatchService {
     List<Map<String, Set<Ship>>> replay(String matchUuid);
 
     /**
-     * Returns the {@link Set} of finished {@link Match}es.
+     * Shows a single turn of a {@link Match} that is over. The turn is restored from the nearest checkpoint before it
+     * so the rest of the history is not rebuilt.
+     *
+     * @param matchUuid the UUID of the {@link Match}
+     * @param turn      the turn where 0 is the deployment
+     * @return the {@link Map} containing the UUID's of the {@link Player}s and their {@link Ship}s
+     */
+    Map<String, Set<Ship>> replay(String matchUuid, int turn);
+
+    /**
+     * Shows a range of turns of a {@link Match} that is over.
      *
-     * @return the {@link Set} of finished {@link Match}es
+     * @param matchUuid the UUID of the {@link Match}
+     * @param fromTurn  the first turn, inclusive
+     * @param toTurn    the last turn, inclusive, which is capped at the last turn of the {@link Match}
+     * @return the {@link List} of all the {@link Ship}s per turn
      */
-    Set<Match> retrieveFinishedMatches();
+    List<Map<String, Set<Ship>>> replay(String matchUuid, int fromTurn, int toTurn);
 
     /**
-     * Returns the {@link Set} of ongoing {@link Match}es.
+     * Returns a {@link Page} of finished {@link Match}es, newest first.
      *
-     * @return the {@link Set} of ongoing {@link Match}es
+     * @param limit  the maximum number of {@link Match}es from 1 to 100
+     * @param cursor the cursor from the previous {@link Page} or {@code null} for the first {@link Page}
+     * @return the {@link Page} of finished {@link Match}es
      */
-    Set<Match> retrieveActiveMatches();
+    Page<Match> retrieveFinishedMatches(int limit, String cursor);
 
     /**
-     * Returns the {@link Set} of new {@link Match}es.
+     * Returns a {@link Page} of ongoing {@link Match}es, newest first.
      *
-     * @return the {@link Set} of new {@link Match}es
+     * @param limit  the maximum number of {@link Match}es from 1 to 100
+     * @param cursor the cursor from the previous {@link Page} or {@code null} for the first {@link Page}
+     * @return the {@link Page} of ongoing {@link Match}es
      */
-    Set<Match> retrieveUnstartedMatches();
+    Page<Match> retrieveActiveMatches(int limit, String cursor);
+
+    /**
+     * Returns a {@link Page} of new {@link Match}es, newest first.
+     *
+     * @param limit  the maximum number of {@link Match}es from 1 to 100
+     * @param cursor the cursor from the previous {@link Page} or {@code null} for the first {@link Page}
+     * @return the {@link Page} of new {@link Match}es
+     */
+    Page<Match> retrieveUnstartedMatches(int limit, String cursor);
 
     /**
      * Resigns from the {@link Match}. The {@link Player} who resigned losses.
@@ -172,6 +225,24 @@ public interface MatchService {
      */
     Match retrieveMatch(String matchUuid);
 
+    /**
+     * Starts retrieving the {@link Match} with the given UUID without waiting for it so that other calls can be made
+     * in the meantime.
+     *
+     * @param matchUuid the UUID of the {@link Match}
+     * @return the {@link CompletableFuture} of the {@link Match} or {@code null} if it does not exist
+     */
+    CompletableFuture<Match> retrieveMatchAsync(String matchUuid);
+
+    /**
+     * Retrieves the scalar fields of the {@link Match} with the given UUID. The fleets and checkpoints are only read
+     * when they are first accessed.
+     *
+     * @param matchUuid the UUID of the {@link Match}
+     * @return the {@link Match}
+     */
+    Match retrieveMatchSummary(String matchUuid);
+
     /**
      * Deletes a {@link Match} with the given UUID. Only the creator of the {@link Match} or an administrator can
      * perform this operation.
@@ -23,6 +23,7 @@
  */
 package org.vincenzolabs.cots.match.service.impl;
 
+import org.vincenzolabs.cots.domain.Move;
 import org.vincenzolabs.cots.domain.Ship;
 import org.vincenzolabs.cots.match.service.ArbitrationService;
 import org.springframework.stereotype.Service;
@@ -37,6 +38,8 @@ import java.util.Set;
 @Service
 public class ArbitrationServiceImpl implements ArbitrationService {
 
+    private static final Move.Outcome[][] OUTCOMES = createOutcomes();
+
     @Override
     public Ship arbitrate(Ship attackingShip, Ship defendingShip) {
         if (attackingShip == null || attackingShip.getColor() == null || attackingShip.getShipClass() == null
@@ -58,41 +61,27 @@ public class ArbitrationServiceImpl implements ArbitrationService {
             throw new IllegalArgumentException("Attacking own ship is not allowed");
         }
 
-        if (attackingShip.getShipClass() == Ship.ShipClass.UNKNOWN) {
-            throw new IllegalArgumentException("Attacking ship class cannot be unknown");
-        }
-
-        if (defendingShip.getShipClass() == Ship.ShipClass.UNKNOWN) {
-            throw new IllegalArgumentException("Defending ship class cannot be unknown");
-        }
-
-        Ship.ShipClass attackingShipClass = attackingShip.getShipClass();
-        Ship.ShipClass defendingShipClass = defendingShip.getShipClass();
-
-        // submarine attacks littoral combat ship
-        if (attackingShipClass.getRank() == Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0.getRank()
-                && defendingShipClass.getRank() == Ship.ShipClass.INDEPENDENCE_CLASS_LITTORAL_COMBAT_SHIP_0.getRank()) {
-            return defendingShip;
-        }
-
-        // littoral combat ship attacks submarine
-        if (attackingShipClass.getRank() == Ship.ShipClass.INDEPENDENCE_CLASS_LITTORAL_COMBAT_SHIP_0.getRank()
-                && defendingShipClass.getRank() == Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0.getRank()) {
-            return attackingShip;
+        switch (getOutcome(attackingShip.getShipClass(), defendingShip.getShipClass())) {
+            case ATTACKER_WINS:
+                return attackingShip;
+            case DEFENDER_WINS:
+                return defendingShip;
+            default:
+                return null;
         }
+    }
 
-        // command ship attacks another command ship
-        if (attackingShipClass == Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP
-                && defendingShipClass == Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP) {
-            return attackingShip;
+    @Override
+    public Move.Outcome getOutcome(Ship.ShipClass attackingShipClass, Ship.ShipClass defendingShipClass) {
+        if (attackingShipClass == null || attackingShipClass == Ship.ShipClass.UNKNOWN) {
+            throw new IllegalArgumentException("Attacking ship class cannot be unknown");
         }
 
-        // tie
-        if (attackingShipClass == defendingShipClass) {
-            return null;
+        if (defendingShipClass == null || defendingShipClass == Ship.ShipClass.UNKNOWN) {
+            throw new IllegalArgumentException("Defending ship class cannot be unknown");
         }
 
-        return attackingShipClass.getRank() > defendingShipClass.getRank() ? attackingShip : defendingShip;
+        return OUTCOMES[attackingShipClass.ordinal()][defendingShipClass.ordinal()];
     }
 
     @Override
@@ -105,4 +94,43 @@ public class ArbitrationServiceImpl implements ArbitrationService {
 
         return true;
     }
+
+    private static Move.Outcome[][] createOutcomes() {
+        Ship.ShipClass[] shipClasses = Ship.ShipClass.values();
+        Move.Outcome[][] outcomes = new Move.Outcome[shipClasses.length][shipClasses.length];
+
+        int submarineRank = Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0.getRank();
+        int littoralCombatShipRank = Ship.ShipClass.INDEPENDENCE_CLASS_LITTORAL_COMBAT_SHIP_0.getRank();
+        int commandShipRank = Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP.getRank();
+
+        for (Ship.ShipClass attackingShipClass : shipClasses) {
+            for (Ship.ShipClass defendingShipClass : shipClasses) {
+                int attackingRank = attackingShipClass.getRank();
+                int defendingRank = defendingShipClass.getRank();
+
+                Move.Outcome outcome;
+                if (attackingRank == submarineRank && defendingRank == littoralCombatShipRank) {
+                    // submarine attacks littoral combat ship
+                    outcome = Move.Outcome.DEFENDER_WINS;
+                } else if (attackingRank == littoralCombatShipRank && defendingRank == submarineRank) {
+                    // littoral combat ship attacks submarine
+                    outcome = Move.Outcome.ATTACKER_WINS;
+                } else if (attackingRank == commandShipRank && defendingRank == commandShipRank) {
+                    // command ship attacks another command ship
+                    outcome = Move.Outcome.ATTACKER_WINS;
+                } else if (attackingRank == defendingRank) {
+                    // tie
+                    outcome = Move.Outcome.BOTH_ELIMINATED;
+                } else {
+                    outcome = attackingRank > defendingRank
+                            ? Move.Outcome.ATTACKER_WINS
+                            : Move.Outcome.DEFENDER_WINS;
+                }
+
+                outcomes[attackingShipClass.ordinal()][defendingShipClass.ordinal()] = outcome;
+            }
+        }
+
+        return outcomes;
+    }
 }
@@ -0,0 +1,197 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.service.impl;
+
+import org.apache.commons.lang3.StringUtils;
+import org.vincenzolabs.cots.domain.Fleet;
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.ai.MonteCarloTreeSearch;
+import org.vincenzolabs.cots.match.engine.Board;
+import org.vincenzolabs.cots.match.service.BotService;
+import org.vincenzolabs.cots.match.service.MatchService;
+import org.vincenzolabs.cots.match.simulation.RandomStrategy;
+import org.vincenzolabs.cots.match.simulation.Strategy;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * The implementation of {@link BotService}. It is created by the configuration rather than by component scanning since
+ * it depends on the {@link MatchService} bean of the configuration.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class BotServiceImpl implements BotService {
+
+    private static final Strategy DEPLOYMENT_STRATEGY = new RandomStrategy();
+
+    private final MatchService matchService;
+
+    private final MonteCarloTreeSearch monteCarloTreeSearch;
+
+    /**
+     * Default constructor.
+     *
+     * @param matchService         the {@link MatchService}
+     * @param monteCarloTreeSearch the {@link MonteCarloTreeSearch}
+     */
+    public BotServiceImpl(MatchService matchService, MonteCarloTreeSearch monteCarloTreeSearch) {
+        this.matchService = matchService;
+        this.monteCarloTreeSearch = monteCarloTreeSearch;
+    }
+
+    @Override
+    public Ship selectMove(final String playerUuid, final String matchUuid) {
+        if (StringUtils.isBlank(playerUuid)) {
+            throw new IllegalArgumentException("Player UUID must not be null or empty");
+        }
+
+        if (StringUtils.isBlank(matchUuid)) {
+            throw new IllegalArgumentException("Match UUID must not be null or empty");
+        }
+
+        Match match = matchService.retrieveMatch(matchUuid);
+        if (match == null) {
+            throw new IllegalArgumentException("Match UUID is invalid");
+        }
+
+        if (!match.hasStarted()) {
+            throw new IllegalArgumentException("Match has not yet started");
+        }
+
+        if (!StringUtils.isBlank(match.getWinner()) || match.isDraw()) {
+            throw new IllegalArgumentException("Game over");
+        }
+
+        Ship.Color color;
+        String opponentUuid;
+        if (playerUuid.equals(match.getWhitePlayer())) {
+            color = Ship.Color.WHITE;
+            opponentUuid = match.getBlackPlayer();
+        } else if (playerUuid.equals(match.getBlackPlayer())) {
+            color = Ship.Color.BLACK;
+            opponentUuid = match.getWhitePlayer();
+        } else {
+            throw new IllegalArgumentException("Player does not belong to match");
+        }
+
+        if (color != match.getTurn()) {
+            throw new IllegalArgumentException(String.format("%s player has the turn",
+                    color == Ship.Color.WHITE ? "Black" : "White"));
+        }
+
+        Map<String, Set<Ship>> fleets = match.getFleets();
+        Fleet fleet = Fleet.of(color, fleets.get(playerUuid));
+        int[] opponentSquares = fleets.get(opponentUuid).stream()
+                .mapToInt(ship -> Board.square(ship.getCoordinates()))
+                .filter(square -> square != Board.NONE)
+                .toArray();
+
+        int move = monteCarloTreeSearch.search(fleet, opponentSquares, System.nanoTime());
+        if (move == Strategy.NONE) {
+            throw new IllegalArgumentException("No ship can move");
+        }
+
+        int target = Strategy.target(move);
+
+        Ship ship = new Ship();
+        ship.setColor(color);
+        ship.setShipClass(Strategy.shipClass(move));
+        ship.setCoordinates(new Ship.Coordinates(Board.x(target), Board.y(target)));
+
+        return ship;
+    }
+
+    @Override
+    public Match hostMatch(final String playerUuid) {
+        if (BOT_PLAYER_UUID.equals(playerUuid)) {
+            throw new IllegalArgumentException("Bot cannot host a match");
+        }
+
+        String matchUuid = matchService.hostMatch(playerUuid).getUuid();
+
+        Match match = matchService.connectToMatch(BOT_PLAYER_UUID, matchUuid);
+        Ship.Color color = BOT_PLAYER_UUID.equals(match.getWhitePlayer()) ? Ship.Color.WHITE : Ship.Color.BLACK;
+
+        Board board = new Board();
+        DEPLOYMENT_STRATEGY.deploy(board, color, new SplittableRandom());
+        matchService.positionFleet(BOT_PLAYER_UUID, matchUuid, board.getFleet(color));
+
+        return hideBotFleet(matchService.ready(BOT_PLAYER_UUID, matchUuid));
+    }
+
+    @Override
+    public Match startMatch(final String playerUuid, final String matchUuid) {
+        matchService.startMatch(playerUuid, matchUuid);
+
+        reply(matchUuid);
+
+        return hideBotFleet(matchService.retrieveMatch(matchUuid));
+    }
+
+    @Override
+    public Map<String, Set<Ship>> moveShip(final String playerUuid, final String matchUuid, final Ship ship) {
+        if (BOT_PLAYER_UUID.equals(playerUuid)) {
+            throw new IllegalArgumentException("Moving the ships of the bot is not allowed");
+        }
+
+        matchService.moveShip(playerUuid, matchUuid, ship);
+
+        reply(matchUuid);
+
+        return hideBotFleet(matchService.retrieveMatch(matchUuid)).getFleets();
+    }
+
+    /**
+     * Makes the move of the bot if it has the turn and the {@link Match} is not yet over.
+     *
+     * @param matchUuid the UUID of the {@link Match}
+     */
+    private void reply(String matchUuid) {
+        Match match = matchService.retrieveMatchSummary(matchUuid);
+        if (!BotService.isBotMatch(match) || !StringUtils.isBlank(match.getWinner()) || match.isDraw()) {
+            return;
+        }
+
+        Ship.Color color = BOT_PLAYER_UUID.equals(match.getWhitePlayer()) ? Ship.Color.WHITE : Ship.Color.BLACK;
+        if (color == match.getTurn()) {
+            matchService.moveShip(BOT_PLAYER_UUID, matchUuid, selectMove(BOT_PLAYER_UUID, matchUuid));
+        }
+    }
+
+    /**
+     * Hides the classes of the bot's {@link Ship}s from its opponent.
+     *
+     * @param match the {@link Match}
+     * @return the {@link Match}
+     */
+    private static Match hideBotFleet(Match match) {
+        match.getFleets().getOrDefault(BOT_PLAYER_UUID, Set.of())
+                .forEach(ship -> ship.setShipClass(Ship.ShipClass.UNKNOWN));
+
+        return match;
+    }
+}
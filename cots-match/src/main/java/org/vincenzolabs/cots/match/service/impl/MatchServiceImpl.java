@@ -24,21 +24,34 @@
 package org.vincenzolabs.cots.match.service.impl;
 
 import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Page;
 import org.vincenzolabs.cots.domain.Ship;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.vincenzolabs.cots.match.dao.MatchAsyncDAO;
+import org.vincenzolabs.cots.match.dao.MatchConflictException;
 import org.vincenzolabs.cots.match.dao.MatchDAO;
+import org.vincenzolabs.cots.match.engine.Board;
+import org.vincenzolabs.cots.match.engine.Replay;
 import org.vincenzolabs.cots.match.service.ArbitrationService;
 import org.vincenzolabs.cots.match.service.MatchService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * The implementation of {@link MatchService}.
@@ -48,20 +61,30 @@ import java.util.Set;
 @Service
 public class MatchServiceImpl implements MatchService {
 
+    private static final int CHECKPOINT_INTERVAL = 20;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_ATTEMPTS = 3;
+
     private final ArbitrationService arbitrationService;
 
     private final MatchDAO matchDAO;
 
+    private final MatchAsyncDAO matchAsyncDAO;
+
     /**
      * Default constructor.
      *
      * @param arbitrationService the {@link ArbitrationService}
      * @param matchDAO           the {@link MatchDAO}
+     * @param matchAsyncDAO      the {@link MatchAsyncDAO}
      */
     @Autowired
-    public MatchServiceImpl(ArbitrationService arbitrationService, MatchDAO matchDAO) {
+    public MatchServiceImpl(ArbitrationService arbitrationService, MatchDAO matchDAO, MatchAsyncDAO matchAsyncDAO) {
         this.arbitrationService = arbitrationService;
         this.matchDAO = matchDAO;
+        this.matchAsyncDAO = matchAsyncDAO;
     }
 
     @Override
@@ -83,7 +106,7 @@ public class MatchServiceImpl implements MatchService {
             throw new IllegalArgumentException("Match UUID must not be null or empty");
         }
 
-        Match match = matchDAO.retrieveMatch(matchUuid);
+        Match match = matchDAO.retrieveMatchSummary(matchUuid);
         if (match == null) {
             throw new IllegalArgumentException("Match UUID is invalid");
         }
@@ -101,6 +124,10 @@ public class MatchServiceImpl implements MatchService {
 
     @Override
     public Match connectToMatch(final String playerUuid, final String matchUuid) {
+        return retryOnConflict(() -> connectToMatchOnce(playerUuid, matchUuid));
+    }
+
+    private Match connectToMatchOnce(final String playerUuid, final String matchUuid) {
         if (StringUtils.isBlank(playerUuid)) {
             throw new IllegalArgumentException("Player UUID must not be null or empty");
         }
@@ -109,7 +136,7 @@ public class MatchServiceImpl implements MatchService {
             throw new IllegalArgumentException("Match UUID must not be null or empty");
         }
 
-        Match match = matchDAO.retrieveMatch(matchUuid);
+        Match match = matchDAO.retrieveMatchSummary(matchUuid);
         if (match == null) {
             throw new IllegalArgumentException("Match UUID is invalid");
         }
@@ -131,11 +158,19 @@ public class MatchServiceImpl implements MatchService {
 
         matchDAO.updateMatch(match);
 
-        return match;
+        return load(match);
     }
 
     @Override
     public void disconnectFromMatch(final String playerUuid, final String matchUuid) {
+        retryOnConflict(() -> {
+            disconnectFromMatchOnce(playerUuid, matchUuid);
+
+            return null;
+        });
+    }
+
+    private void disconnectFromMatchOnce(final String playerUuid, final String matchUuid) {
         if (StringUtils.isBlank(playerUuid)) {
             throw new IllegalArgumentException("Player UUID must not be null or empty");
         }
@@ -144,7 +179,7 @@ public class MatchServiceImpl implements MatchService {
             throw new IllegalArgumentException("Match UUID must not be null or empty");
         }
 
-        Match match = matchDAO.retrieveMatch(matchUuid);
+        Match match = matchDAO.retrieveMatchSummary(matchUuid);
         if (match == null) {
             throw new IllegalArgumentException("Match UUID is invalid");
         }
@@ -166,6 +201,10 @@ public class MatchServiceImpl implements MatchService {
 
     @Override
     public Map<String, Set<Ship>> positionShip(final String playerUuid, final String matchUuid, Ship ship) {
+        return retryOnConflict(() -> positionShipOnce(playerUuid, matchUuid, ship));
+    }
+
+    private Map<String, Set<Ship>> positionShipOnce(final String playerUuid, final String matchUuid, Ship ship) {
         if (StringUtils.isBlank(playerUuid)) {
             throw new IllegalArgumentException("Player UUID must not be null or empty");
         }
@@ -217,6 +256,12 @@ public class MatchServiceImpl implements MatchService {
                     String.format("Y coordinate is invalid for %s", ship.getShipClass()));
         }
 
+        Board board = Board.of(whiteFleet, blackFleet);
+        int piece = board.pieceAt(Board.square(ship.getCoordinates()));
+        if (piece != Board.NONE && piece != Board.piece(ship.getColor(), ship.getShipClass())) {
+            throw new IllegalArgumentException("Coordinates is already occupied");
+        }
+
         if (Ship.Color.WHITE == ship.getColor()) {
             whiteFleet.remove(ship);
             whiteFleet.add(ship);
@@ -225,14 +270,14 @@ public class MatchServiceImpl implements MatchService {
             blackFleet.add(ship);
         }
 
-        fleets.put(match.getWhitePlayer(), whiteFleet);
-        fleets.put(match.getBlackPlayer(), blackFleet);
+        putFleet(fleets, match.getWhitePlayer(), whiteFleet);
+        putFleet(fleets, match.getBlackPlayer(), blackFleet);
         match.setFleets(fleets);
 
         matchDAO.updateMatch(match);
 
         // hide the ship classes of the opponent
-        if (match.getWhitePlayer().equals(playerUuid)) {
+        if (playerUuid.equals(match.getWhitePlayer())) {
             blackFleet.forEach(blackShip -> blackShip.setShipClass(Ship.ShipClass.UNKNOWN));
         } else {
             whiteFleet.forEach(whiteShip -> whiteShip.setShipClass(Ship.ShipClass.UNKNOWN));
@@ -240,8 +285,103 @@ public class MatchServiceImpl implements MatchService {
         return match.getFleets();
     }
 
+    @Override
+    public Map<String, Set<Ship>> positionFleet(final String playerUuid, final String matchUuid, Set<Ship> ships) {
+        if (StringUtils.isBlank(playerUuid)) {
+            throw new IllegalArgumentException("Player UUID must not be null or empty");
+        }
+
+        if (StringUtils.isBlank(matchUuid)) {
+            throw new IllegalArgumentException("Match UUID must not be null or empty");
+        }
+
+        Match match = matchDAO.retrieveMatch(matchUuid);
+        if (match == null) {
+            throw new IllegalArgumentException("Match UUID is invalid");
+        }
+
+        if (match.hasStarted()) {
+            throw new IllegalArgumentException("Match has already started");
+        }
+
+        if (isPlayerNotInMatch(playerUuid, match)) {
+            throw new IllegalArgumentException("Player does not belong to match");
+        }
+
+        if (ships == null) {
+            throw new IllegalArgumentException("Ships cannot be null");
+        }
+
+        Ship.Color color = playerUuid.equals(match.getWhitePlayer()) ? Ship.Color.WHITE : Ship.Color.BLACK;
+        int firstRow = color == Ship.Color.WHITE ? 0 : Board.HEIGHT - 3;
+
+        // validate the whole formation in one pass
+        Board board = new Board();
+        for (Ship ship : ships) {
+            if (ship == null || ship.getColor() == null || ship.getShipClass() == null
+                    || ship.getCoordinates() == null) {
+                throw new IllegalArgumentException("Ship cannot be null or have null values");
+            }
+
+            if (ship.getColor() != color) {
+                throw new IllegalArgumentException("Positioning opponent ship is not allowed");
+            }
+
+            if (ship.getShipClass() == Ship.ShipClass.UNKNOWN
+                    || board.squareOf(color, ship.getShipClass()) != Board.NONE) {
+                throw new IllegalArgumentException(String.format("%s is invalid", ship.getShipClass()));
+            }
+
+            if (ship.getCoordinates().getX() < 0 || ship.getCoordinates().getX() >= Board.WIDTH) {
+                throw new IllegalArgumentException(
+                        String.format("X coordinate is invalid for %s", ship.getShipClass()));
+            }
+
+            if (ship.getCoordinates().getY() < firstRow || ship.getCoordinates().getY() > firstRow + 2) {
+                throw new IllegalArgumentException(
+                        String.format("Y coordinate is invalid for %s", ship.getShipClass()));
+            }
+
+            int square = Board.square(ship.getCoordinates());
+            if (board.isOccupied(square)) {
+                throw new IllegalArgumentException("Coordinates is already occupied");
+            }
+
+            board.place(color, ship.getShipClass(), square);
+        }
+
+        if (board.count(color) != Board.SHIP_CLASSES) {
+            throw new IllegalArgumentException(String.format("Fleet must have %d ships", Board.SHIP_CLASSES));
+        }
+
+        Map<String, Set<Ship>> previousFleets = match.getFleets();
+        Map<String, Set<Ship>> fleets = new LinkedHashMap<>();
+        putFleet(fleets, match.getWhitePlayer(), color == Ship.Color.WHITE
+                ? board.getFleet(Ship.Color.WHITE)
+                : previousFleets.getOrDefault(match.getWhitePlayer(), getDefaultFleet(Ship.Color.WHITE)));
+        putFleet(fleets, match.getBlackPlayer(), color == Ship.Color.BLACK
+                ? board.getFleet(Ship.Color.BLACK)
+                : previousFleets.getOrDefault(match.getBlackPlayer(), getDefaultFleet(Ship.Color.BLACK)));
+        match.setFleets(fleets);
+
+        if (!matchDAO.updateFleets(match, previousFleets)) {
+            throw new IllegalArgumentException("Match has been updated, please try again");
+        }
+
+        // hide the ship classes of the opponent
+        String opponentUuid = color == Ship.Color.WHITE ? match.getBlackPlayer() : match.getWhitePlayer();
+        fleets.getOrDefault(opponentUuid, Set.of())
+                .forEach(opponentShip -> opponentShip.setShipClass(Ship.ShipClass.UNKNOWN));
+
+        return fleets;
+    }
+
     @Override
     public Match ready(final String playerUuid, final String matchUuid) {
+        return retryOnConflict(() -> readyOnce(playerUuid, matchUuid));
+    }
+
+    private Match readyOnce(final String playerUuid, final String matchUuid) {
         if (StringUtils.isBlank(playerUuid)) {
             throw new IllegalArgumentException("Player UUID must not be null or empty");
         }
@@ -281,11 +421,15 @@ public class MatchServiceImpl implements MatchService {
 
         matchDAO.updateMatch(match);
 
-        return match;
+        return load(match);
     }
 
     @Override
     public Match startMatch(final String playerUuid, final String matchUuid) {
+        return retryOnConflict(() -> startMatchOnce(playerUuid, matchUuid));
+    }
+
+    private Match startMatchOnce(final String playerUuid, final String matchUuid) {
         if (StringUtils.isBlank(playerUuid)) {
             throw new IllegalArgumentException("Player UUID must not be null or empty");
         }
@@ -294,7 +438,7 @@ public class MatchServiceImpl implements MatchService {
             throw new IllegalArgumentException("Match UUID must not be null or empty");
         }
 
-        Match match = matchDAO.retrieveMatch(matchUuid);
+        Match match = matchDAO.retrieveMatchSummary(matchUuid);
         if (match == null) {
             throw new IllegalArgumentException("Match UUID is invalid");
         }
@@ -314,17 +458,27 @@ public class MatchServiceImpl implements MatchService {
         if (playerUuid.equals(match.getHost())) {
             match.setStarted(true);
             match.setStartDate(LocalDateTime.now());
+            match.putCheckpoint(0, match.getFleets());
+
+            // the deployment is the first occurrence of the starting position
+            Map<String, Set<Ship>> fleets = match.getFleets();
+            Board board = Board.of(fleets.get(match.getWhitePlayer()), fleets.get(match.getBlackPlayer()));
+            match.countPosition(board.getKey(match.getTurn()));
         } else {
             throw new IllegalArgumentException("Only the host can start the match");
         }
 
         matchDAO.updateMatch(match);
 
-        return match;
+        return load(match);
     }
 
     @Override
     public Map<String, Set<Ship>> moveShip(final String playerUuid, final String matchUuid, Ship ship) {
+        return retryOnConflict(() -> moveShipOnce(playerUuid, matchUuid, ship));
+    }
+
+    private Map<String, Set<Ship>> moveShipOnce(final String playerUuid, final String matchUuid, Ship ship) {
         if (StringUtils.isBlank(playerUuid)) {
             throw new IllegalArgumentException("Player UUID must not be null or empty");
         }
@@ -342,7 +496,7 @@ public class MatchServiceImpl implements MatchService {
             throw new IllegalArgumentException("Match has not yet started");
         }
 
-        if (!StringUtils.isBlank(match.getWinner())) {
+        if (!StringUtils.isBlank(match.getWinner()) || match.isDraw()) {
             throw new IllegalArgumentException("Game over");
         }
 
@@ -360,280 +514,215 @@ public class MatchServiceImpl implements MatchService {
             }
         }
 
-        int turnNumber = match.getMoves().size() - 1;
-        Map<String, Set<Ship>> fleets = match.getMoves().get(turnNumber);
+        Map<String, Set<Ship>> fleets = match.getFleets();
+        Board board = Board.of(fleets.get(match.getWhitePlayer()), fleets.get(match.getBlackPlayer()));
 
-        Set<Ship> whiteFleet = fleets.get(match.getWhitePlayer());
-        Set<Ship> blackFleet = fleets.get(match.getBlackPlayer());
+        if (ship == null || ship.getColor() == null || ship.getShipClass() == null
+                || ship.getCoordinates() == null) {
+            throw new IllegalArgumentException("Ship cannot be null or have null values");
+        }
 
         // validate new ship coordinates
-        if (ship.getCoordinates().getX() < 0 || ship.getCoordinates().getX() > 8) {
+        if (ship.getCoordinates().getX() < 0 || ship.getCoordinates().getX() >= Board.WIDTH) {
             throw new IllegalArgumentException(
                     String.format("X coordinate is invalid for %s", ship.getShipClass()));
         }
 
-        if (ship.getCoordinates().getY() < 0 || ship.getCoordinates().getY() > 7) {
+        if (ship.getCoordinates().getY() < 0 || ship.getCoordinates().getY() >= Board.HEIGHT) {
             throw new IllegalArgumentException(
                     String.format("Y coordinate is invalid for %s", ship.getShipClass()));
         }
 
-        if (ship.getColor() == Ship.Color.WHITE) {
-            if (ship.getShipClass() == Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP) {
-                if (ship.getCoordinates().getY() == 7) {
-                    // check if there are enemy ships beside it
-                    boolean won = true;
-                    for (Ship blackShip : blackFleet) {
-                        if (blackShip.getCoordinates().getY() == 7) {
-                            if ((blackShip.getCoordinates().getX() == ship.getCoordinates().getX() + 1)
-                                    || blackShip.getCoordinates().getX() == ship.getCoordinates().getX() - 1) {
-                                // wait for opponent to attack command ship
-                                won = false;
-                            }
-                        }
-                    }
-
-                    if (won) {
-                        match.setWinner(match.getWhitePlayer());
-                        match.setLoser(match.getBlackPlayer());
-                        match.setEndDate(LocalDateTime.now());
-                    }
-                }
-            }
+        Ship.Color color = playerUuid.equals(match.getWhitePlayer()) ? Ship.Color.WHITE : Ship.Color.BLACK;
+        if (ship.getColor() != color) {
+            throw new IllegalArgumentException("Moving opponent ship is not allowed");
+        }
 
-            for (Ship whiteShip : whiteFleet) {
-                if (ship.equals(whiteShip)) {
-                    if (ship.getCoordinates().equals(whiteShip.getCoordinates())) {
-                        throw new IllegalArgumentException(String.format("%s did not move", ship.getShipClass()));
-                    }
-
-                    if ((whiteShip.getCoordinates().getX() == 0 && ship.getCoordinates().getX() > 1)
-                            || (whiteShip.getCoordinates().getX() == 8 && ship.getCoordinates().getX() < 7)) {
-                        throw new IllegalArgumentException("X coordinate is invalid");
-                    }
-
-                    if (whiteShip.getCoordinates().getX() > 0 && whiteShip.getCoordinates().getX() < 8
-                            && (ship.getCoordinates().getX() != whiteShip.getCoordinates().getX() - 1
-                            || ship.getCoordinates().getX() != whiteShip.getCoordinates().getX() + 1)) {
-                        throw new IllegalArgumentException("X coordinate is invalid");
-                    }
-
-                    if ((whiteShip.getCoordinates().getY() == 0 && ship.getCoordinates().getY() > 1)
-                            || (whiteShip.getCoordinates().getX() == 7 && ship.getCoordinates().getX() < 6)) {
-                        throw new IllegalArgumentException("Y coordinate is invalid");
-                    }
-
-                    if (whiteShip.getCoordinates().getY() > 0 && whiteShip.getCoordinates().getY() < 7
-                            && (ship.getCoordinates().getY() < whiteShip.getCoordinates().getY() - 1
-                            || ship.getCoordinates().getY() > whiteShip.getCoordinates().getY() + 1)) {
-                        throw new IllegalArgumentException("Y coordinate is invalid");
-                    }
-                }
+        int source = board.squareOf(color, ship.getShipClass());
+        if (source == Board.NONE) {
+            throw new IllegalArgumentException(String.format("%s is no longer in play", ship.getShipClass()));
+        }
 
-                if (ship.getCoordinates().equals(whiteShip.getCoordinates())) {
-                    throw new IllegalArgumentException("Coordinates is already occupied");
-                }
-            }
-        } else {
-            if (ship.getShipClass() == Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP) {
-                if (ship.getCoordinates().getY() == 0) {
-                    // check if there are enemy ships beside it
-                    boolean won = true;
-                    for (Ship whiteShip : whiteFleet) {
-                        if (whiteShip.getCoordinates().getY() == 0) {
-                            if ((whiteShip.getCoordinates().getX() == ship.getCoordinates().getX() + 1)
-                                    || whiteShip.getCoordinates().getX() == ship.getCoordinates().getX() - 1) {
-                                // wait for opponent to attack command ship
-                                won = false;
-                            }
-                        }
-                    }
-
-                    if (won) {
-                        match.setWinner(match.getBlackPlayer());
-                        match.setLoser(match.getWhitePlayer());
-                        match.setEndDate(LocalDateTime.now());
-                    }
-                }
-            }
+        int target = Board.square(ship.getCoordinates());
+        if (source == target) {
+            throw new IllegalArgumentException(String.format("%s did not move", ship.getShipClass()));
+        }
 
-            for (Ship blackShip : blackFleet) {
-                if (ship.equals(blackShip)) {
-                    if (ship.getCoordinates().equals(blackShip.getCoordinates())) {
-                        throw new IllegalArgumentException("Ship did not move");
-                    }
-
-                    if ((blackShip.getCoordinates().getX() == 0 && ship.getCoordinates().getX() > 1)
-                            || (blackShip.getCoordinates().getX() == 8 && ship.getCoordinates().getX() < 7)) {
-                        throw new IllegalArgumentException("X coordinate is invalid");
-                    }
-
-                    if (blackShip.getCoordinates().getX() > 0 && blackShip.getCoordinates().getX() < 8
-                            && (ship.getCoordinates().getX() != blackShip.getCoordinates().getX() - 1
-                            || ship.getCoordinates().getX() != blackShip.getCoordinates().getX() + 1)) {
-                        throw new IllegalArgumentException("X coordinate is invalid");
-                    }
-
-                    if ((blackShip.getCoordinates().getY() == 0 && ship.getCoordinates().getY() > 1)
-                            || (blackShip.getCoordinates().getX() == 7 && ship.getCoordinates().getX() < 6)) {
-                        throw new IllegalArgumentException("Y coordinate is invalid");
-                    }
-
-                    if (blackShip.getCoordinates().getY() > 0 && blackShip.getCoordinates().getY() < 7
-                            && (ship.getCoordinates().getY() < blackShip.getCoordinates().getY() - 1
-                            || ship.getCoordinates().getY() > blackShip.getCoordinates().getY() + 1)) {
-                        throw new IllegalArgumentException("Y coordinate is invalid");
-                    }
-                }
+        int deltaX = Math.abs(Board.x(target) - Board.x(source));
+        int deltaY = Math.abs(Board.y(target) - Board.y(source));
+        if (deltaX > 1) {
+            throw new IllegalArgumentException("X coordinate is invalid");
+        }
 
-                if (ship.getCoordinates().equals(blackShip.getCoordinates())) {
-                    throw new IllegalArgumentException("Coordinates is already occupied");
-                }
-            }
+        if (deltaY > 1) {
+            throw new IllegalArgumentException("Y coordinate is invalid");
         }
 
-        if (match.getWhitePlayer().equals(playerUuid)) {
-            whiteFleet.remove(ship);
-            whiteFleet.add(ship);
-        } else {
-            blackFleet.remove(ship);
-            blackFleet.add(ship);
+        if (deltaX + deltaY > 1) {
+            throw new IllegalArgumentException("Diagonal move is not allowed");
         }
 
-        // use arbitration service
-        if (ship.getColor() == Ship.Color.WHITE) {
-            for (Ship blackShip : blackFleet) {
-                if (ship.getCoordinates().equals(blackShip.getCoordinates())) {
-                    Ship winningShip = arbitrationService.arbitrate(ship, blackShip);
-
-                    if (winningShip == null) {
-                        whiteFleet.remove(ship);
-                        blackFleet.remove(blackShip);
-                    } else if (winningShip.equals(ship)) {
-                        blackFleet.remove(blackShip);
-                    } else {
-                        whiteFleet.remove(ship);
-                    }
-                }
-            }
-        } else {
-            for (Ship whiteShip : whiteFleet) {
-                if (ship.getCoordinates().equals(whiteShip.getCoordinates())) {
-                    Ship winningShip = arbitrationService.arbitrate(ship, whiteShip);
-
-                    if (winningShip == null) {
-                        whiteFleet.remove(ship);
-                        blackFleet.remove(whiteShip);
-                    } else if (winningShip.equals(ship)) {
-                        blackFleet.remove(whiteShip);
-                    } else {
-                        whiteFleet.remove(ship);
-                    }
-                }
-            }
+        if (board.isOccupiedBy(color, target)) {
+            throw new IllegalArgumentException("Coordinates is already occupied");
         }
 
-        if (Ship.Color.WHITE == match.getTurn()) {
-            match.setFleets(Map.of(match.getWhitePlayer(), whiteFleet, match.getBlackPlayer(), blackFleet));
-        } else {
-            match.setFleets(Map.of(match.getBlackPlayer(), blackFleet, match.getWhitePlayer(), whiteFleet));
+        Ship.Color opponent = Board.opponent(color);
+        int defendingPiece = board.pieceAt(target);
+
+        Move.Outcome outcome = Move.Outcome.MOVED;
+        if (defendingPiece != Board.NONE) {
+            // use arbitration service
+            outcome = arbitrationService.getOutcome(ship.getShipClass(), Board.shipClass(defendingPiece));
         }
 
-        toggleTurn(match);
+        board.apply(color, ship.getShipClass(), target, outcome);
 
-        // check if command ship is still in play
-        boolean lost = true;
-        if (ship.getColor() == Ship.Color.WHITE) {
-            for (Ship whiteShip : whiteFleet) {
-                if (whiteShip.getShipClass() == Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP) {
-                    lost = false;
-                    break;
-                }
-            }
+        Move move = Move.builder()
+                .withTurn(match.getMoveCount() + 1)
+                .withColor(color)
+                .withShipClass(ship.getShipClass())
+                .withFrom(new Ship.Coordinates(Board.x(source), Board.y(source)))
+                .withTo(ship.getCoordinates())
+                .withOutcome(outcome)
+                .withPositionKey(board.getKey(opponent))
+                .build();
+        match.addMove(move);
 
-            if (lost) {
-                match.setWinner(match.getBlackPlayer());
-                match.setLoser(match.getWhitePlayer());
-                match.setEndDate(LocalDateTime.now());
-            }
+        // a challenge cannot be undone so the positions before it can never be repeated
+        int repetitions = 0;
+        if (outcome == Move.Outcome.MOVED) {
+            repetitions = match.countPosition(move.getPositionKey());
         } else {
-            for (Ship blackShip : blackFleet) {
-                if (blackShip.getShipClass() == Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP) {
-                    lost = false;
-                    break;
-                }
-            }
+            match.setLastChallengeTurn(move.getTurn());
+            match.clearPositionCounts();
+        }
 
-            if (lost) {
-                match.setWinner(match.getWhitePlayer());
-                match.setLoser(match.getBlackPlayer());
-                match.setEndDate(LocalDateTime.now());
-            }
+        String opponentUuid = color == Ship.Color.WHITE ? match.getBlackPlayer() : match.getWhitePlayer();
+
+        Ship.Color winner = board.getWinner(color);
+        if (winner == color) {
+            endMatch(match, playerUuid, opponentUuid);
+        } else if (winner == opponent) {
+            endMatch(match, opponentUuid, playerUuid);
+        } else if (repetitions >= 3) {
+            match.setDraw(true);
+            match.setEndDate(LocalDateTime.now());
         }
 
-        // check if the enemy command ship has reached your base
-        if (ship.getColor() == Ship.Color.WHITE) {
-            for (Ship blackShip : blackFleet) {
-                if (blackShip.getShipClass() == Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP
-                        && blackShip.getCoordinates().getY() == 0) {
-                    match.setWinner(match.getBlackPlayer());
-                    match.setLoser(match.getWhitePlayer());
-                    match.setEndDate(LocalDateTime.now());
-                }
-            }
-        } else {
-            for (Ship whiteShip : whiteFleet) {
-                if (whiteShip.getShipClass() == Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP
-                        && whiteShip.getCoordinates().getY() == 7) {
-                    match.setWinner(match.getWhitePlayer());
-                    match.setLoser(match.getBlackPlayer());
-                    match.setEndDate(LocalDateTime.now());
-                }
-            }
+        fleets = copyFleets(match, board);
+        match.setFleets(fleets);
+
+        if (move.getTurn() % CHECKPOINT_INTERVAL == 0) {
+            match.putCheckpoint(move.getTurn(), copyFleets(match, board));
         }
 
+        toggleTurn(match);
+
         matchDAO.updateMatch(match);
 
         // hide the ship classes of the opponent
-        if (match.getWhitePlayer().equals(playerUuid)) {
-            blackFleet.forEach(blackShip -> blackShip.setShipClass(Ship.ShipClass.UNKNOWN));
-        } else {
-            whiteFleet.forEach(whiteShip -> whiteShip.setShipClass(Ship.ShipClass.UNKNOWN));
-        }
+        fleets.get(opponentUuid).forEach(opponentShip -> opponentShip.setShipClass(Ship.ShipClass.UNKNOWN));
 
         return fleets;
     }
 
     @Override
-    public List<Map<String, Set<Ship>>> replay(final String matchUuid) {
+    public Map<Ship.ShipClass, Set<Ship.Coordinates>> legalMoves(final String playerUuid, final String matchUuid) {
+        if (StringUtils.isBlank(playerUuid)) {
+            throw new IllegalArgumentException("Player UUID must not be null or empty");
+        }
+
+        if (StringUtils.isBlank(matchUuid)) {
+            throw new IllegalArgumentException("Match UUID must not be null or empty");
+        }
+
         Match match = matchDAO.retrieveMatch(matchUuid);
         if (match == null) {
             throw new IllegalArgumentException("Match UUID is invalid");
         }
 
-        if (StringUtils.isBlank(match.getWinner())) {
-            throw new IllegalArgumentException("Match is not yet over");
+        if (!match.hasStarted()) {
+            throw new IllegalArgumentException("Match has not yet started");
+        }
+
+        if (!StringUtils.isBlank(match.getWinner()) || match.isDraw()) {
+            throw new IllegalArgumentException("Game over");
+        }
+
+        if (isPlayerNotInMatch(playerUuid, match)) {
+            throw new IllegalArgumentException("Player does not belong to match");
+        }
+
+        Map<String, Set<Ship>> fleets = match.getFleets();
+        Board board = Board.of(fleets.get(match.getWhitePlayer()), fleets.get(match.getBlackPlayer()));
+        Ship.Color color = playerUuid.equals(match.getWhitePlayer()) ? Ship.Color.WHITE : Ship.Color.BLACK;
+
+        Map<Ship.ShipClass, Set<Ship.Coordinates>> legalMoves = new EnumMap<>(Ship.ShipClass.class);
+        for (Ship.ShipClass shipClass : Ship.ShipClass.values()) {
+            if (shipClass == Ship.ShipClass.UNKNOWN || board.squareOf(color, shipClass) == Board.NONE) {
+                continue;
+            }
+
+            long[] moves = board.getLegalMoves(color, shipClass);
+            Set<Ship.Coordinates> coordinates = new HashSet<>();
+            for (int index = 0; index < moves.length; index++) {
+                for (long mask = moves[index]; mask != 0; mask &= mask - 1) {
+                    int square = index << 6 | Long.numberOfTrailingZeros(mask);
+                    coordinates.add(new Ship.Coordinates(Board.x(square), Board.y(square)));
+                }
+            }
+            legalMoves.put(shipClass, coordinates);
         }
 
-        return match.getMoves();
+        return legalMoves;
     }
 
     @Override
-    public Set<Match> retrieveFinishedMatches() {
-        return matchDAO.retrieveFinishedMatches();
+    public List<Map<String, Set<Ship>>> replay(final String matchUuid) {
+        Replay replay = replayFinishedMatch(matchUuid, 0, Integer.MAX_VALUE);
+
+        return replay.stream(0, replay.getLastTurn()).collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<String, Set<Ship>> replay(final String matchUuid, final int turn) {
+        return replayFinishedMatch(matchUuid, turn, turn).getTurn(turn);
+    }
+
+    @Override
+    public List<Map<String, Set<Ship>>> replay(final String matchUuid, final int fromTurn, final int toTurn) {
+        return replayFinishedMatch(matchUuid, fromTurn, toTurn)
+                .stream(fromTurn, toTurn)
+                .collect(Collectors.toList());
     }
 
     @Override
-    public Set<Match> retrieveActiveMatches() {
-        return matchDAO.retrieveActiveMatches();
+    public Page<Match> retrieveFinishedMatches(final int limit, final String cursor) {
+        validateLimit(limit);
+
+        return matchDAO.retrieveFinishedMatches(limit, cursor);
+    }
+
+    @Override
+    public Page<Match> retrieveActiveMatches(final int limit, final String cursor) {
+        validateLimit(limit);
+
+        return matchDAO.retrieveActiveMatches(limit, cursor);
     }
 
     @Override
-    public Set<Match> retrieveUnstartedMatches() {
-        return matchDAO.retrieveUnstartedMatches();
+    public Page<Match> retrieveUnstartedMatches(final int limit, final String cursor) {
+        validateLimit(limit);
+
+        return matchDAO.retrieveUnstartedMatches(limit, cursor);
     }
 
     @Override
     public Match resign(final String playerUuid, final String matchUuid) {
+        return retryOnConflict(() -> resignOnce(playerUuid, matchUuid));
+    }
+
+    private Match resignOnce(final String playerUuid, final String matchUuid) {
         if (StringUtils.isBlank(playerUuid)) {
             throw new IllegalArgumentException("Player UUID must not be null or empty");
         }
@@ -642,7 +731,7 @@ public class MatchServiceImpl implements MatchService {
             throw new IllegalArgumentException("Match UUID must not be null or empty");
         }
 
-        Match match = matchDAO.retrieveMatch(matchUuid);
+        Match match = matchDAO.retrieveMatchSummary(matchUuid);
         if (match == null) {
             throw new IllegalArgumentException("Match UUID is invalid");
         }
@@ -651,7 +740,7 @@ public class MatchServiceImpl implements MatchService {
             throw new IllegalArgumentException("Match has not yet started");
         }
 
-        if (!StringUtils.isBlank(match.getWinner())) {
+        if (!StringUtils.isBlank(match.getWinner()) || match.isDraw()) {
             throw new IllegalArgumentException("Game over");
         }
 
@@ -671,11 +760,15 @@ public class MatchServiceImpl implements MatchService {
 
         matchDAO.updateMatch(match);
 
-        return match;
+        return load(match);
     }
 
     @Override
     public Match draw(final String playerUuid, final String matchUuid) {
+        return retryOnConflict(() -> drawOnce(playerUuid, matchUuid));
+    }
+
+    private Match drawOnce(final String playerUuid, final String matchUuid) {
         if (StringUtils.isBlank(playerUuid)) {
             throw new IllegalArgumentException("Player UUID must not be null or empty");
         }
@@ -684,7 +777,7 @@ public class MatchServiceImpl implements MatchService {
             throw new IllegalArgumentException("Match UUID must not be null or empty");
         }
 
-        Match match = matchDAO.retrieveMatch(matchUuid);
+        Match match = matchDAO.retrieveMatchSummary(matchUuid);
         if (match == null) {
             throw new IllegalArgumentException("Match UUID is invalid");
         }
@@ -693,7 +786,7 @@ public class MatchServiceImpl implements MatchService {
             throw new IllegalArgumentException("Match has not yet started");
         }
 
-        if (!StringUtils.isBlank(match.getWinner())) {
+        if (!StringUtils.isBlank(match.getWinner()) || match.isDraw()) {
             throw new IllegalArgumentException("Game over");
         }
 
@@ -721,7 +814,7 @@ public class MatchServiceImpl implements MatchService {
 
         matchDAO.updateMatch(match);
 
-        return match;
+        return load(match);
     }
 
     @Override
@@ -733,6 +826,24 @@ public class MatchServiceImpl implements MatchService {
         return matchDAO.retrieveMatch(matchUuid);
     }
 
+    @Override
+    public CompletableFuture<Match> retrieveMatchAsync(final String matchUuid) {
+        if (StringUtils.isBlank(matchUuid)) {
+            throw new IllegalArgumentException("Match UUID must not be null or empty");
+        }
+
+        return matchAsyncDAO.retrieveMatch(matchUuid);
+    }
+
+    @Override
+    public Match retrieveMatchSummary(final String matchUuid) {
+        if (StringUtils.isBlank(matchUuid)) {
+            throw new IllegalArgumentException("Match UUID must not be null or empty");
+        }
+
+        return matchDAO.retrieveMatchSummary(matchUuid);
+    }
+
     @Override
     public boolean deleteMatch(String playerUuid, String matchUuid) {
         if (StringUtils.isBlank(playerUuid)) {
@@ -743,7 +854,7 @@ public class MatchServiceImpl implements MatchService {
             throw new IllegalArgumentException("Match UUID must not be null or empty");
         }
 
-        Match match = matchDAO.retrieveMatch(matchUuid);
+        Match match = matchDAO.retrieveMatchSummary(matchUuid);
         if (match == null) {
             throw new IllegalArgumentException("Match UUID is invalid");
         }
@@ -755,9 +866,37 @@ public class MatchServiceImpl implements MatchService {
         return matchDAO.deleteMatch(match);
     }
 
+    /**
+     * Loads the fleets and checkpoints of a {@link Match} that was read as a summary since they are skipped when the
+     * {@link Match} is returned to the client.
+     *
+     * @param match the {@link Match}
+     * @return the fully loaded {@link Match}
+     */
+    private static Match load(Match match) {
+        match.getFleets();
+        match.getCheckpoints();
+
+        return match;
+    }
+
+    /**
+     * Puts the fleet of a player into the fleets unless the player has not yet joined the {@link Match}. The fleet of
+     * the opponent is created when the opponent positions it.
+     *
+     * @param fleets     the {@link Map} containing the UUID's of the players and their {@link Ship}s
+     * @param playerUuid the UUID of the player or {@code null} if the player has not yet joined
+     * @param fleet      the {@link Set} of {@link Ship}s
+     */
+    private static void putFleet(Map<String, Set<Ship>> fleets, String playerUuid, Set<Ship> fleet) {
+        if (playerUuid != null) {
+            fleets.put(playerUuid, fleet);
+        }
+    }
+
     private boolean isPlayerNotInMatch(String playerUuid, Match match) {
-        return !match.getWhitePlayer().equals(playerUuid)
-                && !match.getBlackPlayer().equals(playerUuid);
+        return !playerUuid.equals(match.getWhitePlayer())
+                && !playerUuid.equals(match.getBlackPlayer());
     }
 
     private Set<Ship> getDefaultFleet(Ship.Color color) {
@@ -776,6 +915,104 @@ public class MatchServiceImpl implements MatchService {
         return ships;
     }
 
+    /**
+     * Retrieves a {@link Match} that is over together with its {@link Move}s from the checkpoint before the first
+     * turn up to the last turn so that the earlier history is not read.
+     *
+     * @param matchUuid the UUID of the {@link Match}
+     * @param fromTurn  the first turn to replay
+     * @param toTurn    the last turn to replay
+     * @return the {@link Replay} of the {@link Match}
+     */
+    private Replay replayFinishedMatch(String matchUuid, int fromTurn, int toTurn) {
+        if (StringUtils.isBlank(matchUuid)) {
+            throw new IllegalArgumentException("Match UUID must not be null or empty");
+        }
+
+        if (fromTurn < 0) {
+            throw new IllegalArgumentException("Turn is invalid");
+        }
+
+        // the moves are requested from the expected checkpoint before the match is read so that both round trips
+        // overlap
+        int checkpoint = fromTurn - fromTurn % CHECKPOINT_INTERVAL;
+        CompletableFuture<List<Move>> moves = matchAsyncDAO.retrieveMoves(matchUuid, checkpoint + 1, toTurn);
+
+        Match match = matchDAO.retrieveMatch(matchUuid);
+        if (match == null) {
+            moves.cancel(false);
+            throw new IllegalArgumentException("Match UUID is invalid");
+        }
+
+        if (StringUtils.isBlank(match.getWinner()) && !match.isDraw()) {
+            moves.cancel(false);
+            throw new IllegalArgumentException("Match is not yet over");
+        }
+
+        List<Move> loadedMoves = new ArrayList<>();
+        SortedMap<Integer, Map<String, Set<Ship>>> previousCheckpoints = match.getCheckpoints().headMap(fromTurn + 1);
+        if (!previousCheckpoints.isEmpty() && previousCheckpoints.lastKey() < checkpoint) {
+            // the expected checkpoint is missing so the moves from the one before it are read as well
+            loadedMoves.addAll(matchDAO.retrieveMoves(matchUuid, previousCheckpoints.lastKey() + 1, checkpoint));
+            checkpoint = previousCheckpoints.lastKey();
+        }
+
+        try {
+            loadedMoves.addAll(moves.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+
+        int moveCount = Math.max(0, Math.min(loadedMoves.size(), match.getMoveCount() - checkpoint));
+        match.setMoves(new ArrayList<>(loadedMoves.subList(0, moveCount)));
+
+        return new Replay(match, checkpoint + 1);
+    }
+
+    /**
+     * Runs an operation that retrieves, changes and updates a {@link Match}. The operation is run again with a fresh
+     * copy of the {@link Match} if another request has updated it in the meantime.
+     *
+     * @param operation the operation
+     * @param <T>       the type of the result
+     * @return the result of the operation
+     */
+    private <T> T retryOnConflict(Supplier<T> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (MatchConflictException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw new IllegalArgumentException("Match has been updated, please try again", e);
+                }
+            }
+        }
+    }
+
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(String.format("Limit must be from 1 to %d", MAX_PAGE_SIZE));
+        }
+    }
+
+    private Map<String, Set<Ship>> copyFleets(Match match, Board board) {
+        Map<String, Set<Ship>> fleets = new LinkedHashMap<>();
+        fleets.put(match.getWhitePlayer(), board.getFleet(Ship.Color.WHITE));
+        fleets.put(match.getBlackPlayer(), board.getFleet(Ship.Color.BLACK));
+
+        return fleets;
+    }
+
+    private void endMatch(Match match, String winner, String loser) {
+        match.setWinner(winner);
+        match.setLoser(loser);
+        match.setEndDate(LocalDateTime.now());
+    }
+
     private void toggleTurn(Match match) {
         if (Ship.Color.WHITE == match.getTurn()) {
             match.setTurn(Ship.Color.BLACK);
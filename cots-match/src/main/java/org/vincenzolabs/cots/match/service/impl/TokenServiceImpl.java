@@ -0,0 +1,256 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.service.impl;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vincenzolabs.cots.match.service.TokenService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The implementation of {@link TokenService} which verifies the RS256 signatures against the JSON Web Key Set of the
+ * Cognito user pool. The key set is read from a URL, which can be a local file, and is kept for the lifetime of the
+ * container. It is only read again when a token is signed with an unknown key, and at most once every
+ * {@link #KEY_SET_REFRESH_INTERVAL}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class TokenServiceImpl implements TokenService {
+
+    /**
+     * The minimum interval between reads of the key set.
+     */
+    public static final Duration KEY_SET_REFRESH_INTERVAL = Duration.ofMinutes(5);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenServiceImpl.class);
+
+    private static final Set<String> TOKEN_USES = Set.of("access", "id");
+
+    private static final int TIMEOUT = 2000;
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final String issuer;
+
+    private final String clientId;
+
+    private final String keySetUrl;
+
+    private final Gson gson;
+
+    private final Clock clock;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+
+    private volatile Instant keySetReadDate;
+
+    /**
+     * Default constructor.
+     *
+     * @param issuer    the issuer of the tokens, which is the URL of the Cognito user pool
+     * @param clientId  the ID of the Cognito user pool client that the tokens must be issued to
+     * @param keySetUrl the URL of the JSON Web Key Set
+     * @param gson      the {@link Gson}
+     * @param clock     the {@link Clock}
+     */
+    public TokenServiceImpl(String issuer, String clientId, String keySetUrl, Gson gson, Clock clock) {
+        this.issuer = issuer;
+        this.clientId = clientId;
+        this.keySetUrl = keySetUrl;
+        this.gson = gson;
+        this.clock = clock;
+    }
+
+    @Override
+    public String verify(final String token) {
+        if (StringUtils.isBlank(token)) {
+            throw new IllegalArgumentException("Token cannot be null or empty");
+        }
+
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Token is invalid");
+        }
+
+        JsonObject header = decode(parts[0]);
+        if (!"RS256".equals(getString(header, "alg"))) {
+            throw new IllegalArgumentException("Token algorithm is not supported");
+        }
+
+        PublicKey key = getKey(getString(header, "kid"));
+        if (key == null) {
+            throw new IllegalArgumentException("Token signing key is unknown");
+        }
+
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initVerify(key);
+            signature.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+            if (!signature.verify(DECODER.decode(parts[2]))) {
+                throw new IllegalArgumentException("Token signature is invalid");
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Token signature is invalid", e);
+        }
+
+        JsonObject claims = decode(parts[1]);
+        JsonElement expiry = claims.get("exp");
+        if (expiry == null || !expiry.isJsonPrimitive()
+                || clock.instant().getEpochSecond() >= expiry.getAsLong()) {
+            throw new IllegalArgumentException("Token has expired");
+        }
+
+        if (!issuer.equals(getString(claims, "iss"))) {
+            throw new IllegalArgumentException("Token issuer is invalid");
+        }
+
+        String tokenUse = getString(claims, "token_use");
+        if (!TOKEN_USES.contains(tokenUse)) {
+            throw new IllegalArgumentException("Token use is invalid");
+        }
+
+        // Cognito puts the client in the audience of the ID tokens but in the client_id of the access tokens
+        if (!clientId.equals(getString(claims, "id".equals(tokenUse) ? "aud" : "client_id"))) {
+            throw new IllegalArgumentException("Token audience is invalid");
+        }
+
+        String subject = getString(claims, "sub");
+        if (StringUtils.isBlank(subject)) {
+            throw new IllegalArgumentException("Token subject is invalid");
+        }
+
+        return subject;
+    }
+
+    /**
+     * Returns the signing key with the given ID, reading the key set again if the key is unknown.
+     *
+     * @param keyId the key ID
+     * @return the {@link PublicKey} or {@code null} if it does not exist
+     */
+    private PublicKey getKey(String keyId) {
+        if (keyId == null) {
+            return null;
+        }
+
+        PublicKey key = keys.get(keyId);
+        if (key != null) {
+            return key;
+        }
+
+        synchronized (this) {
+            key = keys.get(keyId);
+            if (key == null && (keySetReadDate == null
+                    || !clock.instant().isBefore(keySetReadDate.plus(KEY_SET_REFRESH_INTERVAL)))) {
+                // a failed read throws before the read date is set so that the next token reads the key set again
+                keys = readKeySet();
+                keySetReadDate = clock.instant();
+                key = keys.get(keyId);
+            }
+        }
+
+        return key;
+    }
+
+    private Map<String, PublicKey> readKeySet() {
+        try {
+            URLConnection connection = new URL(keySetUrl).openConnection();
+            connection.setConnectTimeout(TIMEOUT);
+            connection.setReadTimeout(TIMEOUT);
+
+            JsonObject keySet;
+            try (InputStream inputStream = connection.getInputStream();
+                 Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+                keySet = gson.fromJson(reader, JsonObject.class);
+            }
+
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            Map<String, PublicKey> result = new HashMap<>();
+            JsonArray jsonWebKeys = keySet.getAsJsonArray("keys");
+            for (JsonElement element : jsonWebKeys) {
+                JsonObject jsonWebKey = element.getAsJsonObject();
+                if (!"RSA".equals(getString(jsonWebKey, "kty"))) {
+                    continue;
+                }
+
+                BigInteger modulus = new BigInteger(1, DECODER.decode(getString(jsonWebKey, "n")));
+                BigInteger exponent = new BigInteger(1, DECODER.decode(getString(jsonWebKey, "e")));
+                result.put(getString(jsonWebKey, "kid"),
+                        keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+            }
+
+            LOGGER.info("Read [{}] signing keys from [{}]", result.size(), keySetUrl);
+
+            return result;
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            LOGGER.error("Failed to read key set from [{}]: [{}]", keySetUrl, e.getMessage(), e);
+
+            throw new IllegalStateException("Failed to read key set", e);
+        }
+    }
+
+    private JsonObject decode(String part) {
+        try {
+            return gson.fromJson(new String(DECODER.decode(part), StandardCharsets.UTF_8), JsonObject.class);
+        } catch (JsonParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Token is invalid", e);
+        }
+    }
+
+    private static String getString(JsonObject jsonObject, String name) {
+        if (jsonObject == null) {
+            throw new IllegalArgumentException("Token is invalid");
+        }
+
+        JsonElement element = jsonObject.get(name);
+
+        return element == null || !element.isJsonPrimitive() ? null : element.getAsString();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.simulation;
+
+import org.vincenzolabs.cots.domain.Fleet;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.engine.Board;
+
+import java.util.SplittableRandom;
+
+/**
+ * The {@link Strategy} that selects a random legal move. The legal moves are sampled from the {@link Board} masks
+ * without collecting them first.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class RandomStrategy implements Strategy {
+
+    @Override
+    public int selectMove(Board board, Ship.Color color, SplittableRandom random) {
+        int selectedMove = NONE;
+        int count = 0;
+        for (int i = 0; i < Fleet.SIZE; i++) {
+            Ship.ShipClass shipClass = Fleet.getShipClass(i);
+            for (int index = 0; index < 2; index++) {
+                for (long mask = board.getLegalMoves(color, shipClass, index); mask != 0; mask &= mask - 1) {
+                    // reservoir sampling so that every legal move is equally likely
+                    count++;
+                    if (random.nextInt(count) == 0) {
+                        selectedMove = Strategy.move(shipClass, index << 6 | Long.numberOfTrailingZeros(mask));
+                    }
+                }
+            }
+        }
+
+        return selectedMove;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.simulation;
+
+import org.vincenzolabs.cots.match.service.impl.ArbitrationServiceImpl;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The command line application of the {@link Simulator}. The optional arguments are the number of games, the
+ * parallelism and the seed. Both fleets play with the {@link RandomStrategy}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class SimulationApplication {
+
+    private static final long DEFAULT_GAMES = 1_000_000L;
+
+    /**
+     * Main application.
+     *
+     * @param args the arguments
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_GAMES;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+        try {
+            Simulator simulator = new Simulator(new ArbitrationServiceImpl(), forkJoinPool);
+            Strategy strategy = new RandomStrategy();
+
+            SimulationReport report = simulator.simulate(games, seed, strategy, strategy);
+
+            System.out.printf("Seed: %d, parallelism: %d%n", seed, parallelism);
+            System.out.print(report);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+}
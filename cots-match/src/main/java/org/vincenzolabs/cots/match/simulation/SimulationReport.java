@@ -0,0 +1,205 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.simulation;
+
+import org.vincenzolabs.cots.domain.Fleet;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Ship;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The report of a simulation. The reports of the games played by each task are merged into a single report.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class SimulationReport {
+
+    private long games;
+
+    private long whiteWins;
+
+    private long blackWins;
+
+    private long draws;
+
+    private long turns;
+
+    private long elapsedNanos;
+
+    private final long[] challenges = new long[Fleet.SIZE];
+
+    private final long[] challengesWon = new long[Fleet.SIZE];
+
+    /**
+     * Returns the number of games.
+     *
+     * @return the number of games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the number of games won by {@link Ship.Color#WHITE}.
+     *
+     * @return the number of games won by white
+     */
+    public long getWhiteWins() {
+        return whiteWins;
+    }
+
+    /**
+     * Returns the number of games won by {@link Ship.Color#BLACK}.
+     *
+     * @return the number of games won by black
+     */
+    public long getBlackWins() {
+        return blackWins;
+    }
+
+    /**
+     * Returns the number of drawn games.
+     *
+     * @return the number of drawn games
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Returns the total number of turns of all games.
+     *
+     * @return the total number of turns
+     */
+    public long getTurns() {
+        return turns;
+    }
+
+    /**
+     * Returns the elapsed time of the simulation in nanoseconds.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the average number of turns per game.
+     *
+     * @return the average number of turns per game
+     */
+    public double getAverageLength() {
+        return games == 0 ? 0 : (double) turns / games;
+    }
+
+    /**
+     * Returns the number of games played per second.
+     *
+     * @return the number of games per second
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * Returns the number of challenges that the {@link Ship.ShipClass} took part in either as attacker or defender.
+     *
+     * @param shipClass the {@link Ship.ShipClass}
+     * @return the number of challenges
+     */
+    public long getChallenges(Ship.ShipClass shipClass) {
+        return challenges[shipClass.ordinal()];
+    }
+
+    /**
+     * Returns the ratio of challenges won by the {@link Ship.ShipClass} to the challenges that it took part in.
+     *
+     * @param shipClass the {@link Ship.ShipClass}
+     * @return the win rate from 0 to 1
+     */
+    public double getWinRate(Ship.ShipClass shipClass) {
+        long count = challenges[shipClass.ordinal()];
+
+        return count == 0 ? 0 : (double) challengesWon[shipClass.ordinal()] / count;
+    }
+
+    void recordGame(Ship.Color winner, int gameTurns) {
+        games++;
+        turns += gameTurns;
+        if (winner == Ship.Color.WHITE) {
+            whiteWins++;
+        } else if (winner == Ship.Color.BLACK) {
+            blackWins++;
+        } else {
+            draws++;
+        }
+    }
+
+    void recordChallenge(Ship.ShipClass attackingShipClass, Ship.ShipClass defendingShipClass, Move.Outcome outcome) {
+        challenges[attackingShipClass.ordinal()]++;
+        challenges[defendingShipClass.ordinal()]++;
+        if (outcome == Move.Outcome.ATTACKER_WINS) {
+            challengesWon[attackingShipClass.ordinal()]++;
+        } else if (outcome == Move.Outcome.DEFENDER_WINS) {
+            challengesWon[defendingShipClass.ordinal()]++;
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    SimulationReport merge(SimulationReport report) {
+        games += report.games;
+        whiteWins += report.whiteWins;
+        blackWins += report.blackWins;
+        draws += report.draws;
+        turns += report.turns;
+        for (int i = 0; i < Fleet.SIZE; i++) {
+            challenges[i] += report.challenges[i];
+            challengesWon[i] += report.challengesWon[i];
+        }
+
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games: %d in %.3f s (%.0f games/s)%n", games,
+                elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1), getGamesPerSecond()));
+        sb.append(String.format("Average length: %.1f turns%n", getAverageLength()));
+        sb.append(String.format("White wins: %d, black wins: %d, draws: %d%n", whiteWins, blackWins, draws));
+        sb.append(String.format("%-50s %12s %8s%n", "Ship class", "Challenges", "Win rate"));
+        for (int i = 0; i < Fleet.SIZE; i++) {
+            Ship.ShipClass shipClass = Fleet.getShipClass(i);
+            sb.append(String.format("%-50s %12d %7.1f%%%n", shipClass, getChallenges(shipClass),
+                    getWinRate(shipClass) * 100));
+        }
+
+        return sb.toString();
+    }
+}
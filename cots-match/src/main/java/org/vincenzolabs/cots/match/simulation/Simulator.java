@@ -0,0 +1,195 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.simulation;
+
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.engine.Board;
+import org.vincenzolabs.cots.match.service.ArbitrationService;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The headless simulator which plays games on an in-memory {@link Board} with the same rules as the match service,
+ * i.e. the {@link ArbitrationService} outcomes, the {@link Board#getWinner(Ship.Color)} conditions and the draw by
+ * threefold repetition. The games are split into tasks of a {@link ForkJoinPool} so that all cores are used. Each
+ * game has its own {@link SplittableRandom} derived from the seed and the game number so a simulation is reproducible
+ * regardless of the parallelism.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class Simulator {
+
+    /**
+     * The maximum number of turns of a game before it is declared a draw.
+     */
+    public static final int MAX_TURNS = 1000;
+
+    private static final int GAMES_PER_TASK = 256;
+
+    private final ArbitrationService arbitrationService;
+
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * Default constructor.
+     *
+     * @param arbitrationService the {@link ArbitrationService}
+     * @param forkJoinPool       the {@link ForkJoinPool}
+     */
+    public Simulator(ArbitrationService arbitrationService, ForkJoinPool forkJoinPool) {
+        this.arbitrationService = arbitrationService;
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Simulates the given number of games.
+     *
+     * @param games         the number of games
+     * @param seed          the seed
+     * @param whiteStrategy the {@link Strategy} of {@link Ship.Color#WHITE}
+     * @param blackStrategy the {@link Strategy} of {@link Ship.Color#BLACK}
+     * @return the {@link SimulationReport}
+     */
+    public SimulationReport simulate(long games, long seed, Strategy whiteStrategy, Strategy blackStrategy) {
+        if (games <= 0) {
+            throw new IllegalArgumentException("Number of games must be positive");
+        }
+
+        if (whiteStrategy == null || blackStrategy == null) {
+            throw new IllegalArgumentException("Strategy cannot be null");
+        }
+
+        long start = System.nanoTime();
+        SimulationReport report = forkJoinPool.invoke(
+                new SimulationTask(0, games, seed, whiteStrategy, blackStrategy));
+        report.setElapsedNanos(System.nanoTime() - start);
+
+        return report;
+    }
+
+    private void play(long game, long seed, Strategy whiteStrategy, Strategy blackStrategy,
+            SimulationReport report) {
+        SplittableRandom random = new SplittableRandom(seed + game);
+
+        Board board = new Board();
+        whiteStrategy.deploy(board, Ship.Color.WHITE, random);
+        blackStrategy.deploy(board, Ship.Color.BLACK, random);
+
+        Ship.Color turn = random.nextBoolean() ? Ship.Color.WHITE : Ship.Color.BLACK;
+        Map<Long, Integer> positions = new HashMap<>();
+        positions.put(board.getKey(turn), 1);
+
+        Ship.Color winner = null;
+        int turns = 0;
+        while (turns < MAX_TURNS) {
+            Strategy strategy = turn == Ship.Color.WHITE ? whiteStrategy : blackStrategy;
+            int move = strategy.selectMove(board, turn, random);
+            if (move == Strategy.NONE) {
+                // no ship can move
+                break;
+            }
+
+            Ship.ShipClass shipClass = Strategy.shipClass(move);
+            int target = Strategy.target(move);
+            int source = board.squareOf(turn, shipClass);
+            if (source == Board.NONE || !Board.isNeighbour(source, target) || board.isOccupiedBy(turn, target)) {
+                throw new IllegalArgumentException(String.format("Move of %s is invalid", shipClass));
+            }
+
+            Move.Outcome outcome = Move.Outcome.MOVED;
+            int defendingPiece = board.pieceAt(target);
+            if (defendingPiece != Board.NONE) {
+                Ship.ShipClass defendingShipClass = Board.shipClass(defendingPiece);
+                outcome = arbitrationService.getOutcome(shipClass, defendingShipClass);
+                report.recordChallenge(shipClass, defendingShipClass, outcome);
+
+                // a challenge cannot be undone so earlier positions can never be repeated
+                positions.clear();
+            }
+
+            board.apply(turn, shipClass, target, outcome);
+            turns++;
+
+            winner = board.getWinner(turn);
+            if (winner != null) {
+                break;
+            }
+
+            turn = Board.opponent(turn);
+            if (positions.merge(board.getKey(turn), 1, Integer::sum) >= 3) {
+                // threefold repetition
+                break;
+            }
+        }
+
+        report.recordGame(winner, turns);
+    }
+
+    private class SimulationTask extends RecursiveTask<SimulationReport> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long fromGame;
+
+        private final long toGame;
+
+        private final long seed;
+
+        private final Strategy whiteStrategy;
+
+        private final Strategy blackStrategy;
+
+        SimulationTask(long fromGame, long toGame, long seed, Strategy whiteStrategy, Strategy blackStrategy) {
+            this.fromGame = fromGame;
+            this.toGame = toGame;
+            this.seed = seed;
+            this.whiteStrategy = whiteStrategy;
+            this.blackStrategy = blackStrategy;
+        }
+
+        @Override
+        protected SimulationReport compute() {
+            if (toGame - fromGame <= GAMES_PER_TASK) {
+                SimulationReport report = new SimulationReport();
+                for (long game = fromGame; game < toGame; game++) {
+                    play(game, seed, whiteStrategy, blackStrategy, report);
+                }
+
+                return report;
+            }
+
+            long middleGame = (fromGame + toGame) >>> 1;
+            SimulationTask left = new SimulationTask(fromGame, middleGame, seed, whiteStrategy, blackStrategy);
+            SimulationTask right = new SimulationTask(middleGame, toGame, seed, whiteStrategy, blackStrategy);
+            left.fork();
+
+            return right.compute().merge(left.join());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.simulation;
+
+import org.vincenzolabs.cots.domain.Fleet;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.engine.Board;
+
+import java.util.SplittableRandom;
+
+/**
+ * The strategy of a simulated player. A move is encoded as {@code shipClass * 72 + target} so that selecting a move
+ * does not allocate.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public interface Strategy {
+
+    /**
+     * The value when there is no legal move.
+     */
+    int NONE = Board.NONE;
+
+    /**
+     * Deploys the fleet of the given {@link Ship.Color} within its first 3 rows. The default deployment is random.
+     *
+     * @param board  the {@link Board}
+     * @param color  the {@link Ship.Color}
+     * @param random the {@link SplittableRandom} of the game
+     */
+    default void deploy(Board board, Ship.Color color, SplittableRandom random) {
+        int firstRow = color == Ship.Color.WHITE ? 0 : Board.HEIGHT - 3;
+        int[] squares = new int[3 * Board.WIDTH];
+        for (int i = 0; i < squares.length; i++) {
+            squares[i] = Board.square(i % Board.WIDTH, firstRow + i / Board.WIDTH);
+        }
+
+        for (int i = 0; i < Board.SHIP_CLASSES; i++) {
+            int j = i + random.nextInt(squares.length - i);
+            int square = squares[j];
+            squares[j] = squares[i];
+            squares[i] = square;
+            board.place(color, Fleet.getShipClass(i), square);
+        }
+    }
+
+    /**
+     * Selects the move of the given {@link Ship.Color}.
+     *
+     * @param board  the {@link Board}
+     * @param color  the {@link Ship.Color} to move
+     * @param random the {@link SplittableRandom} of the game
+     * @return the encoded move or {@link #NONE} if there is no legal move
+     */
+    int selectMove(Board board, Ship.Color color, SplittableRandom random);
+
+    /**
+     * Encodes a move.
+     *
+     * @param shipClass the {@link Ship.ShipClass} to move
+     * @param target    the target square
+     * @return the encoded move
+     */
+    static int move(Ship.ShipClass shipClass, int target) {
+        return shipClass.ordinal() * Board.SQUARES + target;
+    }
+
+    /**
+     * Returns the {@link Ship.ShipClass} of the encoded move.
+     *
+     * @param move the encoded move
+     * @return the {@link Ship.ShipClass}
+     */
+    static Ship.ShipClass shipClass(int move) {
+        return Fleet.getShipClass(move / Board.SQUARES);
+    }
+
+    /**
+     * Returns the target square of the encoded move.
+     *
+     * @param move the encoded move
+     * @return the target square
+     */
+    static int target(int move) {
+        return move % Board.SQUARES;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.ai;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vincenzolabs.cots.domain.Fleet;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.engine.Board;
+import org.vincenzolabs.cots.match.service.impl.ArbitrationServiceImpl;
+import org.vincenzolabs.cots.match.simulation.Strategy;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The test case for {@link MonteCarloTreeSearch}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+class MonteCarloTreeSearchTest {
+
+    private static final Duration TIME_BUDGET = Duration.ofMillis(200);
+
+    private ForkJoinPool forkJoinPool;
+
+    private MonteCarloTreeSearch monteCarloTreeSearch;
+
+    @BeforeEach
+    void setUp() {
+        forkJoinPool = new ForkJoinPool(2);
+        monteCarloTreeSearch = new MonteCarloTreeSearch(new ArbitrationServiceImpl(), forkJoinPool, TIME_BUDGET);
+    }
+
+    @AfterEach
+    void tearDown() {
+        forkJoinPool.shutdown();
+    }
+
+    @Test
+    void searchSinksLastShip() {
+        Fleet fleet = new Fleet(Ship.Color.WHITE);
+        fleet.put(Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP, 0, 0);
+        fleet.put(Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER, 4, 4);
+        fleet.put(Ship.ShipClass.NIMITZ_SUBCLASS_AIRCRAFT_CARRIER, 8, 1);
+
+        // the last opponent ship must be the command ship
+        int move = monteCarloTreeSearch.search(fleet, new int[] {Board.square(4, 5)}, 42L);
+
+        assertThat(Strategy.shipClass(move)).isEqualTo(Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER);
+        assertThat(Strategy.target(move)).isEqualTo(Board.square(4, 5));
+    }
+
+    @Test
+    void searchWithinTimeBudget() {
+        Fleet fleet = new Fleet(Ship.Color.BLACK);
+        int[] opponentSquares = new int[Fleet.SIZE];
+        for (int i = 0; i < Fleet.SIZE; i++) {
+            fleet.put(Fleet.getShipClass(i), i % Board.WIDTH, Board.HEIGHT - 1 - i / Board.WIDTH);
+            opponentSquares[i] = Board.square(i % Board.WIDTH, i / Board.WIDTH);
+        }
+
+        long start = System.nanoTime();
+        int move = monteCarloTreeSearch.search(fleet, opponentSquares, 42L);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(move).isNotEqualTo(Strategy.NONE);
+        assertThat(Board.y(Strategy.target(move))).isBetween(Board.HEIGHT - 4, Board.HEIGHT - 3);
+        assertThat(elapsedMillis).isLessThan(TIME_BUDGET.toMillis() + 500);
+    }
+
+    @Test
+    void searchWithoutShips() {
+        Fleet fleet = new Fleet(Ship.Color.WHITE);
+
+        int move = monteCarloTreeSearch.search(fleet, new int[] {Board.square(4, 5)}, 42L);
+
+        assertThat(move).isEqualTo(Strategy.NONE);
+    }
+
+    @Test
+    void searchWithoutOpponentSquares() {
+        Fleet fleet = new Fleet(Ship.Color.WHITE);
+
+        assertThatThrownBy(() -> monteCarloTreeSearch.search(fleet, new int[0], 42L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Opponent squares are invalid");
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.MatchCodec;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Page;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.dao.impl.MatchDAOCachingImpl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The test case for {@link MatchDAOCachingImpl}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+class MatchDAOCachingImplTest {
+
+    private static final Duration MAX_AGE = Duration.ofSeconds(1);
+
+    private StoredMatchDAO storedMatchDAO;
+
+    private MutableClock clock;
+
+    private MatchDAOCachingImpl matchDAO;
+
+    @BeforeEach
+    void setUp() {
+        storedMatchDAO = new StoredMatchDAO();
+        clock = new MutableClock();
+        matchDAO = new MatchDAOCachingImpl(storedMatchDAO, 2, MAX_AGE, clock);
+    }
+
+    @Test
+    void retrieveMatchFromCache() {
+        Match match = matchDAO.createMatch("host");
+
+        Match first = matchDAO.retrieveMatch(match.getUuid());
+        Match second = matchDAO.retrieveMatch(match.getUuid());
+
+        assertThat(storedMatchDAO.reads).isZero();
+        assertThat(first).isEqualTo(match).isNotSameAs(second);
+
+        // each caller gets its own copy
+        first.setWhitePlayer("guest");
+        assertThat(second.getWhitePlayer()).isNull();
+        assertThat(first.getChangedFields()).containsExactly("whitePlayer");
+        assertThat(second.getChangedFields()).isEmpty();
+    }
+
+    @Test
+    void retrieveMatchAfterMaxAge() {
+        Match match = matchDAO.createMatch("host");
+
+        clock.advance(MAX_AGE.plusMillis(1));
+        matchDAO.retrieveMatch(match.getUuid());
+        matchDAO.retrieveMatchSummary(match.getUuid());
+
+        assertThat(storedMatchDAO.reads).isEqualTo(1);
+    }
+
+    @Test
+    void retrieveFinishedMatchAfterMaxAge() {
+        Match match = matchDAO.createMatch("host");
+        match.setStarted(true);
+        match.setWinner("host");
+        assertThat(matchDAO.updateMatch(match)).isTrue();
+
+        clock.advance(Duration.ofHours(1));
+        Match actual = matchDAO.retrieveMatch(match.getUuid());
+
+        assertThat(storedMatchDAO.reads).isZero();
+        assertThat(actual.getWinner()).isEqualTo("host");
+        assertThat(actual.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void updateMatchWithStaleCache() {
+        Match match = matchDAO.createMatch("host");
+        Match stale = matchDAO.retrieveMatch(match.getUuid());
+
+        // another container updates the match
+        Match other = storedMatchDAO.retrieveMatch(match.getUuid());
+        other.setWhitePlayer("guest");
+        storedMatchDAO.updateMatch(other);
+
+        stale.setBlackPlayer("guest");
+        assertThatThrownBy(() -> matchDAO.updateMatch(stale)).isInstanceOf(MatchConflictException.class);
+
+        Match actual = matchDAO.retrieveMatch(match.getUuid());
+        assertThat(actual.getWhitePlayer()).isEqualTo("guest");
+        assertThat(actual.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        Match first = matchDAO.createMatch("first");
+        Match second = matchDAO.createMatch("second");
+        matchDAO.retrieveMatch(first.getUuid());
+        matchDAO.createMatch("third");
+
+        assertThat(matchDAO.size()).isEqualTo(2);
+
+        matchDAO.retrieveMatch(first.getUuid());
+        assertThat(storedMatchDAO.reads).isZero();
+
+        matchDAO.retrieveMatch(second.getUuid());
+        assertThat(storedMatchDAO.reads).isEqualTo(1);
+    }
+
+    @Test
+    void deleteMatch() {
+        Match match = matchDAO.createMatch("host");
+
+        assertThat(matchDAO.deleteMatch(match)).isTrue();
+        assertThat(matchDAO.retrieveMatch(match.getUuid())).isNull();
+        assertThat(matchDAO.size()).isZero();
+    }
+
+    @Test
+    void updateFleetsAfterCacheHit() {
+        Match match = matchDAO.createMatch("host");
+        match.setWhitePlayer("whitePlayer");
+        match.setBlackPlayer("blackPlayer");
+        assertThat(matchDAO.updateMatch(match)).isTrue();
+
+        // the white player deploys first
+        Map<String, Set<Ship>> fleets = new LinkedHashMap<>();
+        fleets.put("whitePlayer", Set.of(ship(Ship.Color.WHITE, 0, 0)));
+        fleets.put("blackPlayer", Set.of(ship(Ship.Color.BLACK, 0, 7)));
+        Map<String, Set<Ship>> previousFleets = match.getFleets();
+        match.setFleets(fleets);
+        assertThat(matchDAO.updateFleets(match, previousFleets)).isTrue();
+
+        matchDAO.retrieveMatch(match.getUuid());
+        Match cached = matchDAO.retrieveMatch(match.getUuid());
+        assertThat(storedMatchDAO.reads).isEqualTo(1);
+        assertThat(cached.getFleets().keySet()).containsExactly("whitePlayer", "blackPlayer");
+
+        // the black player deploys from the cached match
+        fleets = new LinkedHashMap<>();
+        fleets.put("whitePlayer", cached.getFleets().get("whitePlayer"));
+        fleets.put("blackPlayer", Set.of(ship(Ship.Color.BLACK, 1, 7)));
+        previousFleets = cached.getFleets();
+        cached.setFleets(fleets);
+        assertThat(matchDAO.updateFleets(cached, previousFleets)).isTrue();
+    }
+
+    private Ship ship(Ship.Color color, int x, int y) {
+        Ship ship = new Ship();
+        ship.setColor(color);
+        ship.setShipClass(Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP);
+        ship.setCoordinates(new Ship.Coordinates(x, y));
+
+        return ship;
+    }
+
+    /**
+     * The {@link MatchDAO} that keeps copies of the {@link Match}es and counts the reads. Like DynamoDB, the fleets
+     * are stored encoded and only updated if the previous fleets are encoded to the same bytes.
+     */
+    private static class StoredMatchDAO implements MatchDAO {
+
+        private final Map<String, Match> matches = new HashMap<>();
+
+        private int reads;
+
+        @Override
+        public Match createMatch(String playerUuid) {
+            Match match = new Match();
+            match.setUuid(Integer.toString(matches.size()));
+            match.setHost(playerUuid);
+            match.clearChangedFields();
+            matches.put(match.getUuid(), new Match(match));
+
+            return match;
+        }
+
+        @Override
+        public Match retrieveMatch(String matchUuid) {
+            reads++;
+
+            Match match = matches.get(matchUuid);
+
+            return match == null ? null : new Match(match);
+        }
+
+        @Override
+        public Match retrieveMatchSummary(String matchUuid) {
+            return retrieveMatch(matchUuid);
+        }
+
+        @Override
+        public Page<Match> retrieveFinishedMatches(int limit, String cursor) {
+            return new Page<>(List.of(), null);
+        }
+
+        @Override
+        public Page<Match> retrieveActiveMatches(int limit, String cursor) {
+            return new Page<>(List.of(), null);
+        }
+
+        @Override
+        public Page<Match> retrieveUnstartedMatches(int limit, String cursor) {
+            return new Page<>(List.of(), null);
+        }
+
+        @Override
+        public boolean updateMatch(Match match) {
+            if (matches.get(match.getUuid()).getVersion() != match.getVersion()) {
+                throw new MatchConflictException(match.getUuid(), match.getVersion(), null);
+            }
+
+            match.setVersion(match.getVersion() + 1);
+            match.clearChangedFields();
+            matches.put(match.getUuid(), new Match(match));
+
+            return true;
+        }
+
+        @Override
+        public boolean updateFleets(Match match, Map<String, Set<Ship>> previousFleets) {
+            byte[] storedFleets = encodeFleets(matches.get(match.getUuid()).getFleets());
+            if (!Arrays.equals(storedFleets, encodeFleets(previousFleets))) {
+                return false;
+            }
+
+            Match storedMatch = matches.get(match.getUuid());
+            storedMatch.setFleets(MatchCodec.decodeFleets(MatchCodec.encodeFleets(match.getFleets(), false)));
+            storedMatch.setVersion(storedMatch.getVersion() + 1);
+            storedMatch.clearChangedFields();
+            match.setVersion(storedMatch.getVersion());
+
+            return true;
+        }
+
+        private byte[] encodeFleets(Map<String, Set<Ship>> fleets) {
+            return fleets == null || fleets.isEmpty() ? new byte[0] : MatchCodec.encodeFleets(fleets, false);
+        }
+
+        @Override
+        public boolean appendMove(String matchUuid, Move move) {
+            return true;
+        }
+
+        @Override
+        public List<Move> retrieveMoves(String matchUuid, int fromTurn, int toTurn) {
+            return List.of();
+        }
+
+        @Override
+        public boolean deleteMatch(Match match) {
+            return matches.remove(match.getUuid()) != null;
+        }
+    }
+
+    /**
+     * The {@link Clock} that only moves when told to.
+     */
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.EPOCH;
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
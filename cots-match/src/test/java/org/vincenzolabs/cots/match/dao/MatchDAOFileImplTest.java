@@ -0,0 +1,232 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.dao.impl.MatchDAOFileImpl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.vincenzolabs.cots.match.dao.MatchFixtures.getMove;
+import static org.vincenzolabs.cots.match.dao.MatchFixtures.getShip;
+
+/**
+ * The test case for {@link MatchDAOFileImpl}. The behaviour shared with the other {@link MatchDAO}s is covered by
+ * {@link MatchDAOInMemoryImplTest} so this only covers the recovery and compaction of the log.
+ *
+ * @author Rey Vincent Babilonia
+ */
+class MatchDAOFileImplTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private MatchDAOFileImpl matchDAO;
+
+    @BeforeEach
+    void setUp() {
+        matchDAO = new MatchDAOFileImpl(directory, SEGMENT_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchDAO.close();
+    }
+
+    @Test
+    void retrieveMatchAfterReopening() {
+        String playerUuid = UUID.randomUUID().toString();
+        Match expected = matchDAO.createMatch(playerUuid);
+
+        expected.setFleets(Map.of(playerUuid, Set.of(getShip(3, 3))));
+        matchDAO.updateFleets(expected, null);
+
+        Match started = matchDAO.retrieveMatch(expected.getUuid());
+        started.setStarted(true);
+        started.setStartDate(LocalDateTime.now());
+        started.setTurn(Ship.Color.WHITE);
+        started.putCheckpoint(0, started.getFleets());
+        started.countPosition(42L);
+        matchDAO.updateMatch(started);
+
+        // the encoded checkpoint is reused by the next version
+        started.setMoveCount(1);
+        started.countPosition(42L);
+        matchDAO.updateMatch(started);
+
+        reopen();
+
+        Match actual = matchDAO.retrieveMatch(expected.getUuid());
+        assertThat(actual).isEqualTo(expected);
+        assertThat(actual.getHost()).isEqualTo(playerUuid);
+        assertThat(actual.getCreationDate()).isEqualTo(expected.getCreationDate());
+        assertThat(actual.getStartDate()).isEqualTo(started.getStartDate());
+        assertThat(actual.hasStarted()).isTrue();
+        assertThat(actual.getTurn()).isEqualTo(Ship.Color.WHITE);
+        assertThat(actual.getMoveCount()).isEqualTo(1);
+        assertThat(actual.getVersion()).isEqualTo(3);
+        assertThat(actual.getChangedFields()).isEmpty();
+        assertThat(actual.getFleets().get(playerUuid).iterator().next().getCoordinates())
+                .isEqualTo(new Ship.Coordinates(3, 3));
+        assertThat(actual.getCheckpoints()).containsOnlyKeys(0);
+        assertThat(actual.getCheckpoints().get(0).get(playerUuid).iterator().next().getCoordinates())
+                .isEqualTo(new Ship.Coordinates(3, 3));
+        assertThat(actual.getPositionCounts()).containsExactly(Map.entry(42L, 2));
+
+        assertThat(matchDAO.retrieveUnstartedMatches(20, null).getItems()).isEmpty();
+        assertThat(matchDAO.retrieveActiveMatches(20, null).getItems()).containsExactly(expected);
+        assertThat(matchDAO.retrieveMatch(UUID.randomUUID().toString())).isNull();
+    }
+
+    @Test
+    void retrieveMovesAfterReopening() {
+        Match match = matchDAO.createMatch(UUID.randomUUID().toString());
+        for (int turn = 1; turn <= 3; turn++) {
+            matchDAO.appendMove(match.getUuid(), getMove(turn));
+        }
+
+        // the latest move is logged with the match
+        match.addMove(getMove(4));
+        matchDAO.updateMatch(match);
+
+        reopen();
+
+        assertThat(matchDAO.retrieveMoves(match.getUuid(), 1, 4))
+                .extracting("turn")
+                .containsExactly(1, 2, 3, 4);
+        assertThat(matchDAO.retrieveMoves(match.getUuid(), 2, 3))
+                .extracting("to")
+                .containsExactly(new Ship.Coordinates(2, 1), new Ship.Coordinates(3, 1));
+        assertThat(matchDAO.appendMove(match.getUuid(), getMove(4))).isFalse();
+    }
+
+    @Test
+    void ignoreTornRecord() throws IOException {
+        Match match = matchDAO.createMatch(UUID.randomUUID().toString());
+        matchDAO.close();
+
+        // a record torn by a crash has its body written but not its length
+        Path segment = directory.resolve("match-0000000001.log");
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, 0);
+            int end = Integer.BYTES + length.flip().getInt();
+
+            channel.write(ByteBuffer.wrap(new byte[] {2, 0, 4, 't', 'o', 'r', 'n'}), end + Integer.BYTES);
+        }
+
+        matchDAO = new MatchDAOFileImpl(directory, SEGMENT_SIZE);
+        assertThat(matchDAO.retrieveMatch(match.getUuid())).isEqualTo(match);
+
+        // the torn record is overwritten by the next record
+        Match next = matchDAO.createMatch(UUID.randomUUID().toString());
+
+        reopen();
+
+        assertThat(matchDAO.retrieveMatch(match.getUuid())).isEqualTo(match);
+        assertThat(matchDAO.retrieveMatch(next.getUuid())).isEqualTo(next);
+        assertThat(matchDAO.retrieveMoves("torn", 1, 1)).isEmpty();
+    }
+
+    @Test
+    void compact() throws IOException {
+        Match match = matchDAO.createMatch(UUID.randomUUID().toString());
+        for (int turn = 1; turn <= 200; turn++) {
+            match.setMoveCount(turn);
+            match.addMove(getMove(turn));
+            matchDAO.updateMatch(match);
+        }
+
+        Match deleted = matchDAO.createMatch(UUID.randomUUID().toString());
+        matchDAO.deleteMatch(deleted);
+
+        // fill the rest of the log with superseded versions until the segments roll over
+        for (int i = 0; i < 50; i++) {
+            match.setMoveCount(200);
+            matchDAO.updateMatch(match);
+        }
+
+        // closing waits for the compactions started by the writes
+        reopen();
+        matchDAO.compact();
+
+        // the 250 versions of the match would need more than 10 segments if they had not been compacted
+        try (Stream<Path> segments = Files.list(directory)) {
+            assertThat(segments.count()).isLessThan(8);
+        }
+
+        reopen();
+
+        Match actual = matchDAO.retrieveMatch(match.getUuid());
+        assertThat(actual.getMoveCount()).isEqualTo(200);
+        assertThat(actual.getVersion()).isEqualTo(250);
+        assertThat(matchDAO.retrieveMoves(match.getUuid(), 1, 200)).hasSize(200);
+        assertThat(matchDAO.retrieveMatch(deleted.getUuid())).isNull();
+        assertThat(matchDAO.retrieveUnstartedMatches(20, null).getItems()).containsExactly(match);
+    }
+
+    @Test
+    void deleteMatchAfterReopening() {
+        String playerUuid = UUID.randomUUID().toString();
+        Match match = matchDAO.createMatch(playerUuid);
+        matchDAO.appendMove(match.getUuid(), getMove(1));
+
+        Match other = matchDAO.retrieveMatch(match.getUuid());
+        other.setHost(UUID.randomUUID().toString());
+        assertThatThrownBy(() -> matchDAO.deleteMatch(other))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(matchDAO.deleteMatch(match)).isTrue();
+
+        reopen();
+
+        assertThat(matchDAO.retrieveMatch(match.getUuid())).isNull();
+        assertThat(matchDAO.retrieveMoves(match.getUuid(), 1, 1)).isEmpty();
+        assertThat(matchDAO.retrieveUnstartedMatches(20, null).getItems()).isEmpty();
+    }
+
+    private void reopen() {
+        matchDAO.close();
+        matchDAO = new MatchDAOFileImpl(directory, SEGMENT_SIZE);
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Page;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.dao.impl.MatchDAOInMemoryImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.vincenzolabs.cots.match.dao.MatchFixtures.getMove;
+import static org.vincenzolabs.cots.match.dao.MatchFixtures.getShip;
+
+/**
+ * The test case for {@link MatchDAOInMemoryImpl}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+class MatchDAOInMemoryImplTest {
+
+    private MatchDAOInMemoryImpl matchDAO;
+
+    @BeforeEach
+    void setUp() {
+        matchDAO = new MatchDAOInMemoryImpl();
+    }
+
+    @Test
+    void retrieveMatch() {
+        String playerUuid = UUID.randomUUID().toString();
+
+        Match expected = matchDAO.createMatch(playerUuid);
+
+        Match actual = matchDAO.retrieveMatch(expected.getUuid());
+        assertThat(actual).isEqualTo(expected).isNotSameAs(expected);
+        assertThat(actual.getHost()).isEqualTo(playerUuid);
+        assertThat(actual.getChangedFields()).isEmpty();
+
+        // the stored match is not shared with the callers
+        actual.setWinner(playerUuid);
+        assertThat(matchDAO.retrieveMatch(expected.getUuid()).getWinner()).isNull();
+
+        assertThat(matchDAO.retrieveMatch(UUID.randomUUID().toString())).isNull();
+        assertThat(matchDAO.retrieveMatchSummary(UUID.randomUUID().toString())).isNull();
+    }
+
+    @Test
+    void retrieveUnstartedMatchesByPage() throws InterruptedException {
+        Match first = matchDAO.createMatch(UUID.randomUUID().toString());
+        Thread.sleep(1);
+        Match second = matchDAO.createMatch(UUID.randomUUID().toString());
+        Thread.sleep(1);
+        Match third = matchDAO.createMatch(UUID.randomUUID().toString());
+
+        Page<Match> page = matchDAO.retrieveUnstartedMatches(2, null);
+        assertThat(page.getItems()).containsExactly(third, second);
+        assertThat(page.hasNext()).isTrue();
+
+        page = matchDAO.retrieveUnstartedMatches(2, page.getCursor());
+        assertThat(page.getItems()).containsExactly(first);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void retrieveUnstartedMatchesWithInvalidCursor() {
+        assertThatThrownBy(() -> matchDAO.retrieveUnstartedMatches(2, "invalid"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor is invalid");
+    }
+
+    @Test
+    void retrieveMatchesAfterStatusChange() {
+        String playerUuid = UUID.randomUUID().toString();
+
+        Match expected = matchDAO.createMatch(playerUuid);
+        assertThat(matchDAO.retrieveUnstartedMatches(20, null).getItems()).containsExactly(expected);
+
+        expected.setStarted(true);
+        expected.setStartDate(LocalDateTime.now());
+        matchDAO.updateMatch(expected);
+
+        assertThat(matchDAO.retrieveUnstartedMatches(20, null).getItems()).isEmpty();
+        assertThat(matchDAO.retrieveActiveMatches(20, null).getItems()).containsExactly(expected);
+
+        expected.setWinner(playerUuid);
+        expected.setEndDate(LocalDateTime.now());
+        matchDAO.updateMatch(expected);
+
+        assertThat(matchDAO.retrieveActiveMatches(20, null).getItems()).isEmpty();
+        assertThat(matchDAO.retrieveFinishedMatches(20, null).getItems()).containsExactly(expected);
+    }
+
+    @Test
+    void updateMatchWithStaleVersion() {
+        Match match = matchDAO.createMatch(UUID.randomUUID().toString());
+        Match stale = matchDAO.retrieveMatch(match.getUuid());
+
+        match.setStarted(true);
+        assertThat(matchDAO.updateMatch(match)).isTrue();
+        assertThat(match.getVersion()).isEqualTo(1);
+        assertThat(match.getChangedFields()).isEmpty();
+
+        stale.setDraw(true);
+        assertThatThrownBy(() -> matchDAO.updateMatch(stale))
+                .isInstanceOf(MatchConflictException.class);
+
+        Match actual = matchDAO.retrieveMatch(match.getUuid());
+        assertThat(actual.isDraw()).isFalse();
+        assertThat(actual.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void updateMatchAfterDeletion() {
+        Match match = matchDAO.createMatch(UUID.randomUUID().toString());
+        Match deleted = matchDAO.retrieveMatch(match.getUuid());
+
+        assertThat(matchDAO.deleteMatch(match)).isTrue();
+
+        // the update must not write the changed fields back as a new match
+        deleted.setWhitePlayerAgreedToDraw(true);
+        assertThatThrownBy(() -> matchDAO.updateMatch(deleted))
+                .isInstanceOf(MatchConflictException.class);
+
+        assertThat(matchDAO.retrieveMatch(match.getUuid())).isNull();
+    }
+
+    @Test
+    void updateMatchConcurrently() throws Exception {
+        Match match = matchDAO.createMatch(UUID.randomUUID().toString());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(executorService.submit(() -> {
+                    while (true) {
+                        Match current = matchDAO.retrieveMatch(match.getUuid());
+                        current.setMoveCount(current.getMoveCount() + 1);
+                        try {
+                            matchDAO.updateMatch(current);
+
+                            return;
+                        } catch (MatchConflictException e) {
+                            // retry with a fresh copy
+                        }
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        Match actual = matchDAO.retrieveMatch(match.getUuid());
+        assertThat(actual.getMoveCount()).isEqualTo(100);
+        assertThat(actual.getVersion()).isEqualTo(100);
+    }
+
+    @Test
+    void updateFleets() {
+        String playerUuid = UUID.randomUUID().toString();
+        Match match = matchDAO.createMatch(playerUuid);
+
+        Map<String, Set<Ship>> fleets = Map.of(playerUuid, Set.of(getShip(3, 3)));
+        match.setFleets(fleets);
+        assertThat(matchDAO.updateFleets(match, null)).isTrue();
+        assertThat(match.getVersion()).isEqualTo(1);
+
+        // the ships are equal wherever they are so the previous fleets must be compared by position
+        match.setFleets(Map.of(playerUuid, Set.of(getShip(4, 4))));
+        assertThat(matchDAO.updateFleets(match, Map.of(playerUuid, Set.of(getShip(5, 5))))).isFalse();
+        assertThat(matchDAO.updateFleets(match, null)).isFalse();
+        assertThat(matchDAO.updateFleets(match, fleets)).isTrue();
+        assertThat(match.getVersion()).isEqualTo(2);
+
+        Match actual = matchDAO.retrieveMatch(match.getUuid());
+        assertThat(actual.getFleets().get(playerUuid).iterator().next().getCoordinates())
+                .isEqualTo(new Ship.Coordinates(4, 4));
+
+        actual.setStarted(true);
+        matchDAO.updateMatch(actual);
+        assertThat(matchDAO.updateFleets(actual, actual.getFleets())).isFalse();
+    }
+
+    @Test
+    void appendAndRetrieveMoves() {
+        Match match = matchDAO.createMatch(UUID.randomUUID().toString());
+
+        for (int turn = 1; turn <= 3; turn++) {
+            Move move = getMove(turn);
+
+            assertThat(matchDAO.appendMove(match.getUuid(), move)).isTrue();
+            assertThat(matchDAO.appendMove(match.getUuid(), move)).isFalse();
+        }
+
+        // the latest move is logged with the match
+        match.addMove(getMove(4));
+        matchDAO.updateMatch(match);
+
+        assertThat(matchDAO.retrieveMoves(match.getUuid(), 1, 4))
+                .extracting("turn")
+                .containsExactly(1, 2, 3, 4);
+        assertThat(matchDAO.retrieveMoves(match.getUuid(), 2, 3))
+                .extracting("turn")
+                .containsExactly(2, 3);
+        assertThat(matchDAO.retrieveMoves(match.getUuid(), 3, 2)).isEmpty();
+        assertThat(matchDAO.retrieveMoves(UUID.randomUUID().toString(), 1, 4)).isEmpty();
+        assertThat(matchDAO.retrieveMatch(match.getUuid()).getMoves()).isEmpty();
+    }
+
+    @Test
+    void deleteMatch() {
+        String playerUuid = UUID.randomUUID().toString();
+        Match match = matchDAO.createMatch(playerUuid);
+
+        Match other = matchDAO.retrieveMatch(match.getUuid());
+        other.setHost(UUID.randomUUID().toString());
+        assertThatThrownBy(() -> matchDAO.deleteMatch(other))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(matchDAO.deleteMatch(match)).isTrue();
+        assertThat(matchDAO.retrieveMatch(match.getUuid())).isNull();
+        assertThat(matchDAO.retrieveUnstartedMatches(20, null).getItems()).isEmpty();
+    }
+}
@@ -28,29 +28,42 @@ import by.dev.madhead.aws_junit5.common.AWSEndpoint;
 import by.dev.madhead.aws_junit5.dynamo.v2.DynamoDB;
 import com.google.gson.GsonBuilder;
 import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Page;
 import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.dao.impl.MatchAsyncDAODynamoDBImpl;
 import org.vincenzolabs.cots.match.dao.impl.MatchDAODynamoDBImpl;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.platform.commons.util.StringUtils;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DeleteTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndex;
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.Projection;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
 import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughput;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * The test case for {@link MatchDAO}.
@@ -62,11 +75,18 @@ class MatchDAOTest {
 
     private static final String MATCH_TABLE_NAME = "match";
 
+    private static final String MOVE_TABLE_NAME = "move";
+
     @AWSClient(endpoint = Endpoint.class)
     private DynamoDbClient dynamoDbClient;
 
+    @AWSClient(endpoint = Endpoint.class)
+    private DynamoDbAsyncClient dynamoDbAsyncClient;
+
     private MatchDAO matchDAO;
 
+    private MatchAsyncDAO matchAsyncDAO;
+
     @BeforeEach
     void setUp() {
         CreateTableRequest createTableRequest = CreateTableRequest.builder()
@@ -75,19 +95,118 @@ class MatchDAOTest {
                         .attributeName("uuid")
                         .keyType(KeyType.HASH)
                         .build())
-                .attributeDefinitions(AttributeDefinition.builder()
-                        .attributeName("uuid")
-                        .attributeType(ScalarAttributeType.S)
-                        .build())
+                .attributeDefinitions(
+                        AttributeDefinition.builder()
+                                .attributeName("uuid")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("creationDate")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("unstartedStatus")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("activeStatus")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("finishedStatus")
+                                .attributeType(ScalarAttributeType.S)
+                                .build())
                 .provisionedThroughput(ProvisionedThroughput.builder()
                         .readCapacityUnits(5L)
                         .writeCapacityUnits(5L)
                         .build())
+                .globalSecondaryIndexes(
+                        GlobalSecondaryIndex.builder()
+                                .indexName("unstartedMatches")
+                                .keySchema(KeySchemaElement.builder()
+                                                .attributeName("unstartedStatus")
+                                                .keyType(KeyType.HASH)
+                                                .build(),
+                                        KeySchemaElement.builder()
+                                                .attributeName("creationDate")
+                                                .keyType(KeyType.RANGE)
+                                                .build())
+                                .projection(Projection.builder()
+                                        .projectionType(ProjectionType.ALL)
+                                        .build())
+                                .provisionedThroughput(ProvisionedThroughput.builder()
+                                        .readCapacityUnits(5L)
+                                        .writeCapacityUnits(5L)
+                                        .build())
+                                .build(),
+                        GlobalSecondaryIndex.builder()
+                                .indexName("activeMatches")
+                                .keySchema(KeySchemaElement.builder()
+                                                .attributeName("activeStatus")
+                                                .keyType(KeyType.HASH)
+                                                .build(),
+                                        KeySchemaElement.builder()
+                                                .attributeName("creationDate")
+                                                .keyType(KeyType.RANGE)
+                                                .build())
+                                .projection(Projection.builder()
+                                        .projectionType(ProjectionType.ALL)
+                                        .build())
+                                .provisionedThroughput(ProvisionedThroughput.builder()
+                                        .readCapacityUnits(5L)
+                                        .writeCapacityUnits(5L)
+                                        .build())
+                                .build(),
+                        GlobalSecondaryIndex.builder()
+                                .indexName("finishedMatches")
+                                .keySchema(KeySchemaElement.builder()
+                                                .attributeName("finishedStatus")
+                                                .keyType(KeyType.HASH)
+                                                .build(),
+                                        KeySchemaElement.builder()
+                                                .attributeName("creationDate")
+                                                .keyType(KeyType.RANGE)
+                                                .build())
+                                .projection(Projection.builder()
+                                        .projectionType(ProjectionType.ALL)
+                                        .build())
+                                .provisionedThroughput(ProvisionedThroughput.builder()
+                                        .readCapacityUnits(5L)
+                                        .writeCapacityUnits(5L)
+                                        .build())
+                                .build())
                 .build();
 
         dynamoDbClient.createTable(createTableRequest);
 
+        dynamoDbClient.createTable(CreateTableRequest.builder()
+                .tableName(MOVE_TABLE_NAME)
+                .keySchema(
+                        KeySchemaElement.builder()
+                                .attributeName("matchUuid")
+                                .keyType(KeyType.HASH)
+                                .build(),
+                        KeySchemaElement.builder()
+                                .attributeName("turn")
+                                .keyType(KeyType.RANGE)
+                                .build())
+                .attributeDefinitions(
+                        AttributeDefinition.builder()
+                                .attributeName("matchUuid")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("turn")
+                                .attributeType(ScalarAttributeType.N)
+                                .build())
+                .provisionedThroughput(ProvisionedThroughput.builder()
+                        .readCapacityUnits(5L)
+                        .writeCapacityUnits(5L)
+                        .build())
+                .build());
+
         matchDAO = new MatchDAODynamoDBImpl(dynamoDbClient, new GsonBuilder().create());
+        matchAsyncDAO = new MatchAsyncDAODynamoDBImpl(dynamoDbAsyncClient, new GsonBuilder().create());
     }
 
     @AfterEach
@@ -97,6 +216,9 @@ class MatchDAOTest {
                 .build();
 
         dynamoDbClient.deleteTable(deleteTableRequest);
+        dynamoDbClient.deleteTable(DeleteTableRequest.builder()
+                .tableName(MOVE_TABLE_NAME)
+                .build());
     }
 
     @Test
@@ -135,6 +257,47 @@ class MatchDAOTest {
         assertThat(actual).isEqualTo(expected);
     }
 
+    @Test
+    void retrieveMatchAsync() {
+        String playerUuid = UUID.randomUUID().toString();
+
+        Match expected = matchDAO.createMatch(playerUuid);
+
+        CompletableFuture<Match> actual = matchAsyncDAO.retrieveMatch(expected.getUuid());
+        CompletableFuture<Match> missing = matchAsyncDAO.retrieveMatch(UUID.randomUUID().toString());
+
+        assertThat(actual.join()).isEqualTo(expected);
+        assertThat(missing.join()).isNull();
+    }
+
+    @Test
+    void retrieveMatchSummary() {
+        String playerUuid = UUID.randomUUID().toString();
+
+        Match expected = matchDAO.createMatch(playerUuid);
+
+        Ship ship = new Ship();
+        ship.setColor(Ship.Color.WHITE);
+        ship.setShipClass(Ship.ShipClass.AMERICA_CLASS_AMPHIBIOUS_ASSAULT_SHIP);
+        ship.setCoordinates(new Ship.Coordinates(3, 3));
+        Map<String, Set<Ship>> fleets = Map.of(playerUuid, Set.of(ship));
+        expected.setFleets(fleets);
+        expected.putCheckpoint(0, fleets);
+        assertThat(matchDAO.updateMatch(expected)).isTrue();
+
+        Match actual = matchDAO.retrieveMatchSummary(expected.getUuid());
+        assertThat(actual).isEqualTo(expected);
+        assertThat(actual.getHost()).isEqualTo(playerUuid);
+        assertThat(actual.getVersion()).isEqualTo(expected.getVersion());
+
+        // the fleets and checkpoints are loaded on first access without being marked as changed
+        assertThat(actual.getFleets()).isEqualTo(fleets);
+        assertThat(actual.getCheckpoints()).containsOnlyKeys(0);
+        assertThat(actual.getChangedFields()).isEmpty();
+
+        assertThat(matchDAO.retrieveMatchSummary(UUID.randomUUID().toString())).isNull();
+    }
+
     @Test
     void retrieveFinishedMatches() {
         String playerUuid = UUID.randomUUID().toString();
@@ -145,7 +308,7 @@ class MatchDAOTest {
         expected.setEndDate(LocalDateTime.now().minusHours(1));
         matchDAO.updateMatch(expected);
 
-        Set<Match> matches = matchDAO.retrieveFinishedMatches();
+        List<Match> matches = matchDAO.retrieveFinishedMatches(20, null).getItems();
         assertThat(matches).hasSize(1)
                 .first()
                 .extracting("winner", "draw")
@@ -162,7 +325,7 @@ class MatchDAOTest {
         expected.setEndDate(LocalDateTime.now().minusHours(1));
         matchDAO.updateMatch(expected);
 
-        Set<Match> matches = matchDAO.retrieveFinishedMatches();
+        List<Match> matches = matchDAO.retrieveFinishedMatches(20, null).getItems();
         assertThat(matches).hasSize(1)
                 .first()
                 .extracting("winner", "draw")
@@ -178,7 +341,7 @@ class MatchDAOTest {
         expected.setStartDate(LocalDateTime.now());
         matchDAO.updateMatch(expected);
 
-        Set<Match> matches = matchDAO.retrieveActiveMatches();
+        List<Match> matches = matchDAO.retrieveActiveMatches(20, null).getItems();
         assertThat(matches).hasSize(1)
                 .first()
                 .extracting("winner", "draw", "started")
@@ -191,13 +354,55 @@ class MatchDAOTest {
 
         matchDAO.createMatch(playerUuid);
 
-        Set<Match> matches = matchDAO.retrieveUnstartedMatches();
+        List<Match> matches = matchDAO.retrieveUnstartedMatches(20, null).getItems();
         assertThat(matches).hasSize(1)
                 .first()
                 .extracting("host", "started")
                 .containsExactly(playerUuid, false);
     }
 
+    @Test
+    void retrieveUnstartedMatchesByPage() {
+        Match first = matchDAO.createMatch(UUID.randomUUID().toString());
+        Match second = matchDAO.createMatch(UUID.randomUUID().toString());
+        Match third = matchDAO.createMatch(UUID.randomUUID().toString());
+
+        Page<Match> page = matchDAO.retrieveUnstartedMatches(2, null);
+        assertThat(page.getItems()).containsExactly(third, second);
+        assertThat(page.hasNext()).isTrue();
+
+        page = matchDAO.retrieveUnstartedMatches(2, page.getCursor());
+        assertThat(page.getItems()).containsExactly(first);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void retrieveUnstartedMatchesWithInvalidCursor() {
+        assertThatThrownBy(() -> matchDAO.retrieveUnstartedMatches(2, "invalid"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor is invalid");
+    }
+
+    @Test
+    void retrieveMatchesAfterStatusChange() {
+        String playerUuid = UUID.randomUUID().toString();
+
+        Match expected = matchDAO.createMatch(playerUuid);
+        expected.setStarted(true);
+        expected.setStartDate(LocalDateTime.now());
+        matchDAO.updateMatch(expected);
+
+        assertThat(matchDAO.retrieveUnstartedMatches(20, null).getItems()).isEmpty();
+        assertThat(matchDAO.retrieveActiveMatches(20, null).getItems()).containsExactly(expected);
+
+        expected.setWinner(playerUuid);
+        expected.setEndDate(LocalDateTime.now());
+        matchDAO.updateMatch(expected);
+
+        assertThat(matchDAO.retrieveActiveMatches(20, null).getItems()).isEmpty();
+        assertThat(matchDAO.retrieveFinishedMatches(20, null).getItems()).containsExactly(expected);
+    }
+
     @Test
     void updateMatch() {
         String playerUuid = UUID.randomUUID().toString();
@@ -227,6 +432,7 @@ class MatchDAOTest {
         whiteShip.setShipClass(Ship.ShipClass.AMERICA_CLASS_AMPHIBIOUS_ASSAULT_SHIP);
         whiteShip.setCoordinates(new Ship.Coordinates(3, 3));
         expected.setFleets(Map.of(whitePlayer, Collections.singleton(whiteShip)));
+        expected.putCheckpoint(0, expected.getFleets());
 
         assertThat(matchDAO.updateMatch(expected)).isTrue();
 
@@ -236,6 +442,29 @@ class MatchDAOTest {
         blackShip.setCoordinates(new Ship.Coordinates(6, 6));
         expected.setFleets(Map.of(blackPlayer, Set.of(blackShip)));
 
+        Move whiteMove = Move.builder()
+                .withTurn(1)
+                .withColor(Ship.Color.WHITE)
+                .withShipClass(Ship.ShipClass.AMERICA_CLASS_AMPHIBIOUS_ASSAULT_SHIP)
+                .withFrom(new Ship.Coordinates(3, 3))
+                .withTo(new Ship.Coordinates(3, 4))
+                .withOutcome(Move.Outcome.MOVED)
+                .build();
+        expected.addMove(whiteMove);
+
+        assertThat(matchDAO.updateMatch(expected)).isTrue();
+
+        Move blackMove = Move.builder()
+                .withTurn(2)
+                .withColor(Ship.Color.BLACK)
+                .withShipClass(Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER)
+                .withFrom(new Ship.Coordinates(6, 6))
+                .withTo(new Ship.Coordinates(6, 5))
+                .withOutcome(Move.Outcome.MOVED)
+                .build();
+        expected.addMove(blackMove);
+
+        assertThat(matchDAO.updateMatch(expected)).isTrue();
         assertThat(matchDAO.updateMatch(expected)).isTrue();
 
         Match actual = matchDAO.retrieveMatch(expected.getUuid());
@@ -247,11 +476,210 @@ class MatchDAOTest {
                 .containsExactly(expected.getUuid(), whitePlayer, blackPlayer, false,
                         false, false, playerUuid, true,
                         true, true);
-        assertThat(actual.getMoves()).hasSize(2);
+        assertThat(actual.getMoves()).isEmpty();
+        assertThat(actual.getMoveCount()).isEqualTo(2);
+        assertThat(matchDAO.retrieveMoves(actual.getUuid(), 1, actual.getMoveCount()))
+                .containsExactly(whiteMove, blackMove);
         assertThat(actual.getFleets()).hasSize(1);
 
-        assertThat(actual.getMoves().get(0)).isEqualTo(Map.of(whitePlayer, Set.of(whiteShip)));
-        assertThat(actual.getMoves().get(1)).isEqualTo(Map.of(blackPlayer, Set.of(blackShip)));
+        assertThat(actual.getCheckpoints()).containsOnlyKeys(0);
+        assertThat(actual.getCheckpoints().get(0)).isEqualTo(Map.of(whitePlayer, Set.of(whiteShip)));
+    }
+
+    @Test
+    void updateMatchWithChangedFieldsOnly() {
+        String playerUuid = UUID.randomUUID().toString();
+        String guestUuid = UUID.randomUUID().toString();
+
+        Match match = matchDAO.createMatch(playerUuid);
+        assertThat(match.getChangedFields()).isEmpty();
+
+        if (StringUtils.isBlank(match.getWhitePlayer())) {
+            match.setWhitePlayer(guestUuid);
+        } else {
+            match.setBlackPlayer(guestUuid);
+        }
+        match.setTurn(Ship.Color.WHITE);
+        assertThat(match.getChangedFields()).hasSize(2);
+
+        assertThat(matchDAO.updateMatch(match)).isTrue();
+        assertThat(match.getChangedFields()).isEmpty();
+
+        Match actual = matchDAO.retrieveMatch(match.getUuid());
+        assertThat(actual.getChangedFields()).isEmpty();
+        assertThat(actual.getHost()).isEqualTo(playerUuid);
+        assertThat(actual.getTurn()).isEqualTo(Ship.Color.WHITE);
+
+        // the guest disconnects
+        if (guestUuid.equals(actual.getWhitePlayer())) {
+            actual.setWhitePlayer(null);
+        } else {
+            actual.setBlackPlayer(null);
+        }
+
+        assertThat(matchDAO.updateMatch(actual)).isTrue();
+
+        actual = matchDAO.retrieveMatch(match.getUuid());
+        assertThat(actual.getWhitePlayer() == null ? actual.getBlackPlayer() : actual.getWhitePlayer())
+                .isEqualTo(playerUuid);
+        assertThat(guestUuid).isNotIn(actual.getWhitePlayer(), actual.getBlackPlayer());
+        assertThat(actual.getTurn()).isEqualTo(Ship.Color.WHITE);
+        assertThat(actual.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void updateMatchWithStaleVersion() {
+        String playerUuid = UUID.randomUUID().toString();
+
+        Match match = matchDAO.createMatch(playerUuid);
+        assertThat(match.getVersion()).isZero();
+
+        Match staleMatch = matchDAO.retrieveMatch(match.getUuid());
+
+        match.setWhitePlayerAgreedToDraw(true);
+        assertThat(matchDAO.updateMatch(match)).isTrue();
+        assertThat(match.getVersion()).isEqualTo(1);
+        assertThat(matchDAO.retrieveMatch(match.getUuid()).getVersion()).isEqualTo(1);
+
+        staleMatch.setBlackPlayerAgreedToDraw(true);
+        assertThatThrownBy(() -> matchDAO.updateMatch(staleMatch))
+                .isInstanceOf(MatchConflictException.class);
+
+        Match actual = matchDAO.retrieveMatch(match.getUuid());
+        assertThat(actual.hasWhitePlayerAgreedToDraw()).isTrue();
+        assertThat(actual.hasBlackPlayerAgreedToDraw()).isFalse();
+    }
+
+    @Test
+    void updateMatchAfterDeletion() {
+        Match match = matchDAO.createMatch(UUID.randomUUID().toString());
+        Match deleted = matchDAO.retrieveMatch(match.getUuid());
+
+        assertThat(matchDAO.deleteMatch(match)).isTrue();
+
+        // the update must not write the changed fields back as a new match
+        deleted.setWhitePlayerAgreedToDraw(true);
+        assertThatThrownBy(() -> matchDAO.updateMatch(deleted))
+                .isInstanceOf(MatchConflictException.class);
+
+        assertThat(matchDAO.retrieveMatch(match.getUuid())).isNull();
+    }
+
+    @Test
+    void updateFleets() {
+        String playerUuid = UUID.randomUUID().toString();
+
+        Match match = matchDAO.createMatch(playerUuid);
+
+        Ship whiteShip = new Ship();
+        whiteShip.setColor(Ship.Color.WHITE);
+        whiteShip.setShipClass(Ship.ShipClass.AMERICA_CLASS_AMPHIBIOUS_ASSAULT_SHIP);
+        whiteShip.setCoordinates(new Ship.Coordinates(3, 2));
+        match.setFleets(Map.of(playerUuid, Set.of(whiteShip)));
+
+        assertThat(matchDAO.updateFleets(match, Map.of())).isTrue();
+
+        Map<String, Set<Ship>> previousFleets = matchDAO.retrieveMatch(match.getUuid()).getFleets();
+
+        Ship blackShip = new Ship();
+        blackShip.setColor(Ship.Color.BLACK);
+        blackShip.setShipClass(Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER);
+        blackShip.setCoordinates(new Ship.Coordinates(6, 6));
+        String guestUuid = UUID.randomUUID().toString();
+        match.setFleets(Map.of(playerUuid, Set.of(whiteShip), guestUuid, Set.of(blackShip)));
+
+        assertThat(matchDAO.updateFleets(match, previousFleets)).isTrue();
+
+        // the fleets have changed since they were retrieved
+        assertThat(matchDAO.updateFleets(match, previousFleets)).isFalse();
+
+        Match actual = matchDAO.retrieveMatch(match.getUuid());
+
+        assertThat(actual.getFleets()).isEqualTo(Map.of(playerUuid, Set.of(whiteShip), guestUuid, Set.of(blackShip)));
+
+        actual.setStarted(true);
+        matchDAO.updateMatch(actual);
+
+        // the match has started
+        assertThat(matchDAO.updateFleets(match, actual.getFleets())).isFalse();
+    }
+
+    @Test
+    void retrieveLegacyMatch() {
+        String matchUuid = UUID.randomUUID().toString();
+        String whitePlayer = UUID.randomUUID().toString();
+
+        Ship whiteShip = new Ship();
+        whiteShip.setColor(Ship.Color.WHITE);
+        whiteShip.setShipClass(Ship.ShipClass.AMERICA_CLASS_AMPHIBIOUS_ASSAULT_SHIP);
+        whiteShip.setCoordinates(new Ship.Coordinates(3, 3));
+        Map<String, Set<Ship>> fleets = Map.of(whitePlayer, Set.of(whiteShip));
+
+        // fleets and checkpoints used to be stored as JSON
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("uuid", AttributeValue.builder().s(matchUuid).build());
+        item.put("whitePlayer", AttributeValue.builder().s(whitePlayer).build());
+        item.put("started", AttributeValue.builder().bool(true).build());
+        item.put("fleets", AttributeValue.builder()
+                .s("{\"" + whitePlayer + "\":[{\"color\":\"WHITE\",\"shipClass\":"
+                        + "\"AMERICA_CLASS_AMPHIBIOUS_ASSAULT_SHIP\",\"coordinates\":{\"x\":3,\"y\":3}}]}")
+                .build());
+        item.put("checkpoints", AttributeValue.builder()
+                .ss("{\"turn\":0,\"fleets\":{\"" + whitePlayer + "\":[{\"color\":\"WHITE\",\"shipClass\":"
+                        + "\"AMERICA_CLASS_AMPHIBIOUS_ASSAULT_SHIP\",\"coordinates\":{\"x\":3,\"y\":3}}]}}")
+                .build());
+        dynamoDbClient.putItem(PutItemRequest.builder()
+                .tableName(MATCH_TABLE_NAME)
+                .item(item)
+                .build());
+
+        Match match = matchDAO.retrieveMatch(matchUuid);
+        assertThat(match.getFleets()).isEqualTo(fleets);
+        assertThat(match.getCheckpoints()).containsOnlyKeys(0);
+
+        // new checkpoints are packed and read together with the legacy ones
+        match.putCheckpoint(10, fleets);
+        match.setFleets(fleets);
+
+        assertThat(matchDAO.updateMatch(match)).isTrue();
+
+        Match actual = matchDAO.retrieveMatch(matchUuid);
+        assertThat(actual.getFleets()).isEqualTo(fleets);
+        assertThat(actual.getCheckpoints()).containsOnlyKeys(0, 10);
+        assertThat(actual.getCheckpoints().get(10)).isEqualTo(fleets);
+    }
+
+    @Test
+    void appendAndRetrieveMoves() {
+        String matchUuid = UUID.randomUUID().toString();
+
+        for (int turn = 1; turn <= 4; turn++) {
+            Move move = Move.builder()
+                    .withTurn(turn)
+                    .withColor(turn % 2 == 1 ? Ship.Color.WHITE : Ship.Color.BLACK)
+                    .withShipClass(Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER)
+                    .withFrom(new Ship.Coordinates(turn, 0))
+                    .withTo(new Ship.Coordinates(turn, 1))
+                    .withOutcome(Move.Outcome.MOVED)
+                    .build();
+
+            assertThat(matchDAO.appendMove(matchUuid, move)).isTrue();
+            assertThat(matchDAO.appendMove(matchUuid, move)).isFalse();
+        }
+
+        assertThat(matchDAO.retrieveMoves(matchUuid, 1, 4))
+                .extracting("turn")
+                .containsExactly(1, 2, 3, 4);
+        assertThat(matchDAO.retrieveMoves(matchUuid, 2, 3))
+                .extracting("turn")
+                .containsExactly(2, 3);
+        assertThat(matchDAO.retrieveMoves(matchUuid, 3, 2)).isEmpty();
+        assertThat(matchDAO.retrieveMoves(UUID.randomUUID().toString(), 1, 4)).isEmpty();
+
+        assertThat(matchAsyncDAO.retrieveMoves(matchUuid, 2, 4).join())
+                .extracting("turn")
+                .containsExactly(2, 3, 4);
+        assertThat(matchAsyncDAO.retrieveMoves(matchUuid, 3, 2).join()).isEmpty();
     }
 
     @Test
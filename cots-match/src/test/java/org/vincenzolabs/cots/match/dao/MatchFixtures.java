@@ -0,0 +1,58 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.dao;
+
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Ship;
+
+/**
+ * The {@link Ship}s and {@link Move}s shared by the test cases of the {@link MatchDAO}s.
+ *
+ * @author Rey Vincent Babilonia
+ */
+final class MatchFixtures {
+
+    private MatchFixtures() {
+    }
+
+    static Ship getShip(int x, int y) {
+        Ship ship = new Ship();
+        ship.setColor(Ship.Color.WHITE);
+        ship.setShipClass(Ship.ShipClass.AMERICA_CLASS_AMPHIBIOUS_ASSAULT_SHIP);
+        ship.setCoordinates(new Ship.Coordinates(x, y));
+
+        return ship;
+    }
+
+    static Move getMove(int turn) {
+        return Move.builder()
+                .withTurn(turn)
+                .withColor(turn % 2 == 1 ? Ship.Color.WHITE : Ship.Color.BLACK)
+                .withShipClass(Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER)
+                .withFrom(new Ship.Coordinates(turn % 9, 0))
+                .withTo(new Ship.Coordinates(turn % 9, 1))
+                .withOutcome(Move.Outcome.MOVED)
+                .build();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.engine;
+
+import org.junit.jupiter.api.Test;
+import org.vincenzolabs.cots.domain.Fleet;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Ship;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link Board}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+class BoardTest {
+
+    @Test
+    void placeAndRemove() {
+        Board board = new Board();
+        int square = Board.square(8, 7);
+        board.place(Ship.Color.BLACK, Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER, square);
+
+        assertThat(square).isEqualTo(Board.SQUARES - 1);
+        assertThat(board.isOccupied(square)).isTrue();
+        assertThat(board.isOccupiedBy(Ship.Color.BLACK, square)).isTrue();
+        assertThat(board.isOccupiedBy(Ship.Color.WHITE, square)).isFalse();
+        assertThat(Board.shipClass(board.pieceAt(square))).isEqualTo(Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER);
+        assertThat(Board.color(board.pieceAt(square))).isEqualTo(Ship.Color.BLACK);
+        assertThat(board.count(Ship.Color.BLACK)).isEqualTo(1);
+
+        board.remove(Ship.Color.BLACK, Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER);
+
+        assertThat(board.isOccupied(square)).isFalse();
+        assertThat(board.pieceAt(square)).isEqualTo(Board.NONE);
+        assertThat(board.count(Ship.Color.BLACK)).isZero();
+    }
+
+    @Test
+    void placeMovesPiece() {
+        Board board = new Board();
+        board.place(Ship.Color.WHITE, Ship.ShipClass.KIDD_CLASS_GUIDED_MISSILE_DESTROYER, Board.square(4, 0));
+        board.place(Ship.Color.WHITE, Ship.ShipClass.KIDD_CLASS_GUIDED_MISSILE_DESTROYER, Board.square(4, 1));
+
+        assertThat(board.isOccupied(Board.square(4, 0))).isFalse();
+        assertThat(board.squareOf(Ship.Color.WHITE, Ship.ShipClass.KIDD_CLASS_GUIDED_MISSILE_DESTROYER))
+                .isEqualTo(Board.square(4, 1));
+        assertThat(board.count(Ship.Color.WHITE)).isEqualTo(1);
+    }
+
+    @Test
+    void of() {
+        Ship commandShip = new Ship();
+        commandShip.setColor(Ship.Color.WHITE);
+        commandShip.setShipClass(Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP);
+        commandShip.setCoordinates(new Ship.Coordinates(1, 7));
+
+        Ship unpositionedShip = new Ship();
+        unpositionedShip.setColor(Ship.Color.WHITE);
+        unpositionedShip.setShipClass(Ship.ShipClass.KIDD_CLASS_GUIDED_MISSILE_DESTROYER);
+        unpositionedShip.setCoordinates(new Ship.Coordinates());
+
+        Ship unknownShip = new Ship();
+        unknownShip.setColor(Ship.Color.BLACK);
+        unknownShip.setShipClass(Ship.ShipClass.UNKNOWN);
+        unknownShip.setCoordinates(new Ship.Coordinates(2, 7));
+
+        Board board = Board.of(Set.of(commandShip, unpositionedShip), Set.of(unknownShip));
+
+        assertThat(board.count(Ship.Color.WHITE)).isEqualTo(1);
+        assertThat(board.count(Ship.Color.BLACK)).isZero();
+        assertThat(board.hasCommandShip(Ship.Color.WHITE)).isTrue();
+        assertThat(board.hasCommandShip(Ship.Color.BLACK)).isFalse();
+        assertThat(board.hasCommandShipReachedOppositeEnd(Ship.Color.WHITE)).isTrue();
+        assertThat(board.getFleet(Ship.Color.WHITE)).containsExactly(commandShip);
+        assertThat(board.getFleet(Ship.Color.WHITE).iterator().next().getCoordinates())
+                .isEqualTo(new Ship.Coordinates(1, 7));
+    }
+
+    @Test
+    void isFlanked() {
+        Board board = new Board();
+        board.place(Ship.Color.WHITE, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP, Board.square(0, 7));
+        board.place(Ship.Color.BLACK, Ship.ShipClass.KIDD_CLASS_GUIDED_MISSILE_DESTROYER, Board.square(8, 6));
+
+        // the square to the left of (0, 7) wraps to (8, 6) and must not count
+        assertThat(board.isFlanked(Ship.Color.WHITE, Board.square(0, 7))).isFalse();
+
+        board.place(Ship.Color.BLACK, Ship.ShipClass.TICONDEROGA_CLASS_GUIDED_MISSILE_CRUISER, Board.square(1, 7));
+
+        assertThat(board.isFlanked(Ship.Color.WHITE, Board.square(0, 7))).isTrue();
+    }
+
+    @Test
+    void toFleet() {
+        Board board = new Board();
+        board.place(Ship.Color.WHITE, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP, Board.square(1, 0));
+        board.place(Ship.Color.WHITE, Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0, Board.square(1, 1));
+        board.place(Ship.Color.BLACK, Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0, Board.square(1, 6));
+
+        Fleet fleet = board.toFleet(Ship.Color.WHITE);
+
+        assertThat(fleet.size()).isEqualTo(2);
+        assertThat(fleet.toShips()).isEqualTo(board.getFleet(Ship.Color.WHITE));
+        assertThat(Board.of(fleet, new Fleet(Ship.Color.BLACK)).squareOf(Ship.Color.WHITE,
+                Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0)).isEqualTo(Board.square(1, 1));
+    }
+
+    @Test
+    void getKey() {
+        Board board = new Board();
+        board.place(Ship.Color.WHITE, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP, Board.square(1, 0));
+        board.place(Ship.Color.BLACK, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP, Board.square(1, 7));
+        long key = board.getKey();
+
+        assertThat(key).isNotZero();
+        assertThat(board.getKey(Ship.Color.BLACK)).isNotEqualTo(board.getKey(Ship.Color.WHITE));
+
+        board.apply(Ship.Color.WHITE, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP, Board.square(1, 1),
+                Move.Outcome.MOVED);
+
+        assertThat(board.getKey()).isNotEqualTo(key);
+
+        board.apply(Ship.Color.WHITE, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP, Board.square(1, 0),
+                Move.Outcome.MOVED);
+
+        assertThat(board.getKey()).isEqualTo(key);
+        assertThat(Board.of(board.toFleet(Ship.Color.WHITE), board.toFleet(Ship.Color.BLACK)).getKey())
+                .isEqualTo(key);
+
+        board.remove(Ship.Color.BLACK, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP);
+        board.remove(Ship.Color.WHITE, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP);
+
+        assertThat(board.getKey()).isZero();
+    }
+
+    @Test
+    void getLegalMoves() {
+        Board board = new Board();
+        board.place(Ship.Color.WHITE, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP, Board.square(8, 7));
+        board.place(Ship.Color.WHITE, Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0, Board.square(7, 7));
+        board.place(Ship.Color.BLACK, Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0, Board.square(8, 6));
+
+        long[] moves = board.getLegalMoves(Ship.Color.WHITE, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP);
+
+        assertThat(moves[0]).isEqualTo(1L << Board.square(8, 6));
+        assertThat(moves[1]).isZero();
+
+        moves = board.getLegalMoves(Ship.Color.BLACK, Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0);
+
+        assertThat(moves[0]).isEqualTo(1L << Board.square(8, 5) | 1L << Board.square(7, 6));
+        assertThat(moves[1]).isEqualTo(1L << Board.square(8, 7) - 64);
+        assertThat(board.getLegalMoves(Ship.Color.BLACK, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP))
+                .containsExactly(0L, 0L);
+    }
+
+    @Test
+    void isNeighbour() {
+        assertThat(Board.isNeighbour(Board.square(0, 0), Board.square(1, 0))).isTrue();
+        assertThat(Board.isNeighbour(Board.square(0, 0), Board.square(0, 1))).isTrue();
+        assertThat(Board.isNeighbour(Board.square(0, 0), Board.square(1, 1))).isFalse();
+        assertThat(Board.isNeighbour(Board.square(8, 0), Board.square(0, 1))).isFalse();
+        assertThat(Board.isNeighbour(Board.square(4, 4), Board.square(4, 4))).isFalse();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Move;
+import org.vincenzolabs.cots.domain.Ship;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The test case for {@link Replay}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+class ReplayTest {
+
+    private static final String WHITE_PLAYER = "white";
+
+    private static final String BLACK_PLAYER = "black";
+
+    private Match match;
+
+    @BeforeEach
+    void setUp() {
+        match = new Match();
+        match.setWhitePlayer(WHITE_PLAYER);
+        match.setBlackPlayer(BLACK_PLAYER);
+
+        Board board = new Board();
+        board.place(Ship.Color.WHITE, Ship.ShipClass.NIMITZ_SUBCLASS_AIRCRAFT_CARRIER, Board.square(0, 2));
+        board.place(Ship.Color.BLACK, Ship.ShipClass.KIDD_CLASS_GUIDED_MISSILE_DESTROYER, Board.square(0, 5));
+        match.getCheckpoints().put(0, Map.of(WHITE_PLAYER, board.getFleet(Ship.Color.WHITE),
+                BLACK_PLAYER, board.getFleet(Ship.Color.BLACK)));
+
+        match.getMoves().add(move(1, Ship.Color.WHITE, Ship.ShipClass.NIMITZ_SUBCLASS_AIRCRAFT_CARRIER, 0, 2, 0, 3,
+                Move.Outcome.MOVED));
+        match.getMoves().add(move(2, Ship.Color.BLACK, Ship.ShipClass.KIDD_CLASS_GUIDED_MISSILE_DESTROYER, 0, 5, 0, 4,
+                Move.Outcome.MOVED));
+
+        board.apply(match.getMoves().get(0));
+        board.apply(match.getMoves().get(1));
+        match.getCheckpoints().put(2, Map.of(WHITE_PLAYER, board.getFleet(Ship.Color.WHITE),
+                BLACK_PLAYER, board.getFleet(Ship.Color.BLACK)));
+
+        match.getMoves().add(move(3, Ship.Color.WHITE, Ship.ShipClass.NIMITZ_SUBCLASS_AIRCRAFT_CARRIER, 0, 3, 0, 4,
+                Move.Outcome.ATTACKER_WINS));
+    }
+
+    @Test
+    void getTurn() {
+        Replay replay = new Replay(match);
+
+        assertThat(replay.getLastTurn()).isEqualTo(3);
+        assertThat(coordinates(replay.getTurn(0), WHITE_PLAYER)).containsExactly(new Ship.Coordinates(0, 2));
+        assertThat(coordinates(replay.getTurn(1), WHITE_PLAYER)).containsExactly(new Ship.Coordinates(0, 3));
+        assertThat(coordinates(replay.getTurn(2), BLACK_PLAYER)).containsExactly(new Ship.Coordinates(0, 4));
+        assertThat(coordinates(replay.getTurn(3), WHITE_PLAYER)).containsExactly(new Ship.Coordinates(0, 4));
+        assertThat(replay.getTurn(3).get(BLACK_PLAYER)).isEmpty();
+    }
+
+    @Test
+    void stream() {
+        Replay replay = new Replay(match);
+
+        List<Map<String, Set<Ship>>> turns = replay.stream(1, Integer.MAX_VALUE).collect(Collectors.toList());
+
+        assertThat(turns).hasSize(3);
+        for (int i = 0; i < turns.size(); i++) {
+            assertThat(turns.get(i)).isEqualTo(replay.getTurn(i + 1));
+            assertThat(coordinates(turns.get(i), WHITE_PLAYER))
+                    .isEqualTo(coordinates(replay.getTurn(i + 1), WHITE_PLAYER));
+        }
+    }
+
+    @Test
+    void getTurnFromCheckpoint() {
+        Move lastMove = match.getMoves().get(2);
+        match.getMoves().clear();
+        match.getMoves().add(lastMove);
+
+        Replay replay = new Replay(match, 3);
+
+        assertThat(replay.getLastTurn()).isEqualTo(3);
+        assertThat(coordinates(replay.getTurn(2), BLACK_PLAYER)).containsExactly(new Ship.Coordinates(0, 4));
+        assertThat(coordinates(replay.getTurn(3), WHITE_PLAYER)).containsExactly(new Ship.Coordinates(0, 4));
+        assertThat(replay.stream(2, 3).collect(Collectors.toList()))
+                .containsExactly(replay.getTurn(2), replay.getTurn(3));
+        assertThatThrownBy(() -> replay.getTurn(1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Turn is before the loaded moves");
+    }
+
+    @Test
+    void getInvalidTurn() {
+        Replay replay = new Replay(match);
+
+        assertThatThrownBy(() -> replay.getTurn(4))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Turn is invalid");
+        assertThatThrownBy(() -> replay.stream(2, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Turn range is invalid");
+    }
+
+    private Move move(int turn, Ship.Color color, Ship.ShipClass shipClass, int fromX, int fromY, int toX, int toY,
+                      Move.Outcome outcome) {
+        return Move.builder()
+                .withTurn(turn)
+                .withColor(color)
+                .withShipClass(shipClass)
+                .withFrom(new Ship.Coordinates(fromX, fromY))
+                .withTo(new Ship.Coordinates(toX, toY))
+                .withOutcome(outcome)
+                .build();
+    }
+
+    private List<Ship.Coordinates> coordinates(Map<String, Set<Ship>> fleets, String player) {
+        return fleets.get(player).stream().map(Ship::getCoordinates).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.handler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The test case for {@link Request}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+class RequestTest {
+
+    @Test
+    void getAccessToken() {
+        Request request = new Request();
+        assertThat(request.getAccessToken()).isNull();
+
+        request.setHeaders(Map.of("Cookie", "theme=dark; accessToken=cookie-token"));
+        assertThat(request.getAccessToken()).isEqualTo("cookie-token");
+
+        // the Authorization header takes precedence over the cookie
+        request.setHeaders(Map.of("Authorization", "Bearer header-token",
+                "Cookie", "accessToken=cookie-token"));
+        assertThat(request.getAccessToken()).isEqualTo("header-token");
+
+        request.setHeaders(Map.of("Authorization", "Basic credentials"));
+        assertThat(request.getAccessToken()).isNull();
+
+        request.setHeaders(null);
+        assertThat(request.getAccessToken()).isNull();
+    }
+}
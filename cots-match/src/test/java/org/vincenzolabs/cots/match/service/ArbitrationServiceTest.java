@@ -23,6 +23,7 @@
  */
 package org.vincenzolabs.cots.match.service;
 
+import org.vincenzolabs.cots.domain.Move;
 import org.vincenzolabs.cots.domain.Ship;
 import org.junit.jupiter.api.Test;
 import org.vincenzolabs.cots.match.service.impl.ArbitrationServiceImpl;
@@ -206,6 +207,40 @@ class ArbitrationServiceTest {
         assertThat(arbitrationService.arbitrate(attackingShip, defendingShip)).isNull();
     }
 
+    @Test
+    void arbitrateBetweenShipsOfEqualClass() {
+        assertThat(arbitrationService.getOutcome(Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0,
+                Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_1))
+                .isEqualTo(Move.Outcome.BOTH_ELIMINATED);
+        assertThat(arbitrationService.getOutcome(Ship.ShipClass.INDEPENDENCE_CLASS_LITTORAL_COMBAT_SHIP_0,
+                Ship.ShipClass.INDEPENDENCE_CLASS_LITTORAL_COMBAT_SHIP_5))
+                .isEqualTo(Move.Outcome.BOTH_ELIMINATED);
+    }
+
+    @Test
+    void arbitrateBetweenShipClasses() {
+        assertThat(arbitrationService.getOutcome(Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_1,
+                Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER))
+                .isEqualTo(Move.Outcome.ATTACKER_WINS);
+        assertThat(arbitrationService.getOutcome(Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_1,
+                Ship.ShipClass.INDEPENDENCE_CLASS_LITTORAL_COMBAT_SHIP_2))
+                .isEqualTo(Move.Outcome.DEFENDER_WINS);
+        assertThat(arbitrationService.getOutcome(Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP,
+                Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP))
+                .isEqualTo(Move.Outcome.ATTACKER_WINS);
+        assertThat(arbitrationService.getOutcome(Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP,
+                Ship.ShipClass.INDEPENDENCE_CLASS_LITTORAL_COMBAT_SHIP_3))
+                .isEqualTo(Move.Outcome.DEFENDER_WINS);
+    }
+
+    @Test
+    void arbitrateWithUnknownDefendingShipClass() {
+        assertThatThrownBy(() -> arbitrationService.getOutcome(Ship.ShipClass.KIDD_CLASS_GUIDED_MISSILE_DESTROYER,
+                Ship.ShipClass.UNKNOWN))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Defending ship class cannot be unknown");
+    }
+
     @Test
     void givenInvalidShipsWhenValidateShipsInvokedThenThrowException() {
         assertThatThrownBy(() -> arbitrationService.validateShips(getDefaultFleet(Ship.Color.WHITE)))
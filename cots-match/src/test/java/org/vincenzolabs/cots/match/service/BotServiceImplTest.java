@@ -0,0 +1,174 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vincenzolabs.cots.domain.Fleet;
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.ai.MonteCarloTreeSearch;
+import org.vincenzolabs.cots.match.dao.MatchDAO;
+import org.vincenzolabs.cots.match.dao.impl.MatchAsyncDAOBlockingImpl;
+import org.vincenzolabs.cots.match.dao.impl.MatchDAOInMemoryImpl;
+import org.vincenzolabs.cots.match.service.impl.ArbitrationServiceImpl;
+import org.vincenzolabs.cots.match.service.impl.BotServiceImpl;
+import org.vincenzolabs.cots.match.service.impl.MatchServiceImpl;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The test case for {@link BotServiceImpl} on the {@link MatchDAOInMemoryImpl}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+class BotServiceImplTest {
+
+    private static final Duration TIME_BUDGET = Duration.ofMillis(50);
+
+    private ForkJoinPool forkJoinPool;
+
+    private MatchService matchService;
+
+    private BotService botService;
+
+    @BeforeEach
+    void setUp() {
+        MatchDAO matchDAO = new MatchDAOInMemoryImpl();
+        ArbitrationService arbitrationService = new ArbitrationServiceImpl();
+        matchService = new MatchServiceImpl(arbitrationService, matchDAO, new MatchAsyncDAOBlockingImpl(matchDAO));
+
+        forkJoinPool = new ForkJoinPool(2);
+        botService = new BotServiceImpl(matchService,
+                new MonteCarloTreeSearch(arbitrationService, forkJoinPool, TIME_BUDGET));
+    }
+
+    @AfterEach
+    void tearDown() {
+        forkJoinPool.shutdown();
+    }
+
+    @Test
+    void hostMatchAgainstBot() {
+        String host = UUID.randomUUID().toString();
+
+        Match match = botService.hostMatch(host);
+
+        assertThat(BotService.isBotMatch(match)).isTrue();
+        assertThat(match.getHost()).isEqualTo(host);
+        assertThat(BotService.BOT_PLAYER_UUID.equals(match.getWhitePlayer())
+                ? match.isWhitePlayerReady()
+                : match.isBlackPlayerReady()).isTrue();
+
+        // the bot has deployed a whole fleet whose classes are hidden from the host
+        assertThat(match.getFleets().get(BotService.BOT_PLAYER_UUID))
+                .hasSize(Fleet.SIZE)
+                .allMatch(ship -> ship.getShipClass() == Ship.ShipClass.UNKNOWN);
+
+        Match storedMatch = matchService.retrieveMatch(match.getUuid());
+        assertThat(storedMatch.getFleets().get(BotService.BOT_PLAYER_UUID))
+                .noneMatch(ship -> ship.getShipClass() == Ship.ShipClass.UNKNOWN);
+    }
+
+    @Test
+    void botRepliesToEveryMove() {
+        String host = UUID.randomUUID().toString();
+
+        Match match = botService.hostMatch(host);
+        Ship.Color color = host.equals(match.getWhitePlayer()) ? Ship.Color.WHITE : Ship.Color.BLACK;
+
+        matchService.positionFleet(host, match.getUuid(), fleet(color));
+        matchService.ready(host, match.getUuid());
+
+        // the bot makes its move right away if it has the first turn
+        match = botService.startMatch(host, match.getUuid());
+        assertThat(match.getTurn()).isEqualTo(color);
+
+        for (int i = 0; i < 3; i++) {
+            int moveCount = match.getMoveCount();
+
+            Map<String, Set<Ship>> fleets = botService.moveShip(host, match.getUuid(), legalMove(host, match, color));
+
+            assertThat(fleets.get(BotService.BOT_PLAYER_UUID))
+                    .allMatch(ship -> ship.getShipClass() == Ship.ShipClass.UNKNOWN);
+            assertThat(fleets.get(host)).noneMatch(ship -> ship.getShipClass() == Ship.ShipClass.UNKNOWN);
+
+            match = matchService.retrieveMatch(match.getUuid());
+            if (match.getStatus() == Match.Status.FINISHED) {
+                break;
+            }
+
+            assertThat(match.getMoveCount()).isEqualTo(moveCount + 2);
+            assertThat(match.getTurn()).isEqualTo(color);
+        }
+    }
+
+    @Test
+    void moveShipOfBot() {
+        Match match = botService.hostMatch(UUID.randomUUID().toString());
+
+        assertThatThrownBy(() -> botService.moveShip(BotService.BOT_PLAYER_UUID, match.getUuid(), new Ship()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Moving the ships of the bot is not allowed");
+    }
+
+    private Ship legalMove(String playerUuid, Match match, Ship.Color color) {
+        Map.Entry<Ship.ShipClass, Set<Ship.Coordinates>> legalMoves = matchService
+                .legalMoves(playerUuid, match.getUuid())
+                .entrySet()
+                .stream()
+                .filter(entry -> !entry.getValue().isEmpty())
+                .findFirst()
+                .orElseThrow();
+
+        Ship ship = new Ship();
+        ship.setColor(color);
+        ship.setShipClass(legalMoves.getKey());
+        ship.setCoordinates(legalMoves.getValue().iterator().next());
+
+        return ship;
+    }
+
+    private Set<Ship> fleet(Ship.Color color) {
+        Set<Ship> fleet = new HashSet<>();
+        for (int i = 0; i < Fleet.SIZE; i++) {
+            Ship ship = new Ship();
+            ship.setColor(color);
+            ship.setShipClass(Fleet.getShipClass(i));
+            ship.setCoordinates(new Ship.Coordinates(i % 9, color == Ship.Color.WHITE ? 2 - i / 9 : 5 + i / 9));
+            fleet.add(ship);
+        }
+
+        return fleet;
+    }
+}
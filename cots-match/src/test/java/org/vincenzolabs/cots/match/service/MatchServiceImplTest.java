@@ -0,0 +1,236 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vincenzolabs.cots.domain.Fleet;
+import org.vincenzolabs.cots.domain.Match;
+import org.vincenzolabs.cots.domain.MatchCodec;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.dao.MatchDAO;
+import org.vincenzolabs.cots.match.dao.impl.MatchAsyncDAOBlockingImpl;
+import org.vincenzolabs.cots.match.dao.impl.MatchDAOInMemoryImpl;
+import org.vincenzolabs.cots.match.service.impl.ArbitrationServiceImpl;
+import org.vincenzolabs.cots.match.service.impl.MatchServiceImpl;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The test case for {@link MatchServiceImpl} on the {@link MatchDAOInMemoryImpl} which checks the reads that the
+ * service makes.
+ *
+ * @author Rey Vincent Babilonia
+ */
+class MatchServiceImplTest {
+
+    private MatchDAO matchDAO;
+
+    private MatchService matchService;
+
+    @BeforeEach
+    void setUp() {
+        matchDAO = spy(new MatchDAOInMemoryImpl());
+        matchService = new MatchServiceImpl(new ArbitrationServiceImpl(), matchDAO,
+                new MatchAsyncDAOBlockingImpl(matchDAO));
+    }
+
+    @Test
+    void replayFromCheckpoint() {
+        Match match = startMatch();
+
+        moveForward(match, 25);
+
+        matchService.resign(match.getBlackPlayer(), match.getUuid());
+
+        List<Map<String, Set<Ship>>> turns = matchService.replay(match.getUuid());
+        assertThat(turns).hasSize(26);
+
+        clearInvocations(matchDAO);
+
+        assertThat(matchService.replay(match.getUuid(), 25)).isEqualTo(turns.get(25));
+        assertThat(matchService.replay(match.getUuid(), 22, 24)).isEqualTo(turns.subList(22, 25));
+
+        // only the moves after the checkpoint at turn 20 are read
+        verify(matchDAO).retrieveMoves(match.getUuid(), 21, 25);
+        verify(matchDAO).retrieveMoves(match.getUuid(), 21, 24);
+        verify(matchDAO, never()).retrieveMoves(eq(match.getUuid()), intThat(fromTurn -> fromTurn <= 20), anyInt());
+    }
+
+    @Test
+    void drawByThreefoldRepetition() {
+        Match match = startMatch();
+
+        clearInvocations(matchDAO);
+
+        // the starting position occurs for the third time after both players have moved back and forth twice
+        Ship.Color turn = match.getTurn();
+        for (int i = 0; i < 8; i++) {
+            assertThat(matchService.retrieveMatch(match.getUuid()).isDraw()).isFalse();
+
+            boolean forward = i % 4 < 2;
+            if (turn == Ship.Color.WHITE) {
+                matchService.moveShip(match.getWhitePlayer(), match.getUuid(),
+                        ship(turn, 0, new Ship.Coordinates(0, forward ? 3 : 2)));
+                turn = Ship.Color.BLACK;
+            } else {
+                matchService.moveShip(match.getBlackPlayer(), match.getUuid(),
+                        ship(turn, 0, new Ship.Coordinates(0, forward ? 4 : 5)));
+                turn = Ship.Color.WHITE;
+            }
+        }
+
+        Match actual = matchService.retrieveMatch(match.getUuid());
+        assertThat(actual.isDraw()).isTrue();
+        assertThat(actual.getEndDate()).isNotNull();
+        assertThat(actual.getMoveCount()).isEqualTo(8);
+
+        // the repetitions are counted without reading the move log
+        verify(matchDAO, never()).retrieveMoves(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void drawReturnsLoadedMatch() {
+        Match match = startMatch();
+
+        // the summaries defer loading the fleets and checkpoints like the table does
+        doAnswer(invocation -> {
+            Match summary = (Match) invocation.callRealMethod();
+            Map<String, Set<Ship>> fleets = summary.getFleets();
+            SortedMap<Integer, Map<String, Set<Ship>>> checkpoints = summary.getCheckpoints();
+            summary.setFleets(new HashMap<>());
+            summary.setCheckpoints(new TreeMap<>());
+            summary.clearChangedFields();
+            summary.setFleetsLoader(() -> fleets);
+            summary.setCheckpointsLoader(() -> checkpoints);
+
+            return summary;
+        }).when(matchDAO).retrieveMatchSummary(match.getUuid());
+
+        Match actual = matchService.draw(match.getWhitePlayer(), match.getUuid());
+        assertThat(actual.isLoaded()).isTrue();
+        assertThat(actual.getFleets()).containsOnlyKeys(match.getWhitePlayer(), match.getBlackPlayer());
+        assertThat(actual.getCheckpoints()).containsOnlyKeys(0);
+    }
+
+    @Test
+    void hostPositionsShipsBeforeOpponentJoins() {
+        String host = UUID.randomUUID().toString();
+        String guest = UUID.randomUUID().toString();
+
+        Match match = matchService.hostMatch(host);
+        Ship.Color hostColor = host.equals(match.getWhitePlayer()) ? Ship.Color.WHITE : Ship.Color.BLACK;
+        Ship.Color guestColor = hostColor == Ship.Color.WHITE ? Ship.Color.BLACK : Ship.Color.WHITE;
+
+        Set<Ship> hostFleet = fleet(hostColor);
+        matchService.positionShip(host, match.getUuid(), hostFleet.iterator().next());
+        matchService.positionFleet(host, match.getUuid(), hostFleet);
+
+        // no fleet is stored for the opponent who has not yet joined
+        Map<String, Set<Ship>> fleets = matchService.retrieveMatch(match.getUuid()).getFleets();
+        assertThat(fleets).containsOnlyKeys(host);
+        assertThat(MatchCodec.decodeFleets(MatchCodec.encodeFleets(fleets, false))).containsOnlyKeys(host);
+
+        matchService.connectToMatch(guest, match.getUuid());
+        matchService.positionFleet(guest, match.getUuid(), fleet(guestColor));
+        matchService.ready(host, match.getUuid());
+        matchService.ready(guest, match.getUuid());
+
+        Match actual = matchService.startMatch(host, match.getUuid());
+        assertThat(actual.hasStarted()).isTrue();
+        assertThat(actual.getFleets()).containsOnlyKeys(host, guest);
+    }
+
+    private Match startMatch() {
+        String host = UUID.randomUUID().toString();
+        String guest = UUID.randomUUID().toString();
+
+        Match match = matchService.hostMatch(host);
+
+        match = matchService.connectToMatch(guest, match.getUuid());
+
+        matchService.positionFleet(match.getWhitePlayer(), match.getUuid(), fleet(Ship.Color.WHITE));
+        matchService.ready(match.getWhitePlayer(), match.getUuid());
+        matchService.positionFleet(match.getBlackPlayer(), match.getUuid(), fleet(Ship.Color.BLACK));
+        matchService.ready(match.getBlackPlayer(), match.getUuid());
+
+        return matchService.startMatch(host, match.getUuid());
+    }
+
+    private Set<Ship> fleet(Ship.Color color) {
+        Set<Ship> fleet = new HashSet<>();
+        for (int i = 0; i < Fleet.SIZE; i++) {
+            // the front rows are filled first so that every ship can move forward
+            fleet.add(ship(color, i, new Ship.Coordinates(i % 9, color == Ship.Color.WHITE ? 2 - i / 9 : 5 + i / 9)));
+        }
+
+        return fleet;
+    }
+
+    private void moveForward(Match match, int moves) {
+        // the ships of both players move forward one at a time so that no position is repeated and no ship is
+        // challenged
+        Ship.Color turn = match.getTurn();
+        int[] moveCounts = new int[Ship.Color.values().length];
+        for (int i = 0; i < moves; i++) {
+            int index = moveCounts[turn.ordinal()]++;
+            if (turn == Ship.Color.WHITE) {
+                matchService.moveShip(match.getWhitePlayer(), match.getUuid(),
+                        ship(turn, index, new Ship.Coordinates(index % 9, 3 - index / 9)));
+                turn = Ship.Color.BLACK;
+            } else {
+                matchService.moveShip(match.getBlackPlayer(), match.getUuid(),
+                        ship(turn, index, new Ship.Coordinates(index % 9, 4 + index / 9)));
+                turn = Ship.Color.WHITE;
+            }
+        }
+    }
+
+    private Ship ship(Ship.Color color, int index, Ship.Coordinates coordinates) {
+        Ship ship = new Ship();
+        ship.setColor(color);
+        ship.setShipClass(Fleet.getShipClass(index));
+        ship.setCoordinates(coordinates);
+
+        return ship;
+    }
+}
@@ -27,9 +27,12 @@ import by.dev.madhead.aws_junit5.common.AWSClient;
 import by.dev.madhead.aws_junit5.common.AWSEndpoint;
 import by.dev.madhead.aws_junit5.dynamo.v2.DynamoDB;
 import com.google.gson.GsonBuilder;
+import org.vincenzolabs.cots.domain.Fleet;
 import org.vincenzolabs.cots.domain.Match;
 import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.dao.MatchAsyncDAO;
 import org.vincenzolabs.cots.match.dao.MatchDAO;
+import org.vincenzolabs.cots.match.dao.impl.MatchAsyncDAODynamoDBImpl;
 import org.vincenzolabs.cots.match.dao.impl.MatchDAODynamoDBImpl;
 import org.vincenzolabs.cots.match.service.impl.ArbitrationServiceImpl;
 import org.vincenzolabs.cots.match.service.impl.MatchServiceImpl;
@@ -39,16 +42,22 @@ import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.platform.commons.util.StringUtils;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DeleteTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndex;
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.Projection;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
 import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughput;
 import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -66,9 +75,16 @@ class MatchServiceTest {
 
     private static final String MATCH_TABLE_NAME = "match";
 
+    private static final String MOVE_TABLE_NAME = "move";
+
     @AWSClient(endpoint = Endpoint.class)
     private DynamoDbClient dynamoDbClient;
 
+    @AWSClient(endpoint = Endpoint.class)
+    private DynamoDbAsyncClient dynamoDbAsyncClient;
+
+    private MatchAsyncDAO matchAsyncDAO;
+
     private MatchService matchService;
 
     @BeforeEach
@@ -79,21 +95,120 @@ class MatchServiceTest {
                         .attributeName("uuid")
                         .keyType(KeyType.HASH)
                         .build())
-                .attributeDefinitions(AttributeDefinition.builder()
-                        .attributeName("uuid")
-                        .attributeType(ScalarAttributeType.S)
-                        .build())
+                .attributeDefinitions(
+                        AttributeDefinition.builder()
+                                .attributeName("uuid")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("creationDate")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("unstartedStatus")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("activeStatus")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("finishedStatus")
+                                .attributeType(ScalarAttributeType.S)
+                                .build())
                 .provisionedThroughput(ProvisionedThroughput.builder()
                         .readCapacityUnits(5L)
                         .writeCapacityUnits(5L)
                         .build())
+                .globalSecondaryIndexes(
+                        GlobalSecondaryIndex.builder()
+                                .indexName("unstartedMatches")
+                                .keySchema(KeySchemaElement.builder()
+                                                .attributeName("unstartedStatus")
+                                                .keyType(KeyType.HASH)
+                                                .build(),
+                                        KeySchemaElement.builder()
+                                                .attributeName("creationDate")
+                                                .keyType(KeyType.RANGE)
+                                                .build())
+                                .projection(Projection.builder()
+                                        .projectionType(ProjectionType.ALL)
+                                        .build())
+                                .provisionedThroughput(ProvisionedThroughput.builder()
+                                        .readCapacityUnits(5L)
+                                        .writeCapacityUnits(5L)
+                                        .build())
+                                .build(),
+                        GlobalSecondaryIndex.builder()
+                                .indexName("activeMatches")
+                                .keySchema(KeySchemaElement.builder()
+                                                .attributeName("activeStatus")
+                                                .keyType(KeyType.HASH)
+                                                .build(),
+                                        KeySchemaElement.builder()
+                                                .attributeName("creationDate")
+                                                .keyType(KeyType.RANGE)
+                                                .build())
+                                .projection(Projection.builder()
+                                        .projectionType(ProjectionType.ALL)
+                                        .build())
+                                .provisionedThroughput(ProvisionedThroughput.builder()
+                                        .readCapacityUnits(5L)
+                                        .writeCapacityUnits(5L)
+                                        .build())
+                                .build(),
+                        GlobalSecondaryIndex.builder()
+                                .indexName("finishedMatches")
+                                .keySchema(KeySchemaElement.builder()
+                                                .attributeName("finishedStatus")
+                                                .keyType(KeyType.HASH)
+                                                .build(),
+                                        KeySchemaElement.builder()
+                                                .attributeName("creationDate")
+                                                .keyType(KeyType.RANGE)
+                                                .build())
+                                .projection(Projection.builder()
+                                        .projectionType(ProjectionType.ALL)
+                                        .build())
+                                .provisionedThroughput(ProvisionedThroughput.builder()
+                                        .readCapacityUnits(5L)
+                                        .writeCapacityUnits(5L)
+                                        .build())
+                                .build())
                 .build();
 
         dynamoDbClient.createTable(createTableRequest);
 
+        dynamoDbClient.createTable(CreateTableRequest.builder()
+                .tableName(MOVE_TABLE_NAME)
+                .keySchema(
+                        KeySchemaElement.builder()
+                                .attributeName("matchUuid")
+                                .keyType(KeyType.HASH)
+                                .build(),
+                        KeySchemaElement.builder()
+                                .attributeName("turn")
+                                .keyType(KeyType.RANGE)
+                                .build())
+                .attributeDefinitions(
+                        AttributeDefinition.builder()
+                                .attributeName("matchUuid")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("turn")
+                                .attributeType(ScalarAttributeType.N)
+                                .build())
+                .provisionedThroughput(ProvisionedThroughput.builder()
+                        .readCapacityUnits(5L)
+                        .writeCapacityUnits(5L)
+                        .build())
+                .build());
+
         MatchDAO matchDAO = new MatchDAODynamoDBImpl(dynamoDbClient, new GsonBuilder().create());
+        matchAsyncDAO = new MatchAsyncDAODynamoDBImpl(dynamoDbAsyncClient, new GsonBuilder().create());
 
-        matchService = new MatchServiceImpl(new ArbitrationServiceImpl(), matchDAO);
+        matchService = new MatchServiceImpl(new ArbitrationServiceImpl(), matchDAO, matchAsyncDAO);
     }
 
     @AfterEach
@@ -103,6 +218,9 @@ class MatchServiceTest {
                 .build();
 
         dynamoDbClient.deleteTable(deleteTableRequest);
+        dynamoDbClient.deleteTable(DeleteTableRequest.builder()
+                .tableName(MOVE_TABLE_NAME)
+                .build());
     }
 
     @Test
@@ -263,6 +381,116 @@ class MatchServiceTest {
         }
     }
 
+    @Test
+    void positionFleet() {
+        String host = UUID.randomUUID().toString();
+        String guest = UUID.randomUUID().toString();
+
+        Match match = matchService.hostMatch(host);
+
+        match = matchService.connectToMatch(guest, match.getUuid());
+
+        Set<Ship> whiteFleet = new HashSet<>();
+        Set<Ship> blackFleet = new HashSet<>();
+        for (int i = 0; i < Fleet.SIZE; i++) {
+            Ship whiteShip = new Ship();
+            whiteShip.setColor(Ship.Color.WHITE);
+            whiteShip.setShipClass(Fleet.getShipClass(i));
+            whiteShip.setCoordinates(new Ship.Coordinates(i % 9, i / 9));
+            whiteFleet.add(whiteShip);
+
+            Ship blackShip = new Ship();
+            blackShip.setColor(Ship.Color.BLACK);
+            blackShip.setShipClass(Fleet.getShipClass(i));
+            blackShip.setCoordinates(new Ship.Coordinates(i % 9, 7 - i / 9));
+            blackFleet.add(blackShip);
+        }
+
+        Map<String, Set<Ship>> fleets = matchService.positionFleet(match.getWhitePlayer(), match.getUuid(), whiteFleet);
+
+        assertThat(fleets.get(match.getWhitePlayer())).isEqualTo(whiteFleet);
+        assertThat(fleets.get(match.getBlackPlayer()))
+                .allMatch(blackShip -> blackShip.getShipClass() == Ship.ShipClass.UNKNOWN);
+
+        Set<Ship> incompleteFleet = new HashSet<>(blackFleet);
+        incompleteFleet.removeIf(blackShip -> blackShip.getShipClass() == Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP);
+        String matchUuid = match.getUuid();
+        String blackPlayer = match.getBlackPlayer();
+
+        assertThatThrownBy(() -> matchService.positionFleet(blackPlayer, matchUuid, incompleteFleet))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Fleet must have 21 ships");
+
+        matchService.positionFleet(match.getBlackPlayer(), match.getUuid(), blackFleet);
+
+        matchService.ready(match.getWhitePlayer(), match.getUuid());
+        matchService.ready(match.getBlackPlayer(), match.getUuid());
+
+        Match actual = matchService.startMatch(host, match.getUuid());
+
+        assertThat(actual.hasStarted()).isTrue();
+        assertThat(actual.getFleets().get(match.getWhitePlayer())).hasSize(21);
+        assertThat(actual.getFleets().get(match.getBlackPlayer())).hasSize(21);
+    }
+
+    @Test
+    void drawByThreefoldRepetition() {
+        String host = UUID.randomUUID().toString();
+        String guest = UUID.randomUUID().toString();
+
+        Match match = matchService.hostMatch(host);
+
+        match = matchService.connectToMatch(guest, match.getUuid());
+
+        Set<Ship> whiteFleet = new HashSet<>();
+        Set<Ship> blackFleet = new HashSet<>();
+        for (int i = 0; i < Fleet.SIZE; i++) {
+            Ship whiteShip = new Ship();
+            whiteShip.setColor(Ship.Color.WHITE);
+            whiteShip.setShipClass(Fleet.getShipClass(i));
+            whiteShip.setCoordinates(new Ship.Coordinates(i % 9, 2 - i / 9));
+            whiteFleet.add(whiteShip);
+
+            Ship blackShip = new Ship();
+            blackShip.setColor(Ship.Color.BLACK);
+            blackShip.setShipClass(Fleet.getShipClass(i));
+            blackShip.setCoordinates(new Ship.Coordinates(i % 9, 5 + i / 9));
+            blackFleet.add(blackShip);
+        }
+
+        matchService.positionFleet(match.getWhitePlayer(), match.getUuid(), whiteFleet);
+        matchService.positionFleet(match.getBlackPlayer(), match.getUuid(), blackFleet);
+        matchService.ready(match.getWhitePlayer(), match.getUuid());
+        matchService.ready(match.getBlackPlayer(), match.getUuid());
+
+        Match started = matchService.startMatch(host, match.getUuid());
+
+        // the starting position occurs for the third time after both players have moved back and forth twice
+        Ship.Color turn = started.getTurn();
+        for (int i = 0; i < 8; i++) {
+            assertThat(matchService.retrieveMatch(match.getUuid()).isDraw()).isFalse();
+
+            boolean forward = i % 4 < 2;
+            Ship ship = new Ship();
+            ship.setColor(turn);
+            ship.setShipClass(Fleet.getShipClass(0));
+            if (turn == Ship.Color.WHITE) {
+                ship.setCoordinates(new Ship.Coordinates(0, forward ? 3 : 2));
+                matchService.moveShip(started.getWhitePlayer(), started.getUuid(), ship);
+                turn = Ship.Color.BLACK;
+            } else {
+                ship.setCoordinates(new Ship.Coordinates(0, forward ? 4 : 5));
+                matchService.moveShip(started.getBlackPlayer(), started.getUuid(), ship);
+                turn = Ship.Color.WHITE;
+            }
+        }
+
+        Match actual = matchService.retrieveMatch(match.getUuid());
+        assertThat(actual.isDraw()).isTrue();
+        assertThat(actual.getEndDate()).isNotNull();
+        assertThat(actual.getMoveCount()).isEqualTo(8);
+    }
+
     @RepeatedTest(4)
     void readyWithoutShips() {
         String host = UUID.randomUUID().toString();
@@ -400,6 +628,36 @@ class MatchServiceTest {
         }
     }
 
+    @Test
+    void legalMoves() {
+        String host = UUID.randomUUID().toString();
+        String guest = UUID.randomUUID().toString();
+
+        Match match = matchService.hostMatch(host);
+
+        match = matchService.connectToMatch(guest, match.getUuid());
+
+        positionWhiteFleet(match.getWhitePlayer(), match.getUuid());
+
+        matchService.ready(match.getWhitePlayer(), match.getUuid());
+
+        positionBlackFleet(match.getBlackPlayer(), match.getUuid());
+
+        matchService.ready(match.getBlackPlayer(), match.getUuid());
+
+        matchService.startMatch(host, match.getUuid());
+
+        Map<Ship.ShipClass, Set<Ship.Coordinates>> legalMoves =
+                matchService.legalMoves(match.getWhitePlayer(), match.getUuid());
+
+        assertThat(legalMoves).hasSize(21);
+        assertThat(legalMoves.get(Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP))
+                .containsExactlyInAnyOrder(new Ship.Coordinates(0, 0), new Ship.Coordinates(2, 0));
+        assertThat(legalMoves.get(Ship.ShipClass.NIMITZ_SUBCLASS_AIRCRAFT_CARRIER))
+                .containsExactly(new Ship.Coordinates(0, 3));
+        assertThat(legalMoves.get(Ship.ShipClass.VIRGINIA_CLASS_ATTACK_SUBMARINE_0)).isEmpty();
+    }
+
     @RepeatedTest(4)
     void moveShipWhileNotYetTurn() {
         String host = UUID.randomUUID().toString();
@@ -659,28 +917,49 @@ class MatchServiceTest {
 
         matchService.startMatch(host, match.getUuid());
 
+        Match started = matchService.retrieveMatch(match.getUuid());
+        Ship ship = new Ship();
+        ship.setShipClass(Ship.ShipClass.NIMITZ_SUBCLASS_AIRCRAFT_CARRIER);
+        if (started.getTurn() == Ship.Color.WHITE) {
+            ship.setColor(Ship.Color.WHITE);
+            ship.setCoordinates(new Ship.Coordinates(0, 3));
+            matchService.moveShip(started.getWhitePlayer(), started.getUuid(), ship);
+        } else {
+            ship.setColor(Ship.Color.BLACK);
+            ship.setCoordinates(new Ship.Coordinates(0, 4));
+            matchService.moveShip(started.getBlackPlayer(), started.getUuid(), ship);
+        }
+
         matchService.resign(guest, match.getUuid());
 
         Match actual = matchService.retrieveMatch(match.getUuid());
         assertThat(actual.getFleets()).hasSize(2);
         assertThat(actual.getWinner()).isEqualTo(host);
         assertThat(actual.getLoser()).isEqualTo(guest);
-        actual.getMoves().add(actual.getFleets());
+        assertThat(actual.getMoveCount()).isEqualTo(1);
 
-        assertThat(matchService.retrieveFinishedMatches()).hasSize(1);
+        assertThat(matchService.retrieveFinishedMatches(20, null).getItems()).hasSize(1);
 
-        assertThat(matchService.replay(match.getUuid())).hasSize(42);
-        Map<String, Set<Ship>> fleets = matchService.replay(match.getUuid()).get(41);
-        Ship whiteCommandShip = fleets.get(actual.getWhitePlayer()).stream().findFirst().get();
+        List<Map<String, Set<Ship>>> turns = matchService.replay(match.getUuid());
+        assertThat(turns).hasSize(2);
+        assertThat(turns.get(0).get(actual.getWhitePlayer())).hasSize(21);
+        assertThat(turns.get(0).get(actual.getBlackPlayer())).hasSize(21);
+        assertThat(turns.get(1)).isEqualTo(actual.getFleets());
+        assertThat(matchService.replay(match.getUuid(), 1)).isEqualTo(turns.get(1));
+        assertThat(matchService.replay(match.getUuid(), 1, 5)).containsExactly(turns.get(1));
+
+        Ship whiteCommandShip = turns.get(1).get(actual.getWhitePlayer()).stream()
+                .filter(whiteShip -> whiteShip.getShipClass() == Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP)
+                .findFirst().get();
         assertThat(whiteCommandShip)
                 .extracting("color", "shipClass", "coordinates")
                 .containsExactly(Ship.Color.WHITE, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP,
                         new Ship.Coordinates(1, 0));
-        Ship blackCommandShip = fleets.get(actual.getBlackPlayer()).stream().findFirst().get();
-        assertThat(blackCommandShip)
-                .extracting("color", "shipClass", "coordinates")
-                .containsExactly(Ship.Color.BLACK, Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP,
-                        new Ship.Coordinates(1, 7));
+        Ship movedShip = turns.get(1).get(ship.getColor() == Ship.Color.WHITE
+                ? actual.getWhitePlayer() : actual.getBlackPlayer()).stream()
+                .filter(ship::equals)
+                .findFirst().get();
+        assertThat(movedShip.getCoordinates()).isEqualTo(ship.getCoordinates());
     }
 
     @RepeatedTest(4)
@@ -710,6 +989,53 @@ class MatchServiceTest {
         assertThat(actual.isDraw()).isTrue();
     }
 
+    @Test
+    void drawAfterConcurrentUpdate() {
+        String host = UUID.randomUUID().toString();
+        String guest = UUID.randomUUID().toString();
+
+        MatchDAO matchDAO = new MatchDAODynamoDBImpl(dynamoDbClient, new GsonBuilder().create()) {
+
+            private boolean updated;
+
+            @Override
+            public boolean updateMatch(Match match) {
+                if (match.isDraw() && !updated) {
+                    // another request updates the match after it has been retrieved
+                    updated = true;
+                    Match concurrentMatch = retrieveMatch(match.getUuid());
+                    concurrentMatch.setBlackPlayerAgreedToDraw(true);
+                    concurrentMatch.setWhitePlayerAgreedToDraw(true);
+                    super.updateMatch(concurrentMatch);
+                }
+
+                return super.updateMatch(match);
+            }
+        };
+        matchService = new MatchServiceImpl(new ArbitrationServiceImpl(), matchDAO, matchAsyncDAO);
+
+        Match match = matchService.hostMatch(host);
+
+        match = matchService.connectToMatch(guest, match.getUuid());
+
+        positionWhiteFleet(match.getWhitePlayer(), match.getUuid());
+
+        matchService.ready(match.getWhitePlayer(), match.getUuid());
+
+        positionBlackFleet(match.getBlackPlayer(), match.getUuid());
+
+        matchService.ready(match.getBlackPlayer(), match.getUuid());
+
+        matchService.startMatch(host, match.getUuid());
+
+        matchService.draw(host, match.getUuid());
+
+        // the second offer is retried against the latest version and ends the match
+        Match actual = matchService.draw(guest, match.getUuid());
+        assertThat(actual.isDraw()).isTrue();
+        assertThat(actual.getVersion()).isEqualTo(matchService.retrieveMatch(match.getUuid()).getVersion());
+    }
+
     @RepeatedTest(4)
     void resign() {
         String host = UUID.randomUUID().toString();
@@ -741,14 +1067,14 @@ class MatchServiceTest {
     void retrieveFinishedMatches() {
         resign();
 
-        assertThat(matchService.retrieveFinishedMatches()).isNotEmpty();
+        assertThat(matchService.retrieveFinishedMatches(20, null).getItems()).isNotEmpty();
     }
 
     @Test
     void retrieveActiveMatches() {
         startMatch();
 
-        assertThat(matchService.retrieveActiveMatches()).isNotEmpty();
+        assertThat(matchService.retrieveActiveMatches(20, null).getItems()).isNotEmpty();
     }
 
     @Test
@@ -757,7 +1083,14 @@ class MatchServiceTest {
 
         matchService.hostMatch(host);
 
-        assertThat(matchService.retrieveUnstartedMatches()).isNotEmpty();
+        assertThat(matchService.retrieveUnstartedMatches(20, null).getItems()).isNotEmpty();
+    }
+
+    @Test
+    void retrieveUnstartedMatchesWithInvalidLimit() {
+        assertThatThrownBy(() -> matchService.retrieveUnstartedMatches(0, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Limit must be from 1 to 100");
     }
 
     private void positionWhiteFleet(String host, String matchUuid) {
@@ -0,0 +1,249 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.service;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vincenzolabs.cots.match.service.impl.TokenServiceImpl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The test case for {@link TokenService}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+class TokenServiceTest {
+
+    private static final Gson GSON = new GsonBuilder().create();
+
+    private static final String ISSUER = "https://cognito-idp.ap-southeast-2.amazonaws.com/ap-southeast-2_test";
+
+    private static final String CLIENT_ID = "client";
+
+    private static final Instant NOW = Instant.parse("2020-03-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private KeyPair keyPair;
+
+    private Path keySet;
+
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() throws GeneralSecurityException, IOException {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        keyPair = keyPairGenerator.generateKeyPair();
+
+        keySet = directory.resolve("jwks.json");
+        writeKeySet("key-1", keyPair);
+
+        tokenService = new TokenServiceImpl(ISSUER, CLIENT_ID, keySet.toUri().toString(), GSON,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void verify() throws GeneralSecurityException {
+        String playerUuid = UUID.randomUUID().toString();
+
+        assertThat(tokenService.verify(createToken("key-1", keyPair, claims(playerUuid, ISSUER, 3600, "access"))))
+                .isEqualTo(playerUuid);
+        assertThat(tokenService.verify(createToken("key-1", keyPair, claims(playerUuid, ISSUER, 3600, "id"))))
+                .isEqualTo(playerUuid);
+    }
+
+    @Test
+    void verifyWithRotatedKey() throws GeneralSecurityException, IOException {
+        String playerUuid = UUID.randomUUID().toString();
+        assertThat(tokenService.verify(createToken("key-1", keyPair, claims(playerUuid, ISSUER, 3600, "access"))))
+                .isEqualTo(playerUuid);
+
+        // the key set is read again once the refresh interval has passed
+        KeyPair rotatedKeyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        writeKeySet("key-2", rotatedKeyPair);
+        String token = createToken("key-2", rotatedKeyPair, claims(playerUuid, ISSUER, 7200, "access"));
+
+        assertThatThrownBy(() -> tokenService.verify(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Token signing key is unknown");
+
+        TokenService later = new TokenServiceImpl(ISSUER, CLIENT_ID, keySet.toUri().toString(), GSON,
+                Clock.fixed(NOW.plus(TokenServiceImpl.KEY_SET_REFRESH_INTERVAL), ZoneOffset.UTC));
+        assertThat(later.verify(token)).isEqualTo(playerUuid);
+    }
+
+    @Test
+    void verifyAfterFailedKeySetRead() throws GeneralSecurityException, IOException {
+        String playerUuid = UUID.randomUUID().toString();
+        String token = createToken("key-1", keyPair, claims(playerUuid, ISSUER, 3600, "access"));
+
+        Files.delete(keySet);
+
+        assertThatThrownBy(() -> tokenService.verify(token))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Failed to read key set");
+
+        // the failed read does not hold off the next read for the refresh interval
+        writeKeySet("key-1", keyPair);
+
+        assertThat(tokenService.verify(token)).isEqualTo(playerUuid);
+    }
+
+    @Test
+    void verifyWithInvalidSignature() throws GeneralSecurityException {
+        KeyPair otherKeyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        String token = createToken("key-1", otherKeyPair, claims(UUID.randomUUID().toString(), ISSUER, 3600,
+                "access"));
+
+        assertThatThrownBy(() -> tokenService.verify(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Token signature is invalid");
+    }
+
+    @Test
+    void verifyWithExpiredToken() throws GeneralSecurityException {
+        String token = createToken("key-1", keyPair, claims(UUID.randomUUID().toString(), ISSUER, 0, "access"));
+
+        assertThatThrownBy(() -> tokenService.verify(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Token has expired");
+    }
+
+    @Test
+    void verifyWithInvalidClaims() throws GeneralSecurityException {
+        String otherIssuer = createToken("key-1", keyPair, claims(UUID.randomUUID().toString(),
+                "https://example.com", 3600, "access"));
+        assertThatThrownBy(() -> tokenService.verify(otherIssuer))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Token issuer is invalid");
+
+        String refreshToken = createToken("key-1", keyPair, claims(UUID.randomUUID().toString(), ISSUER, 3600,
+                "refresh"));
+        assertThatThrownBy(() -> tokenService.verify(refreshToken))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Token use is invalid");
+    }
+
+    @Test
+    void verifyWithInvalidAudience() throws GeneralSecurityException {
+        String playerUuid = UUID.randomUUID().toString();
+
+        Map<String, Object> accessClaims = new HashMap<>(claims(playerUuid, ISSUER, 3600, "access"));
+        accessClaims.put("client_id", "other");
+        String accessToken = createToken("key-1", keyPair, accessClaims);
+        assertThatThrownBy(() -> tokenService.verify(accessToken))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Token audience is invalid");
+
+        // the client of an ID token is its audience rather than its client_id
+        Map<String, Object> idClaims = new HashMap<>(claims(playerUuid, ISSUER, 3600, "id"));
+        idClaims.remove("aud");
+        idClaims.put("client_id", CLIENT_ID);
+        String idToken = createToken("key-1", keyPair, idClaims);
+        assertThatThrownBy(() -> tokenService.verify(idToken))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Token audience is invalid");
+    }
+
+    @Test
+    void verifyWithMalformedToken() {
+        assertThatThrownBy(() -> tokenService.verify(""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Token cannot be null or empty");
+        assertThatThrownBy(() -> tokenService.verify("not-a-token"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Token is invalid");
+        assertThatThrownBy(() -> tokenService.verify("!.!.!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Token is invalid");
+
+        String unsigned = encode(Map.of("alg", "none")) + "." + encode(Map.of("sub", "player")) + ".";
+        assertThatThrownBy(() -> tokenService.verify(unsigned))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Token algorithm is not supported");
+    }
+
+    private Map<String, Object> claims(String subject, String issuer, long expiresIn, String tokenUse) {
+        return Map.of("sub", subject,
+                "iss", issuer,
+                "exp", NOW.getEpochSecond() + expiresIn,
+                "token_use", tokenUse,
+                "id".equals(tokenUse) ? "aud" : "client_id", CLIENT_ID);
+    }
+
+    private String createToken(String keyId, KeyPair signingKeyPair, Map<String, Object> claims)
+            throws GeneralSecurityException {
+        String content = encode(Map.of("alg", "RS256", "kid", keyId)) + "." + encode(claims);
+
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(signingKeyPair.getPrivate());
+        signature.update(content.getBytes(StandardCharsets.US_ASCII));
+
+        return content + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature.sign());
+    }
+
+    private String encode(Map<String, Object> json) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(GSON.toJson(json).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeKeySet(String keyId, KeyPair publicKeyPair) throws IOException {
+        RSAPublicKey publicKey = (RSAPublicKey) publicKeyPair.getPublic();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+        Map<String, Object> jsonWebKey = Map.of("kty", "RSA",
+                "kid", keyId,
+                "alg", "RS256",
+                "use", "sig",
+                "n", encoder.encodeToString(publicKey.getModulus().toByteArray()),
+                "e", encoder.encodeToString(publicKey.getPublicExponent().toByteArray()));
+
+        Files.writeString(keySet, GSON.toJson(Map.of("keys", List.of(jsonWebKey))));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.match.simulation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vincenzolabs.cots.domain.Ship;
+import org.vincenzolabs.cots.match.engine.Board;
+import org.vincenzolabs.cots.match.service.impl.ArbitrationServiceImpl;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The test case for {@link Simulator}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+class SimulatorTest {
+
+    private ForkJoinPool forkJoinPool;
+
+    private Simulator simulator;
+
+    @BeforeEach
+    void setUp() {
+        forkJoinPool = new ForkJoinPool(4);
+        simulator = new Simulator(new ArbitrationServiceImpl(), forkJoinPool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        forkJoinPool.shutdown();
+    }
+
+    @Test
+    void simulate() {
+        Strategy strategy = new RandomStrategy();
+
+        SimulationReport report = simulator.simulate(1000, 42L, strategy, strategy);
+
+        assertThat(report.getGames()).isEqualTo(1000);
+        assertThat(report.getWhiteWins() + report.getBlackWins() + report.getDraws()).isEqualTo(1000);
+        assertThat(report.getAverageLength()).isBetween(1.0, (double) Simulator.MAX_TURNS);
+        assertThat(report.getGamesPerSecond()).isPositive();
+        assertThat(report.getChallenges(Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP)).isPositive();
+        assertThat(report.getWinRate(Ship.ShipClass.GERALD_FORD_CLASS_AIRCRAFT_CARRIER))
+                .isGreaterThan(report.getWinRate(Ship.ShipClass.INDEPENDENCE_CLASS_LITTORAL_COMBAT_SHIP_0));
+    }
+
+    @Test
+    void simulateIsReproducible() {
+        Strategy strategy = new RandomStrategy();
+
+        SimulationReport report = simulator.simulate(500, 7L, strategy, strategy);
+
+        ForkJoinPool singleThreadPool = new ForkJoinPool(1);
+        try {
+            SimulationReport actual = new Simulator(new ArbitrationServiceImpl(), singleThreadPool)
+                    .simulate(500, 7L, strategy, strategy);
+
+            assertThat(actual.getTurns()).isEqualTo(report.getTurns());
+            assertThat(actual.getWhiteWins()).isEqualTo(report.getWhiteWins());
+            assertThat(actual.getBlackWins()).isEqualTo(report.getBlackWins());
+            assertThat(actual.getDraws()).isEqualTo(report.getDraws());
+        } finally {
+            singleThreadPool.shutdown();
+        }
+    }
+
+    @Test
+    void simulateWithoutGames() {
+        Strategy strategy = new RandomStrategy();
+
+        assertThatThrownBy(() -> simulator.simulate(0, 42L, strategy, strategy))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Number of games must be positive");
+    }
+
+    @Test
+    void simulateWithInvalidMove() {
+        Strategy strategy = (board, color, random) -> Strategy.move(Ship.ShipClass.BLUE_RIDGE_CLASS_COMMAND_SHIP,
+                Board.square(4, 4));
+
+        assertThatThrownBy(() -> simulator.simulate(1, 42L, strategy, strategy))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageEndingWith("Move of BLUE_RIDGE_CLASS_COMMAND_SHIP is invalid");
+    }
+}
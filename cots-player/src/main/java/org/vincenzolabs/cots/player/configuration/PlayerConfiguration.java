@@ -29,19 +29,30 @@ import org.glassfish.jersey.client.JerseyClientBuilder;
 import org.json.simple.parser.JSONParser;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.vincenzolabs.cots.player.dao.PlayerAsyncDAO;
 import org.vincenzolabs.cots.player.dao.PlayerDAO;
+import org.vincenzolabs.cots.player.dao.impl.PlayerAsyncDAOBlockingImpl;
+import org.vincenzolabs.cots.player.dao.impl.PlayerAsyncDAODynamoDBImpl;
 import org.vincenzolabs.cots.player.dao.impl.PlayerDAODynamoDBImpl;
+import org.vincenzolabs.cots.player.dao.impl.PlayerDAOInMemoryImpl;
 import org.vincenzolabs.cots.player.service.CognitoService;
+import org.vincenzolabs.cots.player.service.ParameterService;
 import org.vincenzolabs.cots.player.service.PlayerService;
+import org.vincenzolabs.cots.player.service.impl.CognitoServiceCachingImpl;
 import org.vincenzolabs.cots.player.service.impl.CognitoServiceImpl;
+import org.vincenzolabs.cots.player.service.impl.ParameterServiceImpl;
 import org.vincenzolabs.cots.player.service.impl.PlayerServiceImpl;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.ssm.SsmClient;
 
 import javax.ws.rs.client.Client;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The player configuration.
@@ -51,6 +62,36 @@ import javax.ws.rs.client.Client;
 @Configuration
 public class PlayerConfiguration {
 
+    /**
+     * The environment variable that selects where the {@link org.vincenzolabs.cots.domain.Player}s are stored. Set it
+     * to {@value #IN_MEMORY_DATA_STORE} to run without DynamoDB; any other value uses DynamoDB.
+     */
+    public static final String DATA_STORE_VARIABLE = "COTS_DATA_STORE";
+
+    /**
+     * The value of {@value #DATA_STORE_VARIABLE} that selects the in-memory data store.
+     */
+    public static final String IN_MEMORY_DATA_STORE = "memory";
+
+    /**
+     * The environment variable of the time to live of the parameters as an ISO-8601 duration, e.g. {@code PT15M}.
+     */
+    public static final String PARAMETER_TIME_TO_LIVE_VARIABLE = "COTS_PARAMETER_TTL";
+
+    /**
+     * The environment variable of the minimum interval between updates of the last login date of a player as an
+     * ISO-8601 duration, e.g. {@code PT15M}.
+     */
+    public static final String LAST_LOGIN_INTERVAL_VARIABLE = "COTS_LAST_LOGIN_INTERVAL";
+
+    private static final Duration DEFAULT_PARAMETER_TIME_TO_LIVE = Duration.ofMinutes(15);
+
+    private static final Duration DEFAULT_LAST_LOGIN_INTERVAL = Duration.ofMinutes(15);
+
+    private static final int SESSION_CACHE_SIZE = 1024;
+
+    private static final Duration SESSION_EVICTION_MARGIN = Duration.ofMinutes(5);
+
     /**
      * Returns the {@link DynamoDbClient}.
      *
@@ -64,6 +105,19 @@ public class PlayerConfiguration {
                 .build();
     }
 
+    /**
+     * Returns the {@link DynamoDbAsyncClient}.
+     *
+     * @return the {@link DynamoDbAsyncClient}
+     */
+    @Bean
+    public DynamoDbAsyncClient dynamoDbAsyncClient() {
+        return DynamoDbAsyncClient.builder()
+                .region(Region.AP_SOUTHEAST_2)
+                .credentialsProvider(DefaultCredentialsProvider.builder().build())
+                .build();
+    }
+
     /**
      * Returns the {@link CognitoIdentityProviderClient}.
      *
@@ -91,14 +145,30 @@ public class PlayerConfiguration {
     }
 
     /**
-     * Returns the {@link CognitoService}.
+     * Returns the {@link CognitoService} which caches the tokens and user information of a session for as long as the
+     * container is warm.
      *
      * @return the {@link CognitoService}
      */
     @Bean
     public CognitoService cognitoService() {
-        return new CognitoServiceImpl(cognitoIdentityProviderClient(), ssmClient(), client(), jsonParser(),
-                gson());
+        return new CognitoServiceCachingImpl(new CognitoServiceImpl(cognitoIdentityProviderClient(),
+                parameterService(), client(), jsonParser(), gson()), SESSION_CACHE_SIZE, SESSION_EVICTION_MARGIN,
+                Clock.systemUTC());
+    }
+
+    /**
+     * Returns the {@link ParameterService} which caches the parameters of the {@link CognitoService}.
+     *
+     * @return the {@link ParameterService}
+     */
+    @Bean
+    public ParameterService parameterService() {
+        String timeToLive = System.getenv(PARAMETER_TIME_TO_LIVE_VARIABLE);
+
+        return new ParameterServiceImpl(ssmClient(), CognitoServiceImpl.PARAMETER_NAMES,
+                timeToLive == null ? DEFAULT_PARAMETER_TIME_TO_LIVE : Duration.parse(timeToLive), Clock.systemUTC(),
+                ForkJoinPool.commonPool());
     }
 
     /**
@@ -122,15 +192,33 @@ public class PlayerConfiguration {
     }
 
     /**
-     * Returns the {@link PlayerDAO}.
+     * Returns the {@link PlayerDAO}, which is kept in memory if it is selected by {@value #DATA_STORE_VARIABLE}.
      *
      * @return the {@link PlayerDAO}
      */
     @Bean
     public PlayerDAO playerDAO() {
+        if (isInMemory()) {
+            return new PlayerDAOInMemoryImpl();
+        }
+
         return new PlayerDAODynamoDBImpl(dynamoDbClient(), gson());
     }
 
+    /**
+     * Returns the {@link PlayerAsyncDAO}.
+     *
+     * @return the {@link PlayerAsyncDAO}
+     */
+    @Bean
+    public PlayerAsyncDAO playerAsyncDAO() {
+        if (isInMemory()) {
+            return new PlayerAsyncDAOBlockingImpl(playerDAO());
+        }
+
+        return new PlayerAsyncDAODynamoDBImpl(dynamoDbAsyncClient(), gson());
+    }
+
     /**
      * Returns the {@link PlayerService}.
      *
@@ -138,7 +226,11 @@ public class PlayerConfiguration {
      */
     @Bean
     public PlayerService playerService() {
-        return new PlayerServiceImpl(playerDAO(), cognitoService());
+        String lastLoginInterval = System.getenv(LAST_LOGIN_INTERVAL_VARIABLE);
+
+        return new PlayerServiceImpl(playerDAO(), playerAsyncDAO(), cognitoService(),
+                lastLoginInterval == null ? DEFAULT_LAST_LOGIN_INTERVAL : Duration.parse(lastLoginInterval),
+                Clock.systemUTC());
     }
 
     /**
@@ -150,4 +242,8 @@ public class PlayerConfiguration {
     public Client client() {
         return JerseyClientBuilder.newClient();
     }
+
+    private static boolean isInMemory() {
+        return IN_MEMORY_DATA_STORE.equalsIgnoreCase(System.getenv(DATA_STORE_VARIABLE));
+    }
 }
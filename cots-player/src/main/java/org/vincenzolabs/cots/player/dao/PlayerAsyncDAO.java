@@ -0,0 +1,61 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.player.dao;
+
+import org.vincenzolabs.cots.domain.Player;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The non-blocking domain access object for reading players. Independent reads can be started together so that the
+ * caller only waits for the slowest one.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public interface PlayerAsyncDAO {
+
+    /**
+     * Returns the {@link Player} matching the given UUID.
+     *
+     * @param playerUuid the UUID of the {@link Player}
+     * @return the {@link CompletableFuture} of the {@link Player} or {@code null} if it does not exist
+     */
+    CompletableFuture<Player> retrievePlayerByUuid(String playerUuid);
+
+    /**
+     * Returns the {@link Player} matching the given email address from a secondary index.
+     *
+     * @param emailAddress the email address
+     * @return the {@link CompletableFuture} of the {@link Player} or {@code null} if it does not exist
+     */
+    CompletableFuture<Player> retrievePlayerByEmailAddress(String emailAddress);
+
+    /**
+     * Returns the {@link Player} matching the given nickname from a secondary index.
+     *
+     * @param nickname the nickname
+     * @return the {@link CompletableFuture} of the {@link Player} or {@code null} if it does not exist
+     */
+    CompletableFuture<Player> retrievePlayerByNickname(String nickname);
+}
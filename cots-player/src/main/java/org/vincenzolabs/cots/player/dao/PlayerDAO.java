@@ -23,9 +23,10 @@
  */
 package org.vincenzolabs.cots.player.dao;
 
+import org.vincenzolabs.cots.domain.Page;
 import org.vincenzolabs.cots.domain.Player;
 
-import java.util.Set;
+import java.time.LocalDateTime;
 
 /**
  * The domain access object for player.
@@ -69,12 +70,25 @@ public interface PlayerDAO {
     Player retrievePlayerByNickname(String nickname);
 
     /**
-     * Returns the {@link Set} of {@link Player}s according to their number of wins.
+     * Returns a {@link Page} of {@link Player}s in no particular order.
      *
-     * @param tournament the tournament
-     * @return the {@link Set} of {@link Player}s
+     * @param limit  the maximum number of {@link Player}s
+     * @param cursor the cursor of the {@link Page} or {@code null} for the first {@link Page}
+     * @return the {@link Page} of {@link Player}s
+     * @see #retrieveRankedPlayers(String, int, String)
      */
-    Set<Player> retrievePlayers(String tournament);
+    Page<Player> retrievePlayers(int limit, String cursor);
+
+    /**
+     * Returns a {@link Page} of {@link Player}s from the most to the least number of wins. Only the {@link Player}s
+     * with statistics for the tournament are ranked.
+     *
+     * @param tournament the tournament or {@code null} for the overall statistics
+     * @param limit      the maximum number of {@link Player}s
+     * @param cursor     the cursor of the {@link Page} or {@code null} for the first {@link Page}
+     * @return the {@link Page} of {@link Player}s
+     */
+    Page<Player> retrieveRankedPlayers(String tournament, int limit, String cursor);
 
     /**
      * Updates a {@link Player}.
@@ -84,6 +98,17 @@ public interface PlayerDAO {
      */
     boolean updatePlayer(Player player);
 
+    /**
+     * Updates only the last login date of a {@link Player} if it has not been changed since it was read, so that
+     * concurrent logins write it once.
+     *
+     * @param playerUuid            the UUID of the {@link Player}
+     * @param previousLastLoginDate the last login date that was read or {@code null} if there was none
+     * @param lastLoginDate         the new last login date
+     * @return {@code true} if the last login date has been updated; {@code false} if it was changed by another login
+     */
+    boolean updateLastLoginDate(String playerUuid, LocalDateTime previousLastLoginDate, LocalDateTime lastLoginDate);
+
     /**
      * Deletes a {@link Player}.
      *
@@ -0,0 +1,74 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.player.dao.impl;
+
+import org.vincenzolabs.cots.domain.Player;
+import org.vincenzolabs.cots.player.dao.PlayerAsyncDAO;
+import org.vincenzolabs.cots.player.dao.PlayerDAO;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * The implementation of {@link PlayerAsyncDAO} which reads from a {@link PlayerDAO} in the calling thread. It is meant
+ * for the {@link PlayerDAOInMemoryImpl} whose reads do not wait on the network.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class PlayerAsyncDAOBlockingImpl implements PlayerAsyncDAO {
+
+    private final PlayerDAO playerDAO;
+
+    /**
+     * Default constructor.
+     *
+     * @param playerDAO the {@link PlayerDAO}
+     */
+    public PlayerAsyncDAOBlockingImpl(PlayerDAO playerDAO) {
+        this.playerDAO = playerDAO;
+    }
+
+    @Override
+    public CompletableFuture<Player> retrievePlayerByUuid(final String playerUuid) {
+        return complete(() -> playerDAO.retrievePlayerByUuid(playerUuid));
+    }
+
+    @Override
+    public CompletableFuture<Player> retrievePlayerByEmailAddress(final String emailAddress) {
+        return complete(() -> playerDAO.retrievePlayerByEmailAddress(emailAddress));
+    }
+
+    @Override
+    public CompletableFuture<Player> retrievePlayerByNickname(final String nickname) {
+        return complete(() -> playerDAO.retrievePlayerByNickname(nickname));
+    }
+
+    private CompletableFuture<Player> complete(Supplier<Player> read) {
+        try {
+            return CompletableFuture.completedFuture(read.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.player.dao.impl;
+
+import com.google.gson.Gson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vincenzolabs.cots.domain.Player;
+import org.vincenzolabs.cots.player.dao.PlayerAsyncDAO;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.vincenzolabs.cots.player.dao.impl.PlayerItemMapper.COLUMNS;
+import static org.vincenzolabs.cots.player.dao.impl.PlayerItemMapper.getValue;
+
+/**
+ * The DynamoDB implementation of {@link PlayerAsyncDAO} on the {@link DynamoDbAsyncClient}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class PlayerAsyncDAODynamoDBImpl implements PlayerAsyncDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlayerAsyncDAODynamoDBImpl.class);
+
+    private static final String PLAYER_TABLE_NAME = "player";
+
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+
+    private final PlayerItemMapper mapper;
+
+    /**
+     * Default constructor.
+     *
+     * @param dynamoDbAsyncClient the {@link DynamoDbAsyncClient}
+     * @param gson                the {@link Gson}
+     */
+    public PlayerAsyncDAODynamoDBImpl(DynamoDbAsyncClient dynamoDbAsyncClient, Gson gson) {
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.mapper = new PlayerItemMapper(gson);
+    }
+
+    @Override
+    public CompletableFuture<Player> retrievePlayerByUuid(final String playerUuid) {
+        Map<String, AttributeValue> key = new HashMap<>();
+        key.put("uuid", AttributeValue.builder().s(playerUuid).build());
+
+        GetItemRequest request = GetItemRequest.builder()
+                .tableName(PLAYER_TABLE_NAME)
+                .key(key)
+                .attributesToGet(COLUMNS)
+                .build();
+
+        return dynamoDbAsyncClient.getItem(request)
+                .thenApply(response -> {
+                    Map<String, AttributeValue> item = response.item();
+                    if (item == null || item.isEmpty()) {
+                        LOGGER.warn("Failed to retrieve player: Player with UUID [{}] does not exist", playerUuid);
+
+                        return null;
+                    }
+
+                    return mapper.toPlayer(item);
+                })
+                .whenComplete((player, e) -> {
+                    if (e != null) {
+                        LOGGER.error("Failed to retrieve player: [{}]", e.getMessage(), e);
+                    }
+                });
+    }
+
+    @Override
+    public CompletableFuture<Player> retrievePlayerByEmailAddress(final String emailAddress) {
+        return retrievePlayer("emailAddress", emailAddress, "emailAddresses", "email address");
+    }
+
+    @Override
+    public CompletableFuture<Player> retrievePlayerByNickname(final String nickname) {
+        return retrievePlayer("nickname", nickname, "nicknames", "nickname");
+    }
+
+    private CompletableFuture<Player> retrievePlayer(final String attributeKey, final String attributeValue,
+                                                     final String secondaryIndexName, final String description) {
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":" + attributeKey, AttributeValue.builder().s(attributeValue).build());
+
+        QueryRequest request = QueryRequest.builder()
+                .tableName(PLAYER_TABLE_NAME)
+                .indexName(secondaryIndexName)
+                .keyConditionExpression(attributeKey + " = :" + attributeKey)
+                .expressionAttributeValues(expressionAttributeValues)
+                .consistentRead(false)
+                .build();
+
+        // the secondary index only holds the keys so the player is read from the table once the UUID is known
+        return dynamoDbAsyncClient.query(request)
+                .whenComplete((response, e) -> {
+                    if (e != null) {
+                        LOGGER.error("Failed to retrieve player by {}: [{}]", description, e.getMessage(), e);
+                    }
+                })
+                .thenCompose(response -> {
+                    if (response.count() == 0) {
+                        LOGGER.warn("Failed to retrieve player: Player with {} [{}] does not exist", description,
+                                attributeValue);
+
+                        return CompletableFuture.completedFuture(null);
+                    }
+
+                    String uuid = getValue(response.items().get(0).get("uuid"), String.class);
+
+                    return retrievePlayerByUuid(uuid);
+                });
+    }
+}
@@ -30,15 +30,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.vincenzolabs.cots.domain.Page;
 import org.vincenzolabs.cots.domain.Player;
 import org.vincenzolabs.cots.player.dao.PlayerDAO;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeAction;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValueUpdate;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
 import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
@@ -48,18 +53,23 @@ import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
 import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static org.vincenzolabs.cots.player.dao.impl.PlayerItemMapper.COLUMNS;
+import static org.vincenzolabs.cots.player.dao.impl.PlayerItemMapper.getValue;
+
 /**
- * The DynamoDB implementation of {@link PlayerDAO}.
+ * The DynamoDB implementation of {@link PlayerDAO}. The wins of every {@link Player}, overall and per tournament, are
+ * copied into the ranking table whose secondary index sorts them by tournament and wins.
  *
  * @author Rey Vincent Babilonia
  */
@@ -70,16 +80,28 @@ public class PlayerDAODynamoDBImpl implements PlayerDAO {
 
     private static final String PLAYER_TABLE_NAME = "player";
 
-    private static final String[] COLUMNS = {"uuid", "emailAddress", "nickname", "avatar", "registrationDate",
-            "lastLoginDate", "statistics", "tournamentStatistics", "accessToken"};
+    private static final String RANKING_TABLE_NAME = "ranking";
+
+    private static final String RANKING_INDEX_NAME = "rankings";
+
+    /**
+     * The tournament under which the overall wins are ranked. It cannot be empty since it is a key.
+     */
+    private static final String OVERALL_RANKING = "*";
+
+    private static final Set<String> PLAYER_CURSOR_KEYS = Set.of("uuid");
+
+    private static final Set<String> RANKING_CURSOR_KEYS = Set.of("uuid", "tournament", "wins");
 
-    private static final Type STATISTICS_TYPE = new TypeToken<Map<String, Player.Statistics>>() {
+    private static final Type CURSOR_TYPE = new TypeToken<Map<String, String>>() {
     }.getType();
 
     private final DynamoDbClient dynamoDbClient;
 
     private final Gson gson;
 
+    private final PlayerItemMapper mapper;
+
     /**
      * Default constructor.
      *
@@ -90,6 +112,7 @@ public class PlayerDAODynamoDBImpl implements PlayerDAO {
     public PlayerDAODynamoDBImpl(DynamoDbClient dynamoDbClient, Gson gson) {
         this.dynamoDbClient = dynamoDbClient;
         this.gson = gson;
+        this.mapper = new PlayerItemMapper(gson);
     }
 
     @Override
@@ -143,29 +166,7 @@ public class PlayerDAODynamoDBImpl implements PlayerDAO {
             Map<String, AttributeValue> item = dynamoDbClient.getItem(request).item();
 
             if (item != null && !item.isEmpty()) {
-                Player player = new Player();
-                player.setUuid(getValue(item.get("uuid"), String.class));
-                player.setNickname(getValue(item.get("nickname"), String.class));
-                player.setEmailAddress(getValue(item.get("emailAddress"), String.class));
-                player.setAvatar(getValue(item.get("avatar"), String.class));
-                if (item.get("registrationDate") != null) {
-                    player.setRegistrationDate(LocalDateTime.parse(getValue(item.get("registrationDate"),
-                            String.class)));
-                }
-                if (item.get("lastLoginDate") != null) {
-                    player.setLastLoginDate(LocalDateTime.parse(getValue(item.get("lastLoginDate"), String.class)));
-                }
-                if (item.get("statistics") != null) {
-                    player.setStatistics(gson.fromJson(item.get("statistics").s(), Player.Statistics.class));
-                }
-                if (item.get("tournamentStatistics") != null) {
-                    Map<String, Player.Statistics> deserializedMap = gson.fromJson(item.get("tournamentStatistics").s(),
-                            STATISTICS_TYPE);
-
-                    player.setTournamentStatistics(deserializedMap);
-                }
-
-                return player;
+                return mapper.toPlayer(item);
             } else {
                 LOGGER.warn("Failed to retrieve player: Player with UUID [{}] does not exist", playerUuid);
 
@@ -189,53 +190,52 @@ public class PlayerDAODynamoDBImpl implements PlayerDAO {
     }
 
     @Override
-    public Set<Player> retrievePlayers(final String tournament) {
+    public Page<Player> retrievePlayers(final int limit, final String cursor) {
         ScanRequest request = ScanRequest.builder()
                 .tableName(PLAYER_TABLE_NAME)
+                .exclusiveStartKey(decodeCursor(cursor, PLAYER_CURSOR_KEYS))
+                .limit(limit)
                 .build();
 
-        Set<Player> players = new HashSet<>();
+        List<Player> players = new ArrayList<>();
         try {
             ScanResponse response = dynamoDbClient.scan(request);
-            response.items().forEach(item -> {
-                Player player = new Player();
-                player.setUuid(getValue(item.get("uuid"), String.class));
-                player.setNickname(getValue(item.get("nickname"), String.class));
-                player.setEmailAddress(getValue(item.get("emailAddress"), String.class));
-                player.setAvatar(getValue(item.get("avatar"), String.class));
-                if (item.get("registrationDate") != null) {
-                    player.setRegistrationDate(LocalDateTime.parse(getValue(item.get("registrationDate"),
-                            String.class)));
-                }
-                if (item.get("lastLoginDate") != null) {
-                    player.setLastLoginDate(LocalDateTime.parse(getValue(item.get("lastLoginDate"), String.class)));
-                }
-                if (item.get("statistics") != null) {
-                    player.setStatistics(gson.fromJson(item.get("statistics").s(), Player.Statistics.class));
-                }
-                if (item.get("tournamentStatistics") != null) {
-                    Map<String, Player.Statistics> deserializedMap = gson.fromJson(item.get("tournamentStatistics").s(),
-                            STATISTICS_TYPE);
-
-                    player.setTournamentStatistics(deserializedMap);
-                }
-
-                players.add(player);
-            });
-
-            if (StringUtils.isBlank(tournament)) {
-                return players.stream()
-                        .sorted(Comparator
-                                .comparingInt(p -> p.getStatistics().getWins().intValue()))
-                        .collect(Collectors.toCollection(LinkedHashSet::new));
-            } else {
-                return players.stream()
-                        .sorted(Comparator
-                                .comparingInt(p -> p.getTournamentStatistics().get(tournament).getWins().intValue()))
-                        .collect(Collectors.toCollection(LinkedHashSet::new));
-            }
+            // a scan returns the players in the order of their hashed keys
+            response.items().forEach(item -> players.add(mapper.toPlayer(item)));
+
+            return new Page<>(players, encodeCursor(response.lastEvaluatedKey()));
+        } catch (DynamoDbException e) {
+            LOGGER.error("Failed to retrieve players: [{}]", e.getMessage(), e);
+
+            throw e;
+        }
+    }
+
+    @Override
+    public Page<Player> retrieveRankedPlayers(final String tournament, final int limit, final String cursor) {
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":tournament", AttributeValue.builder().s(getRanking(tournament)).build());
+
+        QueryRequest request = QueryRequest.builder()
+                .tableName(RANKING_TABLE_NAME)
+                .indexName(RANKING_INDEX_NAME)
+                .keyConditionExpression("tournament = :tournament")
+                .expressionAttributeValues(expressionAttributeValues)
+                // the most wins first
+                .scanIndexForward(false)
+                .exclusiveStartKey(decodeCursor(cursor, RANKING_CURSOR_KEYS))
+                .limit(limit)
+                .build();
+
+        try {
+            QueryResponse response = dynamoDbClient.query(request);
+            List<String> playerUuids = response.items().stream()
+                    .map(item -> getValue(item.get("uuid"), String.class))
+                    .collect(Collectors.toList());
+
+            return new Page<>(retrievePlayersByUuid(playerUuids), encodeCursor(response.lastEvaluatedKey()));
         } catch (DynamoDbException e) {
-            LOGGER.error("Failed to retrieve unstarted matches: [{}]", e.getMessage(), e);
+            LOGGER.error("Failed to retrieve ranked players: [{}]", e.getMessage(), e);
 
             throw e;
         }
@@ -281,6 +281,8 @@ public class PlayerDAODynamoDBImpl implements PlayerDAO {
         try {
             dynamoDbClient.updateItem(request);
 
+            updateRankings(player);
+
             return true;
         } catch (ResourceNotFoundException e) {
             LOGGER.error("Failed to update player: Player with UUID [{}] does not exist", player.getUuid());
@@ -293,6 +295,54 @@ public class PlayerDAODynamoDBImpl implements PlayerDAO {
         }
     }
 
+    @Override
+    public boolean updateLastLoginDate(String playerUuid, LocalDateTime previousLastLoginDate,
+                                       LocalDateTime lastLoginDate) {
+        Map<String, AttributeValue> key = new HashMap<>();
+        key.put("uuid", AttributeValue.builder().s(playerUuid).build());
+
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        expressionAttributeNames.put("#uuid", "uuid");
+        expressionAttributeNames.put("#lastLoginDate", "lastLoginDate");
+
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":lastLoginDate", AttributeValue.builder().s(lastLoginDate.toString()).build());
+
+        // the player must exist and no other login may have updated it since it was read
+        String conditionExpression = "attribute_exists(#uuid) AND attribute_not_exists(#lastLoginDate)";
+        if (previousLastLoginDate != null) {
+            expressionAttributeValues.put(":previousLastLoginDate", AttributeValue.builder()
+                    .s(previousLastLoginDate.toString())
+                    .build());
+            conditionExpression = "attribute_exists(#uuid) AND #lastLoginDate = :previousLastLoginDate";
+        }
+
+        UpdateItemRequest request = UpdateItemRequest.builder()
+                .tableName(PLAYER_TABLE_NAME)
+                .key(key)
+                .updateExpression("SET #lastLoginDate = :lastLoginDate")
+                .conditionExpression(conditionExpression)
+                .expressionAttributeNames(expressionAttributeNames)
+                .expressionAttributeValues(expressionAttributeValues)
+                .build();
+
+        try {
+            dynamoDbClient.updateItem(request);
+
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            LOGGER.info("Skipped update of last login date of player with UUID [{}]: It was changed by another login",
+                    playerUuid);
+
+            return false;
+        } catch (DynamoDbException e) {
+            LOGGER.error("Failed to update last login date of player with UUID [{}]: [{}]", playerUuid,
+                    e.getMessage(), e);
+
+            throw e;
+        }
+    }
+
     @Override
     public boolean deletePlayer(String playerUuid) {
         Map<String, AttributeValue> key = new HashMap<>();
@@ -306,6 +356,8 @@ public class PlayerDAODynamoDBImpl implements PlayerDAO {
         try {
             dynamoDbClient.deleteItem(request);
 
+            deleteRankings(playerUuid);
+
             return true;
         } catch (ResourceNotFoundException e) {
             LOGGER.error("Failed to delete player: Player with UUID [{}] does not exist", playerUuid);
@@ -318,18 +370,158 @@ public class PlayerDAODynamoDBImpl implements PlayerDAO {
         }
     }
 
-    private <T> T getValue(AttributeValue value, Class<T> type) {
-        if (value == null) {
+    /**
+     * Encodes the last evaluated key of a page into an opaque cursor.
+     *
+     * @param lastEvaluatedKey the last evaluated key
+     * @return the cursor or {@code null} if there are no more pages
+     */
+    private String encodeCursor(Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+            return null;
+        }
+
+        Map<String, String> key = new HashMap<>();
+        lastEvaluatedKey.forEach((name, value) -> key.put(name, value.s() != null ? value.s() : value.n()));
+
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(gson.toJson(key, CURSOR_TYPE).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into the exclusive start key of the next page.
+     *
+     * @param cursor   the cursor
+     * @param keyNames the names of the attributes of the exclusive start key
+     * @return the exclusive start key or {@code null} for the first page
+     */
+    private Map<String, AttributeValue> decodeCursor(String cursor, Set<String> keyNames) {
+        if (StringUtils.isBlank(cursor)) {
             return null;
         }
 
-        if (Boolean.class == type) {
-            return type.cast(value.bool());
-        } else if (Number.class == type) {
-            return type.cast(value.n());
+        Map<String, String> key;
+        try {
+            key = gson.fromJson(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8),
+                    CURSOR_TYPE);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor is invalid", e);
+        }
+
+        if (key == null || !key.keySet().equals(keyNames) || key.containsValue(null)) {
+            throw new IllegalArgumentException("Cursor is invalid");
+        }
+
+        Map<String, AttributeValue> exclusiveStartKey = new HashMap<>();
+        key.forEach((name, value) -> exclusiveStartKey.put(name, "wins".equals(name)
+                ? AttributeValue.builder().n(value).build()
+                : AttributeValue.builder().s(value).build()));
+
+        return exclusiveStartKey;
+    }
+
+    /**
+     * Returns the {@link Player}s with the given UUID's in the same order. The {@link Player}s that have been deleted
+     * since are skipped.
+     *
+     * @param playerUuids the UUID's of the {@link Player}s
+     * @return the {@link List} of {@link Player}s
+     */
+    private List<Player> retrievePlayersByUuid(List<String> playerUuids) {
+        Map<String, Player> players = new HashMap<>();
+        if (!playerUuids.isEmpty()) {
+            List<Map<String, AttributeValue>> keys = playerUuids.stream()
+                    .map(playerUuid -> Map.of("uuid", AttributeValue.builder().s(playerUuid).build()))
+                    .collect(Collectors.toList());
+
+            Map<String, KeysAndAttributes> requestItems = Map.of(PLAYER_TABLE_NAME, KeysAndAttributes.builder()
+                    .keys(keys)
+                    .attributesToGet(COLUMNS)
+                    .build());
+
+            // the keys that exceed the size of a response are returned unprocessed
+            while (!requestItems.isEmpty()) {
+                BatchGetItemResponse response = dynamoDbClient.batchGetItem(BatchGetItemRequest.builder()
+                        .requestItems(requestItems)
+                        .build());
+
+                response.responses().getOrDefault(PLAYER_TABLE_NAME, List.of()).forEach(item -> {
+                    Player player = mapper.toPlayer(item);
+                    players.put(player.getUuid(), player);
+                });
+
+                requestItems = response.unprocessedKeys();
+            }
         }
 
-        return type.cast(value.s());
+        return playerUuids.stream()
+                .map(players::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Copies the overall and tournament wins of a {@link Player} into the ranking table.
+     *
+     * @param player the {@link Player}
+     */
+    private void updateRankings(Player player) {
+        Map<String, Player.Statistics> rankings = new HashMap<>();
+        if (player.getStatistics() != null) {
+            rankings.put(OVERALL_RANKING, player.getStatistics());
+        }
+        player.getTournamentStatistics().forEach((tournament, statistics) -> {
+            if (StringUtils.isNotBlank(tournament)) {
+                rankings.put(tournament, statistics);
+            }
+        });
+
+        rankings.forEach((tournament, statistics) -> {
+            Map<String, AttributeValue> item = new HashMap<>();
+            item.put("uuid", AttributeValue.builder().s(player.getUuid()).build());
+            item.put("tournament", AttributeValue.builder().s(tournament).build());
+            item.put("wins", AttributeValue.builder().n(statistics.getWins().toPlainString()).build());
+
+            dynamoDbClient.putItem(PutItemRequest.builder()
+                    .tableName(RANKING_TABLE_NAME)
+                    .item(item)
+                    .build());
+        });
+    }
+
+    /**
+     * Deletes the overall and tournament wins of a {@link Player} from the ranking table.
+     *
+     * @param playerUuid the UUID of the {@link Player}
+     */
+    private void deleteRankings(String playerUuid) {
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        expressionAttributeNames.put("#uuid", "uuid");
+
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+        expressionAttributeValues.put(":uuid", AttributeValue.builder().s(playerUuid).build());
+
+        QueryRequest request = QueryRequest.builder()
+                .tableName(RANKING_TABLE_NAME)
+                .keyConditionExpression("#uuid = :uuid")
+                .expressionAttributeNames(expressionAttributeNames)
+                .expressionAttributeValues(expressionAttributeValues)
+                .build();
+
+        dynamoDbClient.query(request).items().forEach(item -> {
+            Map<String, AttributeValue> key = new HashMap<>();
+            key.put("uuid", item.get("uuid"));
+            key.put("tournament", item.get("tournament"));
+
+            dynamoDbClient.deleteItem(DeleteItemRequest.builder()
+                    .tableName(RANKING_TABLE_NAME)
+                    .key(key)
+                    .build());
+        });
+    }
+
+    private String getRanking(String tournament) {
+        return StringUtils.isBlank(tournament) ? OVERALL_RANKING : tournament;
     }
 
     private Player retrievePlayer(final String attributeKey, final String attributeValue,
@@ -0,0 +1,333 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.player.dao.impl;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vincenzolabs.cots.domain.Page;
+import org.vincenzolabs.cots.domain.Player;
+import org.vincenzolabs.cots.player.dao.PlayerDAO;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * The in-memory implementation of {@link PlayerDAO} for local runs and benchmarks. The {@link Player}s are kept
+ * sorted by UUID like a scan of the table, with the nicknames and email addresses indexed in place of the secondary
+ * indexes. The wins are kept per tournament in place of the ranking table.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class PlayerDAOInMemoryImpl implements PlayerDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlayerDAOInMemoryImpl.class);
+
+    private static final String OVERALL_RANKING = "*";
+
+    private final ConcurrentNavigableMap<String, Player> players = new ConcurrentSkipListMap<>();
+
+    private final ConcurrentMap<String, String> nicknames = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, String> emailAddresses = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, ConcurrentMap<String, BigDecimal>> rankings = new ConcurrentHashMap<>();
+
+    @Override
+    public Player createPlayer(final String uuid, final String nickname, final String emailAddress) {
+        Player player = new Player();
+        player.setUuid(uuid);
+        player.setNickname(nickname);
+        player.setEmailAddress(emailAddress);
+        LocalDateTime now = LocalDateTime.now();
+        player.setRegistrationDate(now);
+        player.setLastLoginDate(now);
+
+        players.compute(uuid, (key, storedPlayer) -> {
+            if (storedPlayer != null) {
+                unindex(storedPlayer);
+            }
+
+            // the last login date is only stored on the next update like on the table
+            Player newPlayer = copy(player);
+            newPlayer.setLastLoginDate(null);
+            index(newPlayer);
+
+            return newPlayer;
+        });
+
+        return player;
+    }
+
+    @Override
+    public Player retrievePlayerByUuid(final String playerUuid) {
+        Player player = players.get(playerUuid);
+        if (player == null) {
+            LOGGER.warn("Failed to retrieve player: Player with UUID [{}] does not exist", playerUuid);
+
+            return null;
+        }
+
+        return copy(player);
+    }
+
+    @Override
+    public Player retrievePlayerByEmailAddress(final String emailAddress) {
+        return retrievePlayer(emailAddresses, emailAddress, "email address");
+    }
+
+    @Override
+    public Player retrievePlayerByNickname(final String nickname) {
+        return retrievePlayer(nicknames, nickname, "nickname");
+    }
+
+    @Override
+    public Page<Player> retrievePlayers(final int limit, final String cursor) {
+        NavigableMap<String, Player> remainingPlayers = players;
+        String lastUuid = decodeCursor(cursor);
+        if (lastUuid != null) {
+            remainingPlayers = remainingPlayers.tailMap(lastUuid, false);
+        }
+
+        List<Player> page = new ArrayList<>();
+        Iterator<Player> iterator = remainingPlayers.values().iterator();
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(copy(iterator.next()));
+        }
+
+        String nextCursor = iterator.hasNext() ? encodeCursor(page.get(page.size() - 1).getUuid()) : null;
+
+        return new Page<>(page, nextCursor);
+    }
+
+    @Override
+    public Page<Player> retrieveRankedPlayers(final String tournament, final int limit, final String cursor) {
+        // the ranking is sorted on every call in place of the secondary index
+        Map<String, BigDecimal> wins = rankings.getOrDefault(getRanking(tournament), new ConcurrentHashMap<>());
+        List<Map.Entry<String, BigDecimal>> ranking = wins.entrySet()
+                .stream()
+                .sorted(Map.Entry.<String, BigDecimal>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .collect(Collectors.toList());
+
+        int fromIndex = 0;
+        String lastUuid = decodeCursor(cursor);
+        if (lastUuid != null) {
+            while (fromIndex < ranking.size() && !ranking.get(fromIndex).getKey().equals(lastUuid)) {
+                fromIndex++;
+            }
+            if (fromIndex == ranking.size()) {
+                throw new IllegalArgumentException("Cursor is invalid");
+            }
+            fromIndex++;
+        }
+
+        int toIndex = Math.min(fromIndex + limit, ranking.size());
+        List<Player> page = new ArrayList<>();
+        ranking.subList(fromIndex, toIndex).forEach(entry -> {
+            Player player = players.get(entry.getKey());
+            if (player != null) {
+                page.add(copy(player));
+            }
+        });
+
+        String nextCursor = toIndex < ranking.size() ? encodeCursor(ranking.get(toIndex - 1).getKey()) : null;
+
+        return new Page<>(page, nextCursor);
+    }
+
+    @Override
+    public boolean updatePlayer(Player player) {
+        players.compute(player.getUuid(), (uuid, storedPlayer) -> {
+            Player updatedPlayer;
+            if (storedPlayer == null) {
+                updatedPlayer = new Player();
+                updatedPlayer.setUuid(uuid);
+            } else {
+                updatedPlayer = copy(storedPlayer);
+            }
+
+            // only the same attributes as on the table are updated
+            if (StringUtils.isNotBlank(player.getAvatar())) {
+                updatedPlayer.setAvatar(player.getAvatar());
+            }
+            if (player.getLastLoginDate() != null) {
+                updatedPlayer.setLastLoginDate(player.getLastLoginDate());
+            }
+            if (player.getStatistics() != null) {
+                updatedPlayer.setStatistics(copy(player.getStatistics()));
+            }
+            if (!player.getTournamentStatistics().isEmpty()) {
+                Map<String, Player.Statistics> tournamentStatistics = new HashMap<>();
+                player.getTournamentStatistics().forEach((tournament, statistics) ->
+                        tournamentStatistics.put(tournament, copy(statistics)));
+                updatedPlayer.setTournamentStatistics(tournamentStatistics);
+            }
+
+            return updatedPlayer;
+        });
+
+        // the wins are copied into the rankings like into the ranking table
+        if (player.getStatistics() != null) {
+            rank(OVERALL_RANKING, player.getUuid(), player.getStatistics());
+        }
+        player.getTournamentStatistics().forEach((tournament, statistics) -> {
+            if (StringUtils.isNotBlank(tournament)) {
+                rank(tournament, player.getUuid(), statistics);
+            }
+        });
+
+        return true;
+    }
+
+    @Override
+    public boolean updateLastLoginDate(String playerUuid, LocalDateTime previousLastLoginDate,
+                                       LocalDateTime lastLoginDate) {
+        boolean[] updated = new boolean[1];
+        players.computeIfPresent(playerUuid, (uuid, storedPlayer) -> {
+            // the same condition as on the table
+            if (!Objects.equals(storedPlayer.getLastLoginDate(), previousLastLoginDate)) {
+                return storedPlayer;
+            }
+
+            Player updatedPlayer = copy(storedPlayer);
+            updatedPlayer.setLastLoginDate(lastLoginDate);
+            updated[0] = true;
+
+            return updatedPlayer;
+        });
+
+        return updated[0];
+    }
+
+    @Override
+    public boolean deletePlayer(String playerUuid) {
+        Player player = players.remove(playerUuid);
+        if (player != null) {
+            unindex(player);
+        }
+        rankings.values().forEach(ranking -> ranking.remove(playerUuid));
+
+        return true;
+    }
+
+    private Player retrievePlayer(Map<String, String> index, String attributeValue, String description) {
+        String uuid = attributeValue == null ? null : index.get(attributeValue);
+        if (uuid == null) {
+            LOGGER.warn("Failed to retrieve player: Player with {} [{}] does not exist", description, attributeValue);
+
+            return null;
+        }
+
+        return retrievePlayerByUuid(uuid);
+    }
+
+    private void rank(String tournament, String playerUuid, Player.Statistics statistics) {
+        rankings.computeIfAbsent(tournament, key -> new ConcurrentHashMap<>()).put(playerUuid, statistics.getWins());
+    }
+
+    private String getRanking(String tournament) {
+        return StringUtils.isBlank(tournament) ? OVERALL_RANKING : tournament;
+    }
+
+    private void index(Player player) {
+        if (player.getNickname() != null) {
+            nicknames.put(player.getNickname(), player.getUuid());
+        }
+        if (player.getEmailAddress() != null) {
+            emailAddresses.put(player.getEmailAddress(), player.getUuid());
+        }
+    }
+
+    private void unindex(Player player) {
+        if (player.getNickname() != null) {
+            nicknames.remove(player.getNickname(), player.getUuid());
+        }
+        if (player.getEmailAddress() != null) {
+            emailAddresses.remove(player.getEmailAddress(), player.getUuid());
+        }
+    }
+
+    private String encodeCursor(String uuid) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(uuid.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodeCursor(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor is invalid", e);
+        }
+    }
+
+    /**
+     * Copies a {@link Player} so that the stored {@link Player}s are never shared with the callers.
+     *
+     * @param player the {@link Player}
+     * @return the copy
+     */
+    private static Player copy(Player player) {
+        Player copy = new Player();
+        copy.setUuid(player.getUuid());
+        copy.setEmailAddress(player.getEmailAddress());
+        copy.setNickname(player.getNickname());
+        copy.setAvatar(player.getAvatar());
+        copy.setRegistrationDate(player.getRegistrationDate());
+        copy.setLastLoginDate(player.getLastLoginDate());
+        copy.setStatistics(player.getStatistics() == null ? null : copy(player.getStatistics()));
+        Map<String, Player.Statistics> tournamentStatistics = new HashMap<>();
+        player.getTournamentStatistics().forEach((tournament, statistics) ->
+                tournamentStatistics.put(tournament, copy(statistics)));
+        copy.setTournamentStatistics(tournamentStatistics);
+
+        return copy;
+    }
+
+    private static Player.Statistics copy(Player.Statistics statistics) {
+        Player.Statistics copy = new Player.Statistics();
+        copy.setWins(statistics.getWins());
+        copy.setLosses(statistics.getLosses());
+        copy.setDraws(statistics.getDraws());
+
+        return copy;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.player.dao.impl;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.vincenzolabs.cots.domain.Player;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * The mapper of DynamoDB player items shared by the blocking and the asynchronous DAOs.
+ *
+ * @author Rey Vincent Babilonia
+ */
+final class PlayerItemMapper {
+
+    /**
+     * The attributes of a {@link Player}.
+     */
+    static final String[] COLUMNS = {"uuid", "emailAddress", "nickname", "avatar", "registrationDate",
+            "lastLoginDate", "statistics", "tournamentStatistics", "accessToken"};
+
+    private static final Type STATISTICS_TYPE = new TypeToken<Map<String, Player.Statistics>>() {
+    }.getType();
+
+    private final Gson gson;
+
+    /**
+     * Default constructor.
+     *
+     * @param gson the {@link Gson}
+     */
+    PlayerItemMapper(Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Maps an item to a {@link Player}.
+     *
+     * @param item the item
+     * @return the {@link Player}
+     */
+    Player toPlayer(Map<String, AttributeValue> item) {
+        Player player = new Player();
+        player.setUuid(getValue(item.get("uuid"), String.class));
+        player.setNickname(getValue(item.get("nickname"), String.class));
+        player.setEmailAddress(getValue(item.get("emailAddress"), String.class));
+        player.setAvatar(getValue(item.get("avatar"), String.class));
+        if (item.get("registrationDate") != null) {
+            player.setRegistrationDate(LocalDateTime.parse(getValue(item.get("registrationDate"), String.class)));
+        }
+        if (item.get("lastLoginDate") != null) {
+            player.setLastLoginDate(LocalDateTime.parse(getValue(item.get("lastLoginDate"), String.class)));
+        }
+        if (item.get("statistics") != null) {
+            player.setStatistics(gson.fromJson(item.get("statistics").s(), Player.Statistics.class));
+        }
+        if (item.get("tournamentStatistics") != null) {
+            Map<String, Player.Statistics> deserializedMap = gson.fromJson(item.get("tournamentStatistics").s(),
+                    STATISTICS_TYPE);
+
+            player.setTournamentStatistics(deserializedMap);
+        }
+
+        return player;
+    }
+
+    static <T> T getValue(AttributeValue value, Class<T> type) {
+        if (value == null) {
+            return null;
+        }
+
+        if (Boolean.class == type) {
+            return type.cast(value.bool());
+        } else if (Number.class == type) {
+            return type.cast(value.n());
+        }
+
+        return type.cast(value.s());
+    }
+}
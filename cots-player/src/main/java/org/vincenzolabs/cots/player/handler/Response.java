@@ -27,6 +27,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -43,6 +44,8 @@ public class Response {
 
     private Map<String, String> headers = new HashMap<>();
 
+    private Map<String, List<String>> multiValueHeaders = new HashMap<>();
+
     private String body;
 
     private boolean isBase64Encoded;
@@ -83,6 +86,24 @@ public class Response {
         this.headers = headers;
     }
 
+    /**
+     * Returns the {@link Map} of headers with more than one value, such as {@code Set-Cookie}.
+     *
+     * @return the {@link Map} of headers with more than one value
+     */
+    public Map<String, List<String>> getMultiValueHeaders() {
+        return multiValueHeaders;
+    }
+
+    /**
+     * Sets the {@link Map} of headers with more than one value, such as {@code Set-Cookie}.
+     *
+     * @param multiValueHeaders the {@link Map} of headers with more than one value
+     */
+    public void setMultiValueHeaders(Map<String, List<String>> multiValueHeaders) {
+        this.multiValueHeaders = multiValueHeaders;
+    }
+
     /**
      * Returns the body.
      *
@@ -131,12 +152,13 @@ public class Response {
         return statusCode == response.statusCode
                 && isBase64Encoded == response.isBase64Encoded
                 && Objects.equals(headers, response.headers)
+                && Objects.equals(multiValueHeaders, response.multiValueHeaders)
                 && Objects.equals(body, response.body);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(statusCode, headers, body, isBase64Encoded);
+        return Objects.hash(statusCode, headers, multiValueHeaders, body, isBase64Encoded);
     }
 
     @Override
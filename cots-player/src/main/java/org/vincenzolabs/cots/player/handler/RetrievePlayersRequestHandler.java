@@ -2,21 +2,23 @@ package org.vincenzolabs.cots.player.handler;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.stereotype.Component;
+import org.vincenzolabs.cots.domain.Page;
 import org.vincenzolabs.cots.domain.Player;
 import org.vincenzolabs.cots.player.configuration.PlayerConfiguration;
 import org.vincenzolabs.cots.player.service.PlayerService;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 
 import java.util.Map;
-import java.util.Set;
 
 /**
- * The {@link RequestHandler} for retrieving players.
+ * The {@link RequestHandler} for retrieving players. The {@code ranked=true} query parameter ranks the players by
+ * their wins, in the tournament of the {@code tournament} query parameter if it is given.
  *
  * @author Rey Vincent Babilonia
  */
@@ -28,6 +30,8 @@ public class RetrievePlayersRequestHandler implements RequestHandler<Request, Re
     private static final ApplicationContext APPLICATION_CONTEXT =
             new AnnotationConfigApplicationContext(PlayerConfiguration.class);
 
+    private static final int DEFAULT_LIMIT = 20;
+
     @Override
     public Response handleRequest(Request request, Context context) {
         PlayerService playerService = APPLICATION_CONTEXT.getBean(PlayerService.class);
@@ -40,12 +44,19 @@ public class RetrievePlayersRequestHandler implements RequestHandler<Request, Re
         response.setHeaders(Map.of("Access-Control-Allow-Methods", "OPTIONS,POST,GET"));
 
         try {
-            String tournament = request.getQueryStringParameters().get("tournament");
+            Map<String, String> queryParameters = request.getQueryStringParameters() == null
+                    ? Map.of()
+                    : request.getQueryStringParameters();
+            int limit = getLimit(queryParameters.get("limit"));
+            String cursor = queryParameters.get("cursor");
 
-            Set<Player> player = playerService.retrievePlayers(tournament);
+            // the players are ranked by their wins, overall or in a tournament, when asked
+            Page<Player> players = Boolean.parseBoolean(queryParameters.get("ranked"))
+                    ? playerService.retrieveRankedPlayers(queryParameters.get("tournament"), limit, cursor)
+                    : playerService.retrievePlayers(limit, cursor);
 
             response.setStatusCode(200);
-            response.setBody(player.toString());
+            response.setBody(players.toString());
         } catch (AwsServiceException e) {
             LOGGER.error(e.getMessage(), e);
 
@@ -65,4 +76,16 @@ public class RetrievePlayersRequestHandler implements RequestHandler<Request, Re
 
         return response;
     }
+
+    private int getLimit(String limit) {
+        if (StringUtils.isBlank(limit)) {
+            return DEFAULT_LIMIT;
+        }
+
+        try {
+            return Integer.parseInt(limit);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Limit is invalid", e);
+        }
+    }
 }
@@ -39,12 +39,16 @@ import org.vincenzolabs.cots.player.service.PlayerService;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 
 import java.net.HttpCookie;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 /**
- * The {@link RequestHandler} for player retrieval or creation.
+ * The {@link RequestHandler} for player retrieval or creation. It also renews the {@code accessToken} cookie that the
+ * match service verifies, using the refresh token. Both cookies are {@code HttpOnly} and {@code SameSite=Strict}, so
+ * scripts cannot read them and browsers do not send them from other sites. A client on another site must send the
+ * access token in the {@code Authorization: Bearer} header instead.
  *
  * @author Rey Vincent Babilonia
  */
@@ -53,6 +57,12 @@ public class ViewPlayerRequestHandler implements RequestHandler<Request, Respons
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ViewPlayerRequestHandler.class);
 
+    private static final long ACCESS_TOKEN_MAX_AGE = 3600;
+
+    private static final long REFRESH_TOKEN_MAX_AGE = 2592000;
+
+    private static final String COOKIE_FORMAT = "%s=%s; Max-Age=%d; Path=/; Secure; HttpOnly; SameSite=Strict";
+
     private static final ApplicationContext APPLICATION_CONTEXT =
             new AnnotationConfigApplicationContext(PlayerConfiguration.class);
 
@@ -70,16 +80,17 @@ public class ViewPlayerRequestHandler implements RequestHandler<Request, Respons
 
         try {
             String refreshToken = getRefreshToken(request);
+            List<String> cookies = new ArrayList<>();
 
             // for initial login, check if authorization grant code is valid
+            Token token = null;
             String code = getAuthorizationGrantCode(request);
             if (StringUtils.isNotBlank(code)) {
-                Token token = cognitoService.getToken(CognitoService.GrantType.AUTHORIZATION_CODE, code);
+                token = cognitoService.getToken(CognitoService.GrantType.AUTHORIZATION_CODE, code);
 
                 if (token != null) {
                     refreshToken = token.getRefreshToken();
-                    response.setHeaders(Map.of("Set-Cookie",
-                            String.format("refreshToken=%s; Max-Age=%d; Path=/; Secure", refreshToken, 2592000)));
+                    cookies.add(String.format(COOKIE_FORMAT, "refreshToken", refreshToken, REFRESH_TOKEN_MAX_AGE));
                 }
             }
 
@@ -87,6 +98,16 @@ public class ViewPlayerRequestHandler implements RequestHandler<Request, Respons
                 throw new IllegalArgumentException("refreshToken cookie not found");
             }
 
+            // the match service verifies the access token itself so it is renewed whenever the player is viewed
+            if (token == null) {
+                token = cognitoService.getToken(CognitoService.GrantType.REFRESH_TOKEN, refreshToken);
+            }
+            if (token != null && token.getAccessToken() != null) {
+                long maxAge = token.getExpiresIn() == null ? ACCESS_TOKEN_MAX_AGE : token.getExpiresIn();
+                cookies.add(String.format(COOKIE_FORMAT, "accessToken", token.getAccessToken(), maxAge));
+            }
+            response.setMultiValueHeaders(Map.of("Set-Cookie", cookies));
+
             Player player = playerService.retrievePlayer(refreshToken);
 
             response.setStatusCode(200);
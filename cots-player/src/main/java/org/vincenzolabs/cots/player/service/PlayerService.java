@@ -24,10 +24,9 @@
 package org.vincenzolabs.cots.player.service;
 
 import org.json.simple.parser.ParseException;
+import org.vincenzolabs.cots.domain.Page;
 import org.vincenzolabs.cots.domain.Player;
 
-import java.util.Set;
-
 /**
  * The service for player.
  *
@@ -77,12 +76,24 @@ public interface PlayerService {
     Player retrievePlayerByEmailAddress(String emailAddress);
 
     /**
-     * Returns the {@link Set} of {@link Player}s according to their number of wins.
+     * Returns a {@link Page} of {@link Player}s in no particular order.
+     *
+     * @param limit  the maximum number of {@link Player}s from 1 to 100
+     * @param cursor the cursor from the previous {@link Page} or {@code null} for the first {@link Page}
+     * @return the {@link Page} of {@link Player}s
+     * @see #retrieveRankedPlayers(String, int, String)
+     */
+    Page<Player> retrievePlayers(int limit, String cursor);
+
+    /**
+     * Returns a {@link Page} of {@link Player}s according to their number of wins, starting with the most wins.
      *
-     * @param tournament the tournament
-     * @return the {@link Set} of {@link Player}s
+     * @param tournament the tournament or {@code null} for the overall statistics
+     * @param limit      the maximum number of {@link Player}s from 1 to 100
+     * @param cursor     the cursor from the previous {@link Page} or {@code null} for the first {@link Page}
+     * @return the {@link Page} of {@link Player}s
      */
-    Set<Player> retrievePlayers(String tournament);
+    Page<Player> retrieveRankedPlayers(String tournament, int limit, String cursor);
 
     /**
      * Logs out a {@link Player}.
@@ -0,0 +1,209 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.player.service.impl;
+
+import org.vincenzolabs.cots.domain.Token;
+import org.vincenzolabs.cots.domain.UserInformation;
+import org.vincenzolabs.cots.player.service.CognitoService;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The cache of {@link Token}s and {@link UserInformation} in front of another {@link CognitoService}. The cache lives
+ * as long as the container and keeps the most recently used sessions up to a maximum size.
+ * <p>
+ * The {@link Token} of a refresh token is reused until shortly before its access token expires, together with the
+ * {@link UserInformation} of that access token, so the repeated requests of a session do not call Cognito. The
+ * tokens are only kept as hashes. Signing out evicts the session.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class CognitoServiceCachingImpl implements CognitoService {
+
+    private final CognitoService cognitoService;
+
+    private final Duration evictionMargin;
+
+    private final Clock clock;
+
+    private final Map<String, Session> sessions;
+
+    private final Map<String, Session> sessionsByAccessToken = new HashMap<>();
+
+    /**
+     * Default constructor.
+     *
+     * @param cognitoService the {@link CognitoService} to call
+     * @param maximumSize    the maximum number of cached sessions
+     * @param evictionMargin how long before the expiry of an access token its session is evicted
+     * @param clock          the {@link Clock}
+     */
+    public CognitoServiceCachingImpl(CognitoService cognitoService, int maximumSize, Duration evictionMargin,
+                                     Clock clock) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+
+        this.cognitoService = cognitoService;
+        this.evictionMargin = evictionMargin;
+        this.clock = clock;
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Session> eldest) {
+                if (size() > maximumSize) {
+                    sessionsByAccessToken.remove(eldest.getValue().accessTokenKey);
+
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Token getToken(GrantType grantType, final String value) {
+        if (GrantType.REFRESH_TOKEN == grantType) {
+            Session session = getSession(value);
+            if (session != null) {
+                return session.token;
+            }
+        }
+
+        Token token = cognitoService.getToken(grantType, value);
+
+        // a new login can be reused by the requests that follow it with its refresh token
+        String refreshToken = GrantType.REFRESH_TOKEN == grantType ? value
+                : token == null ? null : token.getRefreshToken();
+        if (refreshToken != null && token.getAccessToken() != null && token.getExpiresIn() != null) {
+            Instant expiryDate = clock.instant().plusSeconds(token.getExpiresIn()).minus(evictionMargin);
+            Session session = new Session(token, hash(token.getAccessToken()), expiryDate);
+            synchronized (sessions) {
+                remove(sessions.put(hash(refreshToken), session));
+                sessionsByAccessToken.put(session.accessTokenKey, session);
+            }
+        }
+
+        return token;
+    }
+
+    @Override
+    public UserInformation getUserInformation(final String accessToken) {
+        Session session = getSessionByAccessToken(accessToken);
+        if (session != null && session.userInformation != null) {
+            return session.userInformation;
+        }
+
+        UserInformation userInformation = cognitoService.getUserInformation(accessToken);
+        if (session != null) {
+            session.userInformation = userInformation;
+        }
+
+        return userInformation;
+    }
+
+    @Override
+    public void signOut(final String accessToken) {
+        synchronized (sessions) {
+            Session session = sessionsByAccessToken.remove(hash(accessToken));
+            if (session != null) {
+                sessions.values().remove(session);
+            }
+        }
+
+        cognitoService.signOut(accessToken);
+    }
+
+    private Session getSession(String refreshToken) {
+        String key = hash(refreshToken);
+        synchronized (sessions) {
+            Session session = sessions.get(key);
+            if (session != null && !clock.instant().isBefore(session.expiryDate)) {
+                remove(sessions.remove(key));
+
+                return null;
+            }
+
+            return session;
+        }
+    }
+
+    private Session getSessionByAccessToken(String accessToken) {
+        synchronized (sessions) {
+            Session session = sessionsByAccessToken.get(hash(accessToken));
+
+            return session == null || !clock.instant().isBefore(session.expiryDate) ? null : session;
+        }
+    }
+
+    /**
+     * Removes a session that is no longer cached by its refresh token from the index by access token.
+     *
+     * @param session the {@link Session} or {@code null}
+     */
+    private void remove(Session session) {
+        if (session != null) {
+            sessionsByAccessToken.remove(session.accessTokenKey, session);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+
+            return Base64.getEncoder().encodeToString(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * The cached {@link Token} of a refresh token and the {@link UserInformation} of its access token.
+     */
+    private static final class Session {
+
+        private final Token token;
+
+        private final String accessTokenKey;
+
+        private final Instant expiryDate;
+
+        private volatile UserInformation userInformation;
+
+        private Session(Token token, String accessTokenKey, Instant expiryDate) {
+            this.token = token;
+            this.accessTokenKey = accessTokenKey;
+            this.expiryDate = expiryDate;
+        }
+    }
+}
@@ -35,14 +35,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.vincenzolabs.cots.player.service.CognitoService;
+import org.vincenzolabs.cots.player.service.ParameterService;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.AttributeType;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.GetUserRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.GetUserResponse;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.GlobalSignOutRequest;
-import software.amazon.awssdk.services.ssm.SsmClient;
-import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
@@ -64,6 +63,27 @@ import java.util.Map;
 @Service
 public class CognitoServiceImpl implements CognitoService {
 
+    /**
+     * The name of the parameter of the client ID.
+     */
+    public static final String CLIENT_ID_PARAMETER = "CLIENT_ID";
+
+    /**
+     * The name of the parameter of the URL of the Cognito domain.
+     */
+    public static final String COGNITO_URL_PARAMETER = "COGNITO_URL";
+
+    /**
+     * The name of the parameter of the redirect URI.
+     */
+    public static final String REDIRECT_URI_PARAMETER = "REDIRECT_URI";
+
+    /**
+     * The names of all the parameters used by this service.
+     */
+    public static final List<String> PARAMETER_NAMES =
+            List.of(CLIENT_ID_PARAMETER, COGNITO_URL_PARAMETER, REDIRECT_URI_PARAMETER);
+
     private static final Logger LOGGER = LoggerFactory.getLogger(CognitoServiceImpl.class);
 
     private static final Type IDENTITIES_TYPE = new TypeToken<List<Map<String, Object>>>() {
@@ -71,7 +91,7 @@ public class CognitoServiceImpl implements CognitoService {
 
     private final CognitoIdentityProviderClient cognitoIdentityProviderClient;
 
-    private final SsmClient ssmClient;
+    private final ParameterService parameterService;
 
     private final Client client;
 
@@ -83,16 +103,16 @@ public class CognitoServiceImpl implements CognitoService {
      * Default constructor.
      *
      * @param cognitoIdentityProviderClient the {@link CognitoIdentityProviderClient}
-     * @param ssmClient                     the {@link SsmClient}
+     * @param parameterService              the {@link ParameterService}
      * @param client                        the {@link Client}
      * @param parser                        the {@link JSONParser}
      * @param gson                          the {@link Gson}
      */
     @Autowired
-    public CognitoServiceImpl(CognitoIdentityProviderClient cognitoIdentityProviderClient, SsmClient ssmClient,
-                              Client client, JSONParser parser, Gson gson) {
+    public CognitoServiceImpl(CognitoIdentityProviderClient cognitoIdentityProviderClient,
+                              ParameterService parameterService, Client client, JSONParser parser, Gson gson) {
         this.cognitoIdentityProviderClient = cognitoIdentityProviderClient;
-        this.ssmClient = ssmClient;
+        this.parameterService = parameterService;
         this.client = client;
         this.parser = parser;
         this.gson = gson;
@@ -258,30 +278,15 @@ public class CognitoServiceImpl implements CognitoService {
     }
 
     private String getClientId() {
-        return ssmClient.getParameter(
-                GetParameterRequest.builder()
-                        .name("CLIENT_ID")
-                        .build())
-                .parameter()
-                .value();
+        return parameterService.getParameter(CLIENT_ID_PARAMETER);
     }
 
     private String getCognitoUrl() {
-        return ssmClient.getParameter(
-                GetParameterRequest.builder()
-                        .name("COGNITO_URL")
-                        .build())
-                .parameter()
-                .value();
+        return parameterService.getParameter(COGNITO_URL_PARAMETER);
     }
 
     private String getRedirectUri() {
-        return ssmClient.getParameter(
-                GetParameterRequest.builder()
-                        .name("REDIRECT_URI")
-                        .build())
-                .parameter()
-                .value();
+        return parameterService.getParameter(REDIRECT_URI_PARAMETER);
     }
 
     private Invocation.Builder createInvocationBuilder() {
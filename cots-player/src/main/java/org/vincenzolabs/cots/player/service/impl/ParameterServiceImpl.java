@@ -0,0 +1,166 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.player.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vincenzolabs.cots.player.service.ParameterService;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The implementation of {@link ParameterService} which reads all of its parameters with a single call and keeps them
+ * for the lifetime of the container. Once the parameters are older than the time to live, the stale values are still
+ * returned while they are read again in the background.
+ *
+ * @author Rey Vincent Babilonia
+ */
+public class ParameterServiceImpl implements ParameterService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParameterServiceImpl.class);
+
+    private final SsmClient ssmClient;
+
+    private final List<String> names;
+
+    private final Duration timeToLive;
+
+    private final Clock clock;
+
+    private final Executor executor;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Parameters parameters;
+
+    /**
+     * Default constructor.
+     *
+     * @param ssmClient  the {@link SsmClient}
+     * @param names      the names of the parameters, which are read together
+     * @param timeToLive the time after which the parameters are read again
+     * @param clock      the {@link Clock}
+     * @param executor   the {@link Executor} of the background reads
+     */
+    public ParameterServiceImpl(SsmClient ssmClient, List<String> names, Duration timeToLive, Clock clock,
+                                Executor executor) {
+        if (names.isEmpty() || names.size() > 10) {
+            throw new IllegalArgumentException("Between 1 and 10 parameters can be read together");
+        }
+
+        this.ssmClient = ssmClient;
+        this.names = List.copyOf(names);
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.executor = executor;
+    }
+
+    @Override
+    public String getParameter(final String name) {
+        Parameters current = parameters;
+        if (current == null) {
+            current = load();
+        } else if (!clock.instant().isBefore(current.readDate.plus(timeToLive))
+                && refreshing.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    read();
+                } catch (RuntimeException e) {
+                    // the stale values are kept until the next attempt
+                    LOGGER.error("Failed to refresh parameters: [{}]", e.getMessage(), e);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+
+        String value = current.values.get(name);
+        if (value == null) {
+            throw ParameterNotFoundException.builder()
+                    .message(String.format("Parameter [%s] not found", name))
+                    .statusCode(400)
+                    .build();
+        }
+
+        return value;
+    }
+
+    /**
+     * Reads the parameters on the first call. Concurrent first calls wait for the same read.
+     *
+     * @return the {@link Parameters}
+     */
+    private synchronized Parameters load() {
+        Parameters current = parameters;
+
+        return current == null ? read() : current;
+    }
+
+    private Parameters read() {
+        GetParametersResponse response = ssmClient.getParameters(GetParametersRequest.builder()
+                .names(names)
+                .build());
+
+        if (!response.invalidParameters().isEmpty()) {
+            LOGGER.error("Parameters [{}] not found", response.invalidParameters());
+        }
+
+        Map<String, String> values = new HashMap<>();
+        for (Parameter parameter : response.parameters()) {
+            values.put(parameter.name(), parameter.value());
+        }
+
+        Parameters result = new Parameters(Map.copyOf(values), clock.instant());
+        parameters = result;
+
+        return result;
+    }
+
+    /**
+     * The values of the parameters and when they were read.
+     */
+    private static final class Parameters {
+
+        private final Map<String, String> values;
+
+        private final Instant readDate;
+
+        private Parameters(Map<String, String> values, Instant readDate) {
+            this.values = values;
+            this.readDate = readDate;
+        }
+    }
+}
@@ -26,16 +26,21 @@ package org.vincenzolabs.cots.player.service.impl;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.vincenzolabs.cots.domain.Page;
 import org.vincenzolabs.cots.domain.Player;
 import org.vincenzolabs.cots.domain.UserInformation;
+import org.vincenzolabs.cots.player.dao.PlayerAsyncDAO;
 import org.vincenzolabs.cots.player.dao.PlayerDAO;
 import org.vincenzolabs.cots.player.service.CognitoService;
 import org.vincenzolabs.cots.player.service.PlayerService;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * The implementation of {@link PlayerService}.
@@ -45,20 +50,35 @@ import java.util.Set;
 @Service
 public class PlayerServiceImpl implements PlayerService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final PlayerDAO playerDAO;
 
+    private final PlayerAsyncDAO playerAsyncDAO;
+
     private final CognitoService cognitoService;
 
+    private final Duration lastLoginInterval;
+
+    private final Clock clock;
+
     /**
      * Default constructor.
      *
-     * @param playerDAO      the {@link PlayerDAO}
-     * @param cognitoService the {@link CognitoService}
+     * @param playerDAO         the {@link PlayerDAO}
+     * @param playerAsyncDAO    the {@link PlayerAsyncDAO}
+     * @param cognitoService    the {@link CognitoService}
+     * @param lastLoginInterval the minimum interval between updates of the last login date of a {@link Player}
+     * @param clock             the {@link Clock}
      */
     @Autowired
-    public PlayerServiceImpl(PlayerDAO playerDAO, CognitoService cognitoService) {
+    public PlayerServiceImpl(PlayerDAO playerDAO, PlayerAsyncDAO playerAsyncDAO, CognitoService cognitoService,
+                             Duration lastLoginInterval, Clock clock) {
         this.playerDAO = playerDAO;
+        this.playerAsyncDAO = playerAsyncDAO;
         this.cognitoService = cognitoService;
+        this.lastLoginInterval = lastLoginInterval;
+        this.clock = clock;
     }
 
     @Override
@@ -67,19 +87,26 @@ public class PlayerServiceImpl implements PlayerService {
             throw new IllegalArgumentException("Nickname must not be null or empty");
         }
 
-        if (playerDAO.retrievePlayerByNickname(nickname) != null) {
-            throw new IllegalArgumentException("Nickname is already in use");
-        }
+        // the nickname is checked while Cognito is being called and the UUID and email address are checked together
+        CompletableFuture<Player> playerByNickname = playerAsyncDAO.retrievePlayerByNickname(nickname);
 
         UserInformation userInformation = getUserInformation(refreshToken);
 
         String uuid = userInformation.getSubject();
-        if (playerDAO.retrievePlayerByUuid(uuid) != null) {
+        CompletableFuture<Player> playerByUuid = playerAsyncDAO.retrievePlayerByUuid(uuid);
+
+        String emailAddress = userInformation.getEmailAddress();
+        CompletableFuture<Player> playerByEmailAddress = playerAsyncDAO.retrievePlayerByEmailAddress(emailAddress);
+
+        if (join(playerByNickname) != null) {
+            throw new IllegalArgumentException("Nickname is already in use");
+        }
+
+        if (join(playerByUuid) != null) {
             throw new IllegalArgumentException("UUID is already in use");
         }
 
-        String emailAddress = userInformation.getEmailAddress();
-        if (playerDAO.retrievePlayerByEmailAddress(emailAddress) != null) {
+        if (join(playerByEmailAddress) != null) {
             throw new IllegalArgumentException("Email address is already in use");
         }
 
@@ -98,8 +125,13 @@ public class PlayerServiceImpl implements PlayerService {
             player.setEmailAddress(userInformation.getEmailAddress());
             player.setNickname(userInformation.getUsername());
         } else {
-            player.setLastLoginDate(LocalDateTime.now());
-            playerDAO.updatePlayer(player);
+            // the last login date is written at most once per interval and only by one of the concurrent logins
+            LocalDateTime now = LocalDateTime.now(clock);
+            LocalDateTime lastLoginDate = player.getLastLoginDate();
+            if ((lastLoginDate == null || !now.isBefore(lastLoginDate.plus(lastLoginInterval)))
+                    && playerDAO.updateLastLoginDate(player.getUuid(), lastLoginDate, now)) {
+                player.setLastLoginDate(now);
+            }
         }
 
         return player;
@@ -143,8 +175,21 @@ public class PlayerServiceImpl implements PlayerService {
     }
 
     @Override
-    public Set<Player> retrievePlayers(final String tournament) {
-        return playerDAO.retrievePlayers(tournament);
+    public Page<Player> retrievePlayers(final int limit, final String cursor) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(String.format("Limit must be from 1 to %d", MAX_PAGE_SIZE));
+        }
+
+        return playerDAO.retrievePlayers(limit, cursor);
+    }
+
+    @Override
+    public Page<Player> retrieveRankedPlayers(final String tournament, final int limit, final String cursor) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(String.format("Limit must be from 1 to %d", MAX_PAGE_SIZE));
+        }
+
+        return playerDAO.retrieveRankedPlayers(tournament, limit, cursor);
     }
 
     @Override
@@ -253,4 +298,22 @@ public class PlayerServiceImpl implements PlayerService {
 
         return cognitoService.getUserInformation(accessToken);
     }
+
+    /**
+     * Waits for a {@link Player} read and rethrows its failure as it was thrown by the DAO.
+     *
+     * @param futurePlayer the {@link CompletableFuture} of the {@link Player}
+     * @return the {@link Player} or {@code null} if it does not exist
+     */
+    private Player join(CompletableFuture<Player> futurePlayer) {
+        try {
+            return futurePlayer.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,187 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.player.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vincenzolabs.cots.domain.Page;
+import org.vincenzolabs.cots.domain.Player;
+import org.vincenzolabs.cots.player.dao.impl.PlayerDAOInMemoryImpl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The test case for {@link PlayerDAOInMemoryImpl}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+class PlayerDAOInMemoryImplTest {
+
+    private PlayerDAOInMemoryImpl playerDAO;
+
+    @BeforeEach
+    void setUp() {
+        playerDAO = new PlayerDAOInMemoryImpl();
+    }
+
+    @Test
+    void retrievePlayer() {
+        Player player = putPlayer();
+
+        assertThat(playerDAO.retrievePlayerByUuid(player.getUuid())).isEqualTo(player);
+        assertThat(playerDAO.retrievePlayerByNickname(player.getNickname())).isEqualTo(player);
+        assertThat(playerDAO.retrievePlayerByEmailAddress(player.getEmailAddress())).isEqualTo(player);
+
+        assertThat(playerDAO.retrievePlayerByUuid(UUID.randomUUID().toString())).isNull();
+        assertThat(playerDAO.retrievePlayerByNickname("unknown")).isNull();
+        assertThat(playerDAO.retrievePlayerByEmailAddress("unknown@gmail.com")).isNull();
+    }
+
+    @Test
+    void updatePlayer() {
+        Player player = putPlayer();
+        assertThat(playerDAO.retrievePlayerByUuid(player.getUuid()).getLastLoginDate()).isNull();
+
+        Player.Statistics statistics = new Player.Statistics();
+        statistics.setWins(BigDecimal.TEN);
+
+        Player update = new Player();
+        update.setUuid(player.getUuid());
+        update.setAvatar("avatar");
+        update.setLastLoginDate(LocalDateTime.now());
+        update.setStatistics(statistics);
+        assertThat(playerDAO.updatePlayer(update)).isTrue();
+
+        // the stored player is not shared with the callers
+        statistics.setWins(BigDecimal.ONE);
+
+        Player actual = playerDAO.retrievePlayerByUuid(player.getUuid());
+        assertThat(actual)
+                .extracting("nickname", "avatar", "lastLoginDate")
+                .containsExactly(player.getNickname(), "avatar", update.getLastLoginDate());
+        assertThat(actual.getStatistics().getWins()).isEqualTo(BigDecimal.TEN);
+    }
+
+    @Test
+    void updateLastLoginDate() {
+        Player player = putPlayer();
+        LocalDateTime firstLoginDate = LocalDateTime.now();
+        LocalDateTime secondLoginDate = firstLoginDate.plusMinutes(15);
+
+        assertThat(playerDAO.updateLastLoginDate(player.getUuid(), null, firstLoginDate)).isTrue();
+        // another login that read the player before the first update loses the race
+        assertThat(playerDAO.updateLastLoginDate(player.getUuid(), null, firstLoginDate)).isFalse();
+        assertThat(playerDAO.updateLastLoginDate(player.getUuid(), firstLoginDate, secondLoginDate)).isTrue();
+        assertThat(playerDAO.updateLastLoginDate(player.getUuid(), firstLoginDate, secondLoginDate)).isFalse();
+        assertThat(playerDAO.updateLastLoginDate(UUID.randomUUID().toString(), null, firstLoginDate)).isFalse();
+
+        assertThat(playerDAO.retrievePlayerByUuid(player.getUuid()).getLastLoginDate()).isEqualTo(secondLoginDate);
+    }
+
+    @Test
+    void retrievePlayersByPage() {
+        for (int i = 0; i < 3; i++) {
+            playerDAO.createPlayer(UUID.randomUUID().toString(), "nickname" + i, i + "@gmail.com");
+        }
+
+        Page<Player> page = playerDAO.retrievePlayers(2, null);
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.hasNext()).isTrue();
+
+        Page<Player> nextPage = playerDAO.retrievePlayers(2, page.getCursor());
+        assertThat(nextPage.getItems()).hasSize(1).doesNotContainAnyElementsOf(page.getItems());
+        assertThat(nextPage.hasNext()).isFalse();
+    }
+
+    @Test
+    void retrievePlayersWithInvalidCursor() {
+        assertThatThrownBy(() -> playerDAO.retrievePlayers(2, "%"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor is invalid");
+    }
+
+    @Test
+    void retrieveRankedPlayers() {
+        Player first = playerDAO.createPlayer(UUID.randomUUID().toString(), "first", "first@gmail.com");
+        Player second = playerDAO.createPlayer(UUID.randomUUID().toString(), "second", "second@gmail.com");
+        playerDAO.createPlayer(UUID.randomUUID().toString(), "unranked", "unranked@gmail.com");
+
+        first.setStatistics(statistics(BigDecimal.TEN));
+        first.setTournamentStatistics(Map.of("RIMPAC Cup 2020", statistics(BigDecimal.ONE)));
+        playerDAO.updatePlayer(first);
+
+        second.setStatistics(statistics(BigDecimal.ONE));
+        second.setTournamentStatistics(Map.of("RIMPAC Cup 2020", statistics(BigDecimal.TEN)));
+        playerDAO.updatePlayer(second);
+
+        // a later tournament replaces the statistics of the player but not the ranking of the earlier one
+        second.setTournamentStatistics(Map.of("RIMPAC Cup 2021", statistics(BigDecimal.ONE)));
+        playerDAO.updatePlayer(second);
+
+        Page<Player> page = playerDAO.retrieveRankedPlayers(null, 1, null);
+        assertThat(page.getItems()).extracting(Player::getUuid).containsExactly(first.getUuid());
+        assertThat(page.hasNext()).isTrue();
+
+        Page<Player> nextPage = playerDAO.retrieveRankedPlayers(null, 1, page.getCursor());
+        assertThat(nextPage.getItems()).extracting(Player::getUuid).containsExactly(second.getUuid());
+        assertThat(nextPage.hasNext()).isFalse();
+
+        assertThat(playerDAO.retrieveRankedPlayers("RIMPAC Cup 2020", 20, null).getItems())
+                .extracting(Player::getUuid)
+                .containsExactly(second.getUuid(), first.getUuid());
+
+        playerDAO.deletePlayer(second.getUuid());
+        assertThat(playerDAO.retrieveRankedPlayers("RIMPAC Cup 2020", 20, null).getItems())
+                .extracting(Player::getUuid)
+                .containsExactly(first.getUuid());
+        assertThat(playerDAO.retrieveRankedPlayers("RIMPAC Cup 2021", 20, null).getItems()).isEmpty();
+    }
+
+    @Test
+    void deletePlayer() {
+        Player player = putPlayer();
+
+        assertThat(playerDAO.deletePlayer(player.getUuid())).isTrue();
+        assertThat(playerDAO.retrievePlayerByUuid(player.getUuid())).isNull();
+        assertThat(playerDAO.retrievePlayerByNickname(player.getNickname())).isNull();
+        assertThat(playerDAO.retrievePlayerByEmailAddress(player.getEmailAddress())).isNull();
+    }
+
+    private Player putPlayer() {
+        return playerDAO.createPlayer(UUID.randomUUID().toString(), "rvincent", "rvbabilonia@gmail.com");
+    }
+
+    private Player.Statistics statistics(BigDecimal wins) {
+        Player.Statistics statistics = new Player.Statistics();
+        statistics.setWins(wins);
+
+        return statistics;
+    }
+}
@@ -4,14 +4,18 @@ import by.dev.madhead.aws_junit5.common.AWSClient;
 import by.dev.madhead.aws_junit5.common.AWSEndpoint;
 import by.dev.madhead.aws_junit5.dynamo.v2.DynamoDB;
 import com.google.gson.GsonBuilder;
+import org.vincenzolabs.cots.domain.Page;
 import org.vincenzolabs.cots.domain.Player;
+import org.vincenzolabs.cots.player.dao.impl.PlayerAsyncDAODynamoDBImpl;
 import org.vincenzolabs.cots.player.dao.impl.PlayerDAODynamoDBImpl;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DeleteTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndex;
@@ -20,11 +24,16 @@ import software.amazon.awssdk.services.dynamodb.model.KeyType;
 import software.amazon.awssdk.services.dynamodb.model.Projection;
 import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
 import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughput;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Set;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -38,11 +47,18 @@ class PlayerDAOTest {
 
     private static final String PLAYER_TABLE_NAME = "player";
 
+    private static final String RANKING_TABLE_NAME = "ranking";
+
     @AWSClient(endpoint = Endpoint.class)
     private DynamoDbClient dynamoDbClient;
 
+    @AWSClient(endpoint = Endpoint.class)
+    private DynamoDbAsyncClient dynamoDbAsyncClient;
+
     private PlayerDAO playerDAO;
 
+    private PlayerAsyncDAO playerAsyncDAO;
+
     @BeforeEach
     void setUp() {
         CreateTableRequest createTableRequest = CreateTableRequest.builder()
@@ -119,7 +135,57 @@ class PlayerDAOTest {
 
         dynamoDbClient.createTable(createTableRequest);
 
+        dynamoDbClient.createTable(CreateTableRequest.builder()
+                .tableName(RANKING_TABLE_NAME)
+                .keySchema(
+                        KeySchemaElement.builder()
+                                .attributeName("uuid")
+                                .keyType(KeyType.HASH)
+                                .build(),
+                        KeySchemaElement.builder()
+                                .attributeName("tournament")
+                                .keyType(KeyType.RANGE)
+                                .build())
+                .attributeDefinitions(
+                        AttributeDefinition.builder()
+                                .attributeName("uuid")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("tournament")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("wins")
+                                .attributeType(ScalarAttributeType.N)
+                                .build())
+                .provisionedThroughput(ProvisionedThroughput.builder()
+                        .readCapacityUnits(5L)
+                        .writeCapacityUnits(5L)
+                        .build())
+                .globalSecondaryIndexes(GlobalSecondaryIndex.builder()
+                        .indexName("rankings")
+                        .keySchema(
+                                KeySchemaElement.builder()
+                                        .attributeName("tournament")
+                                        .keyType(KeyType.HASH)
+                                        .build(),
+                                KeySchemaElement.builder()
+                                        .attributeName("wins")
+                                        .keyType(KeyType.RANGE)
+                                        .build())
+                        .projection(Projection.builder()
+                                .projectionType(ProjectionType.KEYS_ONLY)
+                                .build())
+                        .provisionedThroughput(ProvisionedThroughput.builder()
+                                .readCapacityUnits(5L)
+                                .writeCapacityUnits(5L)
+                                .build())
+                        .build())
+                .build());
+
         playerDAO = new PlayerDAODynamoDBImpl(dynamoDbClient, new GsonBuilder().create());
+        playerAsyncDAO = new PlayerAsyncDAODynamoDBImpl(dynamoDbAsyncClient, new GsonBuilder().create());
     }
 
     @AfterEach
@@ -129,6 +195,9 @@ class PlayerDAOTest {
                 .build();
 
         dynamoDbClient.deleteTable(deleteTableRequest);
+        dynamoDbClient.deleteTable(DeleteTableRequest.builder()
+                .tableName(RANKING_TABLE_NAME)
+                .build());
     }
 
     @Test
@@ -164,9 +233,57 @@ class PlayerDAOTest {
 
         assertThat(playerDAO.updatePlayer(player)).isTrue();
 
-        Set<Player> players = playerDAO.retrievePlayers(null);
-        assertThat(players.size()).isEqualTo(1);
-        assertThat(players.stream().findFirst().get()).isEqualTo(player);
+        Page<Player> players = playerDAO.retrievePlayers(20, null);
+        assertThat(players.getItems().size()).isEqualTo(1);
+        assertThat(players.getItems().get(0)).isEqualTo(player);
+    }
+
+    @Test
+    void retrievePlayersByPage() {
+        Player first = playerDAO.createPlayer(UUID.randomUUID().toString(), "first", "first@gmail.com");
+        Player second = playerDAO.createPlayer(UUID.randomUUID().toString(), "second", "second@gmail.com");
+
+        Page<Player> page = playerDAO.retrievePlayers(1, null);
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.hasNext()).isTrue();
+
+        Page<Player> nextPage = playerDAO.retrievePlayers(1, page.getCursor());
+        assertThat(nextPage.getItems()).hasSize(1);
+        assertThat(nextPage.getItems()).doesNotContainAnyElementsOf(page.getItems());
+        assertThat(List.of(page.getItems().get(0), nextPage.getItems().get(0))).containsExactlyInAnyOrder(first,
+                second);
+    }
+
+    @Test
+    void retrieveRankedPlayers() {
+        Player first = playerDAO.createPlayer(UUID.randomUUID().toString(), "first", "first@gmail.com");
+        Player second = playerDAO.createPlayer(UUID.randomUUID().toString(), "second", "second@gmail.com");
+        playerDAO.createPlayer(UUID.randomUUID().toString(), "unranked", "unranked@gmail.com");
+
+        first.setStatistics(statistics(BigDecimal.TEN));
+        first.setTournamentStatistics(Map.of("RIMPAC Cup 2020", statistics(BigDecimal.ONE)));
+        assertThat(playerDAO.updatePlayer(first)).isTrue();
+
+        second.setStatistics(statistics(BigDecimal.ONE));
+        second.setTournamentStatistics(Map.of("RIMPAC Cup 2020", statistics(BigDecimal.TEN)));
+        assertThat(playerDAO.updatePlayer(second)).isTrue();
+
+        Page<Player> page = playerDAO.retrieveRankedPlayers(null, 1, null);
+        assertThat(page.getItems()).extracting(Player::getUuid).containsExactly(first.getUuid());
+        assertThat(page.hasNext()).isTrue();
+
+        Page<Player> nextPage = playerDAO.retrieveRankedPlayers(null, 1, page.getCursor());
+        assertThat(nextPage.getItems()).extracting(Player::getUuid).containsExactly(second.getUuid());
+
+        Page<Player> tournamentPage = playerDAO.retrieveRankedPlayers("RIMPAC Cup 2020", 20, null);
+        assertThat(tournamentPage.getItems()).extracting(Player::getUuid)
+                .containsExactly(second.getUuid(), first.getUuid());
+        assertThat(tournamentPage.hasNext()).isFalse();
+
+        assertThat(playerDAO.deletePlayer(second.getUuid())).isTrue();
+        assertThat(playerDAO.retrieveRankedPlayers("RIMPAC Cup 2020", 20, null).getItems())
+                .extracting(Player::getUuid)
+                .containsExactly(first.getUuid());
     }
 
     @Test
@@ -187,6 +304,22 @@ class PlayerDAOTest {
         assertThat(actual).isEqualTo(player);
     }
 
+    @Test
+    void retrievePlayerAsync() {
+        Player player = putPlayer();
+
+        CompletableFuture<Player> byUuid = playerAsyncDAO.retrievePlayerByUuid(player.getUuid());
+        CompletableFuture<Player> byNickname = playerAsyncDAO.retrievePlayerByNickname(player.getNickname());
+        CompletableFuture<Player> byEmailAddress =
+                playerAsyncDAO.retrievePlayerByEmailAddress(player.getEmailAddress());
+        CompletableFuture<Player> missing = playerAsyncDAO.retrievePlayerByNickname(UUID.randomUUID().toString());
+
+        assertThat(byUuid.join()).isEqualTo(player);
+        assertThat(byNickname.join()).isEqualTo(player);
+        assertThat(byEmailAddress.join()).isEqualTo(player);
+        assertThat(missing.join()).isNull();
+    }
+
     @Test
     void updatePlayer() {
         Player player = putPlayer();
@@ -205,6 +338,43 @@ class PlayerDAOTest {
         assertThat(player.getStatistics().getDraws()).isEqualTo(BigDecimal.ONE);
     }
 
+    @Test
+    void updateLastLoginDate() {
+        Player player = putPlayer();
+        LocalDateTime lastLoginDate = player.getLastLoginDate().plusMinutes(15);
+
+        assertThat(playerDAO.updateLastLoginDate(player.getUuid(), player.getLastLoginDate(), lastLoginDate))
+                .isTrue();
+        // another login that read the player before the first update loses the race
+        assertThat(playerDAO.updateLastLoginDate(player.getUuid(), player.getLastLoginDate(), lastLoginDate))
+                .isFalse();
+        assertThat(playerDAO.updateLastLoginDate(UUID.randomUUID().toString(), lastLoginDate,
+                lastLoginDate.plusMinutes(15))).isFalse();
+
+        assertThat(playerDAO.retrievePlayerByUuid(player.getUuid()).getLastLoginDate()).isEqualTo(lastLoginDate);
+    }
+
+    @Test
+    void updateLastLoginDateOfPlayerWithoutLastLoginDate() {
+        String uuid = UUID.randomUUID().toString();
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("uuid", AttributeValue.builder().s(uuid).build());
+        item.put("nickname", AttributeValue.builder().s("rvincent").build());
+        item.put("emailAddress", AttributeValue.builder().s("rvbabilonia@gmail.com").build());
+        dynamoDbClient.putItem(PutItemRequest.builder()
+                .tableName(PLAYER_TABLE_NAME)
+                .item(item)
+                .build());
+
+        LocalDateTime lastLoginDate = LocalDateTime.now();
+
+        assertThat(playerDAO.updateLastLoginDate(uuid, null, lastLoginDate)).isTrue();
+        assertThat(playerDAO.updateLastLoginDate(uuid, null, lastLoginDate)).isFalse();
+        assertThat(playerDAO.updateLastLoginDate(UUID.randomUUID().toString(), null, lastLoginDate)).isFalse();
+
+        assertThat(playerDAO.retrievePlayerByUuid(uuid).getLastLoginDate()).isEqualTo(lastLoginDate);
+    }
+
     @Test
     void deletePlayer() {
         Player player = putPlayer();
@@ -216,6 +386,13 @@ class PlayerDAOTest {
         return playerDAO.createPlayer("accessToken", "rvincent", "rvbabilonia@gmail.com");
     }
 
+    private Player.Statistics statistics(BigDecimal wins) {
+        Player.Statistics statistics = new Player.Statistics();
+        statistics.setWins(wins);
+
+        return statistics;
+    }
+
     /**
      * The implementation of {@link AWSEndpoint}.
      */
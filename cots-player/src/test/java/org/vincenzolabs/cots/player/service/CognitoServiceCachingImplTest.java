@@ -0,0 +1,171 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.player.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vincenzolabs.cots.domain.Token;
+import org.vincenzolabs.cots.domain.UserInformation;
+import org.vincenzolabs.cots.player.service.impl.CognitoServiceCachingImpl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The test case for {@link CognitoServiceCachingImpl}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+@ExtendWith(MockitoExtension.class)
+class CognitoServiceCachingImplTest {
+
+    private static final Duration EVICTION_MARGIN = Duration.ofMinutes(5);
+
+    private static final Instant NOW = Instant.parse("2020-03-01T00:00:00Z");
+
+    @Mock
+    private CognitoService delegate;
+
+    @Mock
+    private Clock clock;
+
+    private CognitoService cognitoService;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.instant()).thenReturn(NOW);
+
+        cognitoService = new CognitoServiceCachingImpl(delegate, 2, EVICTION_MARGIN, clock);
+    }
+
+    @Test
+    void getTokenFromCache() {
+        Token token = createToken("accessToken", null);
+        UserInformation userInformation = createUserInformation();
+        when(delegate.getToken(CognitoService.GrantType.REFRESH_TOKEN, "refreshToken")).thenReturn(token);
+        when(delegate.getUserInformation("accessToken")).thenReturn(userInformation);
+
+        for (int i = 0; i < 3; i++) {
+            Token actual = cognitoService.getToken(CognitoService.GrantType.REFRESH_TOKEN, "refreshToken");
+            assertThat(actual).isSameAs(token);
+            assertThat(cognitoService.getUserInformation(actual.getAccessToken())).isSameAs(userInformation);
+        }
+
+        verify(delegate, times(1)).getToken(CognitoService.GrantType.REFRESH_TOKEN, "refreshToken");
+        verify(delegate, times(1)).getUserInformation("accessToken");
+    }
+
+    @Test
+    void getTokenAfterLogin() {
+        Token token = createToken("accessToken", "refreshToken");
+        when(delegate.getToken(CognitoService.GrantType.AUTHORIZATION_CODE, "code")).thenReturn(token);
+
+        assertThat(cognitoService.getToken(CognitoService.GrantType.AUTHORIZATION_CODE, "code")).isSameAs(token);
+
+        // the requests that follow the login reuse its tokens
+        assertThat(cognitoService.getToken(CognitoService.GrantType.REFRESH_TOKEN, "refreshToken")).isSameAs(token);
+        verify(delegate, times(0)).getToken(CognitoService.GrantType.REFRESH_TOKEN, "refreshToken");
+    }
+
+    @Test
+    void getTokenBeforeExpiry() {
+        Token token = createToken("accessToken", null);
+        Token newToken = createToken("newAccessToken", null);
+        when(delegate.getToken(CognitoService.GrantType.REFRESH_TOKEN, "refreshToken"))
+                .thenReturn(token)
+                .thenReturn(newToken);
+
+        assertThat(cognitoService.getToken(CognitoService.GrantType.REFRESH_TOKEN, "refreshToken")).isSameAs(token);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(3600).minus(EVICTION_MARGIN).minusSeconds(1));
+        assertThat(cognitoService.getToken(CognitoService.GrantType.REFRESH_TOKEN, "refreshToken")).isSameAs(token);
+
+        // the session is evicted shortly before the access token expires
+        when(clock.instant()).thenReturn(NOW.plusSeconds(3600).minus(EVICTION_MARGIN));
+        assertThat(cognitoService.getToken(CognitoService.GrantType.REFRESH_TOKEN, "refreshToken"))
+                .isSameAs(newToken);
+    }
+
+    @Test
+    void getTokenAfterSignOut() {
+        Token token = createToken("accessToken", null);
+        when(delegate.getToken(CognitoService.GrantType.REFRESH_TOKEN, "refreshToken")).thenReturn(token);
+
+        cognitoService.getToken(CognitoService.GrantType.REFRESH_TOKEN, "refreshToken");
+        cognitoService.signOut("accessToken");
+        cognitoService.getToken(CognitoService.GrantType.REFRESH_TOKEN, "refreshToken");
+
+        verify(delegate).signOut("accessToken");
+        verify(delegate, times(2)).getToken(CognitoService.GrantType.REFRESH_TOKEN, "refreshToken");
+    }
+
+    @Test
+    void getTokenAfterEviction() {
+        when(delegate.getToken(CognitoService.GrantType.REFRESH_TOKEN, "first"))
+                .thenReturn(createToken("firstAccessToken", null));
+        when(delegate.getToken(CognitoService.GrantType.REFRESH_TOKEN, "second"))
+                .thenReturn(createToken("secondAccessToken", null));
+        when(delegate.getToken(CognitoService.GrantType.REFRESH_TOKEN, "third"))
+                .thenReturn(createToken("thirdAccessToken", null));
+        when(delegate.getUserInformation("firstAccessToken")).thenReturn(createUserInformation());
+
+        cognitoService.getToken(CognitoService.GrantType.REFRESH_TOKEN, "first");
+        cognitoService.getUserInformation("firstAccessToken");
+        cognitoService.getToken(CognitoService.GrantType.REFRESH_TOKEN, "second");
+        cognitoService.getToken(CognitoService.GrantType.REFRESH_TOKEN, "third");
+
+        // the least recently used session is evicted together with its user information
+        cognitoService.getUserInformation("firstAccessToken");
+        cognitoService.getToken(CognitoService.GrantType.REFRESH_TOKEN, "first");
+
+        verify(delegate, times(2)).getUserInformation("firstAccessToken");
+        verify(delegate, times(2)).getToken(CognitoService.GrantType.REFRESH_TOKEN, "first");
+    }
+
+    private Token createToken(String accessToken, String refreshToken) {
+        return Token.builder()
+                .withAccessToken(accessToken)
+                .withRefreshToken(refreshToken)
+                .withExpiresIn(3600L)
+                .withTokenType("Bearer")
+                .build();
+    }
+
+    private UserInformation createUserInformation() {
+        return UserInformation.builder()
+                .withSubject("6c5d4f0c-8b5c-4fd8-9bb6-0b5bdc3a3f48")
+                .withEmailAddress("rvbabilonia@gmail.com")
+                .withUsername("rvincent")
+                .build();
+    }
+}
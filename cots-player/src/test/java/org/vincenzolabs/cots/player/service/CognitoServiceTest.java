@@ -45,10 +45,6 @@ import software.amazon.awssdk.services.cognitoidentityprovider.model.GetUserRequ
 import software.amazon.awssdk.services.cognitoidentityprovider.model.GetUserResponse;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.GlobalSignOutRequest;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.NotAuthorizedException;
-import software.amazon.awssdk.services.ssm.SsmClient;
-import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
-import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
-import software.amazon.awssdk.services.ssm.model.Parameter;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
@@ -58,7 +54,6 @@ import javax.ws.rs.core.Response;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -76,7 +71,7 @@ class CognitoServiceTest {
     private CognitoIdentityProviderClient cognitoIdentityProviderClient;
 
     @Mock
-    private SsmClient ssmClient;
+    private ParameterService parameterService;
 
     @Mock(answer = Answers.RETURNS_DEEP_STUBS)
     private Client client;
@@ -85,41 +80,16 @@ class CognitoServiceTest {
 
     @BeforeEach
     void setUp() {
-        cognitoService = new CognitoServiceImpl(cognitoIdentityProviderClient, ssmClient, client,
+        cognitoService = new CognitoServiceImpl(cognitoIdentityProviderClient, parameterService, client,
                 new JSONParser(), new GsonBuilder().create());
     }
 
     @Test
     void getTokenByAuthorizationGrantCode() {
-        Parameter clientIdParameter = Parameter.builder()
-                .name("CLIENT_ID")
-                .value("clientId")
-                .build();
-        GetParameterResponse clientIdResponse = GetParameterResponse.builder()
-                .parameter(clientIdParameter)
-                .build();
-        when(ssmClient.getParameter(eq(GetParameterRequest.builder().name("CLIENT_ID").build())))
-                .thenReturn(clientIdResponse);
-
-        Parameter cognitoUrlParameter = Parameter.builder()
-                .name("COGNITO_URL")
-                .value("https://cots.auth.ap-southeast-2.amazoncognito.com")
-                .build();
-        GetParameterResponse cognitoUrlResponse = GetParameterResponse.builder()
-                .parameter(cognitoUrlParameter)
-                .build();
-        when(ssmClient.getParameter(eq(GetParameterRequest.builder().name("COGNITO_URL").build())))
-                .thenReturn(cognitoUrlResponse);
-
-        Parameter redirectUriParameter = Parameter.builder()
-                .name("REDIRECT_URI")
-                .value("https://cots.cloudfront.net")
-                .build();
-        GetParameterResponse redirectUriResponse = GetParameterResponse.builder()
-                .parameter(redirectUriParameter)
-                .build();
-        when(ssmClient.getParameter(eq(GetParameterRequest.builder().name("REDIRECT_URI").build())))
-                .thenReturn(redirectUriResponse);
+        when(parameterService.getParameter("CLIENT_ID")).thenReturn("clientId");
+        when(parameterService.getParameter("COGNITO_URL"))
+                .thenReturn("https://cots.auth.ap-southeast-2.amazoncognito.com");
+        when(parameterService.getParameter("REDIRECT_URI")).thenReturn("https://cots.cloudfront.net");
 
         Response response = mock(Response.class);
         when(response.getStatus()).thenReturn(200);
@@ -145,35 +115,10 @@ class CognitoServiceTest {
 
     @Test
     void getTokenByAuthorizedGrantCodeWithInvalidCode() {
-        Parameter clientIdParameter = Parameter.builder()
-                .name("CLIENT_ID")
-                .value("clientId")
-                .build();
-        GetParameterResponse clientIdResponse = GetParameterResponse.builder()
-                .parameter(clientIdParameter)
-                .build();
-        when(ssmClient.getParameter(eq(GetParameterRequest.builder().name("CLIENT_ID").build())))
-                .thenReturn(clientIdResponse);
-
-        Parameter cognitoUrlParameter = Parameter.builder()
-                .name("COGNITO_URL")
-                .value("https://cots.auth.ap-southeast-2.amazoncognito.com")
-                .build();
-        GetParameterResponse cognitoUrlResponse = GetParameterResponse.builder()
-                .parameter(cognitoUrlParameter)
-                .build();
-        when(ssmClient.getParameter(eq(GetParameterRequest.builder().name("COGNITO_URL").build())))
-                .thenReturn(cognitoUrlResponse);
-
-        Parameter redirectUriParameter = Parameter.builder()
-                .name("REDIRECT_URI")
-                .value("https://cots.cloudfront.net")
-                .build();
-        GetParameterResponse redirectUriResponse = GetParameterResponse.builder()
-                .parameter(redirectUriParameter)
-                .build();
-        when(ssmClient.getParameter(eq(GetParameterRequest.builder().name("REDIRECT_URI").build())))
-                .thenReturn(redirectUriResponse);
+        when(parameterService.getParameter("CLIENT_ID")).thenReturn("clientId");
+        when(parameterService.getParameter("COGNITO_URL"))
+                .thenReturn("https://cots.auth.ap-southeast-2.amazoncognito.com");
+        when(parameterService.getParameter("REDIRECT_URI")).thenReturn("https://cots.cloudfront.net");
 
         Response response = mock(Response.class);
         when(response.getStatus()).thenReturn(400);
@@ -194,25 +139,9 @@ class CognitoServiceTest {
 
     @Test
     void getTokenByRefreshToken() {
-        Parameter clientIdParameter = Parameter.builder()
-                .name("CLIENT_ID")
-                .value("clientId")
-                .build();
-        GetParameterResponse clientIdResponse = GetParameterResponse.builder()
-                .parameter(clientIdParameter)
-                .build();
-        when(ssmClient.getParameter(eq(GetParameterRequest.builder().name("CLIENT_ID").build())))
-                .thenReturn(clientIdResponse);
-
-        Parameter cognitoUrlParameter = Parameter.builder()
-                .name("COGNITO_URL")
-                .value("https://cots.auth.ap-southeast-2.amazoncognito.com")
-                .build();
-        GetParameterResponse cognitoUrlResponse = GetParameterResponse.builder()
-                .parameter(cognitoUrlParameter)
-                .build();
-        when(ssmClient.getParameter(eq(GetParameterRequest.builder().name("COGNITO_URL").build())))
-                .thenReturn(cognitoUrlResponse);
+        when(parameterService.getParameter("CLIENT_ID")).thenReturn("clientId");
+        when(parameterService.getParameter("COGNITO_URL"))
+                .thenReturn("https://cots.auth.ap-southeast-2.amazoncognito.com");
 
         Response response = mock(Response.class);
         when(response.getStatus()).thenReturn(200);
@@ -236,25 +165,9 @@ class CognitoServiceTest {
 
     @Test
     void getTokenByRefreshTokenWithInvalidRefreshToken() {
-        Parameter clientIdParameter = Parameter.builder()
-                .name("CLIENT_ID")
-                .value("clientId")
-                .build();
-        GetParameterResponse clientIdResponse = GetParameterResponse.builder()
-                .parameter(clientIdParameter)
-                .build();
-        when(ssmClient.getParameter(eq(GetParameterRequest.builder().name("CLIENT_ID").build())))
-                .thenReturn(clientIdResponse);
-
-        Parameter cognitoUrlParameter = Parameter.builder()
-                .name("COGNITO_URL")
-                .value("https://cots.auth.ap-southeast-2.amazoncognito.com")
-                .build();
-        GetParameterResponse cognitoUrlResponse = GetParameterResponse.builder()
-                .parameter(cognitoUrlParameter)
-                .build();
-        when(ssmClient.getParameter(eq(GetParameterRequest.builder().name("COGNITO_URL").build())))
-                .thenReturn(cognitoUrlResponse);
+        when(parameterService.getParameter("CLIENT_ID")).thenReturn("clientId");
+        when(parameterService.getParameter("COGNITO_URL"))
+                .thenReturn("https://cots.auth.ap-southeast-2.amazoncognito.com");
 
         Response response = mock(Response.class);
         when(response.getStatus()).thenReturn(400);
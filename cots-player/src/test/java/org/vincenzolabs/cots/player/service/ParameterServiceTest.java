@@ -0,0 +1,156 @@
+/*
+ * This file is part of Command of the Sea.
+ *
+ * Copyright (c) 2019 VincenzoLabs
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.vincenzolabs.cots.player.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vincenzolabs.cots.player.service.impl.ParameterServiceImpl;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The test case for {@link ParameterService}.
+ *
+ * @author Rey Vincent Babilonia
+ */
+@ExtendWith(MockitoExtension.class)
+class ParameterServiceTest {
+
+    private static final List<String> NAMES = List.of("CLIENT_ID", "COGNITO_URL", "REDIRECT_URI");
+
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(15);
+
+    private static final Instant NOW = Instant.parse("2020-03-01T00:00:00Z");
+
+    @Mock
+    private SsmClient ssmClient;
+
+    @Mock
+    private Clock clock;
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    private ParameterService parameterService;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.instant()).thenReturn(NOW);
+
+        parameterService = new ParameterServiceImpl(ssmClient, NAMES, TIME_TO_LIVE, clock, tasks::add);
+    }
+
+    @Test
+    void getParameter() {
+        when(ssmClient.getParameters(any(GetParametersRequest.class)))
+                .thenReturn(createResponse("clientId"));
+
+        assertThat(parameterService.getParameter("CLIENT_ID")).isEqualTo("clientId");
+        assertThat(parameterService.getParameter("COGNITO_URL"))
+                .isEqualTo("https://cots.auth.ap-southeast-2.amazoncognito.com");
+        assertThat(parameterService.getParameter("REDIRECT_URI")).isEqualTo("https://cots.cloudfront.net");
+
+        // all the parameters are read with a single call
+        verify(ssmClient, times(1)).getParameters(GetParametersRequest.builder().names(NAMES).build());
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    void getParameterAfterTimeToLive() {
+        when(ssmClient.getParameters(any(GetParametersRequest.class)))
+                .thenReturn(createResponse("clientId"))
+                .thenReturn(createResponse("newClientId"));
+
+        assertThat(parameterService.getParameter("CLIENT_ID")).isEqualTo("clientId");
+
+        // the stale value is returned while the parameters are read in the background
+        when(clock.instant()).thenReturn(NOW.plus(TIME_TO_LIVE));
+        assertThat(parameterService.getParameter("CLIENT_ID")).isEqualTo("clientId");
+        assertThat(parameterService.getParameter("CLIENT_ID")).isEqualTo("clientId");
+        assertThat(tasks).hasSize(1);
+
+        tasks.get(0).run();
+
+        assertThat(parameterService.getParameter("CLIENT_ID")).isEqualTo("newClientId");
+        verify(ssmClient, times(2)).getParameters(any(GetParametersRequest.class));
+    }
+
+    @Test
+    void getParameterAfterFailedRefresh() {
+        when(ssmClient.getParameters(any(GetParametersRequest.class)))
+                .thenReturn(createResponse("clientId"))
+                .thenThrow(new IllegalStateException("Throttled"));
+
+        assertThat(parameterService.getParameter("CLIENT_ID")).isEqualTo("clientId");
+
+        when(clock.instant()).thenReturn(NOW.plus(TIME_TO_LIVE));
+        assertThat(parameterService.getParameter("CLIENT_ID")).isEqualTo("clientId");
+        tasks.get(0).run();
+
+        // the stale values are kept and the next call tries again
+        assertThat(parameterService.getParameter("CLIENT_ID")).isEqualTo("clientId");
+        assertThat(tasks).hasSize(2);
+    }
+
+    @Test
+    void getMissingParameter() {
+        when(ssmClient.getParameters(any(GetParametersRequest.class)))
+                .thenReturn(GetParametersResponse.builder()
+                        .parameters(Parameter.builder().name("CLIENT_ID").value("clientId").build())
+                        .invalidParameters("COGNITO_URL", "REDIRECT_URI")
+                        .build());
+
+        assertThat(parameterService.getParameter("CLIENT_ID")).isEqualTo("clientId");
+        assertThatThrownBy(() -> parameterService.getParameter("COGNITO_URL"))
+                .isInstanceOf(ParameterNotFoundException.class)
+                .hasMessageContaining("COGNITO_URL");
+    }
+
+    private GetParametersResponse createResponse(String clientId) {
+        return GetParametersResponse.builder()
+                .parameters(Parameter.builder().name("CLIENT_ID").value(clientId).build(),
+                        Parameter.builder().name("COGNITO_URL")
+                                .value("https://cots.auth.ap-southeast-2.amazoncognito.com").build(),
+                        Parameter.builder().name("REDIRECT_URI").value("https://cots.cloudfront.net").build())
+                .build();
+    }
+}
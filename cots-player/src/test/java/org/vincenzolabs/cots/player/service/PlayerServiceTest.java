@@ -32,13 +32,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vincenzolabs.cots.domain.Page;
 import org.vincenzolabs.cots.domain.Player;
 import org.vincenzolabs.cots.domain.Token;
 import org.vincenzolabs.cots.domain.UserInformation;
 import org.vincenzolabs.cots.player.dao.PlayerDAO;
+import org.vincenzolabs.cots.player.dao.impl.PlayerAsyncDAODynamoDBImpl;
 import org.vincenzolabs.cots.player.dao.impl.PlayerDAODynamoDBImpl;
 import org.vincenzolabs.cots.player.service.impl.PlayerServiceImpl;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
@@ -52,8 +55,9 @@ import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughput;
 import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -73,9 +77,14 @@ class PlayerServiceTest {
 
     private static final String PLAYER_TABLE_NAME = "player";
 
+    private static final String RANKING_TABLE_NAME = "ranking";
+
     @AWSClient(endpoint = Endpoint.class)
     private DynamoDbClient dynamoDbClient;
 
+    @AWSClient(endpoint = Endpoint.class)
+    private DynamoDbAsyncClient dynamoDbAsyncClient;
+
     private PlayerDAO playerDAO;
 
     private CognitoService cognitoService;
@@ -158,11 +167,62 @@ class PlayerServiceTest {
 
         dynamoDbClient.createTable(createTableRequest);
 
+        dynamoDbClient.createTable(CreateTableRequest.builder()
+                .tableName(RANKING_TABLE_NAME)
+                .keySchema(
+                        KeySchemaElement.builder()
+                                .attributeName("uuid")
+                                .keyType(KeyType.HASH)
+                                .build(),
+                        KeySchemaElement.builder()
+                                .attributeName("tournament")
+                                .keyType(KeyType.RANGE)
+                                .build())
+                .attributeDefinitions(
+                        AttributeDefinition.builder()
+                                .attributeName("uuid")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("tournament")
+                                .attributeType(ScalarAttributeType.S)
+                                .build(),
+                        AttributeDefinition.builder()
+                                .attributeName("wins")
+                                .attributeType(ScalarAttributeType.N)
+                                .build())
+                .provisionedThroughput(ProvisionedThroughput.builder()
+                        .readCapacityUnits(5L)
+                        .writeCapacityUnits(5L)
+                        .build())
+                .globalSecondaryIndexes(GlobalSecondaryIndex.builder()
+                        .indexName("rankings")
+                        .keySchema(
+                                KeySchemaElement.builder()
+                                        .attributeName("tournament")
+                                        .keyType(KeyType.HASH)
+                                        .build(),
+                                KeySchemaElement.builder()
+                                        .attributeName("wins")
+                                        .keyType(KeyType.RANGE)
+                                        .build())
+                        .projection(Projection.builder()
+                                .projectionType(ProjectionType.KEYS_ONLY)
+                                .build())
+                        .provisionedThroughput(ProvisionedThroughput.builder()
+                                .readCapacityUnits(5L)
+                                .writeCapacityUnits(5L)
+                                .build())
+                        .build())
+                .build());
+
         playerDAO = new PlayerDAODynamoDBImpl(dynamoDbClient, new GsonBuilder().create());
 
         cognitoService = mock(CognitoService.class);
 
-        playerService = new PlayerServiceImpl(playerDAO, cognitoService);
+        playerService = new PlayerServiceImpl(playerDAO,
+                new PlayerAsyncDAODynamoDBImpl(dynamoDbAsyncClient, new GsonBuilder().create()), cognitoService,
+                Duration.ofMinutes(15), Clock.systemUTC());
     }
 
     @AfterEach
@@ -172,6 +232,9 @@ class PlayerServiceTest {
                 .build();
 
         dynamoDbClient.deleteTable(deleteTableRequest);
+        dynamoDbClient.deleteTable(DeleteTableRequest.builder()
+                .tableName(RANKING_TABLE_NAME)
+                .build());
     }
 
     @Test
@@ -263,15 +326,38 @@ class PlayerServiceTest {
 
         playerService.updateStatistics(player, PlayerService.Result.WIN);
 
-        Set<Player> players = playerService.retrievePlayers(null);
-        assertThat(players.size()).isEqualTo(1);
-        assertThat(players.stream().findFirst().get()).isEqualTo(player);
+        Page<Player> players = playerService.retrievePlayers(20, null);
+        assertThat(players.getItems().size()).isEqualTo(1);
+        assertThat(players.getItems().get(0)).isEqualTo(player);
+
+        playerService.updateStatistics(player, PlayerService.Result.WIN, "RIMPAC Cup 2020");
+
+        players = playerService.retrievePlayers(20, null);
+        assertThat(players.getItems().size()).isEqualTo(1);
+        assertThat(players.getItems().get(0)).isEqualTo(player);
+    }
 
+    @Test
+    void retrieveRankedPlayers() {
+        Player player = putPlayer();
+
+        playerService.updateStatistics(player, PlayerService.Result.WIN);
         playerService.updateStatistics(player, PlayerService.Result.WIN, "RIMPAC Cup 2020");
 
-        players = playerService.retrievePlayers("tournament");
-        assertThat(players.size()).isEqualTo(1);
-        assertThat(players.stream().findFirst().get()).isEqualTo(player);
+        Page<Player> players = playerService.retrieveRankedPlayers(null, 20, null);
+        assertThat(players.getItems()).containsExactly(player);
+
+        players = playerService.retrieveRankedPlayers("RIMPAC Cup 2020", 20, null);
+        assertThat(players.getItems()).containsExactly(player);
+
+        assertThat(playerService.retrieveRankedPlayers("RIMPAC Cup 2021", 20, null).getItems()).isEmpty();
+    }
+
+    @Test
+    void retrievePlayersWithInvalidLimit() {
+        assertThatThrownBy(() -> playerService.retrievePlayers(101, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Limit must be from 1 to 100");
     }
 
     @Test